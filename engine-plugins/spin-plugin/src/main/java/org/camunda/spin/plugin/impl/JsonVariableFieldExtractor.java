@@ -0,0 +1,126 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.variable.VariableFieldExtractor;
+import org.camunda.bpm.engine.variable.value.SerializableValue;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.camunda.spin.DataFormats;
+import org.camunda.spin.Spin;
+import org.camunda.spin.SpinRuntimeException;
+import org.camunda.spin.json.SpinJsonNode;
+import org.camunda.spin.plugin.variable.value.JsonValue;
+
+/**
+ * Extracts JSON paths from json variables and from object variables which are serialized
+ * as JSON, so that they can be queried without deserializing the variables. The paths are
+ * configured per variable name, e.g. <code>order:$.status,order:$.customer.id</code>.
+ *
+ * <p>Only string, number and boolean values are extracted. Paths which cannot be
+ * resolved in a document are skipped. Values which are longer than
+ * {@link org.camunda.bpm.engine.impl.persistence.entity.VariableFieldEntity#MAX_TEXT_LENGTH}
+ * characters are not stored by the engine and can therefore not be queried.</p>
+ *
+ * @see SpinProcessEnginePlugin#setJsonVariableFields(String)
+ */
+public class JsonVariableFieldExtractor implements VariableFieldExtractor {
+
+  protected static final SpinPluginLogger LOG = SpinPluginLogger.LOGGER;
+
+  protected Map<String, List<String>> pathsByVariableName = new HashMap<String, List<String>>();
+
+  /**
+   * @param fields comma separated list of <code>variableName:jsonPath</code>
+   */
+  public JsonVariableFieldExtractor(String fields) {
+    for (String field : fields.split(",")) {
+      String trimmedField = field.trim();
+      int separatorIdx = trimmedField.indexOf(':');
+      if (separatorIdx <= 0 || separatorIdx == trimmedField.length() - 1) {
+        throw LOG.invalidJsonVariableField(trimmedField);
+      }
+
+      String variableName = trimmedField.substring(0, separatorIdx);
+      List<String> paths = pathsByVariableName.get(variableName);
+      if (paths == null) {
+        paths = new ArrayList<String>();
+        pathsByVariableName.put(variableName, paths);
+      }
+      paths.add(trimmedField.substring(separatorIdx + 1));
+    }
+  }
+
+  public boolean isExtracting(String variableName) {
+    return pathsByVariableName.containsKey(variableName);
+  }
+
+  public Map<String, String> extractFields(String variableName, TypedValue value) {
+    SpinJsonNode document = getJsonDocument(value);
+    if (document == null) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, String> fields = new HashMap<String, String>();
+    for (String path : pathsByVariableName.get(variableName)) {
+      try {
+        SpinJsonNode element = document.jsonPath(path).element();
+        if (element.isString()) {
+          fields.put(path, element.stringValue());
+        } else if (element.isNumber()) {
+          fields.put(path, element.numberValue().toString());
+        } else if (element.isBoolean()) {
+          fields.put(path, String.valueOf(element.boolValue()));
+        }
+      } catch (SpinRuntimeException e) {
+        // the path does not exist in this document
+      }
+    }
+    return fields;
+  }
+
+  protected SpinJsonNode getJsonDocument(TypedValue value) {
+    if (!(value instanceof SerializableValue)) {
+      return null;
+    }
+
+    SerializableValue serializableValue = (SerializableValue) value;
+    if (!DataFormats.JSON_DATAFORMAT_NAME.equals(serializableValue.getSerializationDataFormat())) {
+      return null;
+    }
+
+    try {
+      if (value instanceof JsonValue && serializableValue.isDeserialized()) {
+        // already parsed
+        return ((JsonValue) value).getValue();
+      } else if (serializableValue.getValueSerialized() != null) {
+        return Spin.JSON(serializableValue.getValueSerialized());
+      } else {
+        return null;
+      }
+    } catch (SpinRuntimeException e) {
+      // not a valid JSON document
+      return null;
+    }
+  }
+
+}
@@ -38,4 +38,9 @@ public class SpinPluginLogger extends BaseLogger {
     return new ProcessEngineException(exceptionMessage(
         "002", "Fallback serializer cannot handle deserialized objects"));
   }
+
+  public ProcessEngineException invalidJsonVariableField(String field) {
+    return new ProcessEngineException(exceptionMessage(
+        "003", "Invalid json variable field '{}', expected 'variableName:jsonPath'", field));
+  }
 }
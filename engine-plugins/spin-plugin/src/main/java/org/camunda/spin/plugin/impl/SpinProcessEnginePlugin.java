@@ -36,6 +36,13 @@ import org.camunda.spin.DataFormats;
  */
 public class SpinProcessEnginePlugin extends AbstractProcessEnginePlugin {
 
+  /**
+   * JSON paths which are extracted from json variables and from object variables that are
+   * serialized as JSON, as comma separated list of <code>variableName:jsonPath</code>.
+   * See {@link JsonVariableFieldExtractor}.
+   */
+  protected String jsonVariableFields;
+
   @Override
   public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
     // use classloader which loaded the plugin
@@ -50,6 +57,13 @@ public class SpinProcessEnginePlugin extends AbstractProcessEnginePlugin {
     registerSerializers(processEngineConfiguration);
     registerValueTypes(processEngineConfiguration);
     registerFallbackSerializer(processEngineConfiguration);
+    registerVariableFieldExtractor(processEngineConfiguration);
+  }
+
+  protected void registerVariableFieldExtractor(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    if (jsonVariableFields != null && !jsonVariableFields.trim().isEmpty()) {
+      processEngineConfiguration.getVariableFieldExtractors().add(new JsonVariableFieldExtractor(jsonVariableFields));
+    }
   }
 
   protected void registerFallbackSerializer(ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -93,4 +107,12 @@ public class SpinProcessEnginePlugin extends AbstractProcessEnginePlugin {
     resolver.addType(XML);
   }
 
+  public String getJsonVariableFields() {
+    return jsonVariableFields;
+  }
+
+  public void setJsonVariableFields(String jsonVariableFields) {
+    this.jsonVariableFields = jsonVariableFields;
+  }
+
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.impl;
+
+import static org.camunda.spin.plugin.variable.SpinValues.jsonValue;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.spin.DataFormats;
+
+public class JsonVariableFieldExtractorTest extends PluggableProcessEngineTestCase {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/spin/plugin/oneTaskProcess.bpmn20.xml";
+
+  protected static final String ORDER = "{\"status\": \"open\", \"customer\": {\"id\": \"c1\"}, \"amount\": 10, \"express\": true}";
+
+  protected static final String VAR_FIELD_TABLE = "ACT_RU_VAR_FIELD";
+
+  protected JsonVariableFieldExtractor extractor;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    extractor = new JsonVariableFieldExtractor("order:$.status, order:$.customer.id,order:$.amount,order:$.express");
+    processEngineConfiguration.getVariableFieldExtractors().add(extractor);
+  }
+
+  protected void tearDown() throws Exception {
+    // fields are only deleted while they are extracted
+    for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery().list()) {
+      runtimeService.deleteProcessInstance(processInstance.getId(), null);
+    }
+    processEngineConfiguration.getVariableFieldExtractors().remove(extractor);
+    super.tearDown();
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testExtractConfiguredPathsOfJsonValue() {
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValueTyped("order", jsonValue(ORDER).create()));
+
+    // then
+    assertEquals(processInstance.getId(), runtimeService.createProcessInstanceQuery()
+        .variableFieldEquals("order", "$.status", "open")
+        .variableFieldEquals("order", "$.customer.id", "c1")
+        .variableFieldEquals("order", "$.amount", "10")
+        .variableFieldEquals("order", "$.express", "true")
+        .singleResult()
+        .getId());
+    assertEquals(4L, (long) managementService.getTableCount().get(VAR_FIELD_TABLE));
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testExtractConfiguredPathsOfObjectValueSerializedAsJson() {
+    // when
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", Variables.createVariables()
+        .putValueTyped("order", Variables.serializedObjectValue(ORDER)
+            .serializationDataFormat(DataFormats.JSON_DATAFORMAT_NAME)
+            .objectTypeName("org.camunda.Order")
+            .create()));
+
+    // then
+    assertEquals(1, runtimeService.createVariableInstanceQuery().variableFieldEquals("$.customer.id", "c1").count());
+    assertEquals(4L, (long) managementService.getTableCount().get(VAR_FIELD_TABLE));
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSkipMissingPath() {
+    // when
+    runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValueTyped("order", jsonValue("{\"status\": \"open\", \"customer\": {}}").create()));
+
+    // then
+    assertEquals(1, runtimeService.createVariableInstanceQuery().variableFieldEquals("$.status", "open").count());
+    assertEquals(1L, (long) managementService.getTableCount().get(VAR_FIELD_TABLE));
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testIgnoreNonJsonValue() {
+    // when
+    runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("order", ORDER));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValueTyped("order", jsonValue("{\"status\": ").create()));
+
+    // then
+    assertEquals(2, runtimeService.createVariableInstanceQuery().variableName("order").count());
+    assertEquals(0L, (long) managementService.getTableCount().get(VAR_FIELD_TABLE));
+  }
+
+  public void testFailForInvalidField() {
+    try {
+      new JsonVariableFieldExtractor("order:$.status,$.customer.id");
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("Invalid json variable field '$.customer.id'", e.getMessage());
+    }
+  }
+
+}
@@ -38,6 +38,7 @@ public interface FilterRestService {
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   List<FilterDto> getFilters(@Context UriInfo uriInfo, @QueryParam("itemCount") Boolean itemCount,
+      @QueryParam("maxItemCount") Integer maxItemCount,
       @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
 
   @GET
@@ -0,0 +1,88 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
+
+public class CommandProfileStatisticsDto {
+
+  protected String commandName;
+  protected String processDefinitionId;
+  protected String activityId;
+  protected String operationType;
+  protected long count;
+  protected long totalTime;
+  protected long maxTime;
+  protected long[] histogram;
+
+  public static CommandProfileStatisticsDto fromStatistics(CommandProfileStatistics statistics) {
+    CommandProfileStatisticsDto dto = new CommandProfileStatisticsDto();
+    dto.commandName = statistics.getCommandName();
+    dto.processDefinitionId = statistics.getProcessDefinitionId();
+    dto.activityId = statistics.getActivityId();
+    dto.operationType = statistics.getOperationType();
+    dto.count = statistics.getCount();
+    dto.totalTime = statistics.getTotalTime();
+    dto.maxTime = statistics.getMaxTime();
+    dto.histogram = statistics.getHistogram();
+    return dto;
+  }
+
+  public static List<CommandProfileStatisticsDto> fromStatistics(List<CommandProfileStatistics> statistics) {
+    List<CommandProfileStatisticsDto> dtos = new ArrayList<CommandProfileStatisticsDto>();
+    for (CommandProfileStatistics operationStatistics : statistics) {
+      dtos.add(fromStatistics(operationStatistics));
+    }
+    return dtos;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public String getOperationType() {
+    return operationType;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getTotalTime() {
+    return totalTime;
+  }
+
+  public long getMaxTime() {
+    return maxTime;
+  }
+
+  public long[] getHistogram() {
+    return histogram;
+  }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.rest.dto.externaltask;
 
+import org.camunda.bpm.engine.externaltask.ExternalTaskFailure;
+
 /**
  * @author Thorben Lindhauer
  * @author Askar Akhmerov
@@ -23,6 +25,8 @@ package org.camunda.bpm.engine.rest.dto.externaltask;
 public class ExternalTaskFailureDto {
 
   protected String workerId;
+  //only set when the failures of several external tasks are reported at once
+  protected String externalTaskId;
   //short error description
   protected String errorMessage;
   //full stack trace or error information
@@ -36,6 +40,12 @@ public class ExternalTaskFailureDto {
   public void setWorkerId(String workerId) {
     this.workerId = workerId;
   }
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+  public void setExternalTaskId(String externalTaskId) {
+    this.externalTaskId = externalTaskId;
+  }
   public String getErrorMessage() {
     return errorMessage;
   }
@@ -62,4 +72,8 @@ public class ExternalTaskFailureDto {
   public void setErrorDetails(String errorDetails) {
     this.errorDetails = errorDetails;
   }
+
+  public ExternalTaskFailure toExternalTaskFailure() {
+    return new ExternalTaskFailure(externalTaskId, errorMessage, errorDetails, retries, retryTimeout);
+  }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.externaltask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
+
+public class ExternalTaskOperationResultDto {
+
+  protected String externalTaskId;
+  protected boolean successful;
+  protected String errorType;
+  protected String errorMessage;
+
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
+  public boolean isSuccessful() {
+    return successful;
+  }
+
+  public String getErrorType() {
+    return errorType;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public static ExternalTaskOperationResultDto fromOperationResult(ExternalTaskOperationResult result) {
+    ExternalTaskOperationResultDto dto = new ExternalTaskOperationResultDto();
+    dto.externalTaskId = result.getExternalTaskId();
+    dto.successful = result.isSuccessful();
+
+    RuntimeException exception = result.getException();
+    if (exception != null) {
+      dto.errorType = exception.getClass().getSimpleName();
+      dto.errorMessage = exception.getMessage();
+    }
+
+    return dto;
+  }
+
+  public static List<ExternalTaskOperationResultDto> fromOperationResults(List<ExternalTaskOperationResult> results) {
+    List<ExternalTaskOperationResultDto> dtos = new ArrayList<ExternalTaskOperationResultDto>();
+    for (ExternalTaskOperationResult result : results) {
+      dtos.add(fromOperationResult(result));
+    }
+    return dtos;
+  }
+
+}
@@ -28,6 +28,9 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletion;
+import org.camunda.bpm.engine.externaltask.ExternalTaskFailure;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
@@ -35,10 +38,17 @@ import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.rest.ExternalTaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.VariableValueDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.CompleteExternalTasksDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExtendLockOnExternalTasksDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskCompletionDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskFailureDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskOperationResultDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.HandleExternalTaskFailuresDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -49,6 +59,7 @@ import org.camunda.bpm.engine.rest.sub.externaltask.impl.ExternalTaskResourceImp
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.variable.VariableMap;
 
 /**
  * @author Thorben Lindhauer
@@ -123,6 +134,69 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
     return LockedExternalTaskDto.fromLockedExternalTasks(externalTasks);
   }
 
+  @Override
+  public List<ExternalTaskOperationResultDto> completeAll(CompleteExternalTasksDto completeDto) {
+    List<ExternalTaskCompletionDto> tasks = completeDto.getTasks();
+    if (tasks == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The external tasks to complete cannot be null.");
+    }
+
+    List<ExternalTaskCompletion> completions = new ArrayList<ExternalTaskCompletion>();
+    for (ExternalTaskCompletionDto task : tasks) {
+      VariableMap variables = VariableValueDto.toMap(task.getVariables(), getProcessEngine(), getObjectMapper());
+      VariableMap localVariables = VariableValueDto.toMap(task.getLocalVariables(), getProcessEngine(), getObjectMapper());
+      completions.add(new ExternalTaskCompletion(task.getExternalTaskId(), variables, localVariables));
+    }
+
+    ExternalTaskService externalTaskService = getProcessEngine().getExternalTaskService();
+    try {
+      List<ExternalTaskOperationResult> results = externalTaskService.completeAll(completeDto.getWorkerId(), completions);
+      return ExternalTaskOperationResultDto.fromOperationResults(results);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  @Override
+  public List<ExternalTaskOperationResultDto> extendLockAll(ExtendLockOnExternalTasksDto extendLockDto) {
+    if (extendLockDto.getExternalTaskIds() == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The ids of the external tasks cannot be null.");
+    }
+
+    ExternalTaskService externalTaskService = getProcessEngine().getExternalTaskService();
+    try {
+      List<ExternalTaskOperationResult> results = externalTaskService.extendLockAll(extendLockDto.getWorkerId(),
+          extendLockDto.getExternalTaskIds(), extendLockDto.getNewDuration());
+      return ExternalTaskOperationResultDto.fromOperationResults(results);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  @Override
+  public List<ExternalTaskOperationResultDto> handleFailureAll(HandleExternalTaskFailuresDto failuresDto) {
+    List<ExternalTaskFailureDto> tasks = failuresDto.getTasks();
+    if (tasks == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The failures of the external tasks cannot be null.");
+    }
+
+    List<ExternalTaskFailure> failures = new ArrayList<ExternalTaskFailure>();
+    for (ExternalTaskFailureDto task : tasks) {
+      failures.add(task.toExternalTaskFailure());
+    }
+
+    ExternalTaskService externalTaskService = getProcessEngine().getExternalTaskService();
+    try {
+      List<ExternalTaskOperationResult> results = externalTaskService.handleFailureAll(failuresDto.getWorkerId(), failures);
+      return ExternalTaskOperationResultDto.fromOperationResults(results);
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e.getMessage());
+    }
+  }
+
   @Override
   public ExternalTaskResource getExternalTask(String externalTaskId) {
     return new ExternalTaskResourceImpl(getProcessEngine(), externalTaskId, getObjectMapper());
@@ -59,7 +59,7 @@ public class FilterRestServiceImpl extends AbstractAuthorizedRestResource implem
     return new FilterResourceImpl(getProcessEngine().getName(), getObjectMapper(), filterId, relativeRootResourcePath);
   }
 
-  public List<FilterDto> getFilters(UriInfo uriInfo, Boolean itemCount, Integer firstResult, Integer maxResults) {
+  public List<FilterDto> getFilters(UriInfo uriInfo, Boolean itemCount, Integer maxItemCount, Integer firstResult, Integer maxResults) {
     FilterService filterService = getProcessEngine().getFilterService();
     FilterQuery query = getQueryFromQueryParameters(uriInfo.getQueryParameters());
 
@@ -69,7 +69,12 @@ public class FilterRestServiceImpl extends AbstractAuthorizedRestResource implem
     for (Filter filter : matchingFilters) {
       FilterDto dto = FilterDto.fromFilter(filter);
       if (itemCount != null && itemCount) {
-        dto.setItemCount(filterService.count(filter.getId()));
+        if (maxItemCount != null) {
+          dto.setItemCount(filterService.count(filter.getId(), maxItemCount));
+        }
+        else {
+          dto.setItemCount(filterService.count(filter.getId()));
+        }
       }
       filters.add(dto);
     }
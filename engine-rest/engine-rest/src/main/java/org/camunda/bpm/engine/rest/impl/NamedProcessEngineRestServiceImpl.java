@@ -36,6 +36,7 @@ import org.camunda.bpm.engine.rest.BatchRestService;
 import org.camunda.bpm.engine.rest.CaseDefinitionRestService;
 import org.camunda.bpm.engine.rest.CaseExecutionRestService;
 import org.camunda.bpm.engine.rest.CaseInstanceRestService;
+import org.camunda.bpm.engine.rest.CommandProfileRestService;
 import org.camunda.bpm.engine.rest.ConditionRestService;
 import org.camunda.bpm.engine.rest.DecisionDefinitionRestService;
 import org.camunda.bpm.engine.rest.DecisionRequirementsDefinitionRestService;
@@ -260,6 +261,11 @@ public class NamedProcessEngineRestServiceImpl extends AbstractProcessEngineRest
     return super.getSchemaLogRestService(engineName);
   }
 
+  @Path("/{name}" + CommandProfileRestService.PATH)
+  public CommandProfileRestService getCommandProfileRestService(@PathParam("name") String engineName) {
+    return super.getCommandProfileRestService(engineName);
+  }
+
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   public List<ProcessEngineDto> getProcessEngineNames() {
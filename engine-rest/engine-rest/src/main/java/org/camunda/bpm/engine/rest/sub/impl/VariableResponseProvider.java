@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 
 /**
  * @author Christopher Zell <christopher.zell@camunda.com>
@@ -50,7 +51,10 @@ public class VariableResponseProvider {
     if (fileValue.getEncoding() != null) {
       type += "; charset=" + fileValue.getEncoding();
     }
-    Object value = fileValue.getValue() == null ? "" : fileValue.getValue();
+    // the file value holds the whole content in memory; its stream is written to the
+    // response as is instead of being copied into another byte array first
+    InputStream content = fileValue.getValue();
+    Object value = content == null ? "" : content;
     return Response.ok(value, type).header("Content-Disposition", "attachment; filename=" + fileValue.getFilename()).build();
   }
 
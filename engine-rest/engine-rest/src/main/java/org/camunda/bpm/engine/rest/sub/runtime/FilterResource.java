@@ -34,7 +34,7 @@ public interface FilterResource {
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  FilterDto getFilter(@QueryParam("itemCount") Boolean itemCount);
+  FilterDto getFilter(@QueryParam("itemCount") Boolean itemCount, @QueryParam("maxItemCount") Integer maxItemCount);
 
   @DELETE
   void deleteFilter();
@@ -69,13 +69,13 @@ public interface FilterResource {
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
-  CountResultDto executeCount();
+  CountResultDto executeCount(@QueryParam("maxCount") Integer maxCount);
 
   @POST
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
   @Consumes(MediaType.APPLICATION_JSON)
-  CountResultDto queryCount(String extendingQuery);
+  CountResultDto queryCount(String extendingQuery, @QueryParam("maxCount") Integer maxCount);
 
   @OPTIONS
   @Produces(MediaType.APPLICATION_JSON)
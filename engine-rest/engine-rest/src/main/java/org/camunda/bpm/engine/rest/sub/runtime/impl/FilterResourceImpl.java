@@ -91,11 +91,16 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     filterService = processEngine.getFilterService();
   }
 
-  public FilterDto getFilter(Boolean itemCount) {
+  public FilterDto getFilter(Boolean itemCount, Integer maxItemCount) {
     Filter filter = getDbFilter();
     FilterDto dto = FilterDto.fromFilter(filter);
     if (itemCount != null && itemCount) {
-      dto.setItemCount(filterService.count(filter.getId()));
+      if (maxItemCount != null) {
+        dto.setItemCount(filterService.count(filter.getId(), maxItemCount));
+      }
+      else {
+        dto.setItemCount(filterService.count(filter.getId()));
+      }
     }
     return dto;
   }
@@ -284,17 +289,26 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
-  public CountResultDto executeCount() {
-    return queryCount(null);
+  public CountResultDto executeCount(Integer maxCount) {
+    return queryCount(null, maxCount);
   }
 
-  public CountResultDto queryCount(String extendingQuery) {
-    return new CountResultDto(executeFilterCount(extendingQuery));
+  public CountResultDto queryCount(String extendingQuery, Integer maxCount) {
+    return new CountResultDto(executeFilterCount(extendingQuery, maxCount));
   }
 
   protected long executeFilterCount(String extendingQuery) {
+    return executeFilterCount(extendingQuery, null);
+  }
+
+  protected long executeFilterCount(String extendingQuery, Integer maxCount) {
     try {
-      return filterService.count(resourceId, convertQuery(extendingQuery));
+      if (maxCount != null) {
+        return filterService.count(resourceId, convertQuery(extendingQuery), maxCount);
+      }
+      else {
+        return filterService.count(resourceId, convertQuery(extendingQuery));
+      }
     }
     catch (NullValueException e) {
       throw filterNotFound(e);
@@ -0,0 +1,115 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
+import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class CommandProfileRestServiceTest extends AbstractRestServiceTest {
+
+  protected static final String COMMAND_PROFILE_URL = TEST_RESOURCE_ROOT_PATH + CommandProfileRestService.PATH;
+
+  @ClassRule
+  public static TestContainerRule rule = new TestContainerRule();
+
+  protected ManagementService managementService;
+
+  @Before
+  public void setUpRuntimeData() {
+    managementService = processEngine.getManagementService();
+
+    CommandProfileStatistics statistics = new CommandProfileStatistics();
+    statistics.setCommandName("StartProcessInstanceCmd");
+    statistics.setProcessDefinitionId("aProcessDefinitionId");
+    statistics.setActivityId("anActivityId");
+    statistics.setOperationType(CommandProfileStatistics.OPERATION_ATOMIC_OPERATION);
+    statistics.setCount(3);
+    statistics.setTotalTime(12);
+    statistics.setMaxTime(8);
+    statistics.setHistogram(new long[] { 1, 1, 0, 1 });
+
+    CommandProfileStatistics flushStatistics = new CommandProfileStatistics();
+    flushStatistics.setCommandName("StartProcessInstanceCmd");
+    flushStatistics.setOperationType(CommandProfileStatistics.OPERATION_FLUSH);
+    flushStatistics.setHistogram(new long[0]);
+
+    when(managementService.getCommandProfileStatistics()).thenReturn(Arrays.asList(statistics, flushStatistics));
+  }
+
+  @Test
+  public void testGetCommandProfileStatistics() {
+    given()
+      .then().expect()
+        .statusCode(Status.OK.getStatusCode())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body("size()", is(2))
+        .body("[0].commandName", is("StartProcessInstanceCmd"))
+        .body("[0].processDefinitionId", is("aProcessDefinitionId"))
+        .body("[0].activityId", is("anActivityId"))
+        .body("[0].operationType", is(CommandProfileStatistics.OPERATION_ATOMIC_OPERATION))
+        .body("[0].count", is(3))
+        .body("[0].totalTime", is(12))
+        .body("[0].maxTime", is(8))
+        .body("[0].histogram", is(Arrays.asList(1, 1, 0, 1)))
+        .body("[1].operationType", is(CommandProfileStatistics.OPERATION_FLUSH))
+        .body("[1].activityId", nullValue())
+      .when()
+        .get(COMMAND_PROFILE_URL);
+
+    verify(managementService).getCommandProfileStatistics();
+  }
+
+  @Test
+  public void testGetEmptyCommandProfileStatistics() {
+    when(managementService.getCommandProfileStatistics()).thenReturn(Collections.<CommandProfileStatistics>emptyList());
+
+    given()
+      .then().expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body("size()", is(0))
+      .when()
+        .get(COMMAND_PROFILE_URL);
+  }
+
+  @Test
+  public void testResetCommandProfileStatistics() {
+    given()
+      .then().expect()
+        .statusCode(Status.NO_CONTENT.getStatusCode())
+      .when()
+        .delete(COMMAND_PROFILE_URL);
+
+    verify(managementService).resetCommandProfileStatistics();
+  }
+
+}
@@ -38,6 +38,7 @@ import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.never;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +52,9 @@ import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletion;
+import org.camunda.bpm.engine.externaltask.ExternalTaskFailure;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
@@ -64,6 +68,7 @@ import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsVariableMap;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -104,6 +109,9 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
   protected static final String RETRIES_EXTERNAL_TASKS_ASYNC_URL = EXTERNAL_TASK_URL + "/retries-async";
   protected static final String PRIORITY_EXTERNAL_TASK_URL = SINGLE_EXTERNAL_TASK_URL + "/priority";
   protected static final String EXTEND_LOCK_ON_EXTERNAL_TASK = SINGLE_EXTERNAL_TASK_URL + "/extendLock";
+  protected static final String COMPLETE_EXTERNAL_TASKS_URL = EXTERNAL_TASK_URL + "/complete";
+  protected static final String EXTEND_LOCK_ON_EXTERNAL_TASKS_URL = EXTERNAL_TASK_URL + "/extendLock";
+  protected static final String HANDLE_EXTERNAL_TASKS_FAILURE_URL = EXTERNAL_TASK_URL + "/failure";
 
 
   protected ExternalTaskService externalTaskService;
@@ -1677,4 +1685,166 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
         .when().post(FETCH_EXTERNAL_TASK_URL);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCompleteAll() {
+    List<ExternalTaskOperationResult> results = Arrays.asList(
+        mockOperationResult("firstId", null),
+        mockOperationResult("secondId", new NotFoundException("not found")));
+    when(externalTaskService.completeAll(eq("aWorkerId"), anyListOf(ExternalTaskCompletion.class))).thenReturn(results);
+
+    Map<String, Object> task = new HashMap<String, Object>();
+    task.put("externalTaskId", "firstId");
+    task.put("variables", VariablesBuilder.create().variable("var1", "val1").getVariables());
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("tasks", Arrays.asList(task, Collections.singletonMap("externalTaskId", "secondId")));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("firstId"))
+      .body("[0].successful", equalTo(true))
+      .body("[1].externalTaskId", equalTo("secondId"))
+      .body("[1].successful", equalTo(false))
+      .body("[1].errorType", equalTo(NotFoundException.class.getSimpleName()))
+      .body("[1].errorMessage", equalTo("not found"))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASKS_URL);
+
+    ArgumentCaptor<List> completionsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(externalTaskService).completeAll(eq("aWorkerId"), completionsCaptor.capture());
+
+    List<ExternalTaskCompletion> completions = completionsCaptor.getValue();
+    assertThat(completions).hasSize(2);
+    assertThat(completions.get(0).getExternalTaskId()).isEqualTo("firstId");
+    assertThat(completions.get(0).getVariables()).containsEntry("var1", "val1");
+    assertThat(completions.get(1).getExternalTaskId()).isEqualTo("secondId");
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  @Test
+  public void testCompleteAllWithoutTasks() {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASKS_URL);
+
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  @Test
+  public void testExtendLockAll() {
+    List<ExternalTaskOperationResult> results = Arrays.asList(mockOperationResult("firstId", null));
+    when(externalTaskService.extendLockAll(eq("aWorkerId"), anyListOf(String.class), anyLong())).thenReturn(results);
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("newDuration", 1000);
+    parameters.put("externalTaskIds", Arrays.asList("firstId"));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("firstId"))
+      .body("[0].successful", equalTo(true))
+    .when()
+      .post(EXTEND_LOCK_ON_EXTERNAL_TASKS_URL);
+
+    verify(externalTaskService).extendLockAll("aWorkerId", Arrays.asList("firstId"), 1000);
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testHandleFailureAll() {
+    List<ExternalTaskOperationResult> results = Arrays.asList(mockOperationResult("firstId", null));
+    when(externalTaskService.handleFailureAll(eq("aWorkerId"), anyListOf(ExternalTaskFailure.class))).thenReturn(results);
+
+    Map<String, Object> failure = new HashMap<String, Object>();
+    failure.put("externalTaskId", "firstId");
+    failure.put("errorMessage", "anErrorMessage");
+    failure.put("errorDetails", "someErrorDetails");
+    failure.put("retries", 5);
+    failure.put("retryTimeout", 12345);
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("tasks", Arrays.asList(failure));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("firstId"))
+      .body("[0].successful", equalTo(true))
+    .when()
+      .post(HANDLE_EXTERNAL_TASKS_FAILURE_URL);
+
+    ArgumentCaptor<List> failuresCaptor = ArgumentCaptor.forClass(List.class);
+    verify(externalTaskService).handleFailureAll(eq("aWorkerId"), failuresCaptor.capture());
+
+    ExternalTaskFailure capturedFailure = (ExternalTaskFailure) failuresCaptor.getValue().get(0);
+    assertThat(capturedFailure.getExternalTaskId()).isEqualTo("firstId");
+    assertThat(capturedFailure.getErrorMessage()).isEqualTo("anErrorMessage");
+    assertThat(capturedFailure.getErrorDetails()).isEqualTo("someErrorDetails");
+    assertThat(capturedFailure.getRetries()).isEqualTo(5);
+    assertThat(capturedFailure.getRetryTimeout()).isEqualTo(12345);
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  @Test
+  public void testHandleFailureAllReportsFailedTasks() {
+    List<ExternalTaskOperationResult> results = Arrays.asList(
+        mockOperationResult("firstId", new BadUserRequestException("locked by another worker")),
+        mockOperationResult("secondId", null));
+    when(externalTaskService.handleFailureAll(eq("aWorkerId"), anyListOf(ExternalTaskFailure.class))).thenReturn(results);
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("tasks", Arrays.asList(
+        Collections.singletonMap("externalTaskId", "firstId"),
+        Collections.singletonMap("externalTaskId", "secondId")));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("firstId"))
+      .body("[0].successful", equalTo(false))
+      .body("[0].errorType", equalTo(BadUserRequestException.class.getSimpleName()))
+      .body("[0].errorMessage", equalTo("locked by another worker"))
+      .body("[1].externalTaskId", equalTo("secondId"))
+      .body("[1].successful", equalTo(true))
+    .when()
+      .post(HANDLE_EXTERNAL_TASKS_FAILURE_URL);
+  }
+
+  protected ExternalTaskOperationResult mockOperationResult(String externalTaskId, RuntimeException exception) {
+    ExternalTaskOperationResult result = mock(ExternalTaskOperationResult.class);
+    when(result.getExternalTaskId()).thenReturn(externalTaskId);
+    when(result.isSuccessful()).thenReturn(exception == null);
+    when(result.getException()).thenReturn(exception);
+    return result;
+  }
+
 }
@@ -192,6 +192,8 @@ public class FilterRestServiceInteractionTest extends AbstractRestServiceTest {
       .thenReturn((long) 1);
     when(filterServiceMock.count(eq(EXAMPLE_FILTER_ID), any(Query.class)))
       .thenReturn((long) 1);
+    when(filterServiceMock.count(eq(EXAMPLE_FILTER_ID), any(Query.class), anyInt()))
+      .thenReturn((long) 1);
 
     doThrow(new NullValueException("No filter found with given id"))
       .when(filterServiceMock).singleResult(eq(MockProvider.NON_EXISTING_ID));
@@ -1151,6 +1153,39 @@ public class FilterRestServiceInteractionTest extends AbstractRestServiceTest {
     verify(filterServiceMock).count(eq(EXAMPLE_FILTER_ID), isNull(Query.class));
   }
 
+  @Test
+  public void testExecuteCountWithMaxCount() {
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+      .queryParam("maxCount", 999)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("count", equalTo(1))
+    .when()
+      .get(EXECUTE_COUNT_FILTER_URL);
+
+    verify(filterServiceMock).count(eq(EXAMPLE_FILTER_ID), isNull(Query.class), eq(999));
+    verify(filterServiceMock, never()).count(eq(EXAMPLE_FILTER_ID), isNull(Query.class));
+  }
+
+  @Test
+  public void testExecuteCountAsPostWithMaxCount() {
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+      .queryParam("maxCount", 999)
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(extendingQueryDto)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("count", equalTo(1))
+    .when()
+      .post(EXECUTE_COUNT_FILTER_URL);
+
+    verify(filterServiceMock).count(eq(EXAMPLE_FILTER_ID), argThat(hasName(MockProvider.EXAMPLE_TASK_NAME)), eq(999));
+  }
+
   @Test
   public void testExecuteCountOfNonExistingFilter() {
     given()
@@ -25,6 +25,9 @@ import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletion;
+import org.camunda.bpm.engine.externaltask.ExternalTaskFailure;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
@@ -167,6 +170,49 @@ public interface ExternalTaskService {
    */
   public void extendLock(String externalTaskId, String workerId, long newLockDuration);
 
+  /**
+   * <p>Completes a list of external tasks on behalf of a worker in one transaction.
+   * Each task must be assigned to the worker.</p>
+   *
+   * <p>Tasks which cannot be completed, e.g. because they do not exist, are assigned to a
+   * different worker or were modified concurrently, do not prevent the completion of the
+   * other tasks. The reason is reported in the result of the task.</p>
+   *
+   * @param workerId the id of the worker that completes the tasks
+   * @param completions the external tasks to complete and the variables to set
+   *
+   * @return the results of the completions, in the order of the given completions
+   * @since 7.13
+   */
+  public List<ExternalTaskOperationResult> completeAll(String workerId, List<ExternalTaskCompletion> completions);
+
+  /**
+   * <p>Extends the locks of a list of external tasks on behalf of a worker in one transaction.
+   * Each task must be assigned to the worker. Failures are reported per task, see
+   * {@link #completeAll(String, List)}.</p>
+   *
+   * @param workerId the id of the worker that extends the locks of the tasks
+   * @param externalTaskIds the ids of the external tasks
+   * @param newLockDuration the new lock duration in milliseconds, starting from now
+   *
+   * @return the results of the lock extensions, in the order of the given ids
+   * @since 7.13
+   */
+  public List<ExternalTaskOperationResult> extendLockAll(String workerId, List<String> externalTaskIds, long newLockDuration);
+
+  /**
+   * <p>Reports the failures of a list of external tasks on behalf of a worker in one transaction.
+   * Each task must be assigned to the worker. Failures to report a failure are reported per task,
+   * see {@link #completeAll(String, List)}.</p>
+   *
+   * @param workerId the id of the worker that reports the failures
+   * @param failures the failures of the external tasks
+   *
+   * @return the results of the failure reports, in the order of the given failures
+   * @since 7.13
+   */
+  public List<ExternalTaskOperationResult> handleFailureAll(String workerId, List<ExternalTaskFailure> failures);
+
   /**
    * <p>Signals that an external task could not be successfully executed.
    * The task must be assigned to the given worker. The number of retries left can be specified. In addition, a timeout can be
@@ -231,4 +231,39 @@ public interface FilterService {
    */
   Long count(String filterId, Query<?, ?> extendingQuery);
 
+  /**
+   * Executes the query of the filter and returns the result count, but counts at most
+   * <code>maxCount + 1</code> results. A returned count greater than <code>maxCount</code>
+   * therefore means that there are more than <code>maxCount</code> results (e.g. "999+").
+   *
+   * @param filterId the the id of the filter
+   * @param maxCount the maximum number of results to count exactly
+   * @return the result count, but at most <code>maxCount + 1</code>
+   * @throws AuthorizationException if the user has no {@link Permissions#READ} permissions on {@link Resources#FILTER}.
+   * @throws BadUserRequestException
+   *  <ul><li>When the filter query uses expressions and expression evaluation is deactivated for stored queries.
+   *  Expression evaluation can be activated by setting the process engine configuration properties
+   *  <code>enableExpressionsInAdhocQueries</code> (default <code>false</code>) and
+   *  <code>enableExpressionsInStoredQueries</code> (default <code>true</code>) to <code>true</code>.
+   */
+  Long count(String filterId, int maxCount);
+
+  /**
+   * Executes the extended query of the filter and returns the result count, but counts at most
+   * <code>maxCount + 1</code> results.
+   *
+   * @param filterId the the id of the filter
+   * @param extendingQuery additional query to extend the filter query
+   * @param maxCount the maximum number of results to count exactly
+   * @return the result count, but at most <code>maxCount + 1</code>
+   * @throws AuthorizationException if the user has no {@link Permissions#READ} permissions on {@link Resources#FILTER}.
+   * @throws BadUserRequestException
+   *  <ul><li>When the filter query uses expressions and expression evaluation is deactivated for stored queries.
+   *  <li>When the extending query uses expressions and expression evaluation is deactivated for adhoc queries.
+   *  Expression evaluation can be activated by setting the process engine configuration properties
+   *  <code>enableExpressionsInAdhocQueries</code> (default <code>false</code>) and
+   *  <code>enableExpressionsInStoredQueries</code> (default <code>true</code>) to <code>true</code>.
+   */
+  Long count(String filterId, Query<?, ?> extendingQuery, int maxCount);
+
 }
@@ -35,6 +35,8 @@ import org.camunda.bpm.engine.batch.BatchQuery;
 import org.camunda.bpm.engine.batch.BatchStatisticsQuery;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
+import org.camunda.bpm.engine.management.DeploymentCacheStatistics;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
@@ -1315,4 +1317,41 @@ public interface ManagementService {
    */
   SchemaLogQuery createSchemaLogQuery();
 
+  /**
+   * Get the statistics of the caches of the deployment cache (process definitions,
+   * BPMN model instances, etc.). Weights and hit, miss and eviction counts are only
+   * available if the configured cache factory supports them, e.g.
+   * {@code WeightedCacheFactory}.
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   *
+   * @since 7.13
+   */
+  List<DeploymentCacheStatistics> getDeploymentCacheStatistics();
+
+  /**
+   * Get the time spent in atomic operations, delegates, expressions, database selects
+   * and flushes of the commands which were sampled by the command profiler, per command,
+   * process definition, activity and operation type. Commands are only sampled if the
+   * process engine is configured with a <code>commandProfilerSamplingRate</code>
+   * greater than 0.
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   *
+   * @since 7.13
+   */
+  List<CommandProfileStatistics> getCommandProfileStatistics();
+
+  /**
+   * Discards the statistics recorded by the command profiler.
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   *
+   * @since 7.13
+   */
+  void resetCommandProfileStatistics();
+
 }
@@ -1150,6 +1150,28 @@ public interface RuntimeService {
    */
   VariableMap getVariablesTyped(String executionId, Collection<String> variableNames, boolean deserializeValues);
 
+  /**
+   * The values of the given variables of many process instances, read in one transaction.
+   * The variables of all process instances are loaded with a single query instead of one
+   * query per process instance.
+   *
+   * @param processInstanceIds ids of the process instances, cannot be null or empty.
+   * @param variableNames the names of the variables that should be retrieved; if null, all variables
+   * of the process instances are retrieved.
+   * @param deserializeValues if false, {@link SerializableValue}s will not be deserialized
+   *
+   * @return the variables by process instance id, in the order of the given ids
+   *
+   * @throws ProcessEngineException
+   *          when no process instance is found for one of the given ids.
+   * @throws AuthorizationException
+   *          <li>if the user has no {@link Permissions#READ} permission on {@link Resources#PROCESS_INSTANCE} or
+   *          no {@link Permissions#READ_INSTANCE} permission on {@link Resources#PROCESS_DEFINITION}</li>
+   *          <li> In case {@link ProcessEngineConfiguration#enforceSpecificVariablePermission this} config is enabled and
+   *          the user has no {@link ProcessDefinitionPermisions#READ_INSTANCE_VARIABLE} permission on {@link Resources#PROCESS_DEFINITION}</li>
+   */
+  Map<String, VariableMap> getVariablesForProcessInstances(List<String> processInstanceIds, Collection<String> variableNames, boolean deserializeValues);
+
   /**
    * The variable values for the given variableNames only taking the given execution scope into account, not looking in outer scopes.
    *
@@ -1393,6 +1415,45 @@ public interface RuntimeService {
    */
   void setVariablesLocal(String executionId, Map<String, ? extends Object> variables);
 
+  /**
+   * Update or create the given variables for many process instances in one transaction. The
+   * process instances and their variables are loaded with a single query each and all changes
+   * are flushed together, instead of one transaction per process instance.
+   *
+   * @param processInstanceIds ids of the process instances, can be null if a query is given.
+   * @param processInstanceQuery a query which selects the process instances, can be null if ids are given.
+   * @param variables map containing name (key) and value of variables, cannot be null.
+   *
+   * @throws BadUserRequestException
+   *          when no process instance ids are given or selected by the query.
+   * @throws ProcessEngineException
+   *          when no process instance is found for one of the given ids.
+   * @throws AuthorizationException
+   *          if the user has none of the following:
+   *          <li>{@link ProcessInstancePermissions#UPDATE_VARIABLE} permission on {@link Resources#PROCESS_INSTANCE}</li>
+   *          <li>{@link ProcessDefinitionPermissions#UPDATE_INSTANCE_VARIABLE} permission on {@link Resources#PROCESS_DEFINITION}</li>
+   *          <li>{@link Permissions#UPDATE} permission on {@link Resources#PROCESS_INSTANCE}</li>
+   *          <li>{@link Permissions#UPDATE_INSTANCE} permission on {@link Resources#PROCESS_DEFINITION}</li>
+   */
+  void setVariablesForProcessInstances(List<String> processInstanceIds, ProcessInstanceQuery processInstanceQuery, Map<String, ? extends Object> variables);
+
+  /**
+   * Update or create the given variables for many process instances asynchronously using
+   * a Batch operation. The variables are serialized when the batch is created. Process
+   * instances which no longer exist when a batch job is executed are skipped.
+   *
+   * @param processInstanceIds ids of the process instances, can be null if a query is given.
+   * @param processInstanceQuery a query which selects the process instances, can be null if ids are given.
+   * @param variables map containing name (key) and value of variables, cannot be null.
+   *
+   * @throws BadUserRequestException
+   *          when no variables are given or no process instance ids are given or selected by the query.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#CREATE} or
+   *          {@link BatchPermissions#CREATE_BATCH_SET_VARIABLES} permission on {@link Resources#BATCH}.
+   */
+  Batch setVariablesForProcessInstancesAsync(List<String> processInstanceIds, ProcessInstanceQuery processInstanceQuery, Map<String, ? extends Object> variables);
+
   /**
    * Removes a variable for an execution.
    *
@@ -89,7 +89,10 @@ public enum BatchPermissions implements Permission {
   CREATE_BATCH_UPDATE_PROCESS_INSTANCES_SUSPEND("CREATE_BATCH_UPDATE_PROCESS_INSTANCES_SUSPEND", 32768),
 
   /** Indicates that CREATE_BATCH_SET_REMOVAL_TIME interactions are permitted */
-  CREATE_BATCH_SET_REMOVAL_TIME("CREATE_BATCH_SET_REMOVAL_TIME", 65536);
+  CREATE_BATCH_SET_REMOVAL_TIME("CREATE_BATCH_SET_REMOVAL_TIME", 65536),
+
+  /** Indicates that CREATE_BATCH_SET_VARIABLES interactions are permitted */
+  CREATE_BATCH_SET_VARIABLES("CREATE_BATCH_SET_VARIABLES", 131072);
 
   private static final Resource[] RESOURCES = new Resource[] { Resources.BATCH };
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+
+/**
+ * The completion of an external task, as passed to
+ * {@link ExternalTaskService#completeAll(String, java.util.List)}.
+ */
+public class ExternalTaskCompletion {
+
+  protected String externalTaskId;
+  protected Map<String, Object> variables;
+  protected Map<String, Object> localVariables;
+
+  public ExternalTaskCompletion(String externalTaskId) {
+    this(externalTaskId, null, null);
+  }
+
+  public ExternalTaskCompletion(String externalTaskId, Map<String, Object> variables) {
+    this(externalTaskId, variables, null);
+  }
+
+  /**
+   * @param externalTaskId the id of the external task to complete
+   * @param variables a map of variables to set on the execution the external task is assigned to
+   * @param localVariables a map of variables to set on the execution locally
+   */
+  public ExternalTaskCompletion(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    this.externalTaskId = externalTaskId;
+    this.variables = variables;
+    this.localVariables = localVariables;
+  }
+
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
+  public Map<String, Object> getVariables() {
+    return variables;
+  }
+
+  public Map<String, Object> getLocalVariables() {
+    return localVariables;
+  }
+
+}
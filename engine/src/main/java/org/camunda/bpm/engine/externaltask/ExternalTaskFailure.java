@@ -0,0 +1,63 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+
+/**
+ * A failure of an external task, as passed to
+ * {@link ExternalTaskService#handleFailureAll(String, java.util.List)}. See
+ * {@link ExternalTaskService#handleFailure(String, String, String, String, int, long)}
+ * for the meaning of the values.
+ */
+public class ExternalTaskFailure {
+
+  protected String externalTaskId;
+  protected String errorMessage;
+  protected String errorDetails;
+  protected int retries;
+  protected long retryTimeout;
+
+  public ExternalTaskFailure(String externalTaskId, String errorMessage, String errorDetails, int retries, long retryTimeout) {
+    this.externalTaskId = externalTaskId;
+    this.errorMessage = errorMessage;
+    this.errorDetails = errorDetails;
+    this.retries = retries;
+    this.retryTimeout = retryTimeout;
+  }
+
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public String getErrorDetails() {
+    return errorDetails;
+  }
+
+  public int getRetries() {
+    return retries;
+  }
+
+  public long getRetryTimeout() {
+    return retryTimeout;
+  }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+/**
+ * The outcome of an operation on a single external task which was handled as part
+ * of a bulk operation of the {@link org.camunda.bpm.engine.ExternalTaskService}.
+ */
+public interface ExternalTaskOperationResult {
+
+  /**
+   * @return the id of the external task
+   */
+  String getExternalTaskId();
+
+  /**
+   * @return true if the operation was applied to the external task
+   */
+  boolean isSuccessful();
+
+  /**
+   * @return the reason why the operation failed, e.g. a {@link org.camunda.bpm.engine.exception.NotFoundException}
+   * if the external task does not exist or an {@link org.camunda.bpm.engine.OptimisticLockingException}
+   * if the external task was modified concurrently; null if the operation was successful
+   */
+  RuntimeException getException();
+
+}
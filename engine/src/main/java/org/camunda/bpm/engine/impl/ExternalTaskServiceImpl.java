@@ -16,15 +16,25 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletion;
+import org.camunda.bpm.engine.externaltask.ExternalTaskFailure;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesSelectBuilder;
 import org.camunda.bpm.engine.impl.cmd.*;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskLogger;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskOperationResultImpl;
 import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
 
 /**
@@ -34,6 +44,8 @@ import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImp
  */
 public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTaskService {
 
+  protected static final ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
   @Override
   public ExternalTaskQueryBuilder fetchAndLock(int maxTasks, String workerId) {
     return fetchAndLock(maxTasks, workerId, false);
@@ -126,4 +138,88 @@ public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTask
     commandExecutor.execute(new ExtendLockOnExternalTaskCmd(externalTaskId, workerId, lockDuration));
   }
 
+  public List<ExternalTaskOperationResult> completeAll(String workerId, List<ExternalTaskCompletion> completions) {
+    ensureNotNull("completions", completions);
+
+    List<CompleteExternalTaskCmd> commands = new ArrayList<CompleteExternalTaskCmd>();
+    for (ExternalTaskCompletion completion : completions) {
+      commands.add(new CompleteExternalTaskCmd(completion.getExternalTaskId(), workerId, completion.getVariables(), completion.getLocalVariables()));
+    }
+    return handleAll(commands);
+  }
+
+  public List<ExternalTaskOperationResult> extendLockAll(String workerId, List<String> externalTaskIds, long newLockDuration) {
+    ensureNotNull("externalTaskIds", externalTaskIds);
+
+    List<ExtendLockOnExternalTaskCmd> commands = new ArrayList<ExtendLockOnExternalTaskCmd>();
+    for (String externalTaskId : externalTaskIds) {
+      commands.add(new ExtendLockOnExternalTaskCmd(externalTaskId, workerId, newLockDuration));
+    }
+    return handleAll(commands);
+  }
+
+  public List<ExternalTaskOperationResult> handleFailureAll(String workerId, List<ExternalTaskFailure> failures) {
+    ensureNotNull("failures", failures);
+
+    List<HandleExternalTaskFailureCmd> commands = new ArrayList<HandleExternalTaskFailureCmd>();
+    for (ExternalTaskFailure failure : failures) {
+      commands.add(new HandleExternalTaskFailureCmd(failure.getExternalTaskId(), workerId, failure.getErrorMessage(),
+          failure.getErrorDetails(), failure.getRetries(), failure.getRetryTimeout()));
+    }
+    return handleAll(commands);
+  }
+
+  /**
+   * Executes the commands in one transaction. If the operation of an external task fails, the
+   * failure is reported for this external task and the other commands are executed again in one
+   * transaction. If the transaction fails on flush (e.g. due to a concurrent modification of one
+   * of the external tasks), the commands are executed one by one, so that the failure is reported
+   * for the affected external tasks only.
+   */
+  protected List<ExternalTaskOperationResult> handleAll(List<? extends HandleExternalTaskCmd> commands) {
+    List<HandleExternalTaskCmd> remainingCommands = new ArrayList<HandleExternalTaskCmd>(commands);
+    Map<HandleExternalTaskCmd, ExternalTaskOperationResult> failedOperations = new HashMap<HandleExternalTaskCmd, ExternalTaskOperationResult>();
+
+    List<ExternalTaskOperationResult> remainingResults = null;
+    while (remainingResults == null) {
+      HandleExternalTasksCmd handleExternalTasksCmd = new HandleExternalTasksCmd(remainingCommands);
+      try {
+        remainingResults = commandExecutor.execute(handleExternalTasksCmd);
+
+      } catch (RuntimeException e) {
+        HandleExternalTaskCmd failedCommand = handleExternalTasksCmd.getFailedCommand();
+        if (failedCommand != null) {
+          LOG.exceptionWhileHandlingExternalTask(failedCommand.getExternalTaskId(), e);
+          failedOperations.put(failedCommand, ExternalTaskOperationResultImpl.failed(failedCommand.getExternalTaskId(), e));
+          remainingCommands.remove(failedCommand);
+
+        } else {
+          LOG.exceptionWhileHandlingExternalTasks(remainingCommands.size(), e);
+          remainingResults = handleOneByOne(remainingCommands);
+        }
+      }
+    }
+
+    List<ExternalTaskOperationResult> results = new ArrayList<ExternalTaskOperationResult>();
+    Iterator<ExternalTaskOperationResult> remainingResultsIterator = remainingResults.iterator();
+    for (HandleExternalTaskCmd command : commands) {
+      ExternalTaskOperationResult failedOperation = failedOperations.get(command);
+      results.add(failedOperation != null ? failedOperation : remainingResultsIterator.next());
+    }
+    return results;
+  }
+
+  protected List<ExternalTaskOperationResult> handleOneByOne(List<HandleExternalTaskCmd> commands) {
+    List<ExternalTaskOperationResult> results = new ArrayList<ExternalTaskOperationResult>();
+    for (HandleExternalTaskCmd command : commands) {
+      try {
+        commandExecutor.execute(command);
+        results.add(ExternalTaskOperationResultImpl.successful(command.getExternalTaskId()));
+      } catch (RuntimeException exception) {
+        results.add(ExternalTaskOperationResultImpl.failed(command.getExternalTaskId(), exception));
+      }
+    }
+    return results;
+  }
+
 }
@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+
 import java.util.List;
 
 import org.camunda.bpm.engine.EntityTypes;
@@ -105,4 +107,14 @@ public class FilterServiceImpl extends ServiceImpl implements FilterService {
     return commandExecutor.execute(new ExecuteFilterCountCmd(filterId, extendingQuery));
   }
 
+  public Long count(String filterId, int maxCount) {
+    ensureGreaterThanOrEqual("maxCount", maxCount, 0);
+    return commandExecutor.execute(new ExecuteFilterCountCmd(filterId, maxCount));
+  }
+
+  public Long count(String filterId, Query<?, ?> extendingQuery, int maxCount) {
+    ensureGreaterThanOrEqual("maxCount", maxCount, 0);
+    return commandExecutor.execute(new ExecuteFilterCountCmd(filterId, extendingQuery, maxCount));
+  }
+
 }
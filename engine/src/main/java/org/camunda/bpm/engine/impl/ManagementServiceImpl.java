@@ -37,6 +37,8 @@ import org.camunda.bpm.engine.impl.management.UpdateJobDefinitionSuspensionState
 import org.camunda.bpm.engine.impl.management.UpdateJobSuspensionStateBuilderImpl;
 import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
 import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
+import org.camunda.bpm.engine.management.DeploymentCacheStatistics;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
 import org.camunda.bpm.engine.management.MetricsQuery;
@@ -493,4 +495,16 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
   public SchemaLogQuery createSchemaLogQuery() {
     return new SchemaLogQueryImpl(commandExecutor);
   }
+
+  public List<DeploymentCacheStatistics> getDeploymentCacheStatistics() {
+    return commandExecutor.execute(new GetDeploymentCacheStatisticsCmd());
+  }
+
+  public List<CommandProfileStatistics> getCommandProfileStatistics() {
+    return commandExecutor.execute(new GetCommandProfileStatisticsCmd());
+  }
+
+  public void resetCommandProfileStatistics() {
+    commandExecutor.execute(new ResetCommandProfileStatisticsCmd());
+  }
 }
@@ -27,6 +27,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
 import org.camunda.bpm.engine.impl.util.CompositeCondition;
 
 /**
@@ -92,6 +93,10 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     executeSchemaOperations();
 
+    if (processEngineConfiguration.isDeploymentCacheWarmUpEnabled()) {
+      new DeploymentCacheWarmUp(processEngineConfiguration).warmUp();
+    }
+
     if (name == null) {
       LOG.processEngineCreated(ProcessEngines.NAME_DEFAULT);
     } else {
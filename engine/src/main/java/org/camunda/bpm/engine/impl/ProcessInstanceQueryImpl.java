@@ -72,6 +72,7 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
   protected boolean isTenantIdSet = false;
   protected String[] tenantIds;
   protected boolean isProcessDefinitionWithoutTenantId = false;
+  protected List<VariableFieldCondition> variableFieldConditions = new ArrayList<VariableFieldCondition>();
 
   // or query /////////////////////////////
   protected List<ProcessInstanceQueryImpl> queries = new ArrayList<>(Arrays.asList(this));
@@ -301,6 +302,14 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     return this;
   }
 
+  public ProcessInstanceQuery variableFieldEquals(String variableName, String path, String value) {
+    ensureNotNull("variableName", variableName);
+    ensureNotNull("path", path);
+    ensureNotNull("value", value);
+    variableFieldConditions.add(new VariableFieldCondition(variableName, path, value));
+    return this;
+  }
+
   //results /////////////////////////////////////////////////////////////////
 
   @Override
@@ -479,6 +488,10 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     return tenantIds;
   }
 
+  public List<VariableFieldCondition> getVariableFieldConditions() {
+    return variableFieldConditions;
+  }
+
   @Override
   public ProcessInstanceQuery or() {
     if (this != queries.get(0)) {
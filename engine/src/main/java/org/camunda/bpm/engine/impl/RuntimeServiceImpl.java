@@ -37,14 +37,17 @@ import org.camunda.bpm.engine.impl.cmd.GetActivityInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.GetExecutionVariableCmd;
 import org.camunda.bpm.engine.impl.cmd.GetExecutionVariableTypedCmd;
 import org.camunda.bpm.engine.impl.cmd.GetExecutionVariablesCmd;
+import org.camunda.bpm.engine.impl.cmd.GetProcessInstancesVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.GetStartFormCmd;
 import org.camunda.bpm.engine.impl.cmd.MessageEventReceivedCmd;
 import org.camunda.bpm.engine.impl.cmd.PatchExecutionVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.RemoveExecutionVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.ResolveIncidentCmd;
 import org.camunda.bpm.engine.impl.cmd.SetExecutionVariablesCmd;
+import org.camunda.bpm.engine.impl.cmd.SetProcessInstancesVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.SignalCmd;
 import org.camunda.bpm.engine.impl.cmd.batch.DeleteProcessInstanceBatchCmd;
+import org.camunda.bpm.engine.impl.cmd.batch.SetProcessInstancesVariablesBatchCmd;
 import org.camunda.bpm.engine.impl.migration.MigrationPlanBuilderImpl;
 import org.camunda.bpm.engine.impl.migration.MigrationPlanExecutionBuilderImpl;
 import org.camunda.bpm.engine.impl.runtime.UpdateProcessInstanceSuspensionStateBuilderImpl;
@@ -311,6 +314,11 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return commandExecutor.execute(new GetExecutionVariablesCmd(executionId, variableNames, false, deserializeObjectValues));
   }
 
+  @Override
+  public Map<String, VariableMap> getVariablesForProcessInstances(List<String> processInstanceIds, Collection<String> variableNames, boolean deserializeObjectValues) {
+    return commandExecutor.execute(new GetProcessInstancesVariablesCmd(processInstanceIds, variableNames, deserializeObjectValues));
+  }
+
   @Override
   public VariableMap getVariablesLocal(String executionId, Collection<String> variableNames) {
     return getVariablesLocalTyped(executionId, variableNames, true);
@@ -377,6 +385,23 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     setVariables(executionId, variables, true);
   }
 
+  @Override
+  public void setVariablesForProcessInstances(List<String> processInstanceIds, ProcessInstanceQuery processInstanceQuery, Map<String, ? extends Object> variables) {
+    try {
+      commandExecutor.execute(new SetProcessInstancesVariablesCmd(processInstanceIds, processInstanceQuery, variables));
+    } catch (ProcessEngineException ex) {
+      if (ExceptionUtil.checkValueTooLongException(ex)) {
+        throw new BadUserRequestException("Variable value is too long", ex);
+      }
+      throw ex;
+    }
+  }
+
+  @Override
+  public Batch setVariablesForProcessInstancesAsync(List<String> processInstanceIds, ProcessInstanceQuery processInstanceQuery, Map<String, ? extends Object> variables) {
+    return commandExecutor.execute(new SetProcessInstancesVariablesBatchCmd(processInstanceIds, processInstanceQuery, variables));
+  }
+
   protected void setVariables(String executionId, Map<String, ? extends Object> variables, boolean local) {
     try {
       commandExecutor.execute(new SetExecutionVariablesCmd(executionId, variables, local));
@@ -165,6 +165,8 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
   protected List<String> cachedCandidateGroups;
   protected Map<String, List<String>> cachedUserGroups;
 
+  protected boolean taskVisibilityUsed = false;
+
   // or query /////////////////////////////
   protected List<TaskQueryImpl> queries = new ArrayList<TaskQueryImpl>(Arrays.asList(this));
   protected boolean isOrQueryActive = false;
@@ -1347,6 +1349,8 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
       return Collections.emptyList();
     }
 
+    taskVisibilityUsed = isTaskVisibilityApplicable(commandContext);
+
     List<Task> taskList = commandContext
       .getTaskManager()
       .findTasksByQueryCriteria(this);
@@ -1361,6 +1365,26 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return taskList;
   }
 
+  @Override
+  public List<String> executeIdsList(CommandContext commandContext) {
+    ensureOrExpressionsEvaluated();
+    ensureVariablesInitialized();
+    checkQueryOk();
+
+    resetCachedCandidateGroups();
+
+    //check if candidateGroup and candidateGroups intersect
+    if (getCandidateGroup() != null && getCandidateGroupsInternal() != null && getCandidateGroups().isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    taskVisibilityUsed = isTaskVisibilityApplicable(commandContext);
+
+    return commandContext
+      .getTaskManager()
+      .findTaskIdsByQueryCriteria(this);
+  }
+
   @Override
   public long executeCount(CommandContext commandContext) {
     ensureOrExpressionsEvaluated();
@@ -1373,11 +1397,30 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     if (getCandidateGroup() != null && getCandidateGroupsInternal() != null && getCandidateGroups().isEmpty()) {
       return 0;
     }
+
+    taskVisibilityUsed = isTaskVisibilityApplicable(commandContext);
     return commandContext
       .getTaskManager()
       .findTaskCountByQueryCriteria(this);
   }
 
+  /**
+   * Candidate user and group restrictions can be answered from the task visibility table
+   * if it is enabled and the identity links are not needed for anything else.
+   */
+  protected boolean isTaskVisibilityApplicable(CommandContext commandContext) {
+    if (!commandContext.getProcessEngineConfiguration().isTaskVisibilityQueryEnabled()
+        || queries.size() > 1
+        || involvedUser != null
+        || isWithCandidateGroups()
+        || isWithCandidateUsers()) {
+      return false;
+    }
+
+    List<String> candidateGroups = getCandidateGroups();
+    return candidateUser != null || (candidateGroups != null && !candidateGroups.isEmpty());
+  }
+
   protected void resetCachedCandidateGroups() {
     cachedCandidateGroups = null;
     for (int i = 1; i < queries.size(); i++) {
@@ -1468,6 +1511,10 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return candidateGroup;
   }
 
+  public boolean isTaskVisibilityUsed() {
+    return taskVisibilityUsed;
+  }
+
   public boolean isIncludeAssignedTasks() {
     return includeAssignedTasks != null ? includeAssignedTasks : false;
   }
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
@@ -52,6 +53,8 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
   protected String[] activityInstanceIds;
   protected String[] tenantIds;
 
+  protected List<VariableFieldCondition> variableFieldConditions = new ArrayList<VariableFieldCondition>();
+
   protected boolean isByteArrayFetchingEnabled = true;
   protected boolean isCustomObjectDeserializationEnabled = true;
 
@@ -127,6 +130,13 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
     return this;
   }
 
+  public VariableInstanceQuery variableFieldEquals(String path, String value) {
+    ensureNotNull("path", path);
+    ensureNotNull("value", value);
+    variableFieldConditions.add(new VariableFieldCondition(null, path, value));
+    return this;
+  }
+
   public VariableInstanceQuery tenantIdIn(String... tenantIds) {
     ensureNotNull("tenantIds", (Object[]) tenantIds);
     this.tenantIds = tenantIds;
@@ -253,4 +263,8 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
   public String[] getActivityInstanceIds() {
     return activityInstanceIds;
   }
+
+  public List<VariableFieldCondition> getVariableFieldConditions() {
+    return variableFieldConditions;
+  }
 }
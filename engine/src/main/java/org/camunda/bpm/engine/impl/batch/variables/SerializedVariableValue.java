@@ -0,0 +1,117 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.variables;
+
+import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueField;
+import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * The value of a variable in the form the variable serializers write it to the database,
+ * so that it can be stored in a batch configuration and set when the batch jobs are
+ * executed. Object values are therefore serialized when the batch is created.
+ *
+ * @see SetVariablesBatchConfigurationJsonConverter
+ */
+public class SerializedVariableValue implements ValueFields {
+
+  protected String name;
+  protected String serializerName;
+  protected String textValue;
+  protected String textValue2;
+  protected Long longValue;
+  protected Double doubleValue;
+  protected byte[] byteArrayValue;
+
+  public static SerializedVariableValue fromValue(String name, Object value) {
+    SerializedVariableValue serializedValue = new SerializedVariableValue();
+    serializedValue.setName(name);
+
+    TypedValueField typedValueField = new TypedValueField(serializedValue, false);
+    typedValueField.setValue(Variables.untypedValue(value));
+    serializedValue.setSerializerName(typedValueField.getSerializerName());
+
+    return serializedValue;
+  }
+
+  /**
+   * @return the value as it was read from the database; object values are not deserialized
+   */
+  public TypedValue toTypedValue() {
+    TypedValueField typedValueField = new TypedValueField(this, false);
+    typedValueField.setSerializerName(serializerName);
+    return typedValueField.getTypedValue(false);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getSerializerName() {
+    return serializerName;
+  }
+
+  public void setSerializerName(String serializerName) {
+    this.serializerName = serializerName;
+  }
+
+  public String getTextValue() {
+    return textValue;
+  }
+
+  public void setTextValue(String textValue) {
+    this.textValue = textValue;
+  }
+
+  public String getTextValue2() {
+    return textValue2;
+  }
+
+  public void setTextValue2(String textValue2) {
+    this.textValue2 = textValue2;
+  }
+
+  public Long getLongValue() {
+    return longValue;
+  }
+
+  public void setLongValue(Long longValue) {
+    this.longValue = longValue;
+  }
+
+  public Double getDoubleValue() {
+    return doubleValue;
+  }
+
+  public void setDoubleValue(Double doubleValue) {
+    this.doubleValue = doubleValue;
+  }
+
+  public byte[] getByteArrayValue() {
+    return byteArrayValue;
+  }
+
+  public void setByteArrayValue(byte[] bytes) {
+    this.byteArrayValue = bytes;
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.variables;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
+import org.camunda.bpm.engine.impl.json.JsonObjectConverter;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+import org.camunda.bpm.engine.impl.util.StringUtil;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+public class SetVariablesBatchConfigurationJsonConverter extends JsonObjectConverter<SetVariablesBatchConfiguration> {
+
+  public static final SetVariablesBatchConfigurationJsonConverter INSTANCE = new SetVariablesBatchConfigurationJsonConverter();
+
+  public static final String PROCESS_INSTANCE_IDS = "processInstanceIds";
+  public static final String VARIABLES = "variables";
+
+  public static final String NAME = "name";
+  public static final String SERIALIZER_NAME = "serializerName";
+  public static final String TEXT_VALUE = "textValue";
+  public static final String TEXT_VALUE2 = "textValue2";
+  public static final String LONG_VALUE = "longValue";
+  public static final String DOUBLE_VALUE = "doubleValue";
+  public static final String BYTE_ARRAY_VALUE = "byteArrayValue";
+
+  public JsonObject toJsonObject(SetVariablesBatchConfiguration configuration) {
+    JsonObject json = JsonUtil.createObject();
+
+    JsonUtil.addListField(json, PROCESS_INSTANCE_IDS, configuration.getIds());
+
+    JsonArray variables = JsonUtil.createArray();
+    for (SerializedVariableValue variable : configuration.getVariables()) {
+      variables.add(toJsonObject(variable));
+    }
+    JsonUtil.addField(json, VARIABLES, variables);
+
+    return json;
+  }
+
+  public SetVariablesBatchConfiguration toObject(JsonObject json) {
+    List<String> processInstanceIds = JsonUtil.asStringList(JsonUtil.getArray(json, PROCESS_INSTANCE_IDS));
+
+    List<SerializedVariableValue> variables = new ArrayList<SerializedVariableValue>();
+    for (JsonElement variable : JsonUtil.getArray(json, VARIABLES)) {
+      variables.add(toVariable(JsonUtil.getObject(variable)));
+    }
+
+    return new SetVariablesBatchConfiguration(processInstanceIds, variables);
+  }
+
+  protected JsonObject toJsonObject(SerializedVariableValue variable) {
+    JsonObject json = JsonUtil.createObject();
+
+    JsonUtil.addField(json, NAME, variable.getName());
+    JsonUtil.addField(json, SERIALIZER_NAME, variable.getSerializerName());
+    JsonUtil.addField(json, TEXT_VALUE, variable.getTextValue());
+    JsonUtil.addField(json, TEXT_VALUE2, variable.getTextValue2());
+    JsonUtil.addField(json, LONG_VALUE, variable.getLongValue());
+    JsonUtil.addField(json, DOUBLE_VALUE, variable.getDoubleValue());
+
+    byte[] byteArrayValue = variable.getByteArrayValue();
+    if (byteArrayValue != null) {
+      JsonUtil.addField(json, BYTE_ARRAY_VALUE, StringUtil.fromBytes(Base64.encodeBase64(byteArrayValue)));
+    }
+
+    return json;
+  }
+
+  protected SerializedVariableValue toVariable(JsonObject json) {
+    SerializedVariableValue variable = new SerializedVariableValue();
+
+    variable.setName(JsonUtil.getString(json, NAME));
+    variable.setSerializerName(JsonUtil.getString(json, SERIALIZER_NAME));
+
+    // absent values are null, not empty or zero
+    if (json.has(TEXT_VALUE)) {
+      variable.setTextValue(JsonUtil.getString(json, TEXT_VALUE));
+    }
+    if (json.has(TEXT_VALUE2)) {
+      variable.setTextValue2(JsonUtil.getString(json, TEXT_VALUE2));
+    }
+    if (json.has(LONG_VALUE)) {
+      variable.setLongValue(JsonUtil.getLong(json, LONG_VALUE));
+    }
+    if (json.has(DOUBLE_VALUE)) {
+      variable.setDoubleValue(json.get(DOUBLE_VALUE).getAsDouble());
+    }
+    if (json.has(BYTE_ARRAY_VALUE)) {
+      variable.setByteArrayValue(Base64.decodeBase64(JsonUtil.getString(json, BYTE_ARRAY_VALUE)));
+    }
+
+    return variable;
+  }
+
+}
@@ -22,7 +22,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.impl.AbstractDefinitionDeployer;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -31,6 +36,7 @@ import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseLogger;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
 import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.DeleteJobsCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.Properties;
@@ -77,9 +83,18 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
   protected static final PropertyMapKey<String, List<JobDeclaration<?, ?>>> JOB_DECLARATIONS_PROPERTY =
       new PropertyMapKey<String, List<JobDeclaration<?, ?>>>("JOB_DECLARATIONS_PROPERTY");
 
+  protected static final PropertyMapKey<String, BpmnParse> PREPARED_PARSES_PROPERTY =
+      new PropertyMapKey<String, BpmnParse>("PREPARED_PARSES_PROPERTY");
+
   protected ExpressionManager expressionManager;
   protected BpmnParser bpmnParser;
 
+  /**
+   * the engine-owned executor reading the BPMN resources of a deployment concurrently;
+   * null disables concurrent reading
+   */
+  protected ExecutorService parseExecutor;
+
   /** <!> DON'T KEEP DEPLOYMENT-SPECIFIC STATE <!> **/
 
   @Override
@@ -88,7 +103,73 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
   }
 
   @Override
-  protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
+  protected List<ProcessDefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
+    if (parseExecutor != null) {
+      readResourcesConcurrently(deployment, properties);
+    }
+    return super.parseDefinitionResources(deployment, properties);
+  }
+
+  /**
+   * Reads and validates the XML of all BPMN resources of the deployment on the
+   * {@link #getParseExecutor() parse executor}. The transformation into process definitions,
+   * which invokes the parse listeners, and all database access still happen afterwards in
+   * the command thread and in the order of the deployment resources.
+   */
+  protected void readResourcesConcurrently(DeploymentEntity deployment, Properties properties) {
+    Map<String, BpmnParse> bpmnParses = new HashMap<String, BpmnParse>();
+    for (ResourceEntity resource : deployment.getResources().values()) {
+      if (isResourceHandled(resource)) {
+        bpmnParses.put(resource.getName(), createBpmnParse(deployment, resource));
+      }
+    }
+
+    if (bpmnParses.size() < 2) {
+      return;
+    }
+
+    LOG.readingResourcesConcurrently(bpmnParses.size());
+
+    List<Future<BpmnParse>> futures = new ArrayList<Future<BpmnParse>>();
+    try {
+      for (BpmnParse bpmnParse : bpmnParses.values()) {
+        futures.add(parseExecutor.submit(new ReadXmlCallable(bpmnParse)));
+      }
+
+      for (Future<BpmnParse> future : futures) {
+        awaitReadXml(future);
+      }
+      properties.set(PREPARED_PARSES_PROPERTY, bpmnParses);
+
+    } finally {
+      // the executor is shared by all deployments, so only the reads of this one are cancelled
+      for (Future<BpmnParse> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  protected void awaitReadXml(Future<BpmnParse> future) {
+    try {
+      future.get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw LOG.interruptedWhileReadingResources(e);
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      } else {
+        throw LOG.parsingProcessException((Exception) cause);
+      }
+    }
+  }
+
+  protected BpmnParse createBpmnParse(DeploymentEntity deployment, ResourceEntity resource) {
     byte[] bytes = resource.getBytes();
     ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
 
@@ -102,6 +183,19 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
       bpmnParse.setSchemaResource(null);
     }
 
+    return bpmnParse;
+  }
+
+  @Override
+  protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
+    BpmnParse bpmnParse = null;
+    if (properties.contains(PREPARED_PARSES_PROPERTY)) {
+      bpmnParse = properties.get(PREPARED_PARSES_PROPERTY).get(resource.getName());
+    }
+    if (bpmnParse == null) {
+      bpmnParse = createBpmnParse(deployment, resource);
+    }
+
     bpmnParse.execute();
 
     if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
@@ -463,4 +557,57 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     this.bpmnParser = bpmnParser;
   }
 
+  public ExecutorService getParseExecutor() {
+    return parseExecutor;
+  }
+
+  public void setParseExecutor(ExecutorService parseExecutor) {
+    this.parseExecutor = parseExecutor;
+  }
+
+  /**
+   * Reads the XML of a BPMN resource in a worker thread with the context of the deploying
+   * thread, i.e. its process engine configuration, process application and context class loader.
+   */
+  protected static class ReadXmlCallable implements Callable<BpmnParse> {
+
+    protected BpmnParse bpmnParse;
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+    protected ProcessApplicationReference processApplication;
+    protected ClassLoader contextClassLoader;
+
+    public ReadXmlCallable(BpmnParse bpmnParse) {
+      this.bpmnParse = bpmnParse;
+      this.processEngineConfiguration = Context.getProcessEngineConfiguration();
+      this.processApplication = Context.getCurrentProcessApplication();
+      this.contextClassLoader = Thread.currentThread().getContextClassLoader();
+    }
+
+    public BpmnParse call() {
+      Thread currentThread = Thread.currentThread();
+      ClassLoader workerClassLoader = currentThread.getContextClassLoader();
+
+      currentThread.setContextClassLoader(contextClassLoader);
+      if (processEngineConfiguration != null) {
+        Context.setProcessEngineConfiguration(processEngineConfiguration);
+      }
+      if (processApplication != null) {
+        Context.setCurrentProcessApplication(processApplication);
+      }
+
+      try {
+        return bpmnParse.readXml();
+
+      } finally {
+        if (processApplication != null) {
+          Context.removeCurrentProcessApplication();
+        }
+        if (processEngineConfiguration != null) {
+          Context.removeProcessEngineConfiguration();
+        }
+        currentThread.setContextClassLoader(workerClassLoader);
+      }
+    }
+  }
+
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.bpmn.deployer;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the daemon threads of the executor which reads the BPMN resources of a
+ * deployment concurrently. The threads are named after the process engine so that
+ * they can be told apart in thread dumps.
+ */
+public class DeploymentParseThreadFactory implements ThreadFactory {
+
+  protected final String namePrefix;
+  protected final AtomicInteger threadNumber = new AtomicInteger();
+
+  public DeploymentParseThreadFactory(String processEngineName) {
+    this.namePrefix = "camunda-deployment-parse-" + processEngineName + "-";
+  }
+
+  public Thread newThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  }
+
+}
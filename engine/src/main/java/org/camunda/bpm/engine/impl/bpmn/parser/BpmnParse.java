@@ -228,6 +228,8 @@ public class BpmnParse extends Parse {
   protected Map<String, String> prefixs = new HashMap<String, String>();
   protected String targetNamespace;
 
+  protected boolean isXmlRead = false;
+
   private Map<String, String> eventLinkTargets = new HashMap<String, String>();
   private Map<String, String> eventLinkSources = new HashMap<String, String>();
 
@@ -247,9 +249,25 @@ public class BpmnParse extends Parse {
     return this;
   }
 
+  /**
+   * Reads the XML source into the element tree and performs the schema validation
+   * without transforming the elements into process definitions. A subsequent call of
+   * {@link #execute()} then only performs the transformation.
+   *
+   * Since no parse listeners are invoked and no engine context is accessed, this
+   * phase may be executed concurrently for the resources of a deployment.
+   */
+  public BpmnParse readXml() {
+    super.execute(); // schema validation
+    isXmlRead = true;
+    return this;
+  }
+
   @Override
   public BpmnParse execute() {
-    super.execute(); // schema validation
+    if (!isXmlRead) {
+      readXml();
+    }
 
     try {
       parseRootElement();
@@ -297,6 +315,25 @@ public class BpmnParse extends Parse {
     for (BpmnParseListener parseListener : parseListeners) {
       parseListener.parseRootElement(rootElement, getProcessDefinitions());
     }
+
+    // parse listeners may have added listeners, so the plans are compiled last
+    for (ProcessDefinitionEntity processDefinition : getProcessDefinitions()) {
+      compileExecutionPlans(processDefinition);
+    }
+  }
+
+  /**
+   * Compiles the {@link ExecutionPlan}s of the scope, its activities and their
+   * outgoing transitions, so that they are not compiled while executing the process.
+   */
+  protected void compileExecutionPlans(ScopeImpl scope) {
+    scope.compileExecutionPlan();
+    for (ActivityImpl activity : scope.getActivities()) {
+      compileExecutionPlans(activity);
+      for (PvmTransition transition : activity.getOutgoingTransitions()) {
+        ((TransitionImpl) transition).compileExecutionPlan();
+      }
+    }
   }
 
   protected void collectElementIds() {
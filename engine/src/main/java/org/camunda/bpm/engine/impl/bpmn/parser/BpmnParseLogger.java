@@ -44,6 +44,10 @@ public class BpmnParseLogger extends ProcessEngineLogger {
     logError("004", "Unexpected Exception with message: {} ", cause.getMessage());
   }
 
+  public void readingResourcesConcurrently(int numberOfResources) {
+    logDebug("005", "Reading {} BPMN resources concurrently", numberOfResources);
+  }
+
   // EXCEPTIONS
 
   public ProcessEngineException parsingProcessException(Exception cause) {
@@ -62,4 +66,8 @@ public class BpmnParseLogger extends ProcessEngineLogger {
         "Cannot deploy process definition '{}': there already is a message event subscription for the message with name '{}'.", resourceName, eventName));
   }
 
+  public ProcessEngineException interruptedWhileReadingResources(InterruptedException cause) {
+    return new ProcessEngineException(exceptionMessage("012", "Interrupted while reading the BPMN resources of the deployment"), cause);
+  }
+
 }
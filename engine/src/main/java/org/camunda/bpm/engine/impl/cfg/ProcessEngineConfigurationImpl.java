@@ -40,6 +40,10 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
 
@@ -95,6 +99,7 @@ import org.camunda.bpm.engine.impl.ServiceImpl;
 import org.camunda.bpm.engine.impl.TaskServiceImpl;
 import org.camunda.bpm.engine.impl.application.ProcessApplicationManager;
 import org.camunda.bpm.engine.impl.batch.removaltime.BatchSetRemovalTimeJobHandler;
+import org.camunda.bpm.engine.impl.batch.variables.SetVariablesJobHandler;
 import org.camunda.bpm.engine.impl.batch.removaltime.DecisionSetRemovalTimeJobHandler;
 import org.camunda.bpm.engine.impl.batch.removaltime.ProcessSetRemovalTimeJobHandler;
 import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
@@ -107,6 +112,7 @@ import org.camunda.bpm.engine.impl.batch.job.SetJobRetriesJobHandler;
 import org.camunda.bpm.engine.impl.batch.update.UpdateProcessInstancesSuspendStateJobHandler;
 import org.camunda.bpm.engine.impl.bpmn.behavior.ExternalTaskActivityBehavior;
 import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
+import org.camunda.bpm.engine.impl.bpmn.deployer.DeploymentParseThreadFactory;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
 import org.camunda.bpm.engine.impl.bpmn.parser.DefaultFailedJobParseListener;
@@ -161,6 +167,8 @@ import org.camunda.bpm.engine.impl.event.EventHandlerImpl;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.event.SignalEventHandler;
 import org.camunda.bpm.engine.impl.externaltask.DefaultExternalTaskPriorityProvider;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskSharding;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.form.engine.FormEngine;
 import org.camunda.bpm.engine.impl.form.engine.HtmlFormEngine;
 import org.camunda.bpm.engine.impl.form.engine.JuelFormEngine;
@@ -202,6 +210,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContextFactory;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutorImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.camunda.bpm.engine.impl.interceptor.CommandProfilerInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
@@ -212,6 +221,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionLeases;
 import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
@@ -273,6 +283,9 @@ import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.ModelInstanceCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
@@ -314,6 +327,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
+import org.camunda.bpm.engine.impl.profiler.CommandProfiler;
 import org.camunda.bpm.engine.impl.repository.DefaultDeploymentHandlerFactory;
 import org.camunda.bpm.engine.impl.runtime.ConditionHandler;
 import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
@@ -332,6 +346,7 @@ import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ParseUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.engine.impl.variable.ValueTypeResolverImpl;
+import org.camunda.bpm.engine.impl.variable.VariableFieldExtractor;
 import org.camunda.bpm.engine.impl.variable.serializer.BooleanValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.ByteArrayValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.DateValueSerializer;
@@ -340,8 +355,10 @@ import org.camunda.bpm.engine.impl.variable.serializer.DoubleValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.FileValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.IntegerValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.LazyFileValueImpl;
 import org.camunda.bpm.engine.impl.variable.serializer.LongValueSerlializer;
 import org.camunda.bpm.engine.impl.variable.serializer.NullValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.SerializedValueCompression;
 import org.camunda.bpm.engine.impl.variable.serializer.ShortValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.StringValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
@@ -381,6 +398,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public static final int DEFAULT_FAILED_JOB_LISTENER_MAX_RETRIES = 3;
 
+  public static final String IMPLICIT_UPDATE_DETECTION_COMPARE = "compare";
+  public static final String IMPLICIT_UPDATE_DETECTION_NONE = "none";
+
   public static SqlSessionFactory cachedSqlSessionFactory;
 
   // SERVICES /////////////////////////////////////////////////////////////////
@@ -450,8 +470,48 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected CacheFactory cacheFactory;
   protected int cacheCapacity = 1000;
+
+  /**
+   * Capacity of the BPMN, CMMN and DMN model instance caches. Model instances
+   * retain the complete DOM of a resource and are usually much larger than the
+   * parsed definitions, so they can be sized separately. A negative value means
+   * that {@link #cacheCapacity} is used.
+   */
+  protected int modelInstanceCacheCapacity = -1;
+
+  /**
+   * Budget of the definition caches if the {@link #cacheFactory} is a {@link WeightedCacheFactory}, in
+   * the units of its weigher. With the default weigher, this is the approximate retained
+   * size in kilobytes. Weighted caches use this budget instead of the entry count {@link #cacheCapacity}.
+   */
+  protected int deploymentCacheMaxWeight = WeightedCacheFactory.DEFAULT_MAX_WEIGHT;
+
+  /**
+   * Budget of the model instance caches if the {@link #cacheFactory} is a {@link WeightedCacheFactory}.
+   * A negative value means that {@link #deploymentCacheMaxWeight} is used.
+   */
+  protected int modelInstanceCacheMaxWeight = -1;
+
+  /**
+   * How BPMN, CMMN and DMN model instances are retained in the deployment cache:
+   * <code>strong</code> (default), <code>soft</code>, <code>compact</code> or <code>drop</code>.
+   * See {@link ModelInstanceCache}.
+   */
+  protected String modelInstanceRetentionPolicy = ModelInstanceCache.RETENTION_STRONG;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
+  /**
+   * If true, deployed definitions are loaded into the deployment cache while the
+   * process engine is built, before the job executor picks up work.
+   * See {@link DeploymentCacheWarmUp}.
+   */
+  protected boolean isDeploymentCacheWarmUpEnabled = false;
+  protected String deploymentCacheWarmUpMode = DeploymentCacheWarmUp.MODE_LATEST_VERSIONS;
+  protected int deploymentCacheWarmUpMaxDefinitions = 1000;
+  protected List<String> deploymentCacheWarmUpKeys;
+  protected long deploymentCacheWarmUpTimeBudget = 60000;
+  protected int deploymentCacheWarmUpParallelism = Runtime.getRuntime().availableProcessors();
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -460,9 +520,54 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected PriorityProvider<JobDeclaration<?, ?>> jobPriorityProvider;
 
+  /**
+   * If true, the job executors of a cluster lease ranges of job partitions and only
+   * acquire jobs from their own ranges. See {@link JobPartitionLeases}.
+   */
+  protected boolean jobExecutorAcquireByPartition = false;
+
+  /**
+   * The number of partition ranges that are leased by the job executors. Should be
+   * considerably larger than the number of nodes in the cluster.
+   */
+  protected int jobExecutorPartitionRanges = 64;
+
+  /**
+   * Time in milliseconds after which the partition range lease of a job executor
+   * expires if it is not renewed.
+   */
+  protected long jobExecutorPartitionLeaseTime = 30000;
+
+  protected JobPartitionLeases jobPartitionLeases;
+
+  /**
+   * The maximum number of consecutive exclusive jobs of a process instance which
+   * are executed by the job executor in one transaction. With the default value 1,
+   * each job is executed in its own transaction.
+   */
+  protected int jobExecutorExclusiveJobBatchSize = 1;
+
+  /**
+   * Time in milliseconds after which no further jobs are added to a transaction
+   * executing a batch of exclusive jobs.
+   */
+  protected long jobExecutorExclusiveJobBatchTimeLimit = 1000;
+
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
+  /**
+   * If true, workers fetch external tasks from the shard group derived from their worker id
+   * first and only then from the other shard groups. See {@link ExternalTaskSharding}.
+   */
+  protected boolean externalTaskFetchSharded = false;
+
+  /**
+   * The number of shard groups for sharded fetching. Should be in the order of the number
+   * of workers fetching the same topics.
+   */
+  protected int externalTaskFetchShardGroups = 16;
+
   // MYBATIS SQL SESSION FACTORY //////////////////////////////////////////////
 
   protected SqlSessionFactory sqlSessionFactory;
@@ -647,6 +752,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDeploymentSynchronized = true;
 
+  /**
+   * The maximum number of threads used to read and validate the BPMN resources of a single
+   * deployment concurrently. The transformation into process definitions and all database
+   * access still happen in the deploying thread. Values smaller than 2 disable concurrent reading.
+   */
+  protected int deploymentParseParallelism = 1;
+
+  /**
+   * The executor reading the BPMN resources of deployments concurrently. Unless set explicitly, it is
+   * created with {@link #deploymentParseParallelism} threads when the engine is built and shut down when
+   * the engine is closed. An executor that is set explicitly is not shut down by the engine.
+   */
+  protected ExecutorService deploymentParseExecutor;
+  protected boolean isDeploymentParseExecutorOwned = false;
+
   /**
    * Allows setting whether the process engine should try reusing the first level entity cache.
    * Default setting is false, enabling it improves performance of asynchronous continuations.
@@ -685,6 +805,78 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean enableExpressionsInAdhocQueries = false;
   protected boolean enableExpressionsInStoredQueries = true;
 
+  /**
+   * If true, task queries by candidate user or groups are answered from the denormalized
+   * ACT_RU_TASK_VISIBILITY table instead of joining ACT_RU_IDENTITYLINK.
+   */
+  protected boolean taskVisibilityQueryEnabled = false;
+
+  /**
+   * If greater than zero, filter counts are cached for this time in milliseconds.
+   * See {@link FilterCountCache}.
+   */
+  protected long filterCountCacheTimeToLive = 0;
+  protected int filterCountCacheCapacity = 1000;
+  protected FilterCountCache filterCountCache;
+
+  /**
+   * If set, the serialized values of object variables which are larger than the threshold
+   * are compressed with this codec. See {@link SerializedValueCompression}.
+   */
+  protected String serializedValueCompressionCodec;
+  protected int serializedValueCompressionThreshold = 1024;
+  protected SerializedValueCompression serializedValueCompression;
+
+  /**
+   * If true, the content of file variables is not loaded together with the variable
+   * but on first access to it. See {@link LazyFileValueImpl}.
+   */
+  protected boolean fileValueLazyLoadingEnabled = false;
+
+  /**
+   * If true, the variables of a scope are loaded by name when they are accessed by name,
+   * instead of loading all variables of the scope on first access. This pays off for scopes
+   * with many variables of which only few are accessed, but needs a query per accessed name.
+   */
+  protected boolean variableLoadingByNameEnabled = false;
+
+  /**
+   * Determines how deserialized values of mutable variables (e.g. object variables) are checked for
+   * changes which were made without setting the variable again, when a command ends:
+   * {@link #IMPLICIT_UPDATE_DETECTION_COMPARE} serializes the value again and compares it with the
+   * stored value, {@link #IMPLICIT_UPDATE_DETECTION_NONE} skips the check so that changes are only
+   * saved if the variable is set explicitly. The detection can be configured per value type name
+   * (e.g. <code>object</code> or <code>json</code>); other types use the default detection.
+   */
+  protected String defaultImplicitUpdateDetection = IMPLICIT_UPDATE_DETECTION_COMPARE;
+  protected Map<String, String> implicitUpdateDetectionByValueType;
+
+  /**
+   * Extract fields (e.g. JSON paths) of variable values into the ACT_RU_VAR_FIELD table when the
+   * variables are written, so that variable instance and process instance queries can filter by them
+   * without deserializing the values. Fields are only maintained for variables whose names are
+   * handled by an extractor, so fields of existing variables are not deleted if an extractor is
+   * removed. See {@link VariableFieldExtractor}.
+   */
+  protected List<VariableFieldExtractor> variableFieldExtractors = new ArrayList<VariableFieldExtractor>();
+
+  /**
+   * The fraction of command contexts (between 0 and 1) for which the time spent in atomic operations,
+   * delegates, expressions, database selects and flushing is recorded, see
+   * {@link org.camunda.bpm.engine.ManagementService#getCommandProfileStatistics()}. If 0 (the default),
+   * no profiler is created and the profiling hooks of the engine are skipped.
+   */
+  protected double commandProfilerSamplingRate = 0;
+
+  /**
+   * The maximum number of histograms kept by the command profiler. When it is reached, operations
+   * of new process definitions and activities are only recorded per command and operation type.
+   */
+  protected int commandProfilerMaxHistograms = CommandProfiler.DEFAULT_MAX_HISTOGRAMS;
+
+  /** <code>null</code> if commands are not profiled */
+  protected CommandProfiler commandProfiler;
+
   /**
    * If false, disables XML eXternal Entity (XXE) Processing. This provides protection against XXE Processing attacks.
    */
@@ -728,6 +920,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<MigratingTransitionInstanceValidator> migratingTransitionInstanceValidators;
   protected List<MigratingCompensationInstanceValidator> migratingCompensationInstanceValidators;
 
+  /**
+   * If true, process instances are migrated with a few set-based updates per table
+   * when the migration plan does not change their structure.
+   *
+   * @see org.camunda.bpm.engine.impl.migration.BulkProcessInstanceMigration
+   */
+  protected boolean bulkMigrationEnabled = true;
+
   // Default user permission for task
   protected Permission defaultUserPermissionForTask;
 
@@ -838,10 +1038,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initBusinessCalendarManager();
     initCommandContextFactory();
     initTransactionContextFactory();
+    initCommandProfiler();
     initCommandExecutors();
     initServices();
     initIdGenerator();
     initFailedJobCommandFactory();
+    initDeploymentParseExecutor();
     initDeployers();
     initJobProvider();
     initExternalTaskPriorityProvider();
@@ -876,6 +1078,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initAdminUser();
     initAdminGroups();
     initPasswordPolicy();
+    initFilterCountCache();
+    initSerializedValueCompression();
+    initImplicitUpdateDetection();
     invokePostInit();
   }
 
@@ -1154,6 +1359,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       BatchSetRemovalTimeJobHandler batchSetRemovalTimeJobHandler = new BatchSetRemovalTimeJobHandler();
       batchHandlers.put(batchSetRemovalTimeJobHandler.getType(), batchSetRemovalTimeJobHandler);
+
+      SetVariablesJobHandler setVariablesJobHandler = new SetVariablesJobHandler();
+      batchHandlers.put(setVariablesJobHandler.getType(), setVariablesJobHandler);
     }
 
     if (customBatchJobHandlers != null) {
@@ -1178,6 +1386,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initCommandExecutorDbSchemaOperations();
   }
 
+  protected void initCommandProfiler() {
+    if (commandProfiler == null && commandProfilerSamplingRate > 0) {
+      commandProfiler = new CommandProfiler(commandProfilerSamplingRate, commandProfilerMaxHistograms);
+    }
+  }
+
   protected void initActualCommandExecutor() {
     actualCommandExecutor = new CommandExecutorImpl();
   }
@@ -1190,6 +1404,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         commandInterceptorsTxRequired = new ArrayList<>();
       }
       commandInterceptorsTxRequired.addAll(getDefaultCommandInterceptorsTxRequired());
+      if (commandProfiler != null) {
+        commandInterceptorsTxRequired.add(new CommandProfilerInterceptor());
+      }
       if (customPostCommandInterceptorsTxRequired != null) {
         commandInterceptorsTxRequired.addAll(customPostCommandInterceptorsTxRequired);
       }
@@ -1205,6 +1422,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         commandInterceptorsTxRequiresNew = new ArrayList<>();
       }
       commandInterceptorsTxRequiresNew.addAll(getDefaultCommandInterceptorsTxRequiresNew());
+      if (commandProfiler != null) {
+        commandInterceptorsTxRequiresNew.add(new CommandProfilerInterceptor());
+      }
       if (customPostCommandInterceptorsTxRequiresNew != null) {
         commandInterceptorsTxRequiresNew.addAll(customPostCommandInterceptorsTxRequiresNew);
       }
@@ -1628,6 +1848,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
     dbSqlSessionFactory.setDmnEnabled(dmnEnabled);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
+    dbSqlSessionFactory.setCommandProfiler(commandProfiler);
 
     //hack for the case when schema is defined via databaseTablePrefix parameter and not via databaseSchema parameter
     if (databaseTablePrefix != null && databaseSchema == null && databaseTablePrefix.contains(".")) {
@@ -1732,6 +1953,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   // deployers ////////////////////////////////////////////////////////////////
 
+  protected void initDeploymentParseExecutor() {
+    if (deploymentParseExecutor == null && deploymentParseParallelism > 1) {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(deploymentParseParallelism, deploymentParseParallelism,
+          60L, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(),
+          new DeploymentParseThreadFactory(processEngineName));
+      // the threads are only needed while a deployment is parsed
+      executor.allowCoreThreadTimeOut(true);
+
+      deploymentParseExecutor = executor;
+      isDeploymentParseExecutorOwned = true;
+    }
+  }
+
   protected void initDeployers() {
     if (this.deployers == null) {
       this.deployers = new ArrayList<>();
@@ -1754,7 +1989,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
       initCacheFactory();
-      deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity);
+      if (cacheFactory instanceof WeightedCacheFactory) {
+        // weighted caches are bounded by the weight of their entries rather than by their number
+        int instanceCacheMaxWeight = modelInstanceCacheMaxWeight < 0 ? deploymentCacheMaxWeight : modelInstanceCacheMaxWeight;
+        deploymentCache = new DeploymentCache(cacheFactory, deploymentCacheMaxWeight, instanceCacheMaxWeight, modelInstanceRetentionPolicy);
+
+      } else {
+        int instanceCacheCapacity = modelInstanceCacheCapacity < 0 ? cacheCapacity : modelInstanceCacheCapacity;
+        deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity, instanceCacheCapacity, modelInstanceRetentionPolicy);
+      }
       deploymentCache.setDeployers(deployers);
     }
   }
@@ -1801,6 +2044,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
 
     bpmnDeployer.setBpmnParser(bpmnParser);
+    bpmnDeployer.setParseExecutor(deploymentParseExecutor);
 
     return bpmnDeployer;
   }
@@ -1956,6 +2200,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
     }
 
+    if (jobExecutorAcquireByPartition && jobPartitionLeases == null) {
+      jobPartitionLeases = new JobPartitionLeases(jobExecutorPartitionRanges, jobExecutorPartitionLeaseTime);
+    }
+
   }
 
   protected void initJobProvider() {
@@ -2412,6 +2660,40 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  // filter count cache /////////////////////////////////////////////////////
+
+  protected void initFilterCountCache() {
+    if (filterCountCache == null && filterCountCacheTimeToLive > 0) {
+      filterCountCache = new FilterCountCache(filterCountCacheTimeToLive, filterCountCacheCapacity);
+    }
+  }
+
+  // serialized value compression ///////////////////////////////////////////
+
+  protected void initSerializedValueCompression() {
+    if (serializedValueCompression == null && serializedValueCompressionCodec != null) {
+      serializedValueCompression = new SerializedValueCompression(serializedValueCompressionCodec, serializedValueCompressionThreshold);
+    }
+  }
+
+  protected void initImplicitUpdateDetection() {
+    ensureValidImplicitUpdateDetection("defaultImplicitUpdateDetection", defaultImplicitUpdateDetection);
+
+    if (implicitUpdateDetectionByValueType != null) {
+      for (Map.Entry<String, String> entry : implicitUpdateDetectionByValueType.entrySet()) {
+        ensureValidImplicitUpdateDetection("implicitUpdateDetectionByValueType[" + entry.getKey() + "]", entry.getValue());
+      }
+    }
+  }
+
+  protected void ensureValidImplicitUpdateDetection(String propertyName, String implicitUpdateDetection) {
+    if (!IMPLICIT_UPDATE_DETECTION_COMPARE.equals(implicitUpdateDetection) &&
+      !IMPLICIT_UPDATE_DETECTION_NONE.equals(implicitUpdateDetection)) {
+      throw LOG.invalidPropertyValue(propertyName, String.valueOf(implicitUpdateDetection),
+        String.format("implicit update detection must be set to '%s' or '%s'", IMPLICIT_UPDATE_DETECTION_COMPARE, IMPLICIT_UPDATE_DETECTION_NONE));
+    }
+  }
+
   // resource authorization provider //////////////////////////////////////////
 
   protected void initResourceAuthorizationProvider() {
@@ -2688,6 +2970,60 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isJobExecutorAcquireByPartition() {
+    return jobExecutorAcquireByPartition;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquireByPartition(boolean jobExecutorAcquireByPartition) {
+    this.jobExecutorAcquireByPartition = jobExecutorAcquireByPartition;
+    return this;
+  }
+
+  public int getJobExecutorPartitionRanges() {
+    return jobExecutorPartitionRanges;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorPartitionRanges(int jobExecutorPartitionRanges) {
+    this.jobExecutorPartitionRanges = jobExecutorPartitionRanges;
+    return this;
+  }
+
+  public long getJobExecutorPartitionLeaseTime() {
+    return jobExecutorPartitionLeaseTime;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorPartitionLeaseTime(long jobExecutorPartitionLeaseTime) {
+    this.jobExecutorPartitionLeaseTime = jobExecutorPartitionLeaseTime;
+    return this;
+  }
+
+  public JobPartitionLeases getJobPartitionLeases() {
+    return jobPartitionLeases;
+  }
+
+  public ProcessEngineConfigurationImpl setJobPartitionLeases(JobPartitionLeases jobPartitionLeases) {
+    this.jobPartitionLeases = jobPartitionLeases;
+    return this;
+  }
+
+  public int getJobExecutorExclusiveJobBatchSize() {
+    return jobExecutorExclusiveJobBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorExclusiveJobBatchSize(int jobExecutorExclusiveJobBatchSize) {
+    this.jobExecutorExclusiveJobBatchSize = jobExecutorExclusiveJobBatchSize;
+    return this;
+  }
+
+  public long getJobExecutorExclusiveJobBatchTimeLimit() {
+    return jobExecutorExclusiveJobBatchTimeLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorExclusiveJobBatchTimeLimit(long jobExecutorExclusiveJobBatchTimeLimit) {
+    this.jobExecutorExclusiveJobBatchTimeLimit = jobExecutorExclusiveJobBatchTimeLimit;
+    return this;
+  }
+
   public PriorityProvider<JobDeclaration<?, ?>> getJobPriorityProvider() {
     return jobPriorityProvider;
   }
@@ -2704,6 +3040,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.externalTaskPriorityProvider = externalTaskPriorityProvider;
   }
 
+  public boolean isExternalTaskFetchSharded() {
+    return externalTaskFetchSharded;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskFetchSharded(boolean externalTaskFetchSharded) {
+    this.externalTaskFetchSharded = externalTaskFetchSharded;
+    return this;
+  }
+
+  public int getExternalTaskFetchShardGroups() {
+    return externalTaskFetchShardGroups;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskFetchShardGroups(int externalTaskFetchShardGroups) {
+    this.externalTaskFetchShardGroups = externalTaskFetchShardGroups;
+    return this;
+  }
+
   public IdGenerator getIdGenerator() {
     return idGenerator;
   }
@@ -2828,10 +3182,104 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.cacheFactory = cacheFactory;
   }
 
+  public int getCacheCapacity() {
+    return cacheCapacity;
+  }
+
   public void setCacheCapacity(int cacheCapacity) {
     this.cacheCapacity = cacheCapacity;
   }
 
+  public int getModelInstanceCacheCapacity() {
+    return modelInstanceCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setModelInstanceCacheCapacity(int modelInstanceCacheCapacity) {
+    this.modelInstanceCacheCapacity = modelInstanceCacheCapacity;
+    return this;
+  }
+
+  public int getDeploymentCacheMaxWeight() {
+    return deploymentCacheMaxWeight;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheMaxWeight(int deploymentCacheMaxWeight) {
+    this.deploymentCacheMaxWeight = deploymentCacheMaxWeight;
+    return this;
+  }
+
+  public int getModelInstanceCacheMaxWeight() {
+    return modelInstanceCacheMaxWeight;
+  }
+
+  public ProcessEngineConfigurationImpl setModelInstanceCacheMaxWeight(int modelInstanceCacheMaxWeight) {
+    this.modelInstanceCacheMaxWeight = modelInstanceCacheMaxWeight;
+    return this;
+  }
+
+  public String getModelInstanceRetentionPolicy() {
+    return modelInstanceRetentionPolicy;
+  }
+
+  public ProcessEngineConfigurationImpl setModelInstanceRetentionPolicy(String modelInstanceRetentionPolicy) {
+    this.modelInstanceRetentionPolicy = modelInstanceRetentionPolicy;
+    return this;
+  }
+
+  public boolean isDeploymentCacheWarmUpEnabled() {
+    return isDeploymentCacheWarmUpEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpEnabled(boolean isDeploymentCacheWarmUpEnabled) {
+    this.isDeploymentCacheWarmUpEnabled = isDeploymentCacheWarmUpEnabled;
+    return this;
+  }
+
+  public String getDeploymentCacheWarmUpMode() {
+    return deploymentCacheWarmUpMode;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpMode(String deploymentCacheWarmUpMode) {
+    this.deploymentCacheWarmUpMode = deploymentCacheWarmUpMode;
+    return this;
+  }
+
+  public int getDeploymentCacheWarmUpMaxDefinitions() {
+    return deploymentCacheWarmUpMaxDefinitions;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpMaxDefinitions(int deploymentCacheWarmUpMaxDefinitions) {
+    this.deploymentCacheWarmUpMaxDefinitions = deploymentCacheWarmUpMaxDefinitions;
+    return this;
+  }
+
+  public List<String> getDeploymentCacheWarmUpKeys() {
+    return deploymentCacheWarmUpKeys;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpKeys(List<String> deploymentCacheWarmUpKeys) {
+    this.deploymentCacheWarmUpKeys = deploymentCacheWarmUpKeys;
+    return this;
+  }
+
+  public long getDeploymentCacheWarmUpTimeBudget() {
+    return deploymentCacheWarmUpTimeBudget;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpTimeBudget(long deploymentCacheWarmUpTimeBudget) {
+    this.deploymentCacheWarmUpTimeBudget = deploymentCacheWarmUpTimeBudget;
+    return this;
+  }
+
+  public int getDeploymentCacheWarmUpParallelism() {
+    return deploymentCacheWarmUpParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpParallelism(int deploymentCacheWarmUpParallelism) {
+    this.deploymentCacheWarmUpParallelism = deploymentCacheWarmUpParallelism;
+    return this;
+  }
+
   public void setEnableFetchProcessDefinitionDescription(boolean enableFetchProcessDefinitionDescription){
     this.enableFetchProcessDefinitionDescription = enableFetchProcessDefinitionDescription;
   }
@@ -3647,6 +4095,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     isDeploymentSynchronized = deploymentSynchronized;
   }
 
+  public int getDeploymentParseParallelism() {
+    return deploymentParseParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseParallelism(int deploymentParseParallelism) {
+    this.deploymentParseParallelism = deploymentParseParallelism;
+    return this;
+  }
+
+  public ExecutorService getDeploymentParseExecutor() {
+    return deploymentParseExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseExecutor(ExecutorService deploymentParseExecutor) {
+    this.deploymentParseExecutor = deploymentParseExecutor;
+    return this;
+  }
+
   public boolean isCmmnEnabled() {
     return cmmnEnabled;
   }
@@ -3768,6 +4234,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
   public void close() {
+    if (isDeploymentParseExecutorOwned) {
+      deploymentParseExecutor.shutdownNow();
+      deploymentParseExecutor = null;
+      isDeploymentParseExecutorOwned = false;
+    }
+
     if (forceCloseMybatisConnectionPool
         && dataSource instanceof PooledDataSource) {
 
@@ -3854,6 +4326,160 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableExpressionsInStoredQueries = enableExpressionsInStoredQueries;
   }
 
+  public boolean isTaskVisibilityQueryEnabled() {
+    return taskVisibilityQueryEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setTaskVisibilityQueryEnabled(boolean taskVisibilityQueryEnabled) {
+    this.taskVisibilityQueryEnabled = taskVisibilityQueryEnabled;
+    return this;
+  }
+
+  public long getFilterCountCacheTimeToLive() {
+    return filterCountCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheTimeToLive(long filterCountCacheTimeToLive) {
+    this.filterCountCacheTimeToLive = filterCountCacheTimeToLive;
+    return this;
+  }
+
+  public int getFilterCountCacheCapacity() {
+    return filterCountCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheCapacity(int filterCountCacheCapacity) {
+    this.filterCountCacheCapacity = filterCountCacheCapacity;
+    return this;
+  }
+
+  public FilterCountCache getFilterCountCache() {
+    return filterCountCache;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCache(FilterCountCache filterCountCache) {
+    this.filterCountCache = filterCountCache;
+    return this;
+  }
+
+  public String getSerializedValueCompressionCodec() {
+    return serializedValueCompressionCodec;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedValueCompressionCodec(String serializedValueCompressionCodec) {
+    this.serializedValueCompressionCodec = serializedValueCompressionCodec;
+    return this;
+  }
+
+  public int getSerializedValueCompressionThreshold() {
+    return serializedValueCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedValueCompressionThreshold(int serializedValueCompressionThreshold) {
+    this.serializedValueCompressionThreshold = serializedValueCompressionThreshold;
+    return this;
+  }
+
+  public SerializedValueCompression getSerializedValueCompression() {
+    return serializedValueCompression;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedValueCompression(SerializedValueCompression serializedValueCompression) {
+    this.serializedValueCompression = serializedValueCompression;
+    return this;
+  }
+
+  public boolean isFileValueLazyLoadingEnabled() {
+    return fileValueLazyLoadingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setFileValueLazyLoadingEnabled(boolean fileValueLazyLoadingEnabled) {
+    this.fileValueLazyLoadingEnabled = fileValueLazyLoadingEnabled;
+    return this;
+  }
+
+  public boolean isVariableLoadingByNameEnabled() {
+    return variableLoadingByNameEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableLoadingByNameEnabled(boolean variableLoadingByNameEnabled) {
+    this.variableLoadingByNameEnabled = variableLoadingByNameEnabled;
+    return this;
+  }
+
+  public String getDefaultImplicitUpdateDetection() {
+    return defaultImplicitUpdateDetection;
+  }
+
+  public ProcessEngineConfigurationImpl setDefaultImplicitUpdateDetection(String defaultImplicitUpdateDetection) {
+    this.defaultImplicitUpdateDetection = defaultImplicitUpdateDetection;
+    return this;
+  }
+
+  public Map<String, String> getImplicitUpdateDetectionByValueType() {
+    return implicitUpdateDetectionByValueType;
+  }
+
+  public ProcessEngineConfigurationImpl setImplicitUpdateDetectionByValueType(Map<String, String> implicitUpdateDetectionByValueType) {
+    this.implicitUpdateDetectionByValueType = implicitUpdateDetectionByValueType;
+    return this;
+  }
+
+  /**
+   * @return the implicit update detection which applies to values of the given type
+   */
+  public String getImplicitUpdateDetection(ValueType valueType) {
+    if (implicitUpdateDetectionByValueType != null && valueType != null) {
+      String implicitUpdateDetection = implicitUpdateDetectionByValueType.get(valueType.getName());
+      if (implicitUpdateDetection != null) {
+        return implicitUpdateDetection;
+      }
+    }
+    return defaultImplicitUpdateDetection;
+  }
+
+  public List<VariableFieldExtractor> getVariableFieldExtractors() {
+    return variableFieldExtractors;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableFieldExtractors(List<VariableFieldExtractor> variableFieldExtractors) {
+    this.variableFieldExtractors = variableFieldExtractors;
+    return this;
+  }
+
+  public double getCommandProfilerSamplingRate() {
+    return commandProfilerSamplingRate;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandProfilerSamplingRate(double commandProfilerSamplingRate) {
+    this.commandProfilerSamplingRate = commandProfilerSamplingRate;
+    if (commandProfiler != null) {
+      commandProfiler.setSamplingRate(commandProfilerSamplingRate);
+    }
+    return this;
+  }
+
+  public int getCommandProfilerMaxHistograms() {
+    return commandProfilerMaxHistograms;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandProfilerMaxHistograms(int commandProfilerMaxHistograms) {
+    this.commandProfilerMaxHistograms = commandProfilerMaxHistograms;
+    return this;
+  }
+
+  /**
+   * @return the command profiler or <code>null</code> if commands are not profiled
+   */
+  public CommandProfiler getCommandProfiler() {
+    return commandProfiler;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandProfiler(CommandProfiler commandProfiler) {
+    this.commandProfiler = commandProfiler;
+    return this;
+  }
+
   public boolean isEnableXxeProcessing() {
     return enableXxeProcessing;
   }
@@ -4012,6 +4638,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return migratingCompensationInstanceValidators;
   }
 
+  public boolean isBulkMigrationEnabled() {
+    return bulkMigrationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBulkMigrationEnabled(boolean bulkMigrationEnabled) {
+    this.bulkMigrationEnabled = bulkMigrationEnabled;
+    return this;
+  }
+
   public List<MigratingActivityInstanceValidator> getDefaultMigratingActivityInstanceValidators() {
     List<MigratingActivityInstanceValidator> migratingActivityInstanceValidators = new ArrayList<>();
 
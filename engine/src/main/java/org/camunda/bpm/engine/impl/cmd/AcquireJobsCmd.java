@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
@@ -25,6 +26,7 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionRange;
 import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -55,9 +57,28 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
     acquiredJobs = new AcquiredJobs(numJobsToAcquire);
 
-    List<AcquirableJobEntity> jobs = commandContext
-      .getJobManager()
-      .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+    List<AcquirableJobEntity> jobs;
+    Page page = new Page(0, numJobsToAcquire);
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isJobExecutorAcquireByPartition()) {
+      List<JobPartitionRange> partitionRanges = processEngineConfiguration.getJobPartitionLeases()
+        .getOwnedPartitionRanges(processEngineConfiguration.getCommandExecutorTxRequiresNew(), jobExecutor.getLockOwner());
+
+      if (partitionRanges.isEmpty()) {
+        // all partitions are leased by other job executors
+        return acquiredJobs;
+      }
+
+      jobs = commandContext
+        .getJobManager()
+        .findNextJobsToExecute(page, partitionRanges);
+
+    } else {
+      jobs = commandContext
+        .getJobManager()
+        .findNextJobsToExecute(page);
+    }
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
 
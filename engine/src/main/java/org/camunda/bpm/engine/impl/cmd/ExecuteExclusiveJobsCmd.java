@@ -0,0 +1,109 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobFailureCollector;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * <p>Executes a sequence of acquired jobs in one transaction, so that they are flushed
+ * and committed once. Starting with the first job, the jobs are executed as long as they
+ * are exclusive jobs of the same process instance, the time limit is not exceeded and the
+ * job executor is active.</p>
+ *
+ * <p>Returns the ids of the jobs which were executed. If the command fails, none of the jobs
+ * has been executed and the caller is responsible for executing the failed job in isolation,
+ * see {@link #getFailedJobId()}.</p>
+ */
+public class ExecuteExclusiveJobsCmd implements Command<List<String>> {
+
+  protected List<String> jobIds;
+  protected long timeLimit;
+  protected JobExecutor jobExecutor;
+
+  /** the jobs that have been executed so far; also filled when the command fails */
+  protected List<String> executedJobIds = new ArrayList<String>();
+
+  /** the job whose execution threw an exception, if any */
+  protected String failedJobId;
+
+  public ExecuteExclusiveJobsCmd(List<String> jobIds, long timeLimit, JobExecutor jobExecutor) {
+    this.jobIds = jobIds;
+    this.timeLimit = timeLimit;
+    this.jobExecutor = jobExecutor;
+  }
+
+  public List<String> execute(CommandContext commandContext) {
+    long deadline = System.currentTimeMillis() + timeLimit;
+    String processInstanceId = null;
+
+    for (String jobId : jobIds) {
+      if (!executedJobIds.isEmpty()) {
+        if (System.currentTimeMillis() > deadline
+            || !jobExecutor.isActive()
+            || !isNextJob(commandContext, jobId, processInstanceId)) {
+          break;
+        }
+      }
+
+      JobFailureCollector jobFailureCollector = new JobFailureCollector(jobId);
+      executedJobIds.add(jobId);
+      failedJobId = jobId;
+      new ExecuteJobsCmd(jobId, jobFailureCollector).execute(commandContext);
+      failedJobId = null;
+
+      JobEntity job = jobFailureCollector.getJob();
+      if (job == null || !job.isExclusive() || job.getProcessInstanceId() == null) {
+        break;
+      }
+      processInstanceId = job.getProcessInstanceId();
+    }
+
+    return executedJobIds;
+  }
+
+  protected boolean isNextJob(CommandContext commandContext, String jobId, String processInstanceId) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+    JobEntity job = dbEntityManager.selectById(JobEntity.class, jobId);
+
+    // a job which has been deleted by one of the previous jobs is left to the caller
+    return job != null
+        && !dbEntityManager.isDeleted(job)
+        && job.isExclusive()
+        && processInstanceId.equals(job.getProcessInstanceId());
+  }
+
+  public List<String> getExecutedJobIds() {
+    return executedJobIds;
+  }
+
+  /**
+   * @return the id of the job whose execution failed, or <code>null</code> if the jobs were
+   * executed and the transaction failed on flush or commit
+   */
+  public String getFailedJobId() {
+    return failedJobId;
+  }
+
+}
@@ -17,6 +17,8 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.AbstractQuery;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.query.Query;
@@ -28,6 +30,11 @@ public class ExecuteFilterCountCmd extends AbstractExecuteFilterCmd implements C
 
   private static final long serialVersionUID = 1L;
 
+  /**
+   * If not negative, counting stops after maxCount + 1 results
+   */
+  protected int maxCount = -1;
+
   public ExecuteFilterCountCmd(String filterId) {
     super(filterId);
   }
@@ -36,9 +43,49 @@ public class ExecuteFilterCountCmd extends AbstractExecuteFilterCmd implements C
     super(filterId, extendingQuery);
   }
 
+  public ExecuteFilterCountCmd(String filterId, int maxCount) {
+    super(filterId);
+    this.maxCount = maxCount;
+  }
+
+  public ExecuteFilterCountCmd(String filterId, Query<?, ?> extendingQuery, int maxCount) {
+    super(filterId, extendingQuery);
+    this.maxCount = maxCount;
+  }
+
   public Long execute(CommandContext commandContext) {
     Filter filter = getFilter(commandContext);
-    return filter.getQuery().count();
+
+    // the results of an extending query are not cached since it can be different on every call
+    FilterCountCache filterCountCache = commandContext.getProcessEngineConfiguration().getFilterCountCache();
+    boolean isCached = filterCountCache != null && extendingQuery == null;
+
+    if (isCached) {
+      Long count = filterCountCache.get(filterId, maxCount, commandContext.getAuthentication(), commandContext.isAuthorizationCheckEnabled());
+      if (count != null) {
+        return count;
+      }
+    }
+
+    long count = maxCount >= 0 && maxCount < Integer.MAX_VALUE ? countAtMost(commandContext, filter) : filter.getQuery().count();
+
+    if (isCached) {
+      filterCountCache.put(filterId, maxCount, commandContext.getAuthentication(), commandContext.isAuthorizationCheckEnabled(), count);
+    }
+
+    return count;
+  }
+
+  /**
+   * Selects the ids of at most maxCount + 1 results, so that the database can stop
+   * after that many rows instead of counting all results.
+   */
+  protected long countAtMost(CommandContext commandContext, Filter filter) {
+    AbstractQuery<?, ?> query = filter.getQuery();
+    query.setFirstResult(0);
+    query.setMaxResults(maxCount + 1);
+
+    return query.evaluateExpressionsAndExecuteIdsList(commandContext).size();
   }
 
 }
@@ -20,16 +20,19 @@ import java.util.*;
 
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskSharding;
 import org.camunda.bpm.engine.impl.externaltask.LockedExternalTaskImpl;
 import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskManager;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 
 /**
@@ -65,16 +68,20 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
       instruction.ensureVariablesInitialized();
     }
 
-    List<ExternalTaskEntity> externalTasks = commandContext
-      .getExternalTaskManager()
-      .selectExternalTasksForTopics(fetchInstructions.values(), maxResults, usePriority);
+    List<ExternalTaskEntity> externalTasks = selectExternalTasks(commandContext);
 
     final List<LockedExternalTask> result = new ArrayList<LockedExternalTask>();
 
     for (ExternalTaskEntity entity : externalTasks) {
-
       TopicFetchInstruction fetchInstruction = fetchInstructions.get(entity.getTopicName());
       entity.lock(workerId, fetchInstruction.getLockDuration());
+    }
+
+    prefetchVariables(commandContext, externalTasks);
+
+    for (ExternalTaskEntity entity : externalTasks) {
+
+      TopicFetchInstruction fetchInstruction = fetchInstructions.get(entity.getTopicName());
 
       LockedExternalTaskImpl resultTask = LockedExternalTaskImpl.fromEntity(entity,
           fetchInstruction.getVariablesToFetch(), fetchInstruction.isLocalVariables() , fetchInstruction.isDeserializeVariables());
@@ -87,6 +94,95 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
     return result;
   }
 
+  protected List<ExternalTaskEntity> selectExternalTasks(CommandContext commandContext) {
+    ExternalTaskManager externalTaskManager = commandContext.getExternalTaskManager();
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+
+    if (!configuration.isExternalTaskFetchSharded()) {
+      return externalTaskManager.selectExternalTasksForTopics(fetchInstructions.values(), maxResults, usePriority);
+    }
+
+    // fetch from the home shard group of the worker first, then from all other groups
+    int shardGroups = configuration.getExternalTaskFetchShardGroups();
+    int shardGroup = ExternalTaskSharding.getShardGroup(workerId, shardGroups);
+    int lowerBound = ExternalTaskSharding.getLowerBound(shardGroup, shardGroups);
+    int upperBound = ExternalTaskSharding.getUpperBound(shardGroup, shardGroups);
+
+    List<ExternalTaskEntity> homeGroupTasks = externalTaskManager
+      .selectExternalTasksForTopics(fetchInstructions.values(), maxResults, usePriority, lowerBound, upperBound, false);
+
+    if (usePriority) {
+      // tasks of other groups with a higher priority must not be starved by the home group
+      List<ExternalTaskEntity> otherGroupTasks = externalTaskManager
+        .selectExternalTasksForTopics(fetchInstructions.values(), maxResults, usePriority, lowerBound, upperBound, true);
+      return mergeByPriority(homeGroupTasks, otherGroupTasks);
+    }
+
+    List<ExternalTaskEntity> externalTasks = new ArrayList<ExternalTaskEntity>(homeGroupTasks);
+    if (externalTasks.size() < maxResults) {
+      externalTasks.addAll(externalTaskManager
+        .selectExternalTasksForTopics(fetchInstructions.values(), maxResults - externalTasks.size(), usePriority, lowerBound, upperBound, true));
+    }
+
+    return externalTasks;
+  }
+
+  /**
+   * Merges two lists of external tasks ordered by descending priority into a list of at most
+   * <code>maxResults</code> tasks. On equal priority, the tasks of the home shard group come first.
+   */
+  protected List<ExternalTaskEntity> mergeByPriority(List<ExternalTaskEntity> homeGroupTasks, List<ExternalTaskEntity> otherGroupTasks) {
+    List<ExternalTaskEntity> externalTasks = new ArrayList<ExternalTaskEntity>();
+    int homeIndex = 0;
+    int otherIndex = 0;
+
+    while (externalTasks.size() < maxResults && (homeIndex < homeGroupTasks.size() || otherIndex < otherGroupTasks.size())) {
+      if (otherIndex >= otherGroupTasks.size()
+          || (homeIndex < homeGroupTasks.size() && homeGroupTasks.get(homeIndex).getPriority() >= otherGroupTasks.get(otherIndex).getPriority())) {
+        externalTasks.add(homeGroupTasks.get(homeIndex++));
+      } else {
+        externalTasks.add(otherGroupTasks.get(otherIndex++));
+      }
+    }
+
+    return externalTasks;
+  }
+
+  /**
+   * Loads the executions and the requested variables of the process instances of the given
+   * external tasks with a few bulk queries instead of loading them task by task when the
+   * locked external tasks are built. The executions are put into the entity cache, so that
+   * the execution tree of a task can be resolved without further queries.
+   */
+  protected void prefetchVariables(CommandContext commandContext, List<ExternalTaskEntity> externalTasks) {
+    if (externalTasks.isEmpty()) {
+      return;
+    }
+
+    Set<String> processInstanceIds = new HashSet<String>();
+    Set<String> variableNames = new HashSet<String>();
+    boolean fetchAllVariables = false;
+
+    for (ExternalTaskEntity externalTask : externalTasks) {
+      processInstanceIds.add(externalTask.getProcessInstanceId());
+
+      List<String> variablesToFetch = fetchInstructions.get(externalTask.getTopicName()).getVariablesToFetch();
+      if (variablesToFetch == null) {
+        fetchAllVariables = true;
+      }
+      else {
+        variableNames.addAll(variablesToFetch);
+      }
+    }
+
+    List<String> processInstanceIdList = new ArrayList<String>(processInstanceIds);
+    Collection<String> fetchedVariableNames = fetchAllVariables ? null : variableNames;
+
+    commandContext
+      .getExecutionManager()
+      .findProcessInstancesWithVariables(processInstanceIdList, fetchedVariableNames);
+  }
+
   protected void filterOnOptimisticLockingFailure(CommandContext commandContext, final List<LockedExternalTask> tasks) {
     commandContext.getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
+
+/**
+ * Gets the variables of many process instances in one transaction. The process
+ * instances, their executions and the requested variables are loaded with one
+ * query each.
+ */
+public class GetProcessInstancesVariablesCmd implements Command<Map<String, VariableMap>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected List<String> processInstanceIds;
+  protected Collection<String> variableNames;
+  protected boolean deserializeValues;
+
+  public GetProcessInstancesVariablesCmd(List<String> processInstanceIds, Collection<String> variableNames, boolean deserializeValues) {
+    this.processInstanceIds = processInstanceIds;
+    this.variableNames = variableNames;
+    this.deserializeValues = deserializeValues;
+  }
+
+  public Map<String, VariableMap> execute(CommandContext commandContext) {
+    ensureNotEmpty(BadUserRequestException.class, "processInstanceIds", processInstanceIds);
+
+    List<String> distinctProcessInstanceIds = new ArrayList<String>(new LinkedHashSet<String>(processInstanceIds));
+
+    Map<String, ExecutionEntity> processInstancesById = new HashMap<String, ExecutionEntity>();
+    for (ExecutionEntity processInstance : commandContext.getExecutionManager().findProcessInstancesWithVariables(distinctProcessInstanceIds, variableNames)) {
+      processInstancesById.put(processInstance.getId(), processInstance);
+    }
+
+    Map<String, VariableMap> variablesByProcessInstanceId = new LinkedHashMap<String, VariableMap>();
+    for (String processInstanceId : distinctProcessInstanceIds) {
+      ExecutionEntity processInstance = processInstancesById.get(processInstanceId);
+      ensureNotNull("process instance " + processInstanceId + " doesn't exist", "processInstance", processInstance);
+
+      for (CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+        checker.checkReadProcessInstanceVariable(processInstance);
+      }
+
+      VariableMapImpl variables = new VariableMapImpl();
+      processInstance.collectVariables(variables, variableNames, false, deserializeValues);
+      variablesByProcessInstanceId.put(processInstanceId, variables);
+    }
+
+    return variablesByProcessInstanceId;
+  }
+
+}
@@ -42,7 +42,21 @@ public abstract class HandleExternalTaskCmd extends ExternalTaskCmd {
 
   @Override
   public Void execute(CommandContext commandContext) {
-    validateInput();    
+    ExternalTaskEntity externalTask = getAndValidateExternalTask(commandContext);
+
+    execute(externalTask);
+
+    return null;
+  }
+
+  /**
+   * Validates the input, the worker and the authorization of the command
+   * without modifying the external task.
+   *
+   * @return the external task
+   */
+  protected ExternalTaskEntity getAndValidateExternalTask(CommandContext commandContext) {
+    validateInput();
 
     ExternalTaskEntity externalTask = commandContext.getExternalTaskManager().findExternalTaskById(externalTaskId);
     EnsureUtil.ensureNotNull(NotFoundException.class,
@@ -55,10 +69,12 @@ public abstract class HandleExternalTaskCmd extends ExternalTaskCmd {
     for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
       checker.checkUpdateProcessInstanceById(externalTask.getProcessInstanceId());
     }
-    
-    execute(externalTask);
-    
-    return null;
+
+    return externalTask;
+  }
+
+  public String getExternalTaskId() {
+    return externalTaskId;
   }
   
   /**
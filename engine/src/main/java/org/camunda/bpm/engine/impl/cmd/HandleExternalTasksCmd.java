@@ -0,0 +1,89 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskOperationResultImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+
+/**
+ * <p>Executes the operations on a list of external tasks in one transaction.</p>
+ *
+ * <p>An external task which cannot be found or which fails the validation of its operation
+ * (e.g. because it is locked by another worker) is reported in the results and skipped. Any
+ * other exception fails the whole command; the caller is then responsible for handling the
+ * external task whose operation failed (see {@link #getFailedCommand()}) and for executing the
+ * other operations again.</p>
+ */
+public class HandleExternalTasksCmd implements Command<List<ExternalTaskOperationResult>> {
+
+  protected List<? extends HandleExternalTaskCmd> commands;
+
+  /** the command whose operation threw an exception, if any */
+  protected HandleExternalTaskCmd failedCommand;
+
+  public HandleExternalTasksCmd(List<? extends HandleExternalTaskCmd> commands) {
+    this.commands = commands;
+  }
+
+  public List<ExternalTaskOperationResult> execute(CommandContext commandContext) {
+    ensureNotNull("commands", commands);
+
+    List<ExternalTaskOperationResult> results = new ArrayList<ExternalTaskOperationResult>();
+
+    for (HandleExternalTaskCmd command : commands) {
+      ExternalTaskEntity externalTask;
+      try {
+        externalTask = command.getAndValidateExternalTask(commandContext);
+
+        // the task may have been deleted by a previous operation of this command
+        if (commandContext.getDbEntityManager().isDeleted(externalTask)) {
+          throw new NotFoundException("Cannot find external task with id " + command.getExternalTaskId());
+        }
+
+      } catch (ProcessEngineException e) {
+        results.add(ExternalTaskOperationResultImpl.failed(command.getExternalTaskId(), e));
+        continue;
+      }
+
+      failedCommand = command;
+      command.execute(externalTask);
+      failedCommand = null;
+      results.add(ExternalTaskOperationResultImpl.successful(command.getExternalTaskId()));
+    }
+
+    return results;
+  }
+
+  /**
+   * @return the command whose operation failed, or <code>null</code> if all operations were
+   * executed and the transaction failed on flush
+   */
+  public HandleExternalTaskCmd getFailedCommand() {
+    return failedCommand;
+  }
+
+}
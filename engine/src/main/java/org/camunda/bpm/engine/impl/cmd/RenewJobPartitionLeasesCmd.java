@@ -0,0 +1,165 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Renews the job partition range leases of a job executor and rebalances the ranges
+ * between all job executors with a live lease. Each range has a lease property
+ * (<code>job.partition.lease.&lt;range&gt;</code>) whose value is the expiration time and
+ * the lock owner of the job executor holding the lease. Concurrent renewals are detected
+ * by the optimistic locking of the properties.</p>
+ *
+ * <p>Each job executor claims its fair share of the ranges: ranges beyond the share are
+ * released, free and expired ranges are claimed. A job executor which cannot reach its
+ * share from free ranges takes one range per renewal from the job executor with the
+ * most ranges; the former owner notices this on its next renewal.</p>
+ *
+ * <p>Returns the indexes of the ranges which are leased by the job executor.</p>
+ */
+public class RenewJobPartitionLeasesCmd implements Command<List<Integer>> {
+
+  public static final String LEASE_PROPERTY_PREFIX = "job.partition.lease.";
+  protected static final String VALUE_SEPARATOR = ";";
+  /** property values are part of the persistent state and must not be null */
+  protected static final String FREE_LEASE = "0" + VALUE_SEPARATOR;
+
+  protected String lockOwner;
+  protected int numberOfRanges;
+  protected long leaseTime;
+
+  public RenewJobPartitionLeasesCmd(String lockOwner, int numberOfRanges, long leaseTime) {
+    this.lockOwner = lockOwner;
+    this.numberOfRanges = numberOfRanges;
+    this.leaseTime = leaseTime;
+  }
+
+  public List<Integer> execute(CommandContext commandContext) {
+    long now = ClockUtil.getCurrentTime().getTime();
+    PropertyEntity[] leases = findOrCreateLeases(commandContext);
+
+    List<Integer> ownedRanges = new ArrayList<Integer>();
+    List<Integer> freeRanges = new ArrayList<Integer>();
+    Map<String, List<Integer>> rangesByOtherOwner = new HashMap<String, List<Integer>>();
+
+    for (int range = 0; range < numberOfRanges; range++) {
+      String owner = getOwner(leases[range]);
+
+      if (lockOwner.equals(owner)) {
+        // an expired lease is kept as long as no other job executor took it over
+        ownedRanges.add(range);
+
+      } else if (owner != null && getExpirationTime(leases[range]) > now) {
+        List<Integer> ranges = rangesByOtherOwner.get(owner);
+        if (ranges == null) {
+          ranges = new ArrayList<Integer>();
+          rangesByOtherOwner.put(owner, ranges);
+        }
+        ranges.add(range);
+
+      } else {
+        freeRanges.add(range);
+      }
+    }
+
+    int numberOfOwners = rangesByOtherOwner.size() + 1;
+    int fairShare = (numberOfRanges + numberOfOwners - 1) / numberOfOwners;
+
+    while (ownedRanges.size() > fairShare) {
+      int releasedRange = ownedRanges.remove(ownedRanges.size() - 1);
+      leases[releasedRange].setValue(FREE_LEASE);
+    }
+
+    while (ownedRanges.size() < fairShare && !freeRanges.isEmpty()) {
+      ownedRanges.add(freeRanges.remove(0));
+    }
+
+    if (ownedRanges.size() < numberOfRanges / numberOfOwners) {
+      List<Integer> largestShare = getLargestShare(rangesByOtherOwner);
+      if (largestShare != null && largestShare.size() > ownedRanges.size() + 1) {
+        ownedRanges.add(largestShare.get(largestShare.size() - 1));
+      }
+    }
+
+    String leaseValue = (now + leaseTime) + VALUE_SEPARATOR + lockOwner;
+    for (Integer range : ownedRanges) {
+      leases[range].setValue(leaseValue);
+    }
+
+    Collections.sort(ownedRanges);
+    return ownedRanges;
+  }
+
+  protected PropertyEntity[] findOrCreateLeases(CommandContext commandContext) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    Map<String, PropertyEntity> properties = new HashMap<String, PropertyEntity>();
+    for (Object property : dbEntityManager.selectList("selectProperties")) {
+      PropertyEntity propertyEntity = (PropertyEntity) property;
+      properties.put(propertyEntity.getName(), propertyEntity);
+    }
+
+    PropertyEntity[] leases = new PropertyEntity[numberOfRanges];
+    for (int range = 0; range < numberOfRanges; range++) {
+      String name = LEASE_PROPERTY_PREFIX + range;
+      PropertyEntity lease = properties.get(name);
+      if (lease == null) {
+        lease = new PropertyEntity(name, FREE_LEASE);
+        dbEntityManager.insert(lease);
+      }
+      leases[range] = lease;
+    }
+
+    return leases;
+  }
+
+  protected List<Integer> getLargestShare(Map<String, List<Integer>> rangesByOwner) {
+    List<Integer> largestShare = null;
+    for (List<Integer> ranges : rangesByOwner.values()) {
+      if (largestShare == null || ranges.size() > largestShare.size()) {
+        largestShare = ranges;
+      }
+    }
+    return largestShare;
+  }
+
+  protected String getOwner(PropertyEntity lease) {
+    String value = lease.getValue();
+    if (value == null || !value.contains(VALUE_SEPARATOR)) {
+      return null;
+    }
+    String owner = value.substring(value.indexOf(VALUE_SEPARATOR) + 1);
+    return owner.isEmpty() ? null : owner;
+  }
+
+  protected long getExpirationTime(PropertyEntity lease) {
+    String value = lease.getValue();
+    return Long.parseLong(value.substring(0, value.indexOf(VALUE_SEPARATOR)));
+  }
+
+}
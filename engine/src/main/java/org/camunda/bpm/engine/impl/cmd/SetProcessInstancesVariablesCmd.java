@@ -0,0 +1,169 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.pvm.runtime.Callback;
+import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
+import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+
+/**
+ * Sets the same variables on many process instances in one transaction. The process
+ * instances are processed in chunks. The executions of a chunk, the variables which are
+ * set and their historic variable instances are loaded with one query each, and all
+ * changes are written in one flush.
+ *
+ * <p>For a large number of process instances, use the batch variant
+ * {@link org.camunda.bpm.engine.impl.cmd.batch.SetProcessInstancesVariablesBatchCmd}.</p>
+ */
+public class SetProcessInstancesVariablesCmd implements Command<Void>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final int CHUNK_SIZE = 1000;
+
+  protected List<String> processInstanceIds;
+  protected ProcessInstanceQuery processInstanceQuery;
+  protected Map<String, ? extends Object> variables;
+  protected boolean failIfNotExists;
+
+  public SetProcessInstancesVariablesCmd(List<String> processInstanceIds, ProcessInstanceQuery processInstanceQuery,
+      Map<String, ? extends Object> variables) {
+    this(processInstanceIds, processInstanceQuery, variables, true);
+  }
+
+  public SetProcessInstancesVariablesCmd(List<String> processInstanceIds, ProcessInstanceQuery processInstanceQuery,
+      Map<String, ? extends Object> variables, boolean failIfNotExists) {
+    this.processInstanceIds = processInstanceIds;
+    this.processInstanceQuery = processInstanceQuery;
+    this.variables = variables;
+    this.failIfNotExists = failIfNotExists;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    ensureNotNull("variables", variables);
+
+    List<String> processInstanceIds = collectProcessInstanceIds();
+    ensureNotEmpty(BadUserRequestException.class, "processInstanceIds", processInstanceIds);
+
+    for (List<String> chunk : CollectionUtil.partition(processInstanceIds, CHUNK_SIZE)) {
+      for (ExecutionEntity processInstance : findProcessInstances(commandContext, chunk)) {
+        processInstance.setVariables(variables);
+
+        // e.g. trigger conditional events
+        processInstance.dispatchDelayedEventsAndPerformOperation((Callback<PvmExecutionImpl, Void>) null);
+
+        commandContext.getOperationLogManager().logVariableOperation(UserOperationLogEntry.OPERATION_TYPE_SET_VARIABLE,
+            processInstance.getId(), null, PropertyChange.EMPTY_CHANGE);
+      }
+    }
+
+    return null;
+  }
+
+  protected List<String> collectProcessInstanceIds() {
+    Set<String> collectedProcessInstanceIds = new LinkedHashSet<String>();
+
+    if (processInstanceIds != null) {
+      collectedProcessInstanceIds.addAll(processInstanceIds);
+    }
+
+    if (processInstanceQuery != null) {
+      collectedProcessInstanceIds.addAll(((ProcessInstanceQueryImpl) processInstanceQuery).listIds());
+    }
+
+    return new ArrayList<String>(collectedProcessInstanceIds);
+  }
+
+  /**
+   * @return the process instances in the order of the given ids
+   */
+  protected List<ExecutionEntity> findProcessInstances(CommandContext commandContext, List<String> processInstanceIds) {
+    // only the variables which are set are prefetched, other variables are loaded by name on demand
+    Map<String, ExecutionEntity> processInstancesById = new HashMap<String, ExecutionEntity>();
+    for (ExecutionEntity processInstance : commandContext.getExecutionManager()
+        .findProcessInstancesWithVariablesByName(processInstanceIds, variables.keySet())) {
+      processInstancesById.put(processInstance.getId(), processInstance);
+    }
+
+    List<ExecutionEntity> processInstances = new ArrayList<ExecutionEntity>();
+    for (String processInstanceId : processInstanceIds) {
+      ExecutionEntity processInstance = processInstancesById.get(processInstanceId);
+      if (processInstance == null && !failIfNotExists) {
+        continue;
+      }
+      ensureNotNull("process instance " + processInstanceId + " doesn't exist", "processInstance", processInstance);
+
+      for (CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+        checker.checkUpdateProcessInstanceVariables(processInstance);
+      }
+
+      processInstances.add(processInstance);
+    }
+
+    prefetchHistoricVariableInstances(commandContext, processInstances);
+
+    return processInstances;
+  }
+
+  /**
+   * Loads the historic variable instances of the variables which are updated with one query,
+   * so that the history event handler finds them in the entity cache instead of selecting
+   * them one by one.
+   */
+  protected void prefetchHistoricVariableInstances(CommandContext commandContext, List<ExecutionEntity> processInstances) {
+    HistoryLevel historyLevel = commandContext.getProcessEngineConfiguration().getHistoryLevel();
+    if (!historyLevel.isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_UPDATE, null)) {
+      return;
+    }
+
+    List<String> variableInstanceIds = new ArrayList<String>();
+    for (ExecutionEntity processInstance : processInstances) {
+      for (CoreVariableInstance variable : processInstance.getVariableInstancesLocal(variables.keySet())) {
+        variableInstanceIds.add(((VariableInstanceEntity) variable).getId());
+      }
+    }
+
+    if (!variableInstanceIds.isEmpty()) {
+      commandContext.getHistoricVariableInstanceManager().findHistoricVariableInstancesByIds(variableInstanceIds);
+    }
+  }
+
+}
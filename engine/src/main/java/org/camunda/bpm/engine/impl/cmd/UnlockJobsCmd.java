@@ -0,0 +1,47 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Unlocks jobs that were acquired by a job executor but will not be executed by it,
+ * so that they can be acquired again without waiting for the lock to expire.
+ * Jobs that no longer exist or are locked by another lock owner are ignored.
+ */
+public class UnlockJobsCmd implements Command<Void> {
+
+  protected List<String> jobIds;
+  protected String lockOwner;
+
+  public UnlockJobsCmd(List<String> jobIds, String lockOwner) {
+    this.jobIds = jobIds;
+    this.lockOwner = lockOwner;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    if (!jobIds.isEmpty()) {
+      commandContext.getJobManager().unlockJobs(jobIds, lockOwner);
+    }
+
+    return null;
+  }
+
+}
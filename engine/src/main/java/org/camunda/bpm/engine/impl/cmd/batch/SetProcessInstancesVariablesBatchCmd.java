@@ -0,0 +1,123 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd.batch;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.authorization.BatchPermissions;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchEntity;
+import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.variables.SerializedVariableValue;
+import org.camunda.bpm.engine.impl.batch.variables.SetVariablesBatchConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+
+/**
+ * Creates a batch which sets the same variables on many process instances. The variables
+ * are serialized when the batch is created.
+ */
+public class SetProcessInstancesVariablesBatchCmd extends AbstractIDBasedBatchCmd<Batch> {
+
+  protected List<String> processInstanceIds;
+  protected ProcessInstanceQuery processInstanceQuery;
+  protected Map<String, ? extends Object> variables;
+
+  public SetProcessInstancesVariablesBatchCmd(List<String> processInstanceIds, ProcessInstanceQuery processInstanceQuery,
+      Map<String, ? extends Object> variables) {
+    this.processInstanceIds = processInstanceIds;
+    this.processInstanceQuery = processInstanceQuery;
+    this.variables = variables;
+  }
+
+  @Override
+  public Batch execute(CommandContext commandContext) {
+    ensureNotNull(BadUserRequestException.class, "variables", variables);
+
+    List<String> processInstanceIds = collectProcessInstanceIds();
+
+    ensureNotEmpty(BadUserRequestException.class, "processInstanceIds", processInstanceIds);
+    checkAuthorizations(commandContext, BatchPermissions.CREATE_BATCH_SET_VARIABLES);
+    writeUserOperationLog(commandContext, processInstanceIds.size());
+
+    BatchEntity batch = createBatch(commandContext, processInstanceIds);
+
+    batch.createSeedJobDefinition();
+    batch.createMonitorJobDefinition();
+    batch.createBatchJobDefinition();
+
+    batch.fireHistoricStartEvent();
+
+    batch.createSeedJob();
+
+    return batch;
+  }
+
+  protected List<String> collectProcessInstanceIds() {
+    Set<String> collectedProcessInstanceIds = new LinkedHashSet<String>();
+
+    if (processInstanceIds != null) {
+      collectedProcessInstanceIds.addAll(processInstanceIds);
+    }
+
+    if (processInstanceQuery != null) {
+      collectedProcessInstanceIds.addAll(((ProcessInstanceQueryImpl) processInstanceQuery).listIds());
+    }
+
+    return new ArrayList<String>(collectedProcessInstanceIds);
+  }
+
+  protected BatchConfiguration getAbstractIdsBatchConfiguration(List<String> processInstanceIds) {
+    List<SerializedVariableValue> serializedVariables = new ArrayList<SerializedVariableValue>();
+    for (Map.Entry<String, ? extends Object> variable : variables.entrySet()) {
+      serializedVariables.add(SerializedVariableValue.fromValue(variable.getKey(), variable.getValue()));
+    }
+
+    return new SetVariablesBatchConfiguration(processInstanceIds, serializedVariables);
+  }
+
+  protected BatchJobHandler<SetVariablesBatchConfiguration> getBatchJobHandler(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    return (BatchJobHandler<SetVariablesBatchConfiguration>) processEngineConfiguration.getBatchHandlers().get(Batch.TYPE_SET_VARIABLES);
+  }
+
+  protected void writeUserOperationLog(CommandContext commandContext, int numInstances) {
+    List<PropertyChange> propertyChanges = new ArrayList<PropertyChange>();
+    propertyChanges.add(new PropertyChange("nrOfInstances", null, numInstances));
+    propertyChanges.add(new PropertyChange("async", null, true));
+
+    commandContext.getOperationLogManager()
+        .logProcessInstanceOperation(UserOperationLogEntry.OPERATION_TYPE_SET_VARIABLE,
+            null,
+            null,
+            null,
+            propertyChanges);
+  }
+
+}
@@ -72,6 +72,14 @@ public abstract class CoreActivity extends CoreModelElement {
 
   public void setIoMapping(IoMapping ioMapping) {
     this.ioMapping = ioMapping;
+    invalidateExecutionPlan();
+  }
+
+  @Override
+  public ExecutionPlan compileExecutionPlan() {
+    ExecutionPlan plan = new ExecutionPlan(listeners, builtInListeners, ioMapping);
+    executionPlan = plan;
+    return plan;
   }
 
   public String toString() {
@@ -53,6 +53,9 @@ public abstract class CoreModelElement implements Serializable {
   protected Map<String, List<VariableListener<?>>> variableListeners =
       new HashMap<String, List<VariableListener<?>>>();
 
+  /** compiled from the listeners, see {@link #getExecutionPlan()} */
+  protected transient ExecutionPlan executionPlan;
+
   public CoreModelElement(String id) {
     this.id = id;
   }
@@ -152,6 +155,8 @@ public abstract class CoreModelElement implements Serializable {
   }
 
   protected <T> void addListenerToMap(Map<String, List<T>> listenerMap, String eventName, T listener, int index) {
+    invalidateExecutionPlan();
+
     List<T> listeners = listenerMap.get(eventName);
     if (listeners == null) {
       listeners = new ArrayList<T>();
@@ -197,4 +202,34 @@ public abstract class CoreModelElement implements Serializable {
     return variableListeners;
   }
 
+  // execution plan ///////////////////////////////////////////////////////////
+
+  /**
+   * Returns the {@link ExecutionPlan} of this element which is used by the atomic
+   * operations to invoke listeners. The plan is compiled once the element has been
+   * parsed (see {@link #compileExecutionPlan()}) or on first access.
+   */
+  public ExecutionPlan getExecutionPlan() {
+    ExecutionPlan plan = executionPlan;
+    if (plan == null) {
+      plan = compileExecutionPlan();
+    }
+    return plan;
+  }
+
+  /**
+   * (Re-)compiles the {@link ExecutionPlan} of this element. Must be invoked if the
+   * listener maps are modified directly instead of through the <code>add*Listener</code>
+   * methods.
+   */
+  public ExecutionPlan compileExecutionPlan() {
+    ExecutionPlan plan = new ExecutionPlan(listeners, builtInListeners, null);
+    executionPlan = plan;
+    return plan;
+  }
+
+  protected void invalidateExecutionPlan() {
+    executionPlan = null;
+  }
+
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
+import org.camunda.bpm.engine.delegate.DelegateListener;
+import org.camunda.bpm.engine.impl.core.variable.mapping.InputParameter;
+import org.camunda.bpm.engine.impl.core.variable.mapping.IoMapping;
+import org.camunda.bpm.engine.impl.core.variable.mapping.OutputParameter;
+import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+
+/**
+ * Flattened view of the listeners and the input/output mapping of a
+ * {@link CoreModelElement}, as they are invoked while an execution passes the element.
+ *
+ * <p>The listeners are grouped by event name into arrays which are scanned by
+ * identity of the event name first, so that the event notification operations do not
+ * have to hash the event name for every listener they invoke. The input and output
+ * parameters are kept in arrays as well.</p>
+ *
+ * <p>A plan is immutable: it is compiled from the model element once the element
+ * has been parsed and recompiled whenever listeners or mappings are added to the element
+ * through its API.</p>
+ *
+ * @see CoreModelElement#getExecutionPlan()
+ */
+public class ExecutionPlan {
+
+  protected static final InputParameter[] NO_INPUT_PARAMETERS = new InputParameter[0];
+  protected static final OutputParameter[] NO_OUTPUT_PARAMETERS = new OutputParameter[0];
+
+  protected final String[] eventNames;
+  protected final List<DelegateListener<? extends BaseDelegateExecution>>[] listeners;
+  protected final List<DelegateListener<? extends BaseDelegateExecution>>[] builtInListeners;
+
+  protected final InputParameter[] inputParameters;
+  protected final OutputParameter[] outputParameters;
+
+  @SuppressWarnings("unchecked")
+  public ExecutionPlan(Map<String, List<DelegateListener<? extends BaseDelegateExecution>>> listeners,
+      Map<String, List<DelegateListener<? extends BaseDelegateExecution>>> builtInListeners,
+      IoMapping ioMapping) {
+
+    List<String> eventNames = new ArrayList<String>(listeners.keySet());
+    for (String eventName : builtInListeners.keySet()) {
+      if (!eventNames.contains(eventName)) {
+        eventNames.add(eventName);
+      }
+    }
+
+    this.eventNames = eventNames.toArray(new String[eventNames.size()]);
+    this.listeners = new List[this.eventNames.length];
+    this.builtInListeners = new List[this.eventNames.length];
+
+    for (int i = 0; i < this.eventNames.length; i++) {
+      this.listeners[i] = copyListeners(listeners.get(this.eventNames[i]));
+      this.builtInListeners[i] = copyListeners(builtInListeners.get(this.eventNames[i]));
+    }
+
+    if (ioMapping != null) {
+      List<InputParameter> inputParameters = ioMapping.getInputParameters();
+      this.inputParameters = inputParameters.toArray(new InputParameter[inputParameters.size()]);
+
+      List<OutputParameter> outputParameters = ioMapping.getOutputParameters();
+      this.outputParameters = outputParameters.toArray(new OutputParameter[outputParameters.size()]);
+
+    } else {
+      this.inputParameters = NO_INPUT_PARAMETERS;
+      this.outputParameters = NO_OUTPUT_PARAMETERS;
+    }
+  }
+
+  protected List<DelegateListener<? extends BaseDelegateExecution>> copyListeners(List<DelegateListener<? extends BaseDelegateExecution>> listeners) {
+    if (listeners == null || listeners.isEmpty()) {
+      return Collections.emptyList();
+    } else {
+      return Collections.unmodifiableList(new ArrayList<DelegateListener<? extends BaseDelegateExecution>>(listeners));
+    }
+  }
+
+  // listeners /////////////////////////////////////////////
+
+  /**
+   * @return the listeners (built-in + user-provided) for the given event in invocation order
+   */
+  public List<DelegateListener<? extends BaseDelegateExecution>> getListeners(String eventName) {
+    int index = indexOf(eventName);
+    if (index < 0) {
+      return Collections.emptyList();
+    }
+    return listeners[index];
+  }
+
+  /**
+   * @return the built-in listeners for the given event in invocation order
+   */
+  public List<DelegateListener<? extends BaseDelegateExecution>> getBuiltInListeners(String eventName) {
+    int index = indexOf(eventName);
+    if (index < 0) {
+      return Collections.emptyList();
+    }
+    return builtInListeners[index];
+  }
+
+  protected int indexOf(String eventName) {
+    // event names are constants, so they usually match by identity
+    for (int i = 0; i < eventNames.length; i++) {
+      if (eventNames[i] == eventName) {
+        return i;
+      }
+    }
+    for (int i = 0; i < eventNames.length; i++) {
+      if (eventName != null && eventName.equals(eventNames[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // input / output mapping ////////////////////////////////
+
+  public boolean hasInputParameters() {
+    return inputParameters.length > 0;
+  }
+
+  public boolean hasOutputParameters() {
+    return outputParameters.length > 0;
+  }
+
+  public void executeInputParameters(AbstractVariableScope variableScope) {
+    for (InputParameter inputParameter : inputParameters) {
+      inputParameter.execute(variableScope);
+    }
+  }
+
+  public void executeOutputParameters(AbstractVariableScope variableScope) {
+    for (OutputParameter outputParameter : outputParameters) {
+      outputParameter.execute(variableScope);
+    }
+  }
+
+}
@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
 import org.camunda.bpm.engine.delegate.DelegateListener;
 import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.core.model.CoreModelElement;
+import org.camunda.bpm.engine.impl.core.model.ExecutionPlan;
 import org.camunda.bpm.engine.impl.pvm.PvmException;
 
 
@@ -79,10 +80,11 @@ public abstract class AbstractEventAtomicOperation<T extends CoreExecution> impl
   }
 
   protected List<DelegateListener<? extends BaseDelegateExecution>> getListeners(CoreModelElement scope, T execution) {
+    ExecutionPlan executionPlan = scope.getExecutionPlan();
     if(execution.isSkipCustomListeners()) {
-      return scope.getBuiltInListeners(getEventName());
+      return executionPlan.getBuiltInListeners(getEventName());
     } else {
-      return scope.getListeners(getEventName());
+      return executionPlan.getListeners(getEventName());
     }
   }
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.core.variable.scope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore.VariablesProvider;
+
+/**
+ * Provides variables that were fetched up front for a subset of variable names.
+ * Requests for these names are served from the prefetched variables; all other
+ * requests are delegated to the given provider, so that the variable store is never
+ * initialized with only a subset of the existing variables.
+ */
+public class PrefetchedVariablesProvider<T extends CoreVariableInstance> implements VariablesProvider<T> {
+
+  protected Collection<T> variables;
+  protected Collection<String> variableNames;
+  protected VariablesProvider<T> delegate;
+
+  public PrefetchedVariablesProvider(Collection<T> variables, Collection<String> variableNames, VariablesProvider<T> delegate) {
+    this.variables = variables;
+    this.variableNames = variableNames;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Collection<T> provideVariables() {
+    return delegate.provideVariables();
+  }
+
+  @Override
+  public Collection<T> provideVariables(Collection<String> variablesNames) {
+    if (variablesNames == null || !variableNames.containsAll(variablesNames)) {
+      return delegate.provideVariables(variablesNames);
+    }
+
+    List<T> result = new ArrayList<T>();
+    if (variables != null) {
+      for (T variable : variables) {
+        if (variablesNames.contains(variable.getName())) {
+          result.add(variable);
+        }
+      }
+    }
+    return result;
+  }
+
+}
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.core.variable.scope;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -27,6 +28,8 @@ import java.util.Map;
 import java.util.Set;
 
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
 
 /**
@@ -38,6 +41,13 @@ public class VariableStore<T extends CoreVariableInstance> {
   protected VariablesProvider<T> variablesProvider;
   protected Map<String, T> variables;
 
+  /**
+   * Variables which were loaded by name before the store was initialized;
+   * a <code>null</code> value means that there is no variable with this name.
+   * See {@link ProcessEngineConfigurationImpl#isVariableLoadingByNameEnabled()}.
+   */
+  protected Map<String, T> variablesByName;
+
   protected Map<String, T> removedVariables = new HashMap<String, T>();
 
   protected List<VariableStoreObserver<T>> observers;
@@ -86,6 +96,16 @@ public class VariableStore<T extends CoreVariableInstance> {
         }
       }
     }
+    else if (isLoadingByName()) {
+      loadVariablesByName(variableNames);
+
+      for (String variableName : variableNames) {
+        T variable = variablesByName.get(variableName);
+        if (variable != null) {
+          result.put(variableName, variable);
+        }
+      }
+    }
     else {
       // in this case we don't initialize the variables map,
       // otherwise it would most likely contain only a subset
@@ -98,11 +118,49 @@ public class VariableStore<T extends CoreVariableInstance> {
     return result;
   }
 
+  /**
+   * Provides the variables with the given names from variables which were fetched up front,
+   * e.g. together with the variables of other scopes. The store is then not initialized
+   * with all variables of the scope when one of these variables is accessed or set; other
+   * variables are loaded by name on demand.
+   */
+  public void setPrefetchedVariables(Collection<T> variables, Collection<String> variableNames) {
+    if (isInitialized()) {
+      return;
+    }
+
+    if (variablesByName == null) {
+      variablesByName = new HashMap<String, T>();
+    }
+
+    Set<String> prefetchedNames = new HashSet<String>();
+    for (String variableName : variableNames) {
+      if (!variablesByName.containsKey(variableName)) {
+        prefetchedNames.add(variableName);
+        variablesByName.put(variableName, null);
+      }
+    }
+
+    if (variables != null) {
+      for (T variable : variables) {
+        if (prefetchedNames.contains(variable.getName())) {
+          variablesByName.put(variable.getName(), variable);
+        }
+      }
+    }
+  }
+
   public T getRemovedVariable(String name) {
     return removedVariables.get(name);
   }
 
   public T getVariable(String name) {
+    if (isLoadingByName()) {
+      if (!variablesByName.containsKey(name)) {
+        loadVariablesByName(Collections.singletonList(name));
+      }
+      return variablesByName.get(name);
+    }
 
     return getVariablesMap().get(name);
   }
@@ -121,7 +179,12 @@ public class VariableStore<T extends CoreVariableInstance> {
       throw ProcessEngineLogger.CORE_LOGGER.duplicateVariableInstanceException(value);
     }
 
-    getVariablesMap().put(value.getName(), value);
+    if (isLoadingByName()) {
+      variablesByName.put(value.getName(), value);
+    }
+    else {
+      getVariablesMap().put(value.getName(), value);
+    }
 
     for (VariableStoreObserver<T> listener : observers) {
       listener.onAdd(value);
@@ -149,7 +212,7 @@ public class VariableStore<T extends CoreVariableInstance> {
   }
 
   public boolean containsKey(String key) {
-    return getVariablesMap().containsKey(key);
+    return getVariable(key) != null;
   }
 
   public Set<String> getKeys() {
@@ -165,18 +228,74 @@ public class VariableStore<T extends CoreVariableInstance> {
       variables = new HashMap<String, T>();
 
       for (T variable : variablesProvider.provideVariables()) {
-        variables.put(variable.getName(), variable);
+        // variables which were loaded, added or removed by name take precedence
+        if (variablesByName == null || !variablesByName.containsKey(variable.getName())) {
+          variables.put(variable.getName(), variable);
+        }
+      }
+
+      if (variablesByName != null) {
+        for (T variable : variablesByName.values()) {
+          if (variable != null) {
+            variables.put(variable.getName(), variable);
+          }
+        }
+        variablesByName = null;
+      }
+    }
+  }
+
+  /**
+   * @return true if the variables are not initialized yet and should be loaded
+   *   by name instead of loading all variables of the scope
+   */
+  protected boolean isLoadingByName() {
+    if (isInitialized()) {
+      return false;
+    }
+
+    if (variablesByName == null) {
+      ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+      if (processEngineConfiguration == null || !processEngineConfiguration.isVariableLoadingByNameEnabled()) {
+        return false;
+      }
+      variablesByName = new HashMap<String, T>();
+    }
+
+    return true;
+  }
+
+  protected void loadVariablesByName(Collection<String> variableNames) {
+    List<String> namesToLoad = new ArrayList<String>();
+    for (String variableName : variableNames) {
+      if (!variablesByName.containsKey(variableName)) {
+        namesToLoad.add(variableName);
+      }
+    }
+
+    if (!namesToLoad.isEmpty()) {
+      for (String variableName : namesToLoad) {
+        variablesByName.put(variableName, null);
+      }
+      for (T variable : variablesProvider.provideVariables(namesToLoad)) {
+        variablesByName.put(variable.getName(), variable);
       }
     }
   }
 
   public T removeVariable(String variableName) {
 
-    if (!getVariablesMap().containsKey(variableName)) {
+    if (!containsKey(variableName)) {
       return null;
     }
 
-    T value = getVariablesMap().remove(variableName);
+    T value;
+    if (isLoadingByName()) {
+      value = variablesByName.put(variableName, null);
+    }
+    else {
+      value = getVariablesMap().remove(variableName);
+    }
 
     for (VariableStoreObserver<T> observer : observers) {
       observer.onRemove(value);
@@ -743,4 +743,54 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         + "Failed operation: {}",
         operation));
   }
+
+  public void startingDeploymentCacheWarmUp(int numberOfDefinitions, int threads, long timeBudget) {
+    logInfo(
+        "090",
+        "Warming up the deployment cache with {} definitions using {} threads and a time budget of {} ms",
+        numberOfDefinitions, threads, timeBudget);
+  }
+
+  public void deploymentCacheWarmUpProgress(int loadedDefinitions, int numberOfDefinitions, long duration) {
+    logDebug(
+        "091",
+        "Loaded {} of {} definitions into the deployment cache after {} ms",
+        loadedDefinitions, numberOfDefinitions, duration);
+  }
+
+  public void exceptionWhileWarmingUpDeploymentCache(String definitionId, Exception e) {
+    logWarn(
+        "092",
+        "Exception while loading definition '{}' into the deployment cache: {}",
+        definitionId, e.getMessage(), e);
+  }
+
+  public void deploymentCacheWarmUpTimeBudgetExceeded(int loadedDefinitions, int numberOfDefinitions, long timeBudget) {
+    logWarn(
+        "093",
+        "The deployment cache warm up exceeded its time budget of {} ms; loaded {} of {} definitions",
+        timeBudget, loadedDefinitions, numberOfDefinitions);
+  }
+
+  public void finishedDeploymentCacheWarmUp(int loadedDefinitions, int numberOfDefinitions, long duration) {
+    logInfo(
+        "094",
+        "Warmed up the deployment cache with {} of {} definitions in {} ms",
+        loadedDefinitions, numberOfDefinitions, duration);
+  }
+
+  public ProcessEngineException invalidModelInstanceRetentionPolicy(String retentionPolicy) {
+    return new ProcessEngineException(exceptionMessage(
+        "095",
+        "Invalid model instance retention policy '{}'. Supported policies are 'strong', 'soft', 'compact' and 'drop'.",
+        retentionPolicy));
+  }
+
+  public ProcessEngineException invalidDeploymentCacheWarmUpMode(String mode) {
+    return new ProcessEngineException(exceptionMessage(
+        "096",
+        "Invalid deployment cache warm up mode '{}'. Supported modes are 'latestVersions' and 'mostUsed'.",
+        mode));
+  }
+
 }
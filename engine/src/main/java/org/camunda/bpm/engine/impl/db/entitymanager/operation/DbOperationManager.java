@@ -19,10 +19,17 @@ package org.camunda.bpm.engine.impl.db.entitymanager.operation;
 import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.DELETE;
 import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.INSERT;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
@@ -196,51 +203,109 @@ public class DbOperationManager {
    * a) all operations in the set work on entities such that the entities implement {@link HasDbReferences}.
    * b) all operations in the set work on the same type (ie. all operations are INSERTs or DELETEs).
    *
+   * The operations are sorted topologically: an INSERT is placed after the INSERTs of the
+   * entities it references, an UPDATE or DELETE is placed after the operations of the entities
+   * which reference it. Where there are no references, the pre-sorted order is kept.
+   * The sorting is linear in the number of operations and references.
    */
   protected List<DbEntityOperation> sortByReferences(SortedSet<DbEntityOperation> preSorted) {
     // copy the pre-sorted set and apply final sorting to list
     List<DbEntityOperation> opList = new ArrayList<DbEntityOperation>(preSorted);
+    if (opList.size() < 2) {
+      return opList;
+    }
+
+    Map<DbEntityOperation, List<DbEntityOperation>> predecessors = collectPredecessors(opList);
 
-    for (int i = 0; i < opList.size(); i++) {
+    List<DbEntityOperation> sortedOpList = new ArrayList<DbEntityOperation>(opList.size());
+    Set<DbEntityOperation> visited = Collections.newSetFromMap(new IdentityHashMap<DbEntityOperation, Boolean>());
 
-      DbEntityOperation currentOperation = opList.get(i);
-      DbEntity currentEntity = currentOperation.getEntity();
-      Set<String> currentReferences = currentOperation.getFlushRelevantEntityReferences();
+    // depth-first search which adds the predecessors of an operation before the operation itself;
+    // iterative, since the reference chains can be as deep as the execution tree
+    Deque<DbEntityOperation> operationStack = new ArrayDeque<DbEntityOperation>();
+    Deque<Iterator<DbEntityOperation>> predecessorStack = new ArrayDeque<Iterator<DbEntityOperation>>();
 
-      // check whether this operation must be placed after another operation
-      int moveTo = i;
-      for(int k = i+1; k < opList.size(); k++) {
-        DbEntityOperation otherOperation = opList.get(k);
-        DbEntity otherEntity = otherOperation.getEntity();
-        Set<String> otherReferences = otherOperation.getFlushRelevantEntityReferences();
+    for (DbEntityOperation operation : opList) {
+      if (!visited.add(operation)) {
+        continue;
+      }
 
-        if(currentOperation.getOperationType() == INSERT) {
+      operationStack.push(operation);
+      predecessorStack.push(getPredecessors(predecessors, operation));
 
+      while (!operationStack.isEmpty()) {
+        Iterator<DbEntityOperation> predecessorIt = predecessorStack.peek();
 
-          // if we reference the other entity, we need to be inserted after that entity
-          if(currentReferences != null && currentReferences.contains(otherEntity.getId())) {
-            moveTo = k;
-            break; // we can only reference a single entity
+        if (predecessorIt.hasNext()) {
+          DbEntityOperation predecessor = predecessorIt.next();
+          // an operation that is already visited is either sorted or part of a reference cycle
+          if (visited.add(predecessor)) {
+            operationStack.push(predecessor);
+            predecessorStack.push(getPredecessors(predecessors, predecessor));
           }
+        }
+        else {
+          sortedOpList.add(operationStack.pop());
+          predecessorStack.pop();
+        }
+      }
+    }
 
-        } else { // UPDATE or DELETE
+    return sortedOpList;
+  }
 
-          // if the other entity has a reference to us, we must be placed after the other entity
-          if(otherReferences != null && otherReferences.contains(currentEntity.getId())) {
-            moveTo = k;
-            // cannot break, there may be another entity further to the right which also references us
-          }
+  /**
+   * @return for each operation the operations which must be flushed before it, in pre-sorted order
+   */
+  protected Map<DbEntityOperation, List<DbEntityOperation>> collectPredecessors(List<DbEntityOperation> opList) {
+    Map<String, DbEntityOperation> operationsByEntityId = new HashMap<String, DbEntityOperation>();
+    for (DbEntityOperation operation : opList) {
+      operationsByEntityId.put(operation.getEntity().getId(), operation);
+    }
 
-        }
+    Map<DbEntityOperation, List<DbEntityOperation>> predecessors = new IdentityHashMap<DbEntityOperation, List<DbEntityOperation>>();
+    for (DbEntityOperation operation : opList) {
+      Set<String> references = operation.getFlushRelevantEntityReferences();
+      if (references == null) {
+        continue;
       }
 
-      if(moveTo > i) {
-        opList.remove(i);
-        opList.add(moveTo, currentOperation);
-        i--;
+      for (String reference : references) {
+        DbEntityOperation referencedOperation = operationsByEntityId.get(reference);
+        if (referencedOperation == null || referencedOperation == operation) {
+          continue;
+        }
+
+        if (operation.getOperationType() == INSERT) {
+          // if we reference the other entity, we need to be inserted after that entity
+          addPredecessor(predecessors, operation, referencedOperation);
+        }
+        else {
+          // UPDATE or DELETE: if we reference the other entity, it must be placed after us
+          addPredecessor(predecessors, referencedOperation, operation);
+        }
       }
     }
 
-    return opList;
+    return predecessors;
+  }
+
+  protected void addPredecessor(Map<DbEntityOperation, List<DbEntityOperation>> predecessors,
+      DbEntityOperation operation, DbEntityOperation predecessor) {
+    List<DbEntityOperation> operationPredecessors = predecessors.get(operation);
+    if (operationPredecessors == null) {
+      operationPredecessors = new ArrayList<DbEntityOperation>(2);
+      predecessors.put(operation, operationPredecessors);
+    }
+    operationPredecessors.add(predecessor);
+  }
+
+  protected Iterator<DbEntityOperation> getPredecessors(Map<DbEntityOperation, List<DbEntityOperation>> predecessors,
+      DbEntityOperation operation) {
+    List<DbEntityOperation> operationPredecessors = predecessors.get(operation);
+    if (operationPredecessors == null) {
+      return Collections.<DbEntityOperation>emptyList().iterator();
+    }
+    return operationPredecessors.iterator();
   }
 }
@@ -51,9 +51,11 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation.State;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.profiler.CommandProfile;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
 
 /**
 *
@@ -94,7 +96,13 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
 
   public List<?> selectList(String statement, Object parameter){
     statement = dbSqlSessionFactory.mapStatement(statement);
-    List<Object> resultList = sqlSession.selectList(statement, parameter);
+    List<Object> resultList;
+    CommandProfile profile = CommandProfile.start(dbSqlSessionFactory.getCommandProfiler(), CommandProfileStatistics.OPERATION_DB_SELECT);
+    try {
+      resultList = sqlSession.selectList(statement, parameter);
+    } finally {
+      CommandProfile.end(profile);
+    }
     for (Object object : resultList) {
       fireEntityLoaded(object);
     }
@@ -107,14 +115,26 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
     ensureNotNull("no select statement for " + type + " in the ibatis mapping files", "selectStatement", selectStatement);
 
-    Object result = sqlSession.selectOne(selectStatement, id);
+    Object result;
+    CommandProfile profile = CommandProfile.start(dbSqlSessionFactory.getCommandProfiler(), CommandProfileStatistics.OPERATION_DB_SELECT);
+    try {
+      result = sqlSession.selectOne(selectStatement, id);
+    } finally {
+      CommandProfile.end(profile);
+    }
     fireEntityLoaded(result);
     return (T) result;
   }
 
   public Object selectOne(String statement, Object parameter) {
     statement = dbSqlSessionFactory.mapStatement(statement);
-    Object result = sqlSession.selectOne(statement, parameter);
+    Object result;
+    CommandProfile profile = CommandProfile.start(dbSqlSessionFactory.getCommandProfiler(), CommandProfileStatistics.OPERATION_DB_SELECT);
+    try {
+      result = sqlSession.selectOne(statement, parameter);
+    } finally {
+      CommandProfile.end(profile);
+    }
     fireEntityLoaded(result);
     return result;
   }
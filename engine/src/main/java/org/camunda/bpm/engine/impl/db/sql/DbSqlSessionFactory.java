@@ -27,6 +27,7 @@ import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.profiler.CommandProfiler;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 
 
@@ -237,6 +238,9 @@ public class DbSqlSessionFactory implements SessionFactory {
       // related to CAM-10664
       addDatabaseSpecificStatement(mysqlLikeDatabase, "updateOperationLogAnnotationByOperationId", "updateOperationLogAnnotationByOperationId_mysql");
 
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "updateHistoricIncidentProcessDefinitionByProcessInstanceIds", "updateHistoricIncidentProcessDefinitionByProcessInstanceIds_mysql");
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "updateHistoricIncidentJobDefinitionIdByProcessInstanceIds", "updateHistoricIncidentJobDefinitionIdByProcessInstanceIds_mysql");
+
       constants = new HashMap<>();
       constants.put("constant.event", "'event'");
       constants.put("constant.op_message", "CONCAT(NEW_VALUE_, '_|_', PROPERTY_)");
@@ -596,6 +600,9 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   protected boolean jdbcBatchProcessing;
 
+  /** <code>null</code> if commands are not profiled */
+  protected CommandProfiler commandProfiler;
+
   public DbSqlSessionFactory(boolean jdbcBatchProcessing) {
     this.jdbcBatchProcessing = jdbcBatchProcessing;
   }
@@ -774,6 +781,14 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.dmnEnabled = dmnEnabled;
   }
 
+  public CommandProfiler getCommandProfiler() {
+    return commandProfiler;
+  }
+
+  public void setCommandProfiler(CommandProfiler commandProfiler) {
+    this.commandProfiler = commandProfiler;
+  }
+
   public void setDatabaseTablePrefix(String databaseTablePrefix) {
     this.databaseTablePrefix = databaseTablePrefix;
   }
@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.profiler.CommandProfile;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
 
 /**
@@ -89,7 +90,13 @@ public class DefaultDelegateInterceptor implements DelegateInterceptor {
             popExecutionContext = setExecutionContext(contextExecution);
           }
 
-          invocation.proceed();
+          CommandProfile profile = CommandProfile.start(configuration.getCommandProfiler(), invocation.getProfiledOperationType());
+          try {
+            invocation.proceed();
+          }
+          finally {
+            CommandProfile.end(profile);
+          }
         }
         finally {
           if (popExecutionContext) {
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.delegate;
 import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
 import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
 
 /**
  * Provides context about the invocation of usercode and handles the actual
@@ -60,6 +61,13 @@ public abstract class DelegateInvocation {
 
   protected abstract void invoke() throws Exception;
 
+  /**
+   * @return the operation type under which the invocation is recorded by the command profiler
+   */
+  protected String getProfiledOperationType() {
+    return CommandProfileStatistics.OPERATION_DELEGATE;
+  }
+
   /**
    * @return the result of the invocation (can be null if the invocation does
    *         not return a result)
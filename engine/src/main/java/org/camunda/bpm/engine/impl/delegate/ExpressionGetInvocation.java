@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.delegate;
 import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
 import org.camunda.bpm.engine.impl.javax.el.ELContext;
 import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
 
 /**
  * Class responsible for handling Expression.getValue invocations
@@ -40,4 +41,8 @@ public class ExpressionGetInvocation extends DelegateInvocation {
     invocationResult = valueExpression.getValue(elContext);
   }
 
+  protected String getProfiledOperationType() {
+    return CommandProfileStatistics.OPERATION_EXPRESSION;
+  }
+
 }
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.delegate;
 import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
 import org.camunda.bpm.engine.impl.javax.el.ELContext;
 import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
 
 /**
  * Class responsible for handling Expression.setValue() invocations.
@@ -43,4 +44,8 @@ public class ExpressionSetInvocation extends DelegateInvocation {
     valueExpression.setValue(elContext, value);
   }
 
+  protected String getProfiledOperationType() {
+    return CommandProfileStatistics.OPERATION_EXPRESSION;
+  }
+
 }
@@ -40,4 +40,18 @@ public class ExternalTaskLogger extends ProcessEngineLogger {
         "Could not determine priority for external task created in context of execution {}. Using default priority {}",
         execution, value, e);
   }
+
+  public void exceptionWhileHandlingExternalTasks(int numberOfExternalTasks, Exception e) {
+    logDebug(
+        "002",
+        "Exception while handling {} external tasks in one transaction, handling them one by one: {}",
+        numberOfExternalTasks, e.getMessage());
+  }
+
+  public void exceptionWhileHandlingExternalTask(String externalTaskId, Exception e) {
+    logDebug(
+        "003",
+        "Exception while handling the external task {} in one transaction with other external tasks, handling the others again: {}",
+        externalTaskId, e.getMessage());
+  }
 }
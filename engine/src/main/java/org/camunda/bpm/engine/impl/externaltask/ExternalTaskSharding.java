@@ -0,0 +1,57 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>Every external task is assigned to a random one of {@link #NUMBER_OF_SHARDS} shards when
+ * it is created.</p>
+ *
+ * <p>For sharded fetching, the shards are split into a configurable number of shard groups.
+ * A worker first fetches tasks from its home group, which is derived from its worker id, and
+ * only if the home group does not contain enough tasks from all other groups. Workers with
+ * different home groups therefore rarely compete for the same tasks. The number of groups can
+ * be changed without touching existing tasks.</p>
+ */
+public class ExternalTaskSharding {
+
+  public static final int NUMBER_OF_SHARDS = 1024;
+
+  public static int getRandomShard() {
+    return ThreadLocalRandom.current().nextInt(NUMBER_OF_SHARDS);
+  }
+
+  public static int getShardGroup(String workerId, int numberOfGroups) {
+    return (workerId.hashCode() & Integer.MAX_VALUE) % numberOfGroups;
+  }
+
+  /**
+   * @return the first shard of the given group (inclusive)
+   */
+  public static int getLowerBound(int group, int numberOfGroups) {
+    return group * NUMBER_OF_SHARDS / numberOfGroups;
+  }
+
+  /**
+   * @return the last shard of the given group (exclusive)
+   */
+  public static int getUpperBound(int group, int numberOfGroups) {
+    return (group + 1) * NUMBER_OF_SHARDS / numberOfGroups;
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * Caches the result counts of filters for a limited time, so that clients which
+ * poll the counts of many filters do not cause a count query per filter and poll.
+ *
+ * <p>A count is cached per filter, maximum count and authentication, because the
+ * visible tasks depend on the authorizations and tenant memberships of the user.
+ * Counts of filters that are extended by a query are not cached.</p>
+ */
+public class FilterCountCache {
+
+  protected long timeToLive;
+  protected ConcurrentLruCache<Key, CachedCount> counts;
+
+  /**
+   * @param timeToLive the time in milliseconds for which a count is returned from the cache
+   * @param capacity the maximum number of cached counts
+   */
+  public FilterCountCache(long timeToLive, int capacity) {
+    this.timeToLive = timeToLive;
+    this.counts = new ConcurrentLruCache<Key, CachedCount>(capacity);
+  }
+
+  /**
+   * @return the cached count or null if no count is cached or it is stale
+   */
+  public Long get(String filterId, int maxCount, Authentication authentication, boolean authorizationCheckEnabled) {
+    Key key = new Key(filterId, maxCount, authentication, authorizationCheckEnabled);
+    CachedCount cachedCount = counts.get(key);
+
+    if (cachedCount == null) {
+      return null;
+    }
+    else if (cachedCount.isExpired(System.currentTimeMillis())) {
+      counts.remove(key);
+      return null;
+    }
+    else {
+      return cachedCount.getCount();
+    }
+  }
+
+  public void put(String filterId, int maxCount, Authentication authentication, boolean authorizationCheckEnabled, long count) {
+    Key key = new Key(filterId, maxCount, authentication, authorizationCheckEnabled);
+    counts.put(key, new CachedCount(count, System.currentTimeMillis() + timeToLive));
+  }
+
+  /**
+   * Removes all cached counts of the filter, e.g. because its query was changed.
+   */
+  public void invalidate(String filterId) {
+    for (Key key : new ArrayList<Key>(counts.keySet())) {
+      if (key.filterId.equals(filterId)) {
+        counts.remove(key);
+      }
+    }
+  }
+
+  public void clear() {
+    counts.clear();
+  }
+
+  public int size() {
+    return counts.size();
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  protected static class CachedCount {
+
+    protected long count;
+    protected long expiresAt;
+
+    public CachedCount(long count, long expiresAt) {
+      this.count = count;
+      this.expiresAt = expiresAt;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+
+  protected static class Key {
+
+    protected String filterId;
+    protected int maxCount;
+    protected String userId;
+    protected List<String> groupIds;
+    protected List<String> tenantIds;
+    protected boolean authorizationCheckEnabled;
+
+    public Key(String filterId, int maxCount, Authentication authentication, boolean authorizationCheckEnabled) {
+      this.filterId = filterId;
+      this.maxCount = maxCount;
+      this.authorizationCheckEnabled = authorizationCheckEnabled;
+
+      if (authentication != null) {
+        this.userId = authentication.getUserId();
+        this.groupIds = sorted(authentication.getGroupIds());
+        this.tenantIds = sorted(authentication.getTenantIds());
+      }
+    }
+
+    protected static List<String> sorted(List<String> values) {
+      if (values == null) {
+        return null;
+      }
+      List<String> sortedValues = new ArrayList<String>(values);
+      Collections.sort(sortedValues);
+      return sortedValues;
+    }
+
+    @Override
+    public int hashCode() {
+      final int prime = 31;
+      int result = 1;
+      result = prime * result + filterId.hashCode();
+      result = prime * result + maxCount;
+      result = prime * result + ((userId == null) ? 0 : userId.hashCode());
+      result = prime * result + ((groupIds == null) ? 0 : groupIds.hashCode());
+      result = prime * result + ((tenantIds == null) ? 0 : tenantIds.hashCode());
+      result = prime * result + (authorizationCheckEnabled ? 1231 : 1237);
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return filterId.equals(other.filterId)
+          && maxCount == other.maxCount
+          && authorizationCheckEnabled == other.authorizationCheckEnabled
+          && equal(userId, other.userId)
+          && equal(groupIds, other.groupIds)
+          && equal(tenantIds, other.tenantIds);
+    }
+
+    protected static boolean equal(Object a, Object b) {
+      return a == null ? b == null : a.equals(b);
+    }
+  }
+
+}
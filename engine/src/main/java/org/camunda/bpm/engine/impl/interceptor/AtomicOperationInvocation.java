@@ -20,8 +20,11 @@ import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.profiler.CommandProfile;
+import org.camunda.bpm.engine.impl.profiler.CommandProfiler;
 import org.camunda.bpm.engine.impl.pvm.runtime.AtomicOperation;
 import org.camunda.bpm.engine.impl.pvm.runtime.operation.PvmAtomicOperation;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
 
 /**
  * An invocation of an atomic operation
@@ -54,7 +57,7 @@ public class AtomicOperationInvocation {
     this.performAsync = performAsync;
   }
 
-  public void execute(BpmnStackTrace stackTrace, ProcessDataLoggingContext loggingContext) {
+  public void execute(BpmnStackTrace stackTrace, ProcessDataLoggingContext loggingContext, CommandProfiler commandProfiler) {
 
     if(operation != PvmAtomicOperation.ACTIVITY_START_CANCEL_SCOPE
        && operation != PvmAtomicOperation.ACTIVITY_START_INTERRUPT_SCOPE
@@ -96,7 +99,12 @@ public class AtomicOperationInvocation {
       Context.setExecutionContext(execution);
       if(!performAsync) {
         LOG.debugExecutingAtomicOperation(operation, execution);
-        operation.execute(execution);
+        CommandProfile profile = CommandProfile.start(commandProfiler, CommandProfileStatistics.OPERATION_ATOMIC_OPERATION, execution);
+        try {
+          operation.execute(execution);
+        } finally {
+          CommandProfile.end(profile);
+        }
       }
       else {
         execution.scheduleAtomicOperationAsync(this);
@@ -95,6 +95,9 @@ import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
+import org.camunda.bpm.engine.impl.profiler.CommandProfile;
+import org.camunda.bpm.engine.impl.profiler.CommandProfiler;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
 
 /**
  * @author Tom Baeyens
@@ -123,6 +126,8 @@ public class CommandContext {
 
   protected String operationId;
 
+  protected CommandProfile commandProfile;
+
   public CommandContext(ProcessEngineConfigurationImpl processEngineConfiguration) {
     this(processEngineConfiguration, processEngineConfiguration.getTransactionContextFactory());
   }
@@ -133,6 +138,11 @@ public class CommandContext {
     sessionFactories = processEngineConfiguration.getSessionFactories();
     this.transactionContext = transactionContextFactory.openTransactionContext(this);
     this.restrictUserOperationLogToAuthenticatedUsers = processEngineConfiguration.isRestrictUserOperationLogToAuthenticatedUsers();
+
+    CommandProfiler commandProfiler = processEngineConfiguration.getCommandProfiler();
+    if (commandProfiler != null) {
+      this.commandProfile = commandProfiler.sample();
+    }
   }
 
   public void performOperation(final CmmnAtomicOperation executionOperation, final CaseExecutionEntity execution) {
@@ -183,7 +193,15 @@ public class CommandContext {
 
           if (commandInvocationContext.getThrowable() == null) {
             fireCommandContextClose();
-            flushSessions();
+
+            if (commandProfile != null) {
+              commandProfile.enter(CommandProfileStatistics.OPERATION_FLUSH, null, null);
+            }
+            try {
+              flushSessions();
+            } finally {
+              CommandProfile.end(commandProfile);
+            }
           }
 
         } catch (Throwable exception) {
@@ -225,6 +243,10 @@ public class CommandContext {
       commandInvocationContext.trySetThrowable(exception);
     }
 
+    if (commandProfile != null) {
+      commandProfile.complete();
+    }
+
     // rethrow the original exception if there was one
     commandInvocationContext.rethrow();
   }
@@ -630,6 +652,13 @@ public class CommandContext {
     this.restrictUserOperationLogToAuthenticatedUsers = restrictUserOperationLogToAuthenticatedUsers;
   }
 
+  /**
+   * @return the profile of this command context if it is sampled by the command profiler, <code>null</code> otherwise
+   */
+  public CommandProfile getCommandProfile() {
+    return commandProfile;
+  }
+
   public String getOperationId() {
     if (!getOperationLogManager().isUserOperationLogEnabled()) {
       return null;
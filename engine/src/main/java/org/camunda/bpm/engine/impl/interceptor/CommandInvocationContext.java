@@ -16,8 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.interceptor;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.Callable;
 
 import org.apache.ibatis.exceptions.PersistenceException;
@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessApplicationContextUtil;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.profiler.CommandProfiler;
 import org.camunda.bpm.engine.impl.pvm.runtime.AtomicOperation;
 
 /**
@@ -46,13 +47,16 @@ public class CommandInvocationContext {
   protected Throwable throwable;
   protected Command< ? > command;
   protected boolean isExecuting = false;
-  protected List<AtomicOperationInvocation> queuedInvocations = new ArrayList<AtomicOperationInvocation>();
+  // invocations are pushed to and taken from the head of the queue
+  protected Deque<AtomicOperationInvocation> queuedInvocations = new ArrayDeque<AtomicOperationInvocation>();
   protected BpmnStackTrace bpmnStackTrace = new BpmnStackTrace();
   protected ProcessDataLoggingContext loggingContext;
+  protected CommandProfiler commandProfiler;
 
   public CommandInvocationContext(Command<?> command, ProcessEngineConfigurationImpl configuration) {
     this.command = command;
     this.loggingContext = new ProcessDataLoggingContext(configuration);
+    this.commandProfiler = configuration.getCommandProfiler();
   }
 
   public Throwable getThrowable() {
@@ -82,12 +86,12 @@ public class CommandInvocationContext {
 
   public void performOperation(final AtomicOperation executionOperation, final ExecutionEntity execution, final boolean performAsync) {
     AtomicOperationInvocation invocation = new AtomicOperationInvocation(executionOperation, execution, performAsync);
-    queuedInvocations.add(0, invocation);
+    queuedInvocations.addFirst(invocation);
     performNext();
   }
 
   protected void performNext() {
-    AtomicOperationInvocation nextInvocation = queuedInvocations.get(0);
+    AtomicOperationInvocation nextInvocation = queuedInvocations.peekFirst();
 
     if(nextInvocation.operation.isAsyncCapable() && isExecuting) {
       // will be picked up by while loop below
@@ -126,9 +130,9 @@ public class CommandInvocationContext {
   }
 
   protected void invokeNext() {
-    AtomicOperationInvocation invocation = queuedInvocations.remove(0);
+    AtomicOperationInvocation invocation = queuedInvocations.removeFirst();
     try {
-      invocation.execute(bpmnStackTrace, loggingContext);
+      invocation.execute(bpmnStackTrace, loggingContext, commandProfiler);
     } catch(RuntimeException e) {
       // log bpmn stacktrace
       bpmnStackTrace.printStackTrace(Context.getProcessEngineConfiguration().isBpmnStacktraceVerbose());
@@ -0,0 +1,44 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.profiler.CommandProfile;
+
+/**
+ * Starts the {@link CommandProfile} of a sampled command context for its outermost
+ * command. Must be placed after the {@link CommandContextInterceptor}. The profile is
+ * completed when the command context is closed, so that it includes the flush.
+ *
+ * @see org.camunda.bpm.engine.impl.profiler.CommandProfiler
+ */
+public class CommandProfilerInterceptor extends CommandInterceptor {
+
+  public <T> T execute(Command<T> command) {
+    CommandProfile profile = Context.getCommandContext().getCommandProfile();
+    if (profile != null) {
+      String commandName = command.getClass().getSimpleName();
+      if (commandName.isEmpty()) {
+        // anonymous commands
+        commandName = command.getClass().getName();
+      }
+      profile.startCommand(commandName);
+    }
+    return next.execute(command);
+  }
+
+}
@@ -27,9 +27,12 @@ import org.camunda.bpm.engine.impl.core.operation.CoreAtomicOperation;
 public class ContextLogger extends ProcessEngineLogger {
 
   public void debugExecutingAtomicOperation(CoreAtomicOperation<?> executionOperation, CoreExecution execution) {
-    logDebug(
-        "001",
-        "Executing atomic operation {} on {}", executionOperation, execution);
+    // invoked for every atomic operation; avoid creating the parameter array if debug is disabled
+    if (isDebugEnabled()) {
+      logDebug(
+          "001",
+          "Executing atomic operation {} on {}", executionOperation, execution);
+    }
   }
 
   public void debugException(Throwable throwable) {
@@ -0,0 +1,241 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * <p>Determines the number of jobs to acquire and the time to wait between acquisition cycles
+ * from the state of the job execution thread pool, aiming to keep a configurable share
+ * (the target utilization) of the execution threads busy while buffering a bounded number of
+ * jobs in the queue.
+ *
+ * <p>After each acquisition cycle, the strategy takes into account
+ *   <ul>
+ *     <li>the load of the thread pool, i.e. the number of busy threads plus the number of queued jobs
+ *     <li>the average execution time of a job (see {@link JobExecutionTimes})
+ *     <li>whether more jobs are due, estimated from the previous cycle: jobs are due if the
+ *       acquisition of any engine was as large as requested or if a job was added in the meantime.
+ *       This avoids a separate count query per cycle.
+ *   </ul>
+ *
+ * <p>If the load exceeds the target, the acquisition thread waits until the pool is expected to
+ * have worked off the excess load and looks at the pool again:
+ *
+ * <pre>waitTime = (load - targetUtilization * poolSize) * averageExecutionTime / poolSize</pre>
+ *
+ * <p>Otherwise, it acquires as many jobs as are needed to fill the threads up to the target utilization
+ * and the queue up to its capacity (at most one job per thread). No more jobs are acquired than the pool
+ * currently accepts, so that acquired jobs are not rejected. If no jobs are due, the acquisition thread waits
+ * with the same exponentially increasing idle time as the {@link BackoffJobAcquisitionStrategy}.
+ *
+ * <p>For job executors that do not execute jobs in a {@link ThreadPoolExecutor}, the load is unknown
+ * and the strategy acquires {@link JobExecutor#getMaxJobsPerAcquisition()} jobs per engine.
+ */
+public class AdaptiveJobAcquisitionStrategy implements JobAcquisitionStrategy {
+
+  public static final float DEFAULT_TARGET_UTILIZATION = 0.9f;
+
+  /*
+   * all wait times are in milliseconds
+   */
+
+  protected JobExecutor jobExecutor;
+  protected JobExecutionTimes jobExecutionTimes;
+  protected float targetUtilization;
+  protected int baseNumJobsToAcquire;
+
+  /*
+   * managing the idle level
+   */
+  protected long baseIdleWaitTime;
+  protected float idleIncreaseFactor;
+  protected long maxIdleWaitTime;
+  protected int idleLevel = 0;
+
+  protected long baseBackoffWaitTime;
+
+  protected long waitTime = 0;
+  protected Map<String, Integer> jobsToAcquire = new HashMap<String, Integer>();
+
+  public AdaptiveJobAcquisitionStrategy(JobExecutor jobExecutor) {
+    this.jobExecutor = jobExecutor;
+    this.jobExecutionTimes = jobExecutor.getJobExecutionTimes();
+    this.targetUtilization = Math.max(0, Math.min(1, jobExecutor.getTargetUtilization()));
+    this.baseNumJobsToAcquire = jobExecutor.getMaxJobsPerAcquisition();
+
+    this.baseIdleWaitTime = jobExecutor.getWaitTimeInMillis();
+    this.idleIncreaseFactor = jobExecutor.getWaitIncreaseFactor();
+    this.maxIdleWaitTime = jobExecutor.getMaxWait();
+
+    this.baseBackoffWaitTime = jobExecutor.getBackoffTimeInMillis();
+  }
+
+  @Override
+  public void reconfigure(JobAcquisitionContext context) {
+    jobsToAcquire.clear();
+
+    if (!areJobsDue(context) || context.getAcquisitionException() != null) {
+      idleLevel++;
+      waitTime = calculateIdleTime();
+    }
+    else {
+      idleLevel = 0;
+      waitTime = 0;
+    }
+
+    int poolSize = getPoolSize();
+    if (poolSize > 0) {
+      reconfigureForPoolLoad(context, poolSize);
+    }
+
+    if (context.hasJobAcquisitionLockFailureOccurred() && baseBackoffWaitTime > 0) {
+      // add a bounded random jitter to avoid multiple job acquisitions competing for the same jobs again
+      waitTime = Math.max(waitTime, (long) (baseBackoffWaitTime + Math.random() * (baseBackoffWaitTime / 2)));
+    }
+  }
+
+  /**
+   * @return true, if jobs were added since the last cycle or the acquisition of any engine
+   *   acquired as many jobs as requested (i.e. more jobs may be due) or was skipped
+   *   because the thread pool was saturated
+   */
+  protected boolean areJobsDue(JobAcquisitionContext context) {
+    return context.isJobAdded() || !context.areAllEnginesIdle();
+  }
+
+  protected void reconfigureForPoolLoad(JobAcquisitionContext context, int poolSize) {
+    int load = getActiveCount() + getQueueSize();
+    long queueCapacity = getQueueCapacity();
+    double targetLoad = targetUtilization * poolSize;
+
+    int numJobsToAcquire = 0;
+
+    if (idleLevel == 0 && load > targetLoad) {
+      // wait until the threads have worked off the load that exceeds the target and
+      // determine the number of jobs to acquire from the load observed after waiting
+      double averageExecutionTime = jobExecutionTimes.getAverage();
+      if (averageExecutionTime >= 0) {
+        waitTime = Math.min(maxIdleWaitTime, (long) Math.ceil((load - targetLoad) * averageExecutionTime / poolSize));
+      }
+      else {
+        waitTime = BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME;
+      }
+    }
+    else {
+      // fill the threads up to the target and buffer at most one job per thread in the queue,
+      // but never acquire more jobs than the pool currently accepts
+      double bufferedJobs = Math.min(queueCapacity, poolSize);
+      double freeCapacity = poolSize + queueCapacity - load;
+
+      numJobsToAcquire = (int) Math.ceil(Math.min(targetLoad + bufferedJobs - load, freeCapacity));
+      numJobsToAcquire = Math.max(0, numJobsToAcquire - countResubmittedJobs(context));
+
+      if (idleLevel == 0 && numJobsToAcquire == 0) {
+        // do not busy wait for free resources
+        waitTime = BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME;
+      }
+    }
+
+    // the engines share the capacity of the thread pool
+    int numEngines = Math.max(1, context.getAcquiredJobsByEngine().size());
+    int numJobsPerEngine = (numJobsToAcquire + numEngines - 1) / numEngines;
+    for (String engineName : context.getAcquiredJobsByEngine().keySet()) {
+      jobsToAcquire.put(engineName, numJobsPerEngine);
+    }
+  }
+
+  /**
+   * @return the number of jobs in the rejected job batches that are submitted again before the next acquisition
+   */
+  protected int countResubmittedJobs(JobAcquisitionContext context) {
+    int numJobs = 0;
+    for (List<List<String>> rejectedJobBatches : context.getRejectedJobsByEngine().values()) {
+      for (List<String> rejectedJobBatch : rejectedJobBatches) {
+        numJobs += rejectedJobBatch.size();
+      }
+    }
+    return numJobs;
+  }
+
+  protected long calculateIdleTime() {
+    if (baseIdleWaitTime <= 0) {
+      return 0;
+    }
+
+    double idleTime = baseIdleWaitTime * Math.pow(idleIncreaseFactor, idleLevel - 1);
+    if (idleTime >= maxIdleWaitTime) {
+      // do not increase the level any further
+      idleLevel--;
+      return Math.max(baseIdleWaitTime, maxIdleWaitTime);
+    }
+    else {
+      return (long) idleTime;
+    }
+  }
+
+  @Override
+  public long getWaitTime() {
+    return waitTime;
+  }
+
+  @Override
+  public int getNumJobsToAcquire(String processEngine) {
+    Integer numJobsToAcquire = jobsToAcquire.get(processEngine);
+    if (numJobsToAcquire != null) {
+      return numJobsToAcquire;
+    }
+    else {
+      return baseNumJobsToAcquire;
+    }
+  }
+
+  // thread pool state //////////////////////////////////
+
+  protected ThreadPoolExecutor getThreadPoolExecutor() {
+    if (jobExecutor instanceof ThreadPoolJobExecutor) {
+      return ((ThreadPoolJobExecutor) jobExecutor).getThreadPoolExecutor();
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * @return the maximum number of execution threads or a non-positive value if unknown
+   */
+  protected int getPoolSize() {
+    ThreadPoolExecutor threadPoolExecutor = getThreadPoolExecutor();
+    return threadPoolExecutor != null ? threadPoolExecutor.getMaximumPoolSize() : -1;
+  }
+
+  protected int getActiveCount() {
+    return getThreadPoolExecutor().getActiveCount();
+  }
+
+  protected int getQueueSize() {
+    return getThreadPoolExecutor().getQueue().size();
+  }
+
+  protected long getQueueCapacity() {
+    return (long) getQueueSize() + getThreadPoolExecutor().getQueue().remainingCapacity();
+  }
+
+}
@@ -20,6 +20,7 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.ExecuteExclusiveJobsCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.cmd.UnlockJobCmd;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -27,7 +28,10 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.ProcessDataLoggingContext;
 import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -42,6 +46,9 @@ public class ExecuteJobsRunnable implements Runnable {
   protected JobExecutor jobExecutor;
   protected ProcessEngineImpl processEngine;
 
+  /** jobs which failed in a batch of exclusive jobs and are executed in a transaction of their own */
+  protected Set<String> isolatedJobIds = new HashSet<String>();
+
   public ExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
     this.jobIds = jobIds;
     this.processEngine = processEngine;
@@ -64,24 +71,16 @@ public class ExecuteJobsRunnable implements Runnable {
     try {
       while (!currentProcessorJobQueue.isEmpty()) {
 
-        String nextJobId = currentProcessorJobQueue.remove(0);
         if (jobExecutor.isActive()) {
-          JobFailureCollector jobFailureCollector = new JobFailureCollector(nextJobId);
-          try {
-            ExecuteJobHelper.executeJob(nextJobId, commandExecutor, jobFailureCollector, new ExecuteJobsCmd(nextJobId, jobFailureCollector), engineConfiguration);
-          } catch(Throwable t) {
-            if (ProcessEngineLogger.shouldLogJobException(engineConfiguration, jobFailureCollector.getJob())) {
-              ExecuteJobHelper.LOGGING_HANDLER.exceptionWhileExecutingJob(nextJobId, t);
-            }
-          } finally {
-            /*
-             * clear MDC of potential leftovers from command execution
-             * that have not been cleared in Context#removeCommandInvocationContext()
-             * in case of exceptions in command execution
-             */
-            new ProcessDataLoggingContext(engineConfiguration).clearMdc();
+          if (engineConfiguration.getJobExecutorExclusiveJobBatchSize() > 1
+              && currentProcessorJobQueue.size() > 1
+              && !isolatedJobIds.contains(currentProcessorJobQueue.get(0))) {
+            executeExclusiveJobs(currentProcessorJobQueue, commandExecutor, engineConfiguration);
+          } else {
+            executeSingleJob(currentProcessorJobQueue.remove(0), commandExecutor, engineConfiguration);
           }
         } else {
+            String nextJobId = currentProcessorJobQueue.remove(0);
             try {
               unlockJob(nextJobId, commandExecutor);
             }
@@ -102,6 +101,88 @@ public class ExecuteJobsRunnable implements Runnable {
     }
   }
 
+  protected void executeSingleJob(String nextJobId, CommandExecutor commandExecutor, ProcessEngineConfigurationImpl engineConfiguration) {
+    JobFailureCollector jobFailureCollector = new JobFailureCollector(nextJobId);
+    long startTime = System.currentTimeMillis();
+    try {
+      ExecuteJobHelper.executeJob(nextJobId, commandExecutor, jobFailureCollector, new ExecuteJobsCmd(nextJobId, jobFailureCollector), engineConfiguration);
+    } catch(Throwable t) {
+      if (ProcessEngineLogger.shouldLogJobException(engineConfiguration, jobFailureCollector.getJob())) {
+        ExecuteJobHelper.LOGGING_HANDLER.exceptionWhileExecutingJob(nextJobId, t);
+      }
+    } finally {
+      /*
+       * clear MDC of potential leftovers from command execution
+       * that have not been cleared in Context#removeCommandInvocationContext()
+       * in case of exceptions in command execution
+       */
+      new ProcessDataLoggingContext(engineConfiguration).clearMdc();
+      jobExecutor.getJobExecutionTimes().record(System.currentTimeMillis() - startTime);
+    }
+  }
+
+  /**
+   * Executes the consecutive exclusive jobs of a process instance at the head of the queue
+   * in one transaction. If a job fails, the transaction is rolled back and all jobs stay in
+   * the queue; the failed job is executed in isolation once the jobs before it are executed,
+   * so that the failure is attributed to the failing job only.
+   */
+  protected void executeExclusiveJobs(List<String> currentProcessorJobQueue, CommandExecutor commandExecutor, ProcessEngineConfigurationImpl engineConfiguration) {
+    int batchSize = Math.min(engineConfiguration.getJobExecutorExclusiveJobBatchSize(), currentProcessorJobQueue.size());
+    List<String> jobIds = new ArrayList<String>();
+    for (String jobId : currentProcessorJobQueue.subList(0, batchSize)) {
+      if (isolatedJobIds.contains(jobId)) {
+        break;
+      }
+      jobIds.add(jobId);
+    }
+    if (jobIds.size() == 1) {
+      executeSingleJob(currentProcessorJobQueue.remove(0), commandExecutor, engineConfiguration);
+      return;
+    }
+
+    ExecuteExclusiveJobsCmd cmd = new ExecuteExclusiveJobsCmd(jobIds, engineConfiguration.getJobExecutorExclusiveJobBatchTimeLimit(), jobExecutor);
+
+    List<String> executedJobIds;
+    long startTime = System.currentTimeMillis();
+    try {
+      executedJobIds = commandExecutor.execute(cmd);
+
+    } catch (Throwable t) {
+      String failedJobId = cmd.getFailedJobId();
+      if (failedJobId != null) {
+        LOG.exceptionWhileExecutingExclusiveJob(failedJobId, t);
+        isolatedJobIds.add(failedJobId);
+      } else {
+        // the transaction failed on flush, so any of the jobs may be responsible
+        LOG.exceptionWhileExecutingExclusiveJobs(cmd.getExecutedJobIds(), t);
+        isolatedJobIds.addAll(cmd.getExecutedJobIds());
+      }
+      new ProcessDataLoggingContext(engineConfiguration).clearMdc();
+      return;
+    }
+
+    for (String executedJobId : executedJobIds) {
+      // jobs added on commit are appended to the queue, the executed jobs are still at its head
+      currentProcessorJobQueue.remove(0);
+      // without a failure, the collector makes the job helper invoke the successful job listener
+      JobFailureCollector successfulJobCollector = new JobFailureCollector(executedJobId);
+      try {
+        ExecuteJobHelper.invokeJobListener(commandExecutor, successfulJobCollector);
+      } catch (Throwable t) {
+        ExecuteJobHelper.LOGGING_HANDLER.exceptionWhileExecutingJob(executedJobId, t);
+      }
+    }
+    new ProcessDataLoggingContext(engineConfiguration).clearMdc();
+
+    if (!executedJobIds.isEmpty()) {
+      long executionTime = (System.currentTimeMillis() - startTime) / executedJobIds.size();
+      for (int i = 0; i < executedJobIds.size(); i++) {
+        jobExecutor.getJobExecutionTimes().record(executionTime);
+      }
+    }
+  }
+
   /**
    * Note: this is a hook to be overridden by
    * org.camunda.bpm.container.impl.threading.ra.inflow.JcaInflowExecuteJobsRunnable.executeJob(String, CommandExecutor)
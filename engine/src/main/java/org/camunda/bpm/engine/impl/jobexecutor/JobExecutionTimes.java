@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+/**
+ * <p>Exponentially weighted moving average of the execution times of the jobs
+ * executed by a job executor.</p>
+ *
+ * <p>Each new sample <code>x</code> updates the average <code>a</code> as follows:
+ * <pre>a = smoothingFactor * x + (1 - smoothingFactor) * a</pre>
+ * i.e. the larger the smoothing factor, the faster older samples lose their influence.</p>
+ */
+public class JobExecutionTimes {
+
+  public static final double DEFAULT_SMOOTHING_FACTOR = 0.2;
+
+  protected final double smoothingFactor;
+
+  protected double average;
+  protected long numberOfSamples;
+
+  public JobExecutionTimes() {
+    this(DEFAULT_SMOOTHING_FACTOR);
+  }
+
+  public JobExecutionTimes(double smoothingFactor) {
+    this.smoothingFactor = smoothingFactor;
+  }
+
+  /**
+   * @param executionTime the execution time of a job in milliseconds
+   */
+  public synchronized void record(long executionTime) {
+    if (numberOfSamples == 0) {
+      average = executionTime;
+    }
+    else {
+      average = smoothingFactor * executionTime + (1 - smoothingFactor) * average;
+    }
+    numberOfSamples++;
+  }
+
+  /**
+   * @return the average execution time of a job in milliseconds or
+   *   a negative value if no job has been executed yet
+   */
+  public synchronized double getAverage() {
+    return numberOfSamples > 0 ? average : -1;
+  }
+
+  public synchronized long getNumberOfSamples() {
+    return numberOfSamples;
+  }
+
+}
@@ -44,6 +44,9 @@ public abstract class JobExecutor {
 
   private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
 
+  public static final String ACQUISITION_STRATEGY_BACKOFF = "backoff";
+  public static final String ACQUISITION_STRATEGY_ADAPTIVE = "adaptive";
+
   protected String name = "JobExecutor["+getClass().getName()+"]";
   protected List<ProcessEngineImpl> processEngines = new CopyOnWriteArrayList<ProcessEngineImpl>();
   protected AcquireJobsCommandFactory acquireJobsCmdFactory;
@@ -71,6 +74,20 @@ public abstract class JobExecutor {
    */
   protected int backoffDecreaseThreshold = 100;
 
+  /**
+   * The {@link JobAcquisitionStrategy} used by the acquisition thread,
+   * either {@link #ACQUISITION_STRATEGY_BACKOFF} or {@link #ACQUISITION_STRATEGY_ADAPTIVE}.
+   */
+  protected String acquisitionStrategy = ACQUISITION_STRATEGY_BACKOFF;
+
+  /**
+   * The share of the execution threads the {@link AdaptiveJobAcquisitionStrategy}
+   * aims to keep busy.
+   */
+  protected float targetUtilization = AdaptiveJobAcquisitionStrategy.DEFAULT_TARGET_UTILIZATION;
+
+  protected JobExecutionTimes jobExecutionTimes = new JobExecutionTimes();
+
   protected String lockOwner = UUID.randomUUID().toString();
   protected int lockTimeInMillis = 5 * 60 * 1000;
 
@@ -302,6 +319,44 @@ public abstract class JobExecutor {
     this.backoffDecreaseThreshold = backoffDecreaseThreshold;
   }
 
+  public String getAcquisitionStrategy() {
+    return acquisitionStrategy;
+  }
+
+  public void setAcquisitionStrategy(String acquisitionStrategy) {
+    if (!ACQUISITION_STRATEGY_BACKOFF.equals(acquisitionStrategy)
+        && !ACQUISITION_STRATEGY_ADAPTIVE.equals(acquisitionStrategy)) {
+      throw LOG.unknownJobAcquisitionStrategy(acquisitionStrategy);
+    }
+    this.acquisitionStrategy = acquisitionStrategy;
+  }
+
+  public float getTargetUtilization() {
+    return targetUtilization;
+  }
+
+  public void setTargetUtilization(float targetUtilization) {
+    this.targetUtilization = targetUtilization;
+  }
+
+  public JobExecutionTimes getJobExecutionTimes() {
+    return jobExecutionTimes;
+  }
+
+  /**
+   * Creates the strategy which determines how many jobs the acquisition thread acquires
+   * and how long it waits between acquisition cycles. Can be overridden to plug in a
+   * custom {@link JobAcquisitionStrategy}.
+   */
+  public JobAcquisitionStrategy createAcquisitionStrategy() {
+    if (ACQUISITION_STRATEGY_ADAPTIVE.equals(acquisitionStrategy)) {
+      return new AdaptiveJobAcquisitionStrategy(this);
+    }
+    else {
+      return new BackoffJobAcquisitionStrategy(this);
+    }
+  }
+
   public String getName() {
     return name;
   }
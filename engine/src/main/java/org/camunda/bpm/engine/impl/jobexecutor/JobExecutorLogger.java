@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -192,4 +193,61 @@ public class JobExecutorLogger extends ProcessEngineLogger {
       "Batch window for history cleanup was not calculated. History cleanup job(s) will be suspended.");
   }
 
+  public void renewedJobPartitionLeases(String lockOwner, List<Integer> partitionRanges) {
+    logDebug(
+      "029", "Job executor '{}' holds the leases of job partition ranges {}", lockOwner, partitionRanges);
+  }
+
+  public void concurrentJobPartitionLeaseRenewal(String lockOwner) {
+    logDebug(
+      "030", "Job executor '{}' could not renew its job partition leases due to a concurrent renewal; retrying in the next acquisition cycle", lockOwner);
+  }
+
+  public void exceptionWhileRenewingJobPartitionLeases(String lockOwner, Exception e) {
+    logWarn(
+      "031", "Job executor '{}' could not renew its job partition leases: {}", lockOwner, e.getMessage(), e);
+  }
+
+  public void exceptionWhileExecutingExclusiveJobs(List<String> jobIds, Throwable t) {
+    logDebug(
+      "032", "Exception while executing the exclusive jobs {} in one transaction, executing them one by one: {}", jobIds, t.getMessage());
+  }
+
+  public void exceptionWhileExecutingExclusiveJob(String jobId, Throwable t) {
+    logDebug(
+      "039", "Exception while executing the exclusive job {} in one transaction with other jobs, executing it in isolation: {}", jobId, t.getMessage());
+  }
+
+  public ProcessEngineException unknownJobAcquisitionStrategy(String acquisitionStrategy) {
+    return new ProcessEngineException(exceptionMessage(
+      "033", "Unknown job acquisition strategy '{}', expected '{}' or '{}'", acquisitionStrategy,
+      JobExecutor.ACQUISITION_STRATEGY_BACKOFF, JobExecutor.ACQUISITION_STRATEGY_ADAPTIVE));
+  }
+
+  public void executingJobsOnVirtualThreads(String jobExecutorName, int maxConcurrentJobs) {
+    logInfo(
+      "034", "Job executor '{}' executes jobs on virtual threads, at most {} job batches at a time", jobExecutorName, maxConcurrentJobs);
+  }
+
+  public void virtualThreadsNotSupported(String jobExecutorName, int maxConcurrentJobs) {
+    logInfo(
+      "035", "Virtual threads are not supported by this JVM, job executor '{}' executes jobs on platform threads, at most {} job batches at a time",
+      jobExecutorName, maxConcurrentJobs);
+  }
+
+  public void unlockedRejectedJobs(List<String> jobIds) {
+    logDebug(
+      "036", "Unlocked the rejected jobs {} so that they can be acquired again", jobIds);
+  }
+
+  public void exceptionWhileUnlockingRejectedJobs(List<String> jobIds, Exception e) {
+    logWarn(
+      "037", "Exception while unlocking the rejected jobs {}, they are acquired again when their lock expires: {}", jobIds, e.getMessage(), e);
+  }
+
+  public void concurrentJobPartitionLeaseCreation(String lockOwner) {
+    logDebug(
+      "038", "Job partition leases were created concurrently by another job executor, job executor '{}' renews its leases again", lockOwner);
+  }
+
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.RenewJobPartitionLeasesCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.ExceptionUtil;
+
+/**
+ * <p>Keeps track of the job partition ranges which the job executor of this process engine
+ * has leased. With partitioned acquisition, a job executor only acquires jobs from its own
+ * ranges, so that the job executors of a cluster do not compete for the same jobs.</p>
+ *
+ * <p>The leases are renewed every third of the lease time. On renewal, the ranges are
+ * rebalanced between all job executors holding a lease (see {@link RenewJobPartitionLeasesCmd}),
+ * so that ranges move to nodes that join the cluster and are taken over when a node leaves
+ * and its leases expire.</p>
+ */
+public class JobPartitionLeases {
+
+  protected static final JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected int numberOfRanges;
+  protected long leaseTime;
+
+  protected List<Integer> ownedRanges = Collections.emptyList();
+  protected long renewalTime = -1;
+
+  public JobPartitionLeases(int numberOfRanges, long leaseTime) {
+    this.numberOfRanges = Math.max(1, Math.min(numberOfRanges, JobPartitioning.NUMBER_OF_PARTITIONS));
+    this.leaseTime = leaseTime;
+  }
+
+  /**
+   * Renews the leases if necessary and returns the partition ranges from which the job
+   * executor with the given lock owner may acquire jobs.
+   *
+   * @param commandExecutor used to renew the leases in a separate transaction
+   */
+  public synchronized List<JobPartitionRange> getOwnedPartitionRanges(CommandExecutor commandExecutor, String lockOwner) {
+    long now = ClockUtil.getCurrentTime().getTime();
+
+    if (renewalTime < 0 || now - renewalTime >= leaseTime / 3) {
+      try {
+        ownedRanges = renewLeases(commandExecutor, lockOwner);
+        renewalTime = now;
+        LOG.renewedJobPartitionLeases(lockOwner, ownedRanges);
+
+      } catch (OptimisticLockingException e) {
+        // another job executor renewed its leases at the same time; retry in the next cycle
+        LOG.concurrentJobPartitionLeaseRenewal(lockOwner);
+        releaseExpiredLeases(now);
+
+      } catch (RuntimeException e) {
+        LOG.exceptionWhileRenewingJobPartitionLeases(lockOwner, e);
+        releaseExpiredLeases(now);
+      }
+    }
+
+    return JobPartitioning.getRanges(ownedRanges, numberOfRanges);
+  }
+
+  protected List<Integer> renewLeases(CommandExecutor commandExecutor, String lockOwner) {
+    try {
+      return commandExecutor.execute(new RenewJobPartitionLeasesCmd(lockOwner, numberOfRanges, leaseTime));
+
+    } catch (OptimisticLockingException e) {
+      throw e;
+
+    } catch (ProcessEngineException e) {
+      if (!ExceptionUtil.checkConstraintViolationException(e)) {
+        throw e;
+      }
+      // the lease properties are created lazily; another job executor which started at the
+      // same time inserted them first, so renew again with the properties read back
+      LOG.concurrentJobPartitionLeaseCreation(lockOwner);
+      return commandExecutor.execute(new RenewJobPartitionLeasesCmd(lockOwner, numberOfRanges, leaseTime));
+    }
+  }
+
+  protected void releaseExpiredLeases(long now) {
+    // other job executors may take over ranges whose lease could not be renewed in time
+    if (renewalTime < 0 || now - renewalTime >= leaseTime) {
+      ownedRanges = Collections.emptyList();
+    }
+  }
+
+  public int getNumberOfRanges() {
+    return numberOfRanges;
+  }
+
+  public long getLeaseTime() {
+    return leaseTime;
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+/**
+ * A contiguous range of job partitions, see {@link JobPartitioning}.
+ */
+public class JobPartitionRange {
+
+  protected int lowerBound;
+  protected int upperBound;
+
+  /**
+   * @param lowerBound the first partition of the range
+   * @param upperBound the partition after the last partition of the range
+   */
+  public JobPartitionRange(int lowerBound, int upperBound) {
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+  }
+
+  public int getLowerBound() {
+    return lowerBound;
+  }
+
+  public int getUpperBound() {
+    return upperBound;
+  }
+
+  public boolean contains(int partition) {
+    return partition >= lowerBound && partition < upperBound;
+  }
+
+  @Override
+  public String toString() {
+    return "[" + lowerBound + ", " + upperBound + ")";
+  }
+
+}
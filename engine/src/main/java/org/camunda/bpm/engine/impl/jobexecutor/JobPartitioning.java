@@ -0,0 +1,74 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * <p>Every job is assigned to one of {@link #NUMBER_OF_PARTITIONS} partitions when it is
+ * created. The partition is derived from the process instance of the job, so that all jobs of
+ * a process instance (in particular exclusive ones) share a partition; jobs without a process
+ * instance are partitioned by their id.</p>
+ *
+ * <p>For partitioned job acquisition, the partitions are split into a configurable number of
+ * ranges which are leased by the job executors of a cluster, see {@link JobPartitionLeases}.
+ * The number of ranges can be changed without touching existing jobs.</p>
+ */
+public class JobPartitioning {
+
+  public static final int NUMBER_OF_PARTITIONS = 1024;
+
+  public static int getPartition(JobEntity job) {
+    String partitionKey = job.getProcessInstanceId() != null ? job.getProcessInstanceId() : job.getId();
+    return (partitionKey.hashCode() & Integer.MAX_VALUE) % NUMBER_OF_PARTITIONS;
+  }
+
+  public static JobPartitionRange getRange(int rangeIndex, int numberOfRanges) {
+    int lowerBound = rangeIndex * NUMBER_OF_PARTITIONS / numberOfRanges;
+    int upperBound = (rangeIndex + 1) * NUMBER_OF_PARTITIONS / numberOfRanges;
+    return new JobPartitionRange(lowerBound, upperBound);
+  }
+
+  /**
+   * @return the ranges with the given indexes, sorted and with adjacent ranges merged
+   */
+  public static List<JobPartitionRange> getRanges(Collection<Integer> rangeIndexes, int numberOfRanges) {
+    List<JobPartitionRange> ranges = new ArrayList<JobPartitionRange>();
+
+    JobPartitionRange currentRange = null;
+    for (Integer rangeIndex : new TreeSet<Integer>(rangeIndexes)) {
+      JobPartitionRange range = getRange(rangeIndex, numberOfRanges);
+
+      if (currentRange != null && currentRange.getUpperBound() == range.getLowerBound()) {
+        currentRange = new JobPartitionRange(currentRange.getLowerBound(), range.getUpperBound());
+        ranges.set(ranges.size() - 1, currentRange);
+
+      } else {
+        currentRange = range;
+        ranges.add(currentRange);
+      }
+    }
+
+    return ranges;
+  }
+
+}
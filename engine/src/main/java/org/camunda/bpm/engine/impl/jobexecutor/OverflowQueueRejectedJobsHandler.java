@@ -0,0 +1,228 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.UnlockJobsCmd;
+
+/**
+ * <p>Keeps rejected jobs in a bounded local overflow queue: like the
+ * {@link NotifyAcquisitionRejectedJobsHandler}, the rejected jobs are submitted again in the
+ * next acquisition cycle, where the {@link JobAcquisitionStrategy} takes them into account
+ * when determining how many jobs to acquire.</p>
+ *
+ * <p>Jobs are not kept locked for longer than necessary: jobs which do not fit into the queue
+ * (at most {@link #getQueueCapacity()} jobs) or which have been waiting for more than
+ * {@link #getMaxQueueTime()} milliseconds are unlocked, so that they can be acquired again
+ * by any job executor instead of waiting for their lock to expire. The jobs of a rejected
+ * batch are unlocked with one statement. The unlock is handed off to the unlock executor, a
+ * single daemon thread by default, so that the job acquisition thread does not wait for it.</p>
+ *
+ * <p>In contrast to the {@link CallerRunsRejectedJobsHandler}, rejected jobs are never executed by the
+ * job acquisition thread.</p>
+ */
+public class OverflowQueueRejectedJobsHandler implements RejectedJobsHandler {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 100;
+  public static final long DEFAULT_MAX_QUEUE_TIME = 10 * 1000;
+
+  protected int queueCapacity;
+  protected long maxQueueTime;
+
+  protected Executor unlockExecutor;
+
+  protected long numQueuedJobs = 0;
+  protected long numUnlockedJobs = 0;
+
+  public OverflowQueueRejectedJobsHandler() {
+    this(DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_QUEUE_TIME);
+  }
+
+  public OverflowQueueRejectedJobsHandler(int queueCapacity, long maxQueueTime) {
+    this.queueCapacity = queueCapacity;
+    this.maxQueueTime = maxQueueTime;
+    this.unlockExecutor = createUnlockExecutor();
+  }
+
+  protected Executor createUnlockExecutor() {
+    // the thread terminates when idle, so that the executor needs no shutdown
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "camunda-rejected-jobs-unlock");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @Override
+  public synchronized void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+    JobAcquisitionContext context = getAcquisitionContext(jobExecutor);
+    long now = System.currentTimeMillis();
+
+    QueuedJobBatch jobBatch;
+    if (jobIds instanceof QueuedJobBatch) {
+      jobBatch = (QueuedJobBatch) jobIds;
+    }
+    else {
+      jobBatch = new QueuedJobBatch(jobIds, now);
+    }
+
+    if (context != null
+        && now - jobBatch.getQueuedSince() <= maxQueueTime
+        && countQueuedJobs(context) + jobBatch.size() <= queueCapacity) {
+      context.submitRejectedBatch(processEngine.getName(), jobBatch);
+      numQueuedJobs += jobBatch.size();
+    }
+    else {
+      unlockJobs(jobBatch, processEngine, jobExecutor);
+    }
+  }
+
+  protected JobAcquisitionContext getAcquisitionContext(JobExecutor jobExecutor) {
+    AcquireJobsRunnable acquireJobsRunnable = jobExecutor.getAcquireJobsRunnable();
+    if (acquireJobsRunnable instanceof SequentialJobAcquisitionRunnable) {
+      return ((SequentialJobAcquisitionRunnable) acquireJobsRunnable).getAcquisitionContext();
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected int countQueuedJobs(JobAcquisitionContext context) {
+    int queuedJobs = 0;
+    for (List<List<String>> jobBatches : context.getRejectedJobsByEngine().values()) {
+      for (List<String> jobBatch : jobBatches) {
+        queuedJobs += jobBatch.size();
+      }
+    }
+    return queuedJobs;
+  }
+
+  protected void unlockJobs(List<String> jobIds, final ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+    final List<String> jobIdsToUnlock = new ArrayList<String>(jobIds);
+    final String lockOwner = jobExecutor.getLockOwner();
+
+    try {
+      unlockExecutor.execute(new Runnable() {
+        public void run() {
+          executeUnlockJobs(jobIdsToUnlock, lockOwner, processEngine);
+        }
+      });
+
+    } catch (RejectedExecutionException e) {
+      // the jobs are acquired again when their lock expires
+      LOG.exceptionWhileUnlockingRejectedJobs(jobIdsToUnlock, e);
+    }
+  }
+
+  protected void executeUnlockJobs(List<String> jobIds, String lockOwner, ProcessEngineImpl processEngine) {
+    try {
+      processEngine.getProcessEngineConfiguration()
+        .getCommandExecutorTxRequired()
+        .execute(new UnlockJobsCmd(jobIds, lockOwner));
+
+      synchronized (this) {
+        numUnlockedJobs += jobIds.size();
+      }
+      LOG.unlockedRejectedJobs(jobIds);
+
+    } catch (Exception e) {
+      // the jobs are acquired again when their lock expires
+      LOG.exceptionWhileUnlockingRejectedJobs(jobIds, e);
+    }
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public long getMaxQueueTime() {
+    return maxQueueTime;
+  }
+
+  public void setMaxQueueTime(long maxQueueTime) {
+    this.maxQueueTime = maxQueueTime;
+  }
+
+  public Executor getUnlockExecutor() {
+    return unlockExecutor;
+  }
+
+  /**
+   * Sets the executor which unlocks the jobs that are not kept in the queue.
+   */
+  public void setUnlockExecutor(Executor unlockExecutor) {
+    this.unlockExecutor = unlockExecutor;
+  }
+
+  /**
+   * @return the number of times a rejected job was put into the overflow queue
+   */
+  public synchronized long getNumQueuedJobs() {
+    return numQueuedJobs;
+  }
+
+  /**
+   * @return the number of rejected jobs that were unlocked
+   */
+  public synchronized long getNumUnlockedJobs() {
+    return numUnlockedJobs;
+  }
+
+  /**
+   * A batch of rejected jobs that remembers when it was rejected for the first time.
+   * It is passed on as it is when the batch is submitted again, so that it is recognized
+   * when it is rejected again.
+   */
+  public static class QueuedJobBatch extends ArrayList<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    protected long queuedSince;
+
+    public QueuedJobBatch(List<String> jobIds, long queuedSince) {
+      super(jobIds);
+      this.queuedSince = queuedSince;
+    }
+
+    public long getQueuedSince() {
+      return queuedSince;
+    }
+  }
+
+}
@@ -115,7 +115,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
   }
 
   protected JobAcquisitionStrategy initializeAcquisitionStrategy() {
-    return new BackoffJobAcquisitionStrategy(jobExecutor);
+    return jobExecutor.createAcquisitionStrategy();
   }
 
   public JobAcquisitionContext getAcquisitionContext() {
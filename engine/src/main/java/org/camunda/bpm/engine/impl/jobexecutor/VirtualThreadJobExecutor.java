@@ -0,0 +1,166 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>Executes each batch of jobs on its own virtual thread when the JVM supports virtual
+ * threads (Java 21 and later). On older JVMs, the jobs are executed on platform threads of
+ * a cached thread pool instead.</p>
+ *
+ * <p>Since virtual threads are cheap, the number of concurrently executed job batches is not
+ * limited by a thread pool but by {@link #getMaxConcurrentJobs()} permits. If it is not
+ * configured, it defaults to the smallest maximum number of active database connections
+ * of the registered process engines, so that executing jobs do not wait for connections.
+ * Job batches that do not get a permit are rejected and handled by the {@link RejectedJobsHandler}.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  public static final int DEFAULT_MAX_CONCURRENT_JOBS = 10;
+
+  protected int maxConcurrentJobs = -1;
+
+  protected ExecutorService executorService;
+  protected Semaphore permits;
+  protected int numPermits;
+  protected boolean isExecutingOnVirtualThreads;
+
+  protected void startExecutingJobs() {
+    if (executorService == null || executorService.isShutdown()) {
+      numPermits = determineMaxConcurrentJobs();
+      permits = new Semaphore(numPermits);
+      executorService = createExecutorService();
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    executorService.shutdown();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if (!executorService.awaitTermination(60L, TimeUnit.SECONDS)) {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (!permits.tryAcquire()) {
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      return;
+    }
+
+    final Runnable executeJobsRunnable = getExecuteJobsRunnable(jobIds, processEngine);
+    try {
+      executorService.execute(new Runnable() {
+        public void run() {
+          try {
+            executeJobsRunnable.run();
+          } finally {
+            permits.release();
+          }
+        }
+      });
+
+    } catch (RejectedExecutionException e) {
+      permits.release();
+
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+    }
+  }
+
+  protected int determineMaxConcurrentJobs() {
+    if (maxConcurrentJobs > 0) {
+      return maxConcurrentJobs;
+    }
+
+    int maxActiveConnections = Integer.MAX_VALUE;
+    for (ProcessEngineImpl processEngine : processEngines) {
+      int engineMaxActiveConnections = processEngine.getProcessEngineConfiguration().getJdbcMaxActiveConnections();
+      if (engineMaxActiveConnections > 0) {
+        maxActiveConnections = Math.min(maxActiveConnections, engineMaxActiveConnections);
+      }
+    }
+
+    return maxActiveConnections < Integer.MAX_VALUE ? maxActiveConnections : DEFAULT_MAX_CONCURRENT_JOBS;
+  }
+
+  /**
+   * Creates a virtual thread per task executor by reflection, so that the engine can still be
+   * compiled and run on JVMs without virtual threads.
+   */
+  protected ExecutorService createExecutorService() {
+    try {
+      Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      ExecutorService virtualThreadExecutor = (ExecutorService) factoryMethod.invoke(null);
+      isExecutingOnVirtualThreads = true;
+      LOG.executingJobsOnVirtualThreads(getName(), numPermits);
+      return virtualThreadExecutor;
+
+    } catch (Exception e) {
+      isExecutingOnVirtualThreads = false;
+      LOG.virtualThreadsNotSupported(getName(), numPermits);
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  public boolean isExecutingOnVirtualThreads() {
+    return isExecutingOnVirtualThreads;
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  /**
+   * @param maxConcurrentJobs the number of job batches executed at the same time,
+   *   a non-positive value derives it from the database connection pools of the engines
+   */
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  /**
+   * @return the number of permits to execute job batches, determined when the job executor started
+   */
+  public int getNumPermits() {
+    return numPermits;
+  }
+
+}
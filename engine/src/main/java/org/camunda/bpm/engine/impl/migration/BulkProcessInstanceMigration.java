@@ -0,0 +1,365 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.migration;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ActivityTypes;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.migration.validation.activity.MigrationActivityValidator;
+import org.camunda.bpm.engine.impl.migration.validation.activity.SupportedActivityValidator;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.PvmTransition;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.migration.MigrationInstruction;
+import org.camunda.bpm.engine.migration.MigrationPlan;
+
+/**
+ * Migrates process instances with a fixed number of set-based updates instead of
+ * parsing and migrating every process instance on its own.
+ *
+ * <p>This is only possible if the migration has no effect besides pointing the
+ * runtime and history data to the target process definition, i.e. if
+ * <ul>
+ *   <li>the source and the target process definition are structurally identical and
+ *   every supported activity is mapped to the activity with the same id without
+ *   updating its event trigger,</li>
+ *   <li>no custom migrating activity instance validators are configured and history is
+ *   written by the {@link DbHistoryEventHandler} on one of the built-in history levels,</li>
+ *   <li>none of the process instances is positioned at an activity which is not mapped.</li>
+ * </ul>
+ * The first two conditions are checked once by {@link #isApplicable(CommandContext)}, the last one
+ * for every chunk of process instances by {@link #migrate(CommandContext, List)}. If any of them
+ * does not hold, the process instances are migrated one by one.</p>
+ *
+ * @see ProcessEngineConfigurationImpl#isBulkMigrationEnabled()
+ */
+public class BulkProcessInstanceMigration {
+
+  protected static final MigrationLogger LOG = ProcessEngineLogger.MIGRATION_LOGGER;
+
+  /**
+   * Maximum number of process instances which are migrated by one set of updates.
+   */
+  public static final int CHUNK_SIZE = 1000;
+
+  protected MigrationPlan migrationPlan;
+  protected ProcessDefinitionEntity sourceDefinition;
+  protected ProcessDefinitionEntity targetDefinition;
+
+  protected Set<String> mappedActivityIds = new HashSet<String>();
+  protected Map<String, String> renamedActivities = new HashMap<String, String>();
+  protected Map<String, String> jobDefinitionIds = new HashMap<String, String>();
+
+  public BulkProcessInstanceMigration(MigrationPlan migrationPlan, ProcessDefinitionEntity sourceDefinition, ProcessDefinitionEntity targetDefinition) {
+    this.migrationPlan = migrationPlan;
+    this.sourceDefinition = sourceDefinition;
+    this.targetDefinition = targetDefinition;
+  }
+
+  /**
+   * @return true if process instances of the source process definition can be migrated
+   * by set-based updates, provided that they are only positioned at mapped activities
+   */
+  public boolean isApplicable(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+
+    return configuration.isBulkMigrationEnabled()
+        && isEmpty(configuration.getCustomPreMigratingActivityInstanceValidators())
+        && isEmpty(configuration.getCustomPostMigratingActivityInstanceValidators())
+        && isDefaultHistory(configuration)
+        && mapActivities(configuration.getDefaultMigrationActivityValidators())
+        && mapJobDefinitions(commandContext);
+  }
+
+  protected boolean isEmpty(Collection<?> collection) {
+    return collection == null || collection.isEmpty();
+  }
+
+  protected boolean isDefaultHistory(ProcessEngineConfigurationImpl configuration) {
+    HistoryLevel historyLevel = configuration.getHistoryLevel();
+
+    if (HistoryLevel.HISTORY_LEVEL_NONE.equals(historyLevel)) {
+      return true;
+    }
+
+    // custom history levels and handlers may rely on the migrate events of the individual migration
+    boolean isBuiltInHistoryLevel = HistoryLevel.HISTORY_LEVEL_ACTIVITY.equals(historyLevel)
+        || HistoryLevel.HISTORY_LEVEL_AUDIT.equals(historyLevel)
+        || HistoryLevel.HISTORY_LEVEL_FULL.equals(historyLevel);
+
+    HistoryEventHandler historyEventHandler = configuration.getHistoryEventHandler();
+
+    return isBuiltInHistoryLevel
+        && historyEventHandler != null
+        && historyEventHandler.getClass() == DbHistoryEventHandler.class;
+  }
+
+  // activities /////////////////////////////////////////
+
+  protected boolean mapActivities(List<MigrationActivityValidator> activityValidators) {
+    Map<String, ActivityImpl> sourceActivities = collectActivities(sourceDefinition, new HashMap<String, ActivityImpl>());
+    Map<String, ActivityImpl> targetActivities = collectActivities(targetDefinition, new HashMap<String, ActivityImpl>());
+
+    if (!sourceActivities.keySet().equals(targetActivities.keySet())) {
+      return false;
+    }
+
+    for (MigrationInstruction instruction : migrationPlan.getInstructions()) {
+      String activityId = instruction.getSourceActivityId();
+
+      if (!activityId.equals(instruction.getTargetActivityId()) || instruction.isUpdateEventTrigger()) {
+        return false;
+      }
+
+      ActivityImpl sourceActivity = sourceActivities.get(activityId);
+      ActivityImpl targetActivity = targetActivities.get(activityId);
+
+      if (sourceActivity == null || !isStructurallyEqual(sourceActivity, targetActivity)) {
+        return false;
+      }
+
+      if (SupportedActivityValidator.INSTANCE.isSupportedActivity(sourceActivity)) {
+        // instances of unsupported activities must fail the validation of the individual migration
+        mappedActivityIds.add(activityId);
+      }
+
+      String targetName = (String) targetActivity.getProperty("name");
+      if (!equals((String) sourceActivity.getProperty("name"), targetName)) {
+        renamedActivities.put(activityId, targetName);
+      }
+    }
+
+    for (ActivityImpl sourceActivity : sourceActivities.values()) {
+      if (isCompensationActivity(sourceActivity)) {
+        // compensation subscriptions and event scope executions are migrated individually
+        return false;
+      }
+
+      if (!mappedActivityIds.contains(sourceActivity.getId()) && isValid(sourceActivity, activityValidators)) {
+        // the individual migration would remove and recreate the instances of an unmapped activity
+        return false;
+      }
+
+      ScopeImpl flowScope = sourceActivity.getFlowScope();
+      if (mappedActivityIds.contains(sourceActivity.getId())
+          && flowScope instanceof ActivityImpl
+          && !mappedActivityIds.contains(flowScope.getId())) {
+        return false;
+      }
+    }
+
+    return !mappedActivityIds.isEmpty();
+  }
+
+  protected Map<String, ActivityImpl> collectActivities(ScopeImpl scope, Map<String, ActivityImpl> activities) {
+    for (ActivityImpl activity : scope.getActivities()) {
+      activities.put(activity.getId(), activity);
+      collectActivities(activity, activities);
+    }
+    return activities;
+  }
+
+  protected boolean isStructurallyEqual(ActivityImpl sourceActivity, ActivityImpl targetActivity) {
+    return targetActivity != null
+        && sameClass(sourceActivity.getActivityBehavior(), targetActivity.getActivityBehavior())
+        && equals(sourceActivity.getProperties().get(BpmnProperties.TYPE), targetActivity.getProperties().get(BpmnProperties.TYPE))
+        && sourceActivity.isScope() == targetActivity.isScope()
+        && sourceActivity.isAsyncBefore() == targetActivity.isAsyncBefore()
+        && sourceActivity.isAsyncAfter() == targetActivity.isAsyncAfter()
+        && sourceActivity.isCompensationHandler() == targetActivity.isCompensationHandler()
+        && equals(getActivityId(sourceActivity.getFlowScope()), getActivityId(targetActivity.getFlowScope()))
+        && equals(getActivityId(sourceActivity.getEventScope()), getActivityId(targetActivity.getEventScope()))
+        && getTransitionIds(sourceActivity).equals(getTransitionIds(targetActivity));
+  }
+
+  protected Set<String> getTransitionIds(ActivityImpl activity) {
+    // jobs of asyncAfter activities reference the outgoing sequence flow to take
+    Set<String> transitionIds = new HashSet<String>();
+    for (PvmTransition transition : activity.getOutgoingTransitions()) {
+      transitionIds.add(transition.getId());
+    }
+    return transitionIds;
+  }
+
+  protected boolean isCompensationActivity(ActivityImpl activity) {
+    String type = activity.getProperties().get(BpmnProperties.TYPE);
+
+    return activity.isCompensationHandler()
+        || ActivityTypes.BOUNDARY_COMPENSATION.equals(type)
+        || ActivityTypes.START_EVENT_COMPENSATION.equals(type)
+        || ActivityTypes.INTERMEDIATE_EVENT_COMPENSATION_THROW.equals(type)
+        || ActivityTypes.END_EVENT_COMPENSATION.equals(type);
+  }
+
+  protected boolean isValid(ActivityImpl activity, List<MigrationActivityValidator> activityValidators) {
+    for (MigrationActivityValidator activityValidator : activityValidators) {
+      if (!activityValidator.valid(activity)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected String getActivityId(ScopeImpl scope) {
+    if (scope instanceof ActivityImpl) {
+      return scope.getId();
+    } else {
+      return null;
+    }
+  }
+
+  protected boolean sameClass(Object source, Object target) {
+    if (source == null || target == null) {
+      return source == target;
+    } else {
+      return source.getClass() == target.getClass();
+    }
+  }
+
+  protected boolean equals(String source, String target) {
+    return source == null ? target == null : source.equals(target);
+  }
+
+  // job definitions ////////////////////////////////////
+
+  protected boolean mapJobDefinitions(CommandContext commandContext) {
+    List<JobDefinitionEntity> sourceJobDefinitions = commandContext.getJobDefinitionManager()
+        .findByProcessDefinitionId(sourceDefinition.getId());
+    List<JobDefinitionEntity> targetJobDefinitions = commandContext.getJobDefinitionManager()
+        .findByProcessDefinitionId(targetDefinition.getId());
+
+    if (sourceJobDefinitions.size() != targetJobDefinitions.size()) {
+      return false;
+    }
+
+    for (JobDefinitionEntity sourceJobDefinition : sourceJobDefinitions) {
+      JobDefinitionEntity targetJobDefinition = findMatchingJobDefinition(sourceJobDefinition, targetJobDefinitions);
+      if (targetJobDefinition == null) {
+        return false;
+      }
+      jobDefinitionIds.put(sourceJobDefinition.getId(), targetJobDefinition.getId());
+    }
+
+    return true;
+  }
+
+  protected JobDefinitionEntity findMatchingJobDefinition(JobDefinitionEntity sourceJobDefinition, List<JobDefinitionEntity> targetJobDefinitions) {
+    for (JobDefinitionEntity targetJobDefinition : targetJobDefinitions) {
+      if (equals(sourceJobDefinition.getActivityId(), targetJobDefinition.getActivityId())
+          && equals(sourceJobDefinition.getJobType(), targetJobDefinition.getJobType())
+          && equals(sourceJobDefinition.getJobConfiguration(), targetJobDefinition.getJobConfiguration())) {
+        return targetJobDefinition;
+      }
+    }
+    return null;
+  }
+
+  // migration //////////////////////////////////////////
+
+  /**
+   * Migrates the given process instances of the source process definition.
+   *
+   * @return false if some of the process instances are positioned at activities
+   * which are not mapped; none of them has been migrated then
+   */
+  public boolean migrate(CommandContext commandContext, List<String> processInstanceIds) {
+    long unmappedExecutions = commandContext.getExecutionManager()
+        .findExecutionCountByProcessInstanceIdsAndNotActivityIds(processInstanceIds, mappedActivityIds);
+
+    if (unmappedExecutions > 0) {
+      LOG.cannotMigrateProcessInstancesInBulk(processInstanceIds.size());
+      return false;
+    }
+
+    LOG.migratingProcessInstancesInBulk(processInstanceIds.size(), sourceDefinition.getId(), targetDefinition.getId());
+
+    migrateRuntimeData(commandContext, processInstanceIds);
+    migrateHistoricData(commandContext, processInstanceIds);
+
+    return true;
+  }
+
+  protected void migrateRuntimeData(CommandContext commandContext, List<String> processInstanceIds) {
+    commandContext.getExecutionManager().updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+    commandContext.getTaskManager().updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+    commandContext.getExternalTaskManager().updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+    commandContext.getJobManager().updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+    commandContext.getIncidentManager().updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+
+    for (Map.Entry<String, String> jobDefinitionId : jobDefinitionIds.entrySet()) {
+      commandContext.getJobManager()
+        .updateJobDefinitionIdByProcessInstanceIds(processInstanceIds, jobDefinitionId.getKey(), jobDefinitionId.getValue());
+      commandContext.getIncidentManager()
+        .updateJobDefinitionIdByProcessInstanceIds(processInstanceIds, jobDefinitionId.getKey(), jobDefinitionId.getValue());
+    }
+  }
+
+  protected void migrateHistoricData(CommandContext commandContext, List<String> processInstanceIds) {
+    HistoryLevel historyLevel = commandContext.getProcessEngineConfiguration().getHistoryLevel();
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_MIGRATE, null)) {
+      commandContext.getHistoricProcessInstanceManager()
+        .updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+    }
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_MIGRATE, null)) {
+      commandContext.getHistoricActivityInstanceManager()
+        .updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+
+      for (Map.Entry<String, String> renamedActivity : renamedActivities.entrySet()) {
+        commandContext.getHistoricActivityInstanceManager()
+          .updateActivityNameByProcessInstanceIds(processInstanceIds, renamedActivity.getKey(), renamedActivity.getValue());
+      }
+    }
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_MIGRATE, null)) {
+      commandContext.getHistoricTaskInstanceManager()
+        .updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+    }
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_MIGRATE, null)) {
+      commandContext.getHistoricVariableInstanceManager()
+        .updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+    }
+
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.INCIDENT_MIGRATE, null)) {
+      commandContext.getHistoricIncidentManager()
+        .updateProcessDefinitionByProcessInstanceIds(processInstanceIds, targetDefinition);
+
+      for (Map.Entry<String, String> jobDefinitionId : jobDefinitionIds.entrySet()) {
+        commandContext.getHistoricIncidentManager()
+          .updateJobDefinitionIdByProcessInstanceIds(processInstanceIds, jobDefinitionId.getKey(), jobDefinitionId.getValue());
+      }
+    }
+  }
+
+}
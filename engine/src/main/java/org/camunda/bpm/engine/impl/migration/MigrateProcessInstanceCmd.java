@@ -21,6 +21,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -57,6 +58,7 @@ import org.camunda.bpm.engine.impl.migration.validation.instance.MigratingTransi
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.tree.ReferenceWalker;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.migration.MigrationPlan;
 
 /**
@@ -92,7 +94,7 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd<Void> {
     ensureNotEmpty(BadUserRequestException.class, "Process instance ids cannot empty", "process instance ids", processInstanceIds);
     ensureNotContainsNull(BadUserRequestException.class, "Process instance ids cannot be null", "process instance ids", processInstanceIds);
 
-    ProcessDefinitionEntity sourceDefinition = resolveSourceProcessDefinition(commandContext);
+    final ProcessDefinitionEntity sourceDefinition = resolveSourceProcessDefinition(commandContext);
     final ProcessDefinitionEntity targetDefinition = resolveTargetProcessDefinition(commandContext);
 
     checkAuthorizations(commandContext,
@@ -111,7 +113,13 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd<Void> {
 
       @Override
       public Void call() throws Exception {
-        for (String processInstanceId : processInstanceIds) {
+        Collection<String> remainingProcessInstanceIds = migrateProcessInstancesInBulk(commandContext,
+            processInstanceIds,
+            migrationPlan,
+            sourceDefinition,
+            targetDefinition);
+
+        for (String processInstanceId : remainingProcessInstanceIds) {
           migrateProcessInstance(commandContext, processInstanceId, migrationPlan, targetDefinition);
         }
         return null;
@@ -122,6 +130,47 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd<Void> {
     return null;
   }
 
+  /**
+   * Migrates the process instances by set-based updates if the migration plan does not change
+   * anything but the process definition, see {@link BulkProcessInstanceMigration}.
+   *
+   * @return the ids of the process instances that still have to be migrated one by one
+   */
+  protected Collection<String> migrateProcessInstancesInBulk(CommandContext commandContext,
+      Collection<String> processInstanceIds,
+      MigrationPlan migrationPlan,
+      ProcessDefinitionEntity sourceDefinition,
+      ProcessDefinitionEntity targetDefinition) {
+
+    BulkProcessInstanceMigration bulkMigration = new BulkProcessInstanceMigration(migrationPlan, sourceDefinition, targetDefinition);
+    if (!bulkMigration.isApplicable(commandContext)) {
+      return processInstanceIds;
+    }
+
+    List<String> remainingProcessInstanceIds = new ArrayList<String>();
+
+    for (List<String> chunk : CollectionUtil.partition(new ArrayList<String>(processInstanceIds), BulkProcessInstanceMigration.CHUNK_SIZE)) {
+      Map<String, ExecutionEntity> processInstances = new HashMap<String, ExecutionEntity>();
+      for (ExecutionEntity processInstance : commandContext.getExecutionManager().findProcessInstancesByIds(chunk)) {
+        processInstances.put(processInstance.getId(), processInstance);
+      }
+
+      for (String processInstanceId : chunk) {
+        ExecutionEntity processInstance = processInstances.get(processInstanceId);
+
+        ensureProcessInstanceExist(processInstanceId, processInstance);
+        ensureOperationAllowed(commandContext, processInstance, targetDefinition);
+        ensureSameProcessDefinition(processInstance, migrationPlan.getSourceProcessDefinitionId());
+      }
+
+      if (!bulkMigration.migrate(commandContext, chunk)) {
+        remainingProcessInstanceIds.addAll(chunk);
+      }
+    }
+
+    return remainingProcessInstanceIds;
+  }
+
   public Void migrateProcessInstance(CommandContext commandContext, String processInstanceId, MigrationPlan migrationPlan, ProcessDefinitionEntity targetProcessDefinition) {
     ensureNotNull(BadUserRequestException.class, "Process instance id cannot be null", "process instance id", processInstanceId);
 
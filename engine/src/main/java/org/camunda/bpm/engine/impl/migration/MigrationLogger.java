@@ -145,4 +145,20 @@ public class MigrationLogger extends ProcessEngineLogger {
         );
   }
 
+  public void migratingProcessInstancesInBulk(int processInstanceCount, String sourceProcessDefinitionId, String targetProcessDefinitionId) {
+    logDebug(
+        "012",
+        "Migrating {} process instances from process definition '{}' to '{}' with bulk updates",
+        processInstanceCount,
+        sourceProcessDefinitionId,
+        targetProcessDefinitionId);
+  }
+
+  public void cannotMigrateProcessInstancesInBulk(int processInstanceCount) {
+    logDebug(
+        "013",
+        "Migrating {} process instances individually since some of them are positioned at activities which are not mapped",
+        processInstanceCount);
+  }
+
 }
@@ -25,6 +25,7 @@ import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -37,6 +38,10 @@ public class BpmnModelInstanceCache extends ModelInstanceCache<BpmnModelInstance
     super(factory, cacheCapacity, definitionCache);
   }
 
+  public BpmnModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<ProcessDefinitionEntity> definitionCache, String retentionPolicy) {
+    super(factory, cacheCapacity, definitionCache, retentionPolicy);
+  }
+
   @Override
   protected void throwLoadModelException(String definitionId, Exception e) {
     throw LOG.loadModelException("BPMN", "process", definitionId, e);
@@ -47,6 +52,11 @@ public class BpmnModelInstanceCache extends ModelInstanceCache<BpmnModelInstance
     return Bpmn.readModelFromStream(bpmnResourceInputStream);
   }
 
+  @Override
+  protected void writeModelToStream(OutputStream stream, BpmnModelInstance modelInstance) {
+    Bpmn.writeModelToStream(stream, modelInstance);
+  }
+
   @Override
   protected void logRemoveEntryFromDeploymentCacheFailure(String definitionId, Exception e) {
     LOG.removeEntryFromDeploymentCacheFailure("process", definitionId, e);
@@ -23,6 +23,7 @@ import org.camunda.bpm.model.cmmn.Cmmn;
 import org.camunda.bpm.model.cmmn.CmmnModelInstance;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -34,6 +35,10 @@ public class CmmnModelInstanceCache extends ModelInstanceCache<CmmnModelInstance
     super(factory, cacheCapacity, definitionCache);
   }
 
+  public CmmnModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<CaseDefinitionEntity> definitionCache, String retentionPolicy) {
+    super(factory, cacheCapacity, definitionCache, retentionPolicy);
+  }
+
   @Override
   protected void throwLoadModelException(String definitionId, Exception e) {
     throw LOG.loadModelException("CMMN", "case", definitionId, e);
@@ -44,6 +49,11 @@ public class CmmnModelInstanceCache extends ModelInstanceCache<CmmnModelInstance
     return Cmmn.readModelFromStream(cmmnResourceInputStream);
   }
 
+  @Override
+  protected void writeModelToStream(OutputStream stream, CmmnModelInstance modelInstance) {
+    Cmmn.writeModelToStream(stream, modelInstance);
+  }
+
   @Override
   protected void logRemoveEntryFromDeploymentCacheFailure(String definitionId, Exception e) {
     LOG.removeEntryFromDeploymentCacheFailure("case", definitionId, e);
@@ -26,6 +26,7 @@ import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDef
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.management.DeploymentCacheStatistics;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.repository.DecisionRequirementsDefinition;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
@@ -33,6 +34,7 @@ import org.camunda.bpm.model.cmmn.CmmnModelInstance;
 import org.camunda.bpm.model.dmn.DmnModelInstance;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -53,14 +55,26 @@ public class DeploymentCache {
   protected CacheDeployer cacheDeployer = new CacheDeployer();
 
   public DeploymentCache(CacheFactory factory, int cacheCapacity) {
+    this(factory, cacheCapacity, cacheCapacity);
+  }
+
+  public DeploymentCache(CacheFactory factory, int cacheCapacity, int modelInstanceCacheCapacity) {
+    this(factory, cacheCapacity, modelInstanceCacheCapacity, ModelInstanceCache.RETENTION_STRONG);
+  }
+
+  /**
+   * @param modelInstanceRetentionPolicy how BPMN, CMMN and DMN model instances are retained,
+   *   see {@link ModelInstanceCache}
+   */
+  public DeploymentCache(CacheFactory factory, int cacheCapacity, int modelInstanceCacheCapacity, String modelInstanceRetentionPolicy) {
     processDefinitionEntityCache = new ProcessDefinitionCache(factory, cacheCapacity, cacheDeployer);
     caseDefinitionCache = new CaseDefinitionCache(factory, cacheCapacity, cacheDeployer);
     decisionDefinitionCache = new DecisionDefinitionCache(factory, cacheCapacity, cacheDeployer);
     decisionRequirementsDefinitionCache = new DecisionRequirementsDefinitionCache(factory, cacheCapacity, cacheDeployer);
 
-    bpmnModelInstanceCache = new BpmnModelInstanceCache(factory, cacheCapacity, processDefinitionEntityCache);
-    cmmnModelInstanceCache = new CmmnModelInstanceCache(factory, cacheCapacity, caseDefinitionCache);
-    dmnModelInstanceCache = new DmnModelInstanceCache(factory, cacheCapacity, decisionDefinitionCache);
+    bpmnModelInstanceCache = new BpmnModelInstanceCache(factory, modelInstanceCacheCapacity, processDefinitionEntityCache, modelInstanceRetentionPolicy);
+    cmmnModelInstanceCache = new CmmnModelInstanceCache(factory, modelInstanceCacheCapacity, caseDefinitionCache, modelInstanceRetentionPolicy);
+    dmnModelInstanceCache = new DmnModelInstanceCache(factory, modelInstanceCacheCapacity, decisionDefinitionCache, modelInstanceRetentionPolicy);
   }
 
   public void deploy(final DeploymentEntity deployment) {
@@ -383,4 +397,37 @@ public class DeploymentCache {
     return result;
   }
 
+  /**
+   * @return the statistics of all caches, in the same order as the caches are
+   *   reported by {@link #purgeCache()}
+   */
+  public List<DeploymentCacheStatistics> getCacheStatistics() {
+    List<DeploymentCacheStatistics> statistics = new ArrayList<DeploymentCacheStatistics>();
+    statistics.add(createCacheStatistics(CachePurgeReport.PROCESS_DEF_CACHE, getProcessDefinitionCache()));
+    statistics.add(createCacheStatistics(CachePurgeReport.BPMN_MODEL_INST_CACHE, bpmnModelInstanceCache.getBackingCache()));
+    statistics.add(createCacheStatistics(CachePurgeReport.CASE_DEF_CACHE, getCaseDefinitionCache()));
+    statistics.add(createCacheStatistics(CachePurgeReport.CASE_MODEL_INST_CACHE, cmmnModelInstanceCache.getBackingCache()));
+    statistics.add(createCacheStatistics(CachePurgeReport.DMN_DEF_CACHE, getDecisionDefinitionCache()));
+    statistics.add(createCacheStatistics(CachePurgeReport.DMN_MODEL_INST_CACHE, dmnModelInstanceCache.getBackingCache()));
+    statistics.add(createCacheStatistics(CachePurgeReport.DMN_REQ_DEF_CACHE, getDecisionRequirementsDefinitionCache()));
+    return statistics;
+  }
+
+  protected DeploymentCacheStatistics createCacheStatistics(String cacheName, Cache<String, ?> cache) {
+    DeploymentCacheStatistics statistics = new DeploymentCacheStatistics();
+    statistics.setCacheName(cacheName);
+    statistics.setSize(cache.size());
+
+    if (cache instanceof MonitoredCache) {
+      MonitoredCache monitoredCache = (MonitoredCache) cache;
+      statistics.setWeight(monitoredCache.getWeight());
+      statistics.setMaxWeight(monitoredCache.getMaxWeight());
+      statistics.setHitCount(monitoredCache.getHitCount());
+      statistics.setMissCount(monitoredCache.getMissCount());
+      statistics.setEvictionCount(monitoredCache.getEvictionCount());
+    }
+
+    return statistics;
+  }
+
 }
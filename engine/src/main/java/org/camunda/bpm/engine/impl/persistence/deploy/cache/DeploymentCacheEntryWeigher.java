@@ -0,0 +1,92 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.lang.ref.Reference;
+
+import org.camunda.bpm.engine.impl.core.model.CoreActivity;
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.instance.DomDocument;
+import org.camunda.bpm.model.xml.instance.DomElement;
+
+/**
+ * Weighs the entries of the deployment cache by the approximate number of
+ * kilobytes they retain:
+ *
+ * <ul>
+ *   <li>process and case definitions by the number of their (nested) activities</li>
+ *   <li>model instances by the number of elements in their DOM</li>
+ *   <li>byte arrays, e.g. compressed model resources, by their length</li>
+ *   <li>references by their referent</li>
+ *   <li>all other definitions, e.g. decision definitions, with a constant weight</li>
+ * </ul>
+ *
+ * The estimates are deliberately rough; they only have to be proportional to the
+ * real footprint so that large models count for more than small ones.
+ */
+public class DeploymentCacheEntryWeigher implements CacheEntryWeigher {
+
+  public static final int DEFINITION_WEIGHT = 4;
+  public static final int ACTIVITY_WEIGHT = 2;
+  public static final int DOM_ELEMENTS_PER_WEIGHT = 1;
+  public static final int BYTES_PER_WEIGHT = 1024;
+
+  public int weigh(Object value) {
+    if (value instanceof Reference) {
+      Object referent = ((Reference<?>) value).get();
+      return referent != null ? weigh(referent) : 1;
+
+    } else if (value instanceof byte[]) {
+      return Math.max(1, ((byte[]) value).length / BYTES_PER_WEIGHT);
+
+    } else if (value instanceof CoreActivity) {
+      return DEFINITION_WEIGHT + ACTIVITY_WEIGHT * countActivities((CoreActivity) value);
+
+    } else if (value instanceof ModelInstance) {
+      return Math.max(1, countDomElements((ModelInstance) value) / DOM_ELEMENTS_PER_WEIGHT);
+
+    } else {
+      return DEFINITION_WEIGHT;
+    }
+  }
+
+  protected int countActivities(CoreActivity scope) {
+    int count = 0;
+    for (CoreActivity activity : scope.getActivities()) {
+      count += 1 + countActivities(activity);
+    }
+    return count;
+  }
+
+  protected int countDomElements(ModelInstance modelInstance) {
+    DomDocument document = modelInstance.getDocument();
+    DomElement rootElement = document.getRootElement();
+    if (rootElement == null) {
+      return 0;
+    }
+    return countDomElements(rootElement);
+  }
+
+  protected int countDomElements(DomElement element) {
+    int count = 1;
+    for (DomElement childElement : element.getChildElements()) {
+      count += countDomElements(childElement);
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.management.ProcessDefinitionStatistics;
+import org.camunda.bpm.engine.repository.CaseDefinition;
+import org.camunda.bpm.engine.repository.CaseDefinitionQuery;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.repository.DecisionDefinitionQuery;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
+
+/**
+ * Loads deployed process, decision and case definitions into the {@link DeploymentCache}
+ * while the process engine is built, so that the first requests after a (rolling) restart
+ * do not have to parse them. The definitions are loaded in parallel, each one in its own
+ * command.
+ *
+ * <p>Which definitions are loaded is determined by the {@link #getMode() mode}:
+ * <ul>
+ *   <li>{@link #MODE_LATEST_VERSIONS}: the latest versions of all definitions</li>
+ *   <li>{@link #MODE_MOST_USED}: the process definitions with the most running process instances,
+ *   followed by the latest versions of the decision and case definitions</li>
+ * </ul>
+ * In both modes, the definitions can be restricted to a set of keys. At most
+ * {@link #getMaxDefinitions()} definitions are loaded; definitions which are not loaded
+ * within the {@link #getTimeBudget() time budget} are skipped.</p>
+ */
+public class DeploymentCacheWarmUp {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final String MODE_LATEST_VERSIONS = "latestVersions";
+  public static final String MODE_MOST_USED = "mostUsed";
+
+  protected RepositoryService repositoryService;
+  protected ManagementService managementService;
+
+  protected String mode = MODE_LATEST_VERSIONS;
+  protected int maxDefinitions;
+  protected List<String> definitionKeys;
+  protected long timeBudget;
+  protected int parallelism;
+  protected boolean isCmmnEnabled;
+  protected boolean isDmnEnabled;
+
+  public DeploymentCacheWarmUp(ProcessEngineConfigurationImpl configuration) {
+    this.repositoryService = configuration.getRepositoryService();
+    this.managementService = configuration.getManagementService();
+    this.mode = configuration.getDeploymentCacheWarmUpMode();
+    if (!MODE_LATEST_VERSIONS.equals(mode) && !MODE_MOST_USED.equals(mode)) {
+      throw LOG.invalidDeploymentCacheWarmUpMode(mode);
+    }
+    this.maxDefinitions = Math.min(configuration.getDeploymentCacheWarmUpMaxDefinitions(), configuration.getCacheCapacity());
+    this.definitionKeys = configuration.getDeploymentCacheWarmUpKeys();
+    this.timeBudget = configuration.getDeploymentCacheWarmUpTimeBudget();
+    this.parallelism = configuration.getDeploymentCacheWarmUpParallelism();
+    this.isCmmnEnabled = configuration.isCmmnEnabled();
+    this.isDmnEnabled = configuration.isDmnEnabled();
+  }
+
+  /**
+   * @return the number of definitions that were loaded into the cache
+   */
+  public int warmUp() {
+    final long startTime = System.currentTimeMillis();
+    final long deadline = startTime + timeBudget;
+
+    final List<WarmUpTask> tasks = collectTasks();
+    if (tasks.isEmpty()) {
+      return 0;
+    }
+
+    int threads = Math.max(1, Math.min(parallelism, tasks.size()));
+    LOG.startingDeploymentCacheWarmUp(tasks.size(), threads, timeBudget);
+
+    final AtomicInteger loadedDefinitions = new AtomicInteger();
+    final int progressStep = Math.max(1, tasks.size() / 10);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    try {
+      for (final WarmUpTask task : tasks) {
+        executorService.execute(new Runnable() {
+          public void run() {
+            // definitions which could not be loaded in time are skipped
+            if (System.currentTimeMillis() > deadline) {
+              return;
+            }
+
+            try {
+              task.load();
+
+              int loaded = loadedDefinitions.incrementAndGet();
+              if (loaded % progressStep == 0) {
+                LOG.deploymentCacheWarmUpProgress(loaded, tasks.size(), System.currentTimeMillis() - startTime);
+              }
+
+            } catch (Exception e) {
+              LOG.exceptionWhileWarmingUpDeploymentCache(task.getDefinitionId(), e);
+            }
+          }
+        });
+      }
+
+    } finally {
+      // definitions that are currently loaded are allowed to finish in the background
+      executorService.shutdown();
+    }
+
+    try {
+      long remainingTime = Math.max(0, deadline - System.currentTimeMillis());
+      if (!executorService.awaitTermination(remainingTime, TimeUnit.MILLISECONDS)) {
+        LOG.deploymentCacheWarmUpTimeBudgetExceeded(loadedDefinitions.get(), tasks.size(), timeBudget);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    int loaded = loadedDefinitions.get();
+    LOG.finishedDeploymentCacheWarmUp(loaded, tasks.size(), System.currentTimeMillis() - startTime);
+
+    return loaded;
+  }
+
+  protected List<WarmUpTask> collectTasks() {
+    List<WarmUpTask> tasks = new ArrayList<WarmUpTask>();
+
+    if (MODE_MOST_USED.equals(mode)) {
+      collectMostUsedProcessDefinitions(tasks);
+    } else {
+      collectLatestProcessDefinitions(tasks);
+    }
+
+    if (isDmnEnabled) {
+      collectLatestDecisionDefinitions(tasks);
+    }
+
+    if (isCmmnEnabled) {
+      collectLatestCaseDefinitions(tasks);
+    }
+
+    return tasks;
+  }
+
+  protected void collectLatestProcessDefinitions(List<WarmUpTask> tasks) {
+    ProcessDefinitionQuery query = repositoryService.createProcessDefinitionQuery().latestVersion();
+    if (definitionKeys != null) {
+      query.processDefinitionKeysIn(definitionKeys.toArray(new String[0]));
+    }
+
+    for (ProcessDefinition processDefinition : query.orderByDeploymentId().desc().listPage(0, getRemainingCapacity(tasks))) {
+      tasks.add(new ProcessDefinitionWarmUpTask(processDefinition.getId()));
+    }
+  }
+
+  protected void collectMostUsedProcessDefinitions(List<WarmUpTask> tasks) {
+    List<ProcessDefinitionStatistics> statistics = new ArrayList<ProcessDefinitionStatistics>();
+    for (ProcessDefinitionStatistics processDefinitionStatistics : managementService.createProcessDefinitionStatisticsQuery().list()) {
+      if (processDefinitionStatistics.getInstances() > 0 && isKeyIncluded(processDefinitionStatistics.getKey())) {
+        statistics.add(processDefinitionStatistics);
+      }
+    }
+
+    Collections.sort(statistics, new Comparator<ProcessDefinitionStatistics>() {
+      public int compare(ProcessDefinitionStatistics o1, ProcessDefinitionStatistics o2) {
+        return o2.getInstances() - o1.getInstances();
+      }
+    });
+
+    int count = Math.min(statistics.size(), getRemainingCapacity(tasks));
+    for (ProcessDefinitionStatistics processDefinitionStatistics : statistics.subList(0, count)) {
+      tasks.add(new ProcessDefinitionWarmUpTask(processDefinitionStatistics.getId()));
+    }
+  }
+
+  protected void collectLatestDecisionDefinitions(List<WarmUpTask> tasks) {
+    if (definitionKeys == null) {
+      addDecisionDefinitions(tasks, repositoryService.createDecisionDefinitionQuery());
+
+    } else {
+      for (String definitionKey : definitionKeys) {
+        addDecisionDefinitions(tasks, repositoryService.createDecisionDefinitionQuery().decisionDefinitionKey(definitionKey));
+      }
+    }
+  }
+
+  protected void addDecisionDefinitions(List<WarmUpTask> tasks, DecisionDefinitionQuery query) {
+    for (DecisionDefinition decisionDefinition : query.latestVersion().orderByDeploymentId().desc().listPage(0, getRemainingCapacity(tasks))) {
+      tasks.add(new DecisionDefinitionWarmUpTask(decisionDefinition.getId()));
+    }
+  }
+
+  protected void collectLatestCaseDefinitions(List<WarmUpTask> tasks) {
+    if (definitionKeys == null) {
+      addCaseDefinitions(tasks, repositoryService.createCaseDefinitionQuery());
+
+    } else {
+      for (String definitionKey : definitionKeys) {
+        addCaseDefinitions(tasks, repositoryService.createCaseDefinitionQuery().caseDefinitionKey(definitionKey));
+      }
+    }
+  }
+
+  protected void addCaseDefinitions(List<WarmUpTask> tasks, CaseDefinitionQuery query) {
+    for (CaseDefinition caseDefinition : query.latestVersion().orderByDeploymentId().desc().listPage(0, getRemainingCapacity(tasks))) {
+      tasks.add(new CaseDefinitionWarmUpTask(caseDefinition.getId()));
+    }
+  }
+
+  protected boolean isKeyIncluded(String definitionKey) {
+    return definitionKeys == null || definitionKeys.contains(definitionKey);
+  }
+
+  protected int getRemainingCapacity(List<WarmUpTask> tasks) {
+    return Math.max(0, maxDefinitions - tasks.size());
+  }
+
+  // getters ////////////////////////////////////////////
+
+  public String getMode() {
+    return mode;
+  }
+
+  public int getMaxDefinitions() {
+    return maxDefinitions;
+  }
+
+  public List<String> getDefinitionKeys() {
+    return definitionKeys;
+  }
+
+  public long getTimeBudget() {
+    return timeBudget;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  // tasks //////////////////////////////////////////////
+
+  protected abstract static class WarmUpTask {
+
+    protected String definitionId;
+
+    public WarmUpTask(String definitionId) {
+      this.definitionId = definitionId;
+    }
+
+    public String getDefinitionId() {
+      return definitionId;
+    }
+
+    public abstract void load();
+  }
+
+  protected class ProcessDefinitionWarmUpTask extends WarmUpTask {
+
+    public ProcessDefinitionWarmUpTask(String definitionId) {
+      super(definitionId);
+    }
+
+    public void load() {
+      repositoryService.getProcessDefinition(definitionId);
+    }
+  }
+
+  protected class DecisionDefinitionWarmUpTask extends WarmUpTask {
+
+    public DecisionDefinitionWarmUpTask(String definitionId) {
+      super(definitionId);
+    }
+
+    public void load() {
+      repositoryService.getDecisionDefinition(definitionId);
+    }
+  }
+
+  protected class CaseDefinitionWarmUpTask extends WarmUpTask {
+
+    public CaseDefinitionWarmUpTask(String definitionId) {
+      super(definitionId);
+    }
+
+    public void load() {
+      repositoryService.getCaseDefinition(definitionId);
+    }
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * A cache which does not retain any value. Every lookup is a miss.
+ */
+public class DiscardingCache<K, V> implements Cache<K, V> {
+
+  @Override
+  public V get(K key) {
+    return null;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    // values are not retained
+  }
+
+  @Override
+  public void clear() {
+    // nothing to clear
+  }
+
+  @Override
+  public void remove(K key) {
+    // nothing to remove
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public int size() {
+    return 0;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return true;
+  }
+
+}
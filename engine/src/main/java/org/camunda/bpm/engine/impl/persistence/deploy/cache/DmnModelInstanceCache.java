@@ -23,6 +23,7 @@ import org.camunda.bpm.model.dmn.Dmn;
 import org.camunda.bpm.model.dmn.DmnModelInstance;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -34,6 +35,10 @@ public class DmnModelInstanceCache extends ModelInstanceCache<DmnModelInstance,
     super(factory, cacheCapacity, definitionCache);
   }
 
+  public DmnModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DecisionDefinitionEntity> definitionCache, String retentionPolicy) {
+    super(factory, cacheCapacity, definitionCache, retentionPolicy);
+  }
+
   @Override
   protected void throwLoadModelException(String definitionId, Exception e) {
     throw LOG.loadModelException("DMN", "decision", definitionId, e);
@@ -44,6 +49,11 @@ public class DmnModelInstanceCache extends ModelInstanceCache<DmnModelInstance,
     return Dmn.readModelFromStream(cmmnResourceInputStream);
   }
 
+  @Override
+  protected void writeModelToStream(OutputStream stream, DmnModelInstance modelInstance) {
+    Dmn.writeModelToStream(stream, modelInstance);
+  }
+
   @Override
   protected void logRemoveEntryFromDeploymentCacheFailure(String definitionId, Exception e) {
     LOG.removeEntryFromDeploymentCacheFailure("decision", definitionId, e);
@@ -0,0 +1,106 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.Arrays;
+
+/**
+ * A count-min sketch that estimates how often a key has been accessed recently.
+ * Each key is mapped to one small counter in each of {@link #DEPTH} rows; the estimated
+ * frequency is the minimum of these counters. To let the estimates follow changes in the
+ * access pattern, all counters are halved after a fixed number of increments.
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public class FrequencySketch {
+
+  protected static final int DEPTH = 4;
+  protected static final int MAX_COUNT = 15;
+  protected static final int MAX_TABLE_SIZE = 1 << 16;
+  protected static final int SAMPLE_SIZE_FACTOR = 10;
+
+  protected static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+  protected final byte[] table;
+  protected final int tableMask;
+  protected final int sampleSize;
+  protected int additions;
+
+  /**
+   * @param expectedEntries the maximum number of entries of the cache; used to size the sketch
+   */
+  public FrequencySketch(long expectedEntries) {
+    int tableSize = 16;
+    while (tableSize < expectedEntries && tableSize < MAX_TABLE_SIZE) {
+      tableSize <<= 1;
+    }
+
+    table = new byte[tableSize * DEPTH];
+    tableMask = tableSize - 1;
+    sampleSize = tableSize * SAMPLE_SIZE_FACTOR;
+  }
+
+  public void increment(Object key) {
+    int hash = spread(key.hashCode());
+    for (int row = 0; row < DEPTH; row++) {
+      int index = indexOf(hash, row);
+      if (table[index] < MAX_COUNT) {
+        table[index]++;
+      }
+    }
+
+    if (++additions >= sampleSize) {
+      reset();
+    }
+  }
+
+  public int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = MAX_COUNT;
+    for (int row = 0; row < DEPTH; row++) {
+      frequency = Math.min(frequency, table[indexOf(hash, row)]);
+    }
+    return frequency;
+  }
+
+  public void clear() {
+    Arrays.fill(table, (byte) 0);
+    additions = 0;
+  }
+
+  /**
+   * Halves all counters, so that past accesses lose weight against recent ones.
+   */
+  protected void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (byte) (table[i] >>> 1);
+    }
+    additions /= 2;
+  }
+
+  protected int indexOf(int hash, int row) {
+    int h = hash * SEEDS[row];
+    h ^= h >>> 16;
+    return row * (tableMask + 1) + (h & tableMask);
+  }
+
+  protected static int spread(int hash) {
+    int h = hash * 0x45D9F3B;
+    return h ^ (h >>> 16);
+  }
+
+}
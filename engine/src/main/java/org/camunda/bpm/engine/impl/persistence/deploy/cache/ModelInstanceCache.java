@@ -22,27 +22,88 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.repository.ResourceDefinition;
 import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
+ * <p>Caches the model instances of deployed definitions. How model instances are retained
+ * between accesses is determined by the retention policy:</p>
+ * <ul>
+ *   <li>{@link #RETENTION_STRONG}: model instances are kept in the cache (default)</li>
+ *   <li>{@link #RETENTION_SOFT}: model instances are kept softly reachable and may be reclaimed
+ *   by the garbage collector</li>
+ *   <li>{@link #RETENTION_COMPACT}: the compressed XML of a model is kept, and only the
+ *   {@link #COMPACT_PARSED_INSTANCES} most recently used model instances are kept parsed; accessing
+ *   any other model parses a new instance from its XML</li>
+ *   <li>{@link #RETENTION_DROP}: nothing is kept; every access loads the resource from the
+ *   database and parses it</li>
+ * </ul>
+ *
  * @author: Johannes Heinemann
  */
 public abstract class ModelInstanceCache<InstanceType extends ModelInstance, DefinitionType extends ResourceDefinitionEntity> {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
+  public static final String RETENTION_STRONG = "strong";
+  public static final String RETENTION_SOFT = "soft";
+  public static final String RETENTION_COMPACT = "compact";
+  public static final String RETENTION_DROP = "drop";
+
+  /**
+   * Number of parsed model instances which the {@link #RETENTION_COMPACT compact} retention
+   * policy keeps strongly referenced in addition to the compressed XML of all models.
+   */
+  public static final int COMPACT_PARSED_INSTANCES = 16;
+
   protected Cache<String, InstanceType> instanceCache;
+  protected Cache<String, ?> backingCache;
   protected ResourceDefinitionCache<DefinitionType> definitionCache;
 
   public ModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DefinitionType> definitionCache) {
-    this.instanceCache = factory.createCache(cacheCapacity);
+    this(factory, cacheCapacity, definitionCache, RETENTION_STRONG);
+  }
+
+  public ModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DefinitionType> definitionCache, String retentionPolicy) {
     this.definitionCache = definitionCache;
+
+    if (RETENTION_STRONG.equals(retentionPolicy)) {
+      this.instanceCache = factory.createCache(cacheCapacity);
+      this.backingCache = instanceCache;
+
+    } else if (RETENTION_SOFT.equals(retentionPolicy)) {
+      Cache<String, SoftReference<InstanceType>> referenceCache = factory.createCache(cacheCapacity);
+      this.instanceCache = new SoftReferenceCache<String, InstanceType>(referenceCache);
+      this.backingCache = referenceCache;
+
+    } else if (RETENTION_COMPACT.equals(retentionPolicy)) {
+      Cache<String, byte[]> resourceCache = factory.createCache(cacheCapacity);
+      this.instanceCache = new CompactInstanceCache(resourceCache);
+      this.backingCache = resourceCache;
+
+    } else if (RETENTION_DROP.equals(retentionPolicy)) {
+      this.instanceCache = new DiscardingCache<String, InstanceType>();
+      this.backingCache = instanceCache;
+
+    } else {
+      throw LOG.invalidModelInstanceRetentionPolicy(retentionPolicy);
+    }
   }
 
   public InstanceType findBpmnModelInstanceForDefinition(DefinitionType definitionEntity) {
@@ -106,11 +167,116 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
     return instanceCache;
   }
 
+  /**
+   * @return the cache created by the {@link CacheFactory} which holds the retained data,
+   *   e.g. soft references or compressed resources, depending on the retention policy
+   */
+  public Cache<String, ?> getBackingCache() {
+    return backingCache;
+  }
+
   protected abstract void throwLoadModelException(String definitionId, Exception e);
 
   protected abstract void logRemoveEntryFromDeploymentCacheFailure(String definitionId, Exception e);
 
   protected abstract InstanceType readModelFromStream(InputStream stream);
 
+  protected abstract void writeModelToStream(OutputStream stream, InstanceType modelInstance);
+
   protected abstract List<? extends ResourceDefinition> getAllDefinitionsForDeployment(String deploymentId);
+
+  /**
+   * Keeps model instances as deflated XML. The most recently used model instances are
+   * additionally kept parsed, so that repeated accesses to the same models do not parse
+   * them again; like with the strong retention policy, callers share these instances.
+   */
+  protected class CompactInstanceCache implements Cache<String, InstanceType> {
+
+    protected Cache<String, byte[]> resourceCache;
+
+    // guarded by itself
+    protected Map<String, InstanceType> parsedInstances = new LinkedHashMap<String, InstanceType>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, InstanceType> eldest) {
+        return size() > COMPACT_PARSED_INSTANCES;
+      }
+    };
+
+    public CompactInstanceCache(Cache<String, byte[]> resourceCache) {
+      this.resourceCache = resourceCache;
+    }
+
+    public InstanceType get(String key) {
+      synchronized (parsedInstances) {
+        InstanceType modelInstance = parsedInstances.get(key);
+        if (modelInstance != null) {
+          return modelInstance;
+        }
+      }
+
+      byte[] compressedResource = resourceCache.get(key);
+      if (compressedResource == null) {
+        return null;
+      }
+
+      InputStream inputStream = new InflaterInputStream(new ByteArrayInputStream(compressedResource));
+      try {
+        InstanceType modelInstance = readModelFromStream(inputStream);
+        synchronized (parsedInstances) {
+          parsedInstances.put(key, modelInstance);
+        }
+        return modelInstance;
+
+      } finally {
+        IoUtil.closeSilently(inputStream);
+      }
+    }
+
+    public void put(String key, InstanceType modelInstance) {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      DeflaterOutputStream deflaterStream = new DeflaterOutputStream(outputStream);
+      try {
+        writeModelToStream(deflaterStream, modelInstance);
+        deflaterStream.finish();
+      } catch (IOException e) {
+        throwLoadModelException(key, e);
+      } finally {
+        IoUtil.closeSilently(deflaterStream);
+      }
+
+      resourceCache.put(key, outputStream.toByteArray());
+
+      synchronized (parsedInstances) {
+        parsedInstances.put(key, modelInstance);
+      }
+    }
+
+    public void clear() {
+      synchronized (parsedInstances) {
+        parsedInstances.clear();
+      }
+      resourceCache.clear();
+    }
+
+    public void remove(String key) {
+      synchronized (parsedInstances) {
+        parsedInstances.remove(key);
+      }
+      resourceCache.remove(key);
+    }
+
+    public Set<String> keySet() {
+      return resourceCache.keySet();
+    }
+
+    public int size() {
+      return resourceCache.size();
+    }
+
+    public boolean isEmpty() {
+      return resourceCache.isEmpty();
+    }
+  }
+
 }
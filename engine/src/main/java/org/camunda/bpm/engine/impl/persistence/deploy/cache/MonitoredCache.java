@@ -0,0 +1,44 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+/**
+ * A deployment cache which keeps track of its usage. The statistics of
+ * monitored caches are exposed by {@link DeploymentCache#getCacheStatistics()}.
+ */
+public interface MonitoredCache {
+
+  /**
+   * @return the summed up weight of all entries in the cache
+   */
+  long getWeight();
+
+  /**
+   * @return the weight up to which the cache is filled before entries are evicted
+   */
+  long getMaxWeight();
+
+  long getHitCount();
+
+  long getMissCount();
+
+  /**
+   * @return the number of entries that were evicted or not admitted to the cache
+   */
+  long getEvictionCount();
+
+}
@@ -24,6 +24,8 @@ import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 
@@ -32,12 +34,24 @@ import java.util.concurrent.Callable;
  */
 public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity> {
 
+  protected static final int DEPLOYMENT_LOCK_STRIPES = 32;
+
   protected Cache<String, T> cache;
   protected CacheDeployer cacheDeployer;
 
+  /**
+   * Guard the (re-)deployment of definitions missing in the cache. Striped by deployment id
+   * so that definitions of different deployments can be loaded concurrently.
+   */
+  protected final Object[] deploymentLocks = new Object[DEPLOYMENT_LOCK_STRIPES];
+
   public ResourceDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
     this.cache = factory.createCache(cacheCapacity);
     this.cacheDeployer = cacheDeployer;
+
+    for (int i = 0; i < deploymentLocks.length; i++) {
+      deploymentLocks[i] = new Object();
+    }
   }
 
   public T findDefinitionFromCache(String definitionId) {
@@ -113,7 +127,7 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
     String deploymentId = definition.getDeploymentId();
     T cachedDefinition = cache.get(definitionId);
     if (cachedDefinition == null) {
-      synchronized (this) {
+      synchronized (getDeploymentLock(deploymentId)) {
         cachedDefinition = cache.get(definitionId);
         if (cachedDefinition == null) {
           DeploymentEntity deployment = Context
@@ -123,6 +137,11 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
           deployment.setNew(false);
           cacheDeployer.deployOnlyGivenResourcesOfDeployment(deployment, definition.getResourceName(), definition.getDiagramResourceName());
           cachedDefinition = cache.get(definitionId);
+
+          if (cachedDefinition == null) {
+            // the cache may reject the definition, e.g. if it is heavier than the budget of a weighted cache
+            cachedDefinition = findDeployedArtifact(deployment, definitionId);
+          }
         }
       }
       checkInvalidDefinitionWasCached(deploymentId, definitionId, cachedDefinition);
@@ -133,6 +152,28 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
     return cachedDefinition;
   }
 
+  @SuppressWarnings("unchecked")
+  protected T findDeployedArtifact(DeploymentEntity deployment, String definitionId) {
+    Map<Class<?>, List> deployedArtifacts = deployment.getDeployedArtifacts();
+    if (deployedArtifacts == null) {
+      return null;
+    }
+
+    for (List<?> artifacts : deployedArtifacts.values()) {
+      for (Object artifact : artifacts) {
+        if (artifact instanceof ResourceDefinitionEntity && definitionId.equals(((ResourceDefinitionEntity) artifact).getId())) {
+          return (T) artifact;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  protected Object getDeploymentLock(String deploymentId) {
+    return deploymentLocks[(deploymentId.hashCode() & Integer.MAX_VALUE) % deploymentLocks.length];
+  }
+
   public void addDefinition(T definition) {
     cache.put(definition.getId(), definition);
   }
@@ -0,0 +1,88 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.lang.ref.SoftReference;
+import java.util.Set;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * Holds the values of a cache only softly reachable, so that the garbage collector
+ * may reclaim them when the heap runs low. A value that has been reclaimed is treated
+ * like a cache miss.
+ */
+public class SoftReferenceCache<K, V> implements Cache<K, V> {
+
+  protected Cache<K, SoftReference<V>> delegate;
+
+  public SoftReferenceCache(Cache<K, SoftReference<V>> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public V get(K key) {
+    SoftReference<V> reference = delegate.get(key);
+    if (reference == null) {
+      return null;
+    }
+
+    V value = reference.get();
+    if (value == null) {
+      delegate.remove(key);
+    }
+    return value;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    delegate.put(key, new SoftReference<V>(value));
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public void remove(K key) {
+    delegate.remove(key);
+  }
+
+  /**
+   * @return the keys of all entries, including those whose values have already been reclaimed
+   */
+  @Override
+  public Set<K> keySet() {
+    return delegate.keySet();
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return delegate.isEmpty();
+  }
+
+  public Cache<K, SoftReference<V>> getDelegate() {
+    return delegate;
+  }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Creates {@link WeightedLfuCache weighted caches} for the {@link DeploymentCache}.
+ * The capacity passed to the factory is interpreted as the maximum weight of a cache instead
+ * of its maximum number of entries. The process engine passes the configured
+ * <code>deploymentCacheMaxWeight</code> and <code>modelInstanceCacheMaxWeight</code> rather
+ * than the entry count <code>cacheCapacity</code>. With the default
+ * {@link DeploymentCacheEntryWeigher}, the weight is the approximate retained size in kilobytes.</p>
+ *
+ * <p>A weighted cache may reject an entry, e.g. if it is heavier than the whole budget.
+ * Definitions which are rejected are parsed again whenever they are needed.</p>
+ *
+ * <p>In contrast to the {@link DefaultCacheFactory}, the created caches record hit, miss
+ * and eviction counts, see {@link org.camunda.bpm.engine.ManagementService#getDeploymentCacheStatistics()}.</p>
+ */
+public class WeightedCacheFactory implements CacheFactory {
+
+  /**
+   * Default budget of a weighted cache; about 64 MB with the {@link DeploymentCacheEntryWeigher}.
+   */
+  public static final int DEFAULT_MAX_WEIGHT = 64 * 1024;
+
+  protected CacheEntryWeigher weigher;
+
+  public WeightedCacheFactory() {
+    this(new DeploymentCacheEntryWeigher());
+  }
+
+  public WeightedCacheFactory(CacheEntryWeigher weigher) {
+    this.weigher = weigher;
+  }
+
+  @Override
+  public <T> Cache<String, T> createCache(int maxWeight) {
+    return new WeightedLfuCache<String, T>(maxWeight, weigher);
+  }
+
+  public CacheEntryWeigher getWeigher() {
+    return weigher;
+  }
+
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>A cache bounded by the summed up weight of its entries instead of their number,
+ * following the W-TinyLFU policy: new entries are placed in a small LRU admission window.
+ * When the window overflows, its least recently used entry becomes a candidate for the main
+ * LRU region. The candidate is only admitted if it has been accessed more frequently than
+ * the entries it would displace; otherwise it is evicted. Access frequencies are estimated
+ * by a {@link FrequencySketch}.</p>
+ *
+ * <p>Reads do not block: values are looked up in a concurrent map, and the access is recorded
+ * for the eviction policy only if the policy lock is free. Under contention, some accesses are
+ * therefore not recorded, which only makes the policy slightly less precise.</p>
+ *
+ * <p>Entries which are heavier than the maximum weight are never cached.</p>
+ */
+public class WeightedLfuCache<K, V> implements Cache<K, V>, MonitoredCache {
+
+  /**
+   * Share of the maximum weight that is used for the admission window.
+   */
+  protected static final double WINDOW_RATIO = 0.01;
+
+  protected final long maxWeight;
+  protected final long maxWindowWeight;
+  protected final long maxMainWeight;
+  protected final CacheEntryWeigher weigher;
+
+  protected final Map<K, WeightedEntry<V>> entries = new ConcurrentHashMap<K, WeightedEntry<V>>();
+
+  protected final ReentrantLock policyLock = new ReentrantLock();
+
+  // guarded by policyLock
+  protected final LinkedHashMap<K, WeightedEntry<V>> window = new LinkedHashMap<K, WeightedEntry<V>>(16, 0.75f, true);
+  protected final LinkedHashMap<K, WeightedEntry<V>> main = new LinkedHashMap<K, WeightedEntry<V>>(16, 0.75f, true);
+  protected final FrequencySketch sketch;
+  protected long windowWeight;
+  protected long mainWeight;
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong evictionCount = new AtomicLong();
+
+  /**
+   * @param maxWeight the maximum summed up weight of all entries; must be positive
+   * @param weigher determines the weight of each entry
+   */
+  public WeightedLfuCache(long maxWeight, CacheEntryWeigher weigher) {
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("Cache weight must be greater than 0");
+    }
+
+    this.maxWeight = maxWeight;
+    this.maxWindowWeight = Math.max(1, (long) (maxWeight * WINDOW_RATIO));
+    this.maxMainWeight = Math.max(1, maxWeight - maxWindowWeight);
+    this.weigher = weigher;
+    this.sketch = new FrequencySketch(maxWeight);
+  }
+
+  @Override
+  public V get(K key) {
+    WeightedEntry<V> entry = entries.get(key);
+
+    if (entry == null) {
+      missCount.incrementAndGet();
+    } else {
+      hitCount.incrementAndGet();
+    }
+
+    if (policyLock.tryLock()) {
+      try {
+        sketch.increment(key);
+        if (entry != null) {
+          // moves the entry to the tail of its access-ordered region
+          if (entry.isInMain) {
+            main.get(key);
+          } else {
+            window.get(key);
+          }
+        }
+      } finally {
+        policyLock.unlock();
+      }
+    }
+
+    return entry != null ? entry.value : null;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    if (key == null || value == null) {
+      throw new NullPointerException();
+    }
+
+    WeightedEntry<V> entry = new WeightedEntry<V>(value, Math.max(1, weigher.weigh(value)));
+
+    policyLock.lock();
+    try {
+      sketch.increment(key);
+      removeFromPolicy(key);
+
+      if (entry.weight > maxWeight) {
+        entries.remove(key);
+        evictionCount.incrementAndGet();
+        return;
+      }
+
+      entries.put(key, entry);
+      window.put(key, entry);
+      windowWeight += entry.weight;
+
+      evictFromWindow();
+
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  @Override
+  public void remove(K key) {
+    policyLock.lock();
+    try {
+      if (entries.remove(key) != null) {
+        removeFromPolicy(key);
+      }
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    policyLock.lock();
+    try {
+      entries.clear();
+      window.clear();
+      main.clear();
+      windowWeight = 0;
+      mainWeight = 0;
+      sketch.clear();
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return Collections.unmodifiableSet(entries.keySet());
+  }
+
+  @Override
+  public int size() {
+    return entries.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  // policy /////////////////////////////////////////////
+
+  protected void removeFromPolicy(K key) {
+    WeightedEntry<V> windowEntry = window.remove(key);
+    if (windowEntry != null) {
+      windowWeight -= windowEntry.weight;
+    }
+
+    WeightedEntry<V> mainEntry = main.remove(key);
+    if (mainEntry != null) {
+      mainWeight -= mainEntry.weight;
+    }
+  }
+
+  protected void evictFromWindow() {
+    while (windowWeight > maxWindowWeight) {
+      Iterator<Map.Entry<K, WeightedEntry<V>>> iterator = window.entrySet().iterator();
+      Map.Entry<K, WeightedEntry<V>> candidate = iterator.next();
+      iterator.remove();
+      windowWeight -= candidate.getValue().weight;
+
+      admitToMain(candidate.getKey(), candidate.getValue());
+    }
+  }
+
+  /**
+   * Moves the candidate into the main region if it is accessed more frequently than each
+   * of the least recently used entries that have to be evicted to make room for it.
+   * The victims are only evicted once the candidate is admitted; a rejected candidate
+   * leaves the main region unchanged.
+   */
+  protected void admitToMain(K candidateKey, WeightedEntry<V> candidate) {
+    int candidateFrequency = sketch.frequency(candidateKey);
+
+    List<K> victims = new ArrayList<K>();
+    long freedWeight = 0;
+    Iterator<Map.Entry<K, WeightedEntry<V>>> iterator = main.entrySet().iterator();
+
+    while (mainWeight - freedWeight + candidate.weight > maxMainWeight) {
+      if (!iterator.hasNext()) {
+        evict(candidateKey);
+        return;
+      }
+
+      Map.Entry<K, WeightedEntry<V>> victim = iterator.next();
+      if (sketch.frequency(victim.getKey()) >= candidateFrequency) {
+        evict(candidateKey);
+        return;
+      }
+
+      victims.add(victim.getKey());
+      freedWeight += victim.getValue().weight;
+    }
+
+    for (K victimKey : victims) {
+      main.remove(victimKey);
+      evict(victimKey);
+    }
+    mainWeight -= freedWeight;
+
+    candidate.isInMain = true;
+    main.put(candidateKey, candidate);
+    mainWeight += candidate.weight;
+  }
+
+  protected void evict(K key) {
+    entries.remove(key);
+    evictionCount.incrementAndGet();
+  }
+
+  // statistics /////////////////////////////////////////
+
+  public long getWeight() {
+    policyLock.lock();
+    try {
+      return windowWeight + mainWeight;
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  protected static class WeightedEntry<V> {
+
+    protected final V value;
+    protected final int weight;
+    protected boolean isInMain;
+
+    public WeightedEntry(V value, int weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+}
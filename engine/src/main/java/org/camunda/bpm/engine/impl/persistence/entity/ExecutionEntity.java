@@ -42,6 +42,7 @@ import org.camunda.bpm.engine.impl.cmmn.model.CmmnCaseDefinition;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.core.operation.CoreAtomicOperation;
+import org.camunda.bpm.engine.impl.core.model.ExecutionPlan;
 import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
 import org.camunda.bpm.engine.impl.core.variable.event.VariableEvent;
 import org.camunda.bpm.engine.impl.core.variable.scope.*;
@@ -533,8 +534,11 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
     // execute Output Mappings (if they exist).
     ensureActivityInitialized();
-    if (activity != null && activity.getIoMapping() != null && !skipIoMapping) {
-      activity.getIoMapping().executeOutputParameters(this);
+    if (activity != null && !skipIoMapping) {
+      ExecutionPlan executionPlan = activity.getExecutionPlan();
+      if (executionPlan.hasOutputParameters()) {
+        executionPlan.executeOutputParameters(this);
+      }
     }
 
     clearExecution();
@@ -1340,6 +1344,40 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
   }
 
+  /**
+   * Restores the variables of this execution that were fetched in bulk.
+   *
+   * @param variables
+   *   the variables of this execution
+   * @param variableNames
+   *   the names the variables were fetched for; if null, the variables are
+   *   all variables of this execution. Otherwise, only requests for these names are
+   *   served from the given variables and all other variables are lazy loaded on demand.
+   */
+  public void restoreVariables(Collection<VariableInstanceEntity> variables, Collection<String> variableNames) {
+    if (variableNames == null) {
+      variableStore.setVariablesProvider(new VariableCollectionProvider<>(variables));
+    }
+    else {
+      variableStore.setVariablesProvider(new PrefetchedVariablesProvider<>(variables, variableNames, this));
+    }
+  }
+
+  /**
+   * Restores the variables of this execution that were fetched in bulk by name. Unlike
+   * {@link #restoreVariables(Collection, Collection)}, setting or accessing one of these
+   * variables does not load all other variables of this execution; they are loaded by
+   * name on demand.
+   *
+   * @param variables
+   *   the variables of this execution with the given names
+   * @param variableNames
+   *   the names the variables were fetched for
+   */
+  public void restoreVariablesByName(Collection<VariableInstanceEntity> variables, Collection<String> variableNames) {
+    variableStore.setPrefetchedVariables(variables, variableNames);
+  }
+
   /**
    * Restores a complete process instance tree including referenced entities.
    *
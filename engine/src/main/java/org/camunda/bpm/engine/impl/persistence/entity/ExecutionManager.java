@@ -16,7 +16,10 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +34,7 @@ import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 
@@ -112,6 +116,86 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExecutionsByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findExecutionsByProcessInstanceIds(Collection<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectExecutionsByProcessInstanceIds", processInstanceIds);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findProcessInstancesByIds(Collection<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectProcessInstancesByIds", processInstanceIds);
+  }
+
+  /**
+   * @return the number of executions of the given process instances which are positioned
+   * at an activity that is not contained in the given activity ids
+   */
+  public long findExecutionCountByProcessInstanceIdsAndNotActivityIds(Collection<String> processInstanceIds, Collection<String> activityIds) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("activityIds", activityIds);
+    return (Long) getDbEntityManager().selectOne("selectExecutionCountByProcessInstanceIdsAndNotActivityIds", parameters);
+  }
+
+  /**
+   * Loads the given process instances with all of their executions and the variables of the
+   * executions with one query each, instead of one query per process instance and execution.
+   *
+   * @param variableNames the names of the variables to prefetch; if null, all variables are prefetched.
+   * Other variables are loaded on demand.
+   *
+   * @return the process instances which exist, in no particular order
+   */
+  public List<ExecutionEntity> findProcessInstancesWithVariables(List<String> processInstanceIds, Collection<String> variableNames) {
+    return findProcessInstancesWithVariables(processInstanceIds, variableNames, false);
+  }
+
+  /**
+   * Like {@link #findProcessInstancesWithVariables(List, Collection)}, but the executions only
+   * load further variables by name, also when one of the prefetched variables is set. This
+   * avoids loading all variables of the executions when only the given variables are updated.
+   *
+   * @param variableNames the names of the variables to prefetch, cannot be null.
+   */
+  public List<ExecutionEntity> findProcessInstancesWithVariablesByName(List<String> processInstanceIds, Collection<String> variableNames) {
+    return findProcessInstancesWithVariables(processInstanceIds, variableNames, true);
+  }
+
+  protected List<ExecutionEntity> findProcessInstancesWithVariables(List<String> processInstanceIds, Collection<String> variableNames, boolean loadByName) {
+    List<ExecutionEntity> executions = findExecutionsByProcessInstanceIds(processInstanceIds);
+
+    List<VariableInstanceEntity> variables;
+    if (variableNames != null && variableNames.isEmpty()) {
+      variables = Collections.emptyList();
+    }
+    else {
+      variables = getVariableInstanceManager()
+        .findVariableInstancesByProcessInstanceIdsAndVariableNames(processInstanceIds, variableNames);
+    }
+
+    Map<String, List<VariableInstanceEntity>> variablesByExecution = new HashMap<String, List<VariableInstanceEntity>>();
+    for (VariableInstanceEntity variable : variables) {
+      CollectionUtil.addToMapOfLists(variablesByExecution, variable.getExecutionId(), variable);
+    }
+
+    List<ExecutionEntity> processInstances = new ArrayList<ExecutionEntity>();
+    for (ExecutionEntity execution : executions) {
+      List<VariableInstanceEntity> executionVariables = variablesByExecution.get(execution.getId());
+      if (loadByName) {
+        execution.restoreVariablesByName(executionVariables, variableNames);
+      }
+      else {
+        execution.restoreVariables(executionVariables, variableNames);
+      }
+
+      if (execution.isProcessInstanceExecution()) {
+        processInstances.add(execution);
+      }
+    }
+
+    return processInstances;
+  }
+
   public ExecutionEntity findExecutionById(String executionId) {
     return getDbEntityManager().selectById(ExecutionEntity.class, executionId);
   }
@@ -197,6 +281,13 @@ public class ExecutionManager extends AbstractManager {
     getDbEntityManager().update(ExecutionEntity.class, "updateExecutionSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
 
+  public void updateProcessDefinitionByProcessInstanceIds(List<String> processInstanceIds, ProcessDefinitionEntity processDefinition) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("processDefinitionId", processDefinition.getId());
+    getDbEntityManager().update(ExecutionEntity.class, "updateExecutionProcessDefinitionByProcessInstanceIds", parameters);
+  }
+
   // helper ///////////////////////////////////////////////////////////
 
   protected void createDefaultAuthorizations(ExecutionEntity execution) {
@@ -34,6 +34,7 @@ import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskSharding;
 import org.camunda.bpm.engine.impl.incident.IncidentContext;
 import org.camunda.bpm.engine.impl.incident.IncidentHandler;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -86,6 +87,7 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
   protected String activityInstanceId;
   protected String tenantId;
   protected long priority;
+  protected Integer shard;
 
   protected ExecutionEntity execution;
 
@@ -224,6 +226,18 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
     this.priority = priority;
   }
 
+  /**
+   * @return the shard of the task for sharded fetching, see {@link ExternalTaskSharding};
+   *   <code>null</code> for tasks created before shards were introduced
+   */
+  public Integer getShard() {
+    return shard;
+  }
+
+  public void setShard(Integer shard) {
+    this.shard = shard;
+  }
+
   @Override
   public String getBusinessKey() {
     return businessKey;
@@ -506,6 +520,7 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
     externalTask.setActivityInstanceId(execution.getActivityInstanceId());
     externalTask.setTenantId(execution.getTenantId());
     externalTask.setPriority(priority);
+    externalTask.setShard(ExternalTaskSharding.getRandomShard());
 
     ProcessDefinitionEntity processDefinition = execution.getProcessDefinition();
     externalTask.setProcessDefinitionKey(processDefinition.getKey());
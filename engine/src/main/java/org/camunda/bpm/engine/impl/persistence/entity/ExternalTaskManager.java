@@ -70,12 +70,25 @@ public class ExternalTaskManager extends AbstractManager {
   }
 
   public List<ExternalTaskEntity> selectExternalTasksForTopics(Collection<TopicFetchInstruction> queryFilters, int maxResults, boolean usePriority) {
+    return selectExternalTasksForTopics(queryFilters, maxResults, usePriority, null, null, false);
+  }
+
+  /**
+   * @param shardLowerBound if not null, only tasks with a shard between the lower bound (inclusive)
+   *   and the upper bound (exclusive) are selected
+   * @param excludeShards if true, only tasks outside of the shard bounds (or without shard) are selected instead
+   */
+  public List<ExternalTaskEntity> selectExternalTasksForTopics(Collection<TopicFetchInstruction> queryFilters, int maxResults, boolean usePriority,
+      Integer shardLowerBound, Integer shardUpperBound, boolean excludeShards) {
     if (queryFilters.isEmpty()) {
       return new ArrayList<ExternalTaskEntity>();
     }
 
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("topics", queryFilters);
+    parameters.put("shardLowerBound", shardLowerBound);
+    parameters.put("shardUpperBound", shardUpperBound);
+    parameters.put("excludeShards", excludeShards);
     parameters.put("now", ClockUtil.getCurrentTime());
     parameters.put("applyOrdering", usePriority);
     List<QueryOrderingProperty> orderingProperties = new ArrayList<QueryOrderingProperty>();
@@ -136,6 +149,14 @@ public class ExternalTaskManager extends AbstractManager {
     getDbEntityManager().update(ExternalTaskEntity.class, "updateExternalTaskSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
 
+  public void updateProcessDefinitionByProcessInstanceIds(List<String> processInstanceIds, ProcessDefinitionEntity processDefinition) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("processDefinitionId", processDefinition.getId());
+    parameters.put("processDefinitionKey", processDefinition.getKey());
+    getDbEntityManager().update(ExternalTaskEntity.class, "updateExternalTaskProcessDefinitionByProcessInstanceIds", parameters);
+  }
+
   protected void configureQuery(ExternalTaskQueryImpl query) {
     getAuthorizationManager().configureExternalTaskQuery(query);
     getTenantManager().configureQuery(query);
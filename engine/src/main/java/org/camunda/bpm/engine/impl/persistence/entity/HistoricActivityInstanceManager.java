@@ -94,6 +94,22 @@ public class HistoricActivityInstanceManager extends AbstractHistoricManager {
       .updatePreserveOrder(HistoricActivityInstanceEventEntity.class, "updateHistoricActivityInstancesByProcessInstanceId", parameters);
   }
 
+  public void updateProcessDefinitionByProcessInstanceIds(List<String> processInstanceIds, ProcessDefinitionEntity processDefinition) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("processDefinitionId", processDefinition.getId());
+    parameters.put("processDefinitionKey", processDefinition.getKey());
+    getDbEntityManager().update(HistoricActivityInstanceEventEntity.class, "updateHistoricActivityInstanceProcessDefinitionByProcessInstanceIds", parameters);
+  }
+
+  public void updateActivityNameByProcessInstanceIds(List<String> processInstanceIds, String activityId, String activityName) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("activityId", activityId);
+    parameters.put("activityName", activityName);
+    getDbEntityManager().update(HistoricActivityInstanceEventEntity.class, "updateHistoricActivityInstanceNameByProcessInstanceIds", parameters);
+  }
+
   public DbOperation deleteHistoricActivityInstancesByRemovalTime(Date removalTime, int minuteFrom, int minuteTo, int batchSize) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("removalTime", removalTime);
@@ -71,6 +71,22 @@ public class HistoricIncidentManager extends AbstractHistoricManager {
       .updatePreserveOrder(HistoricIncidentEventEntity.class, "updateHistoricIncidentsByProcessInstanceId", parameters);
   }
 
+  public void updateProcessDefinitionByProcessInstanceIds(List<String> processInstanceIds, ProcessDefinitionEntity processDefinition) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("processDefinitionId", processDefinition.getId());
+    parameters.put("processDefinitionKey", processDefinition.getKey());
+    getDbEntityManager().update(HistoricIncidentEventEntity.class, "updateHistoricIncidentProcessDefinitionByProcessInstanceIds", parameters);
+  }
+
+  public void updateJobDefinitionIdByProcessInstanceIds(List<String> processInstanceIds, String sourceJobDefinitionId, String targetJobDefinitionId) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("sourceJobDefinitionId", sourceJobDefinitionId);
+    parameters.put("targetJobDefinitionId", targetJobDefinitionId);
+    getDbEntityManager().update(HistoricIncidentEventEntity.class, "updateHistoricIncidentJobDefinitionIdByProcessInstanceIds", parameters);
+  }
+
   public void deleteHistoricIncidentsByProcessInstanceIds(List<String> processInstanceIds) {
     getDbEntityManager().deletePreserveOrder(HistoricIncidentEntity.class, "deleteHistoricIncidentsByProcessInstanceIds", processInstanceIds);
   }
@@ -246,6 +246,14 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
       .updatePreserveOrder(HistoricProcessInstanceEventEntity.class, "updateHistoricProcessInstanceByProcessInstanceId", parameters);
   }
 
+  public void updateProcessDefinitionByProcessInstanceIds(List<String> processInstanceIds, ProcessDefinitionEntity processDefinition) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("processDefinitionId", processDefinition.getId());
+    parameters.put("processDefinitionKey", processDefinition.getKey());
+    getDbEntityManager().update(HistoricProcessInstanceEventEntity.class, "updateHistoricProcessInstanceProcessDefinitionByProcessInstanceIds", parameters);
+  }
+
   public Map<Class<? extends DbEntity>, DbOperation> deleteHistoricProcessInstancesByRemovalTime(Date removalTime, int minuteFrom, int minuteTo, int batchSize) {
     CommandContext commandContext = Context.getCommandContext();
 
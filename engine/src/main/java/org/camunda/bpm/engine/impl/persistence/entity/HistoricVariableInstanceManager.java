@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -123,6 +124,11 @@ public class HistoricVariableInstanceManager extends AbstractHistoricManager {
     return getDbEntityManager().selectList("selectHistoricVariableInstanceByQueryCriteria", historicProcessVariableQuery, page);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<HistoricVariableInstanceEntity> findHistoricVariableInstancesByIds(Collection<String> historicVariableInstanceIds) {
+    return getDbEntityManager().selectList("selectHistoricVariableInstancesByIds", historicVariableInstanceIds);
+  }
+
   public HistoricVariableInstanceEntity findHistoricVariableInstanceByVariableInstanceId(String variableInstanceId) {
     return (HistoricVariableInstanceEntity) getDbEntityManager().selectOne("selectHistoricVariableInstanceByVariableInstanceId", variableInstanceId);
   }
@@ -155,6 +161,14 @@ public class HistoricVariableInstanceManager extends AbstractHistoricManager {
       .updatePreserveOrder(HistoricVariableInstanceEntity.class, "updateHistoricVariableInstancesByProcessInstanceId", parameters);
   }
 
+  public void updateProcessDefinitionByProcessInstanceIds(List<String> processInstanceIds, ProcessDefinitionEntity processDefinition) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("processDefinitionId", processDefinition.getId());
+    parameters.put("processDefinitionKey", processDefinition.getKey());
+    getDbEntityManager().update(HistoricVariableInstanceEntity.class, "updateHistoricVariableInstanceProcessDefinitionByProcessInstanceIds", parameters);
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricVariableInstance> findHistoricVariableInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int
           maxResults) {
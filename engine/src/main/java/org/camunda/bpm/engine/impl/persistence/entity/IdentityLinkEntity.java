@@ -35,6 +35,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.task.IdentityLink;
+import org.camunda.bpm.engine.task.IdentityLinkType;
 
 
 /**
@@ -84,6 +85,9 @@ public class IdentityLinkEntity implements Serializable, IdentityLink, DbEntity,
       .getCommandContext()
       .getDbEntityManager()
       .insert(this);
+    if (isTaskCandidate()) {
+      TaskVisibilityEntity.createAndInsert(this, getTask());
+    }
     fireHistoricIdentityLinkEvent(HistoryEventTypes.IDENTITY_LINK_ADD);
   }
 
@@ -96,11 +100,18 @@ public class IdentityLinkEntity implements Serializable, IdentityLink, DbEntity,
         .getCommandContext()
         .getDbEntityManager()
         .delete(this);
+    if (isTaskCandidate()) {
+      TaskVisibilityEntity.delete(this);
+    }
     if (withHistory) {
       fireHistoricIdentityLinkEvent(HistoryEventTypes.IDENTITY_LINK_DELETE);
     }
   }
 
+  protected boolean isTaskCandidate() {
+    return taskId != null && IdentityLinkType.CANDIDATE.equals(type);
+  }
+
   public boolean isUser() {
     return userId != null;
   }
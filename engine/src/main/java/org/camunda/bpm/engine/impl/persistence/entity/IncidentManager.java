@@ -67,6 +67,21 @@ public class IncidentManager extends AbstractManager {
     return getDbEntityManager().selectList("selectIncidentByQueryCriteria", incidentQuery, page);
   }
 
+  public void updateProcessDefinitionByProcessInstanceIds(List<String> processInstanceIds, ProcessDefinitionEntity processDefinition) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("processDefinitionId", processDefinition.getId());
+    getDbEntityManager().update(IncidentEntity.class, "updateIncidentProcessDefinitionByProcessInstanceIds", parameters);
+  }
+
+  public void updateJobDefinitionIdByProcessInstanceIds(List<String> processInstanceIds, String sourceJobDefinitionId, String targetJobDefinitionId) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("sourceJobDefinitionId", sourceJobDefinitionId);
+    parameters.put("targetJobDefinitionId", targetJobDefinitionId);
+    getDbEntityManager().update(IncidentEntity.class, "updateIncidentJobDefinitionIdByProcessInstanceIds", parameters);
+  }
+
   protected void configureQuery(IncidentQueryImpl query) {
     getAuthorizationManager().configureIncidentQuery(query);
     getTenantManager().configureQuery(query);
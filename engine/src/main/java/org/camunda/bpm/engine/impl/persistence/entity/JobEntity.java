@@ -42,6 +42,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobPriorityProvider;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitioning;
 import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 import org.camunda.bpm.engine.impl.util.StringUtil;
@@ -95,6 +96,8 @@ public abstract class JobEntity extends AcquirableJobEntity implements Serializa
 
   protected Date createTime;
 
+  protected Integer partition;
+
   // runtime state /////////////////////////////
   protected String activityId;
   protected JobDefinition jobDefinition;
@@ -564,6 +567,18 @@ public abstract class JobEntity extends AcquirableJobEntity implements Serializa
     this.createTime = createTime;
   }
 
+  /**
+   * @return the partition of the job for partitioned job acquisition, see {@link JobPartitioning};
+   *   <code>null</code> for jobs created before partitions were introduced
+   */
+  public Integer getPartition() {
+    return partition;
+  }
+
+  public void setPartition(Integer partition) {
+    this.partition = partition;
+  }
+
   protected void ensureActivityIdInitialized() {
     if (activityId == null) {
       JobDefinition jobDefinition = getJobDefinition();
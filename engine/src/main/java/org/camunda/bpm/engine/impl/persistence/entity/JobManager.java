@@ -57,6 +57,9 @@ public class JobManager extends AbstractManager {
     job.setCreateTime(ClockUtil.getCurrentTime());
 
     getDbEntityManager().insert(job);
+    // the partition of jobs without process instance depends on the id, which is generated on insert
+    job.setPartition(JobPartitioning.getPartition(job));
+
     getHistoricJobLogManager().fireJobCreatedEvent(job);
   }
 
@@ -167,6 +170,14 @@ public class JobManager extends AbstractManager {
 
   @SuppressWarnings("unchecked")
   public List<AcquirableJobEntity> findNextJobsToExecute(Page page) {
+    return findNextJobsToExecute(page, null);
+  }
+
+  /**
+   * @param partitionRanges if not null, only jobs in these partition ranges are selected;
+   *   jobs without partition belong to the range starting with partition 0
+   */
+  public List<AcquirableJobEntity> findNextJobsToExecute(Page page, List<JobPartitionRange> partitionRanges) {
     Map<String,Object> params = new HashMap<String, Object>();
     Date now = ClockUtil.getCurrentTime();
     params.put("now", now);
@@ -190,6 +201,11 @@ public class JobManager extends AbstractManager {
       orderingProperties.add(JOB_DUEDATE_ORDERING_PROPERTY);
     }
 
+    if (partitionRanges != null) {
+      params.put("partitionRanges", partitionRanges);
+      params.put("includeUnpartitionedJobs", !partitionRanges.isEmpty() && partitionRanges.get(0).getLowerBound() == 0);
+    }
+
     params.put("orderingProperties", orderingProperties);
     // don't apply default sorting
     params.put("applyOrdering", !orderingProperties.isEmpty());
@@ -337,6 +353,16 @@ public class JobManager extends AbstractManager {
     getDbEntityManager().update(JobEntity.class, "updateFailedJobRetriesByParameters", parameters);
   }
 
+  /**
+   * Unlocks the given jobs with one statement, as long as they are still locked by the lock owner.
+   */
+  public void unlockJobs(List<String> jobIds, String lockOwner) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("jobIds", jobIds);
+    parameters.put("lockOwner", lockOwner);
+    getDbEntityManager().update(JobEntity.class, "unlockJobsByIdsAndLockOwner", parameters);
+  }
+
   public void updateJobPriorityByDefinitionId(String jobDefinitionId, long priority) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("jobDefinitionId", jobDefinitionId);
@@ -344,6 +370,23 @@ public class JobManager extends AbstractManager {
     getDbEntityManager().update(JobEntity.class, "updateJobPriorityByDefinitionId", parameters);
   }
 
+  public void updateProcessDefinitionByProcessInstanceIds(List<String> processInstanceIds, ProcessDefinitionEntity processDefinition) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("processDefinitionId", processDefinition.getId());
+    parameters.put("processDefinitionKey", processDefinition.getKey());
+    parameters.put("deploymentId", processDefinition.getDeploymentId());
+    getDbEntityManager().update(JobEntity.class, "updateJobProcessDefinitionByProcessInstanceIds", parameters);
+  }
+
+  public void updateJobDefinitionIdByProcessInstanceIds(List<String> processInstanceIds, String sourceJobDefinitionId, String targetJobDefinitionId) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("sourceJobDefinitionId", sourceJobDefinitionId);
+    parameters.put("targetJobDefinitionId", targetJobDefinitionId);
+    getDbEntityManager().update(JobEntity.class, "updateJobDefinitionIdByProcessInstanceIds", parameters);
+  }
+
   protected void configureQuery(JobQueryImpl query) {
     getAuthorizationManager().configureJobQuery(query);
     getTenantManager().configureQuery(query);
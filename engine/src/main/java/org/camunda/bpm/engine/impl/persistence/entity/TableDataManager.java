@@ -74,6 +74,8 @@ public class TableDataManager extends AbstractManager {
     persistentObjectToTableNameMap.put(ExternalTaskEntity.class, "ACT_RU_EXT_TASK");
     persistentObjectToTableNameMap.put(ExecutionEntity.class, "ACT_RU_EXECUTION");
     persistentObjectToTableNameMap.put(IdentityLinkEntity.class, "ACT_RU_IDENTITYLINK");
+    persistentObjectToTableNameMap.put(TaskVisibilityEntity.class, "ACT_RU_TASK_VISIBILITY");
+    persistentObjectToTableNameMap.put(VariableFieldEntity.class, "ACT_RU_VAR_FIELD");
     persistentObjectToTableNameMap.put(VariableInstanceEntity.class, "ACT_RU_VARIABLE");
 
     persistentObjectToTableNameMap.put(JobEntity.class, "ACT_RU_JOB");
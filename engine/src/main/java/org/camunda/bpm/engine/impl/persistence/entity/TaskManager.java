@@ -139,6 +139,12 @@ public class TaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectTaskByQueryCriteria", taskQuery);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<String> findTaskIdsByQueryCriteria(TaskQueryImpl taskQuery) {
+    configureQuery(taskQuery);
+    return getDbEntityManager().selectList("selectTaskIdsByQueryCriteria", taskQuery);
+  }
+
   public long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery) {
     configureQuery(taskQuery);
     return (Long) getDbEntityManager().selectOne("selectTaskCountByQueryCriteria", taskQuery);
@@ -197,6 +203,13 @@ public class TaskManager extends AbstractManager {
 
   }
 
+  public void updateProcessDefinitionByProcessInstanceIds(List<String> processInstanceIds, ProcessDefinitionEntity processDefinition) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("processDefinitionId", processDefinition.getId());
+    getDbEntityManager().update(TaskEntity.class, "updateTaskProcessDefinitionByProcessInstanceIds", parameters);
+  }
+
   // helper ///////////////////////////////////////////////////////////
 
   protected void createDefaultAuthorizations(TaskEntity task) {
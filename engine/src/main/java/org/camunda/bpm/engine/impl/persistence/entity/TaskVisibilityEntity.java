@@ -0,0 +1,132 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * Denormalized copy of a candidate user or group {@link IdentityLinkEntity} of a task,
+ * together with the create time of the task. It shares the id of the identity link and
+ * is inserted and deleted in the same transaction as the identity link.
+ *
+ * <p>Its indexes on (group, create time) and (user, create time) allow task queries by
+ * candidate user and groups to be answered by index range scans
+ * (see {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isTaskVisibilityQueryEnabled()}).</p>
+ */
+public class TaskVisibilityEntity implements Serializable, DbEntity {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected String taskId;
+  protected String groupId;
+  protected String userId;
+  protected Date createTime;
+  protected String tenantId;
+
+  public static void createAndInsert(IdentityLinkEntity identityLink, TaskEntity task) {
+    TaskVisibilityEntity taskVisibility = new TaskVisibilityEntity();
+    taskVisibility.setId(identityLink.getId());
+    taskVisibility.setTaskId(task.getId());
+    taskVisibility.setGroupId(identityLink.getGroupId());
+    taskVisibility.setUserId(identityLink.getUserId());
+    taskVisibility.setCreateTime(task.getCreateTime());
+    taskVisibility.setTenantId(identityLink.getTenantId());
+
+    Context
+      .getCommandContext()
+      .getDbEntityManager()
+      .insert(taskVisibility);
+  }
+
+  public static void delete(IdentityLinkEntity identityLink) {
+    Context
+      .getCommandContext()
+      .getDbEntityManager()
+      .delete(TaskVisibilityEntity.class, "deleteTaskVisibility", identityLink.getId());
+  }
+
+  public Object getPersistentState() {
+    // immutable
+    return TaskVisibilityEntity.class;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public void setTaskId(String taskId) {
+    this.taskId = taskId;
+  }
+
+  public String getGroupId() {
+    return groupId;
+  }
+
+  public void setGroupId(String groupId) {
+    this.groupId = groupId;
+  }
+
+  public String getUserId() {
+    return userId;
+  }
+
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public void setTenantId(String tenantId) {
+    this.tenantId = tenantId;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[id=" + id
+           + ", taskId=" + taskId
+           + ", groupId=" + groupId
+           + ", userId=" + userId
+           + ", createTime=" + createTime
+           + ", tenantId=" + tenantId
+           + "]";
+  }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.variable.VariableFieldExtractor;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * A field of a {@link VariableInstanceEntity} value which was extracted by a
+ * {@link VariableFieldExtractor}, e.g. a property of a JSON document. The fields of a
+ * variable are inserted, updated and deleted together with the variable.
+ *
+ * <p>The index on (text, path) allows queries to filter variables by their fields
+ * without loading and deserializing the values.</p>
+ */
+public class VariableFieldEntity implements Serializable, DbEntity {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The maximum length of a stored field value, given by the TEXT_ column. Extracted values
+   * which are longer are not stored, so variables are never found by such values.
+   */
+  public static final int MAX_TEXT_LENGTH = 255;
+
+  protected String id;
+  protected String variableId;
+  protected int variableRevision;
+  protected String path;
+  protected String textValue;
+
+  public static boolean isExtracted(VariableInstanceEntity variable) {
+    if (variable.isTransient()) {
+      return false;
+    }
+
+    List<VariableFieldExtractor> extractors = Context.getProcessEngineConfiguration().getVariableFieldExtractors();
+    if (extractors != null) {
+      for (VariableFieldExtractor extractor : extractors) {
+        if (extractor.isExtracting(variable.getName())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  public static void insertFields(VariableInstanceEntity variable) {
+    if (isExtracted(variable)) {
+      for (Entry<String, String> field : extractFields(variable).entrySet()) {
+        createAndInsert(variable, variable.getRevision(), field.getKey(), field.getValue());
+      }
+    }
+  }
+
+  /**
+   * Replaces the stored fields with the fields of the current value of the variable.
+   */
+  public static void updateFields(VariableInstanceEntity variable) {
+    if (isExtracted(variable)) {
+      deleteFields(variable);
+
+      for (Entry<String, String> field : extractFields(variable).entrySet()) {
+        createAndInsert(variable, variable.getRevisionNext(), field.getKey(), field.getValue());
+      }
+    }
+  }
+
+  /**
+   * Deletes the stored fields without selecting them first. Bulk deletes are flushed after
+   * all inserts, so the delete is restricted to fields of previous revisions of the variable.
+   * This keeps the fields which are inserted when the variable is updated, or removed and
+   * set again, in the same command.
+   */
+  public static void deleteFields(VariableInstanceEntity variable) {
+    if (isExtracted(variable)) {
+      DbEntityManager dbEntityManager = Context.getCommandContext().getDbEntityManager();
+      deleteCachedFields(dbEntityManager, variable.getId());
+
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("variableId", variable.getId());
+      parameters.put("revision", variable.getRevisionNext());
+      dbEntityManager.delete(VariableFieldEntity.class, "deleteVariableFieldsBeforeRevision", parameters);
+    }
+  }
+
+  protected static Map<String, String> extractFields(VariableInstanceEntity variable) {
+    TypedValue value = variable.getTypedValue(false);
+    Map<String, String> fields = new HashMap<String, String>();
+
+    for (VariableFieldExtractor extractor : Context.getProcessEngineConfiguration().getVariableFieldExtractors()) {
+      if (extractor.isExtracting(variable.getName())) {
+        for (Entry<String, String> field : extractor.extractFields(variable.getName(), value).entrySet()) {
+          String textValue = field.getValue();
+          if (textValue != null && textValue.length() <= MAX_TEXT_LENGTH) {
+            fields.put(field.getKey(), textValue);
+          }
+        }
+      }
+    }
+    return fields;
+  }
+
+  /**
+   * Removes the fields which were inserted in the current command, so that they are not flushed.
+   */
+  protected static void deleteCachedFields(DbEntityManager dbEntityManager, String variableId) {
+    for (VariableFieldEntity field : dbEntityManager.getCachedEntitiesByType(VariableFieldEntity.class)) {
+      if (variableId.equals(field.getVariableId()) && !dbEntityManager.isDeleted(field)) {
+        dbEntityManager.delete(field);
+      }
+    }
+  }
+
+  protected static void createAndInsert(VariableInstanceEntity variable, int variableRevision, String path, String textValue) {
+    VariableFieldEntity field = new VariableFieldEntity();
+    field.setVariableId(variable.getId());
+    field.setVariableRevision(variableRevision);
+    field.setPath(path);
+    field.setTextValue(textValue);
+
+    Context
+      .getCommandContext()
+      .getDbEntityManager()
+      .insert(field);
+  }
+
+  public Object getPersistentState() {
+    // immutable
+    return VariableFieldEntity.class;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getVariableId() {
+    return variableId;
+  }
+
+  public void setVariableId(String variableId) {
+    this.variableId = variableId;
+  }
+
+  public int getVariableRevision() {
+    return variableRevision;
+  }
+
+  public void setVariableRevision(int variableRevision) {
+    this.variableRevision = variableRevision;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public void setPath(String path) {
+    this.path = path;
+  }
+
+  public String getTextValue() {
+    return textValue;
+  }
+
+  public void setTextValue(String textValue) {
+    this.textValue = textValue;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[id=" + id
+           + ", variableId=" + variableId
+           + ", variableRevision=" + variableRevision
+           + ", path=" + path
+           + ", textValue=" + textValue
+           + "]";
+  }
+
+}
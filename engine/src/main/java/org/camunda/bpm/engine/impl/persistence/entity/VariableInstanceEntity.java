@@ -139,6 +139,8 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
       .getCommandContext()
       .getDbEntityManager()
       .insert(variableInstance);
+
+      VariableFieldEntity.insertFields(variableInstance);
     }
   }
 
@@ -158,6 +160,8 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     if (!isTransient) {
       // delete variable
       Context.getCommandContext().getDbEntityManager().delete(this);
+
+      VariableFieldEntity.deleteFields(this);
     }
   }
 
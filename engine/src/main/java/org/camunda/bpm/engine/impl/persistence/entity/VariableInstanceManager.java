@@ -61,6 +61,18 @@ public class VariableInstanceManager extends AbstractManager {
     return getDbEntityManager().selectList("selectVariablesByProcessInstanceId", processInstanceId);
   }
 
+  /**
+   * Selects the variables of the executions (not tasks) of the given process instances.
+   * If variable names are given, only variables with these names are selected.
+   */
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceIdsAndVariableNames(Collection<String> processInstanceIds, Collection<String> variableNames) {
+    Map<String, Object> parameter = new HashMap<String, Object>();
+    parameter.put("processInstanceIds", processInstanceIds);
+    parameter.put("variableNames", variableNames);
+    return getDbEntityManager().selectList("selectVariablesByProcessInstanceIds", parameter);
+  }
+
   public List<VariableInstanceEntity> findVariableInstancesByCaseExecutionId(String caseExecutionId) {
     return findVariableInstancesByCaseExecutionIdAndVariableNames(caseExecutionId, null);
   }
@@ -26,6 +26,7 @@ import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.application.ProcessApplicationUnavailableException;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
@@ -95,7 +96,7 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
       try {
         cachedValue = getSerializer().readValue(valueFields, deserializeValue);
 
-        if (notifyOnImplicitUpdates && isMutableValue(cachedValue)) {
+        if (notifyOnImplicitUpdates && isMutableValue(cachedValue) && isImplicitUpdateDetectionEnabled(cachedValue)) {
           Context.getCommandContext().registerCommandContextListener(this);
         }
 
@@ -127,7 +128,7 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
 
     // ensure that we serialize the object on command context flush
     // if it can be implicitly changed
-    if (notifyOnImplicitUpdates && isMutableValue(cachedValue)) {
+    if (notifyOnImplicitUpdates && isMutableValue(cachedValue) && isImplicitUpdateDetectionEnabled(cachedValue)) {
       Context.getCommandContext().registerCommandContextListener(this);
     }
 
@@ -143,8 +144,23 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
     return((TypedValueSerializer<TypedValue>) getSerializer()).isMutableValue(value);
   }
 
+  /**
+   * @return false if the configured implicit update detection for the type of the value is
+   *   {@link ProcessEngineConfigurationImpl#IMPLICIT_UPDATE_DETECTION_NONE}, so that changes
+   *   to it are only saved if the variable is set explicitly
+   */
+  protected boolean isImplicitUpdateDetectionEnabled(TypedValue value) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration == null) {
+      return true;
+    }
+
+    String implicitUpdateDetection = processEngineConfiguration.getImplicitUpdateDetection(value.getType());
+    return !ProcessEngineConfigurationImpl.IMPLICIT_UPDATE_DETECTION_NONE.equals(implicitUpdateDetection);
+  }
+
   protected boolean isValuedImplicitlyUpdated() {
-    if (cachedValue != null && isMutableValue(cachedValue)) {
+    if (cachedValue != null && isMutableValue(cachedValue) && isImplicitUpdateDetectionEnabled(cachedValue)) {
       byte[] byteArray = valueFields.getByteArrayValue();
 
       ValueFieldsImpl tempValueFields = new ValueFieldsImpl();
@@ -0,0 +1,180 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.profiler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
+
+/**
+ * Records the operations of one sampled command context. Operations are entered and
+ * exited in a stack, so that the time of an operation does not contain the time of
+ * the operations it performed (e.g. the delegates invoked by an atomic operation).
+ *
+ * <p>A profile is only used by the thread which executes the command context.</p>
+ */
+public class CommandProfile {
+
+  protected CommandProfiler profiler;
+  protected String commandName;
+  protected Deque<Frame> frames = new ArrayDeque<Frame>();
+
+  public CommandProfile(CommandProfiler profiler) {
+    this.profiler = profiler;
+  }
+
+  /**
+   * Enters an operation in the profile of the current command context. The command
+   * context is only looked up if the given profiler is not <code>null</code>, so that
+   * the hooks cost nothing but a field read when commands are not profiled.
+   *
+   * @param profiler the profiler of the process engine configuration, can be <code>null</code>
+   * @return the profile to pass to {@link #end(CommandProfile)} or <code>null</code>
+   * if the current command context is not profiled
+   */
+  public static CommandProfile start(CommandProfiler profiler, String operationType) {
+    CommandProfile profile = getCurrentProfile(profiler);
+    if (profile != null) {
+      profile.enter(operationType);
+    }
+    return profile;
+  }
+
+  /**
+   * Enters an operation on the given execution in the profile of the current command context.
+   *
+   * @see #start(CommandProfiler, String)
+   */
+  public static CommandProfile start(CommandProfiler profiler, String operationType, ExecutionEntity execution) {
+    CommandProfile profile = getCurrentProfile(profiler);
+    if (profile != null) {
+      profile.enter(operationType, execution.getProcessDefinitionId(), execution.getActivityId());
+    }
+    return profile;
+  }
+
+  /**
+   * Exits the operation entered by {@link #start(CommandProfiler, String)}.
+   */
+  public static void end(CommandProfile profile) {
+    if (profile != null) {
+      profile.exit();
+    }
+  }
+
+  protected static CommandProfile getCurrentProfile(CommandProfiler profiler) {
+    if (profiler == null) {
+      return null;
+    }
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      return commandContext.getCommandProfile();
+    }
+    return null;
+  }
+
+  /**
+   * Starts the profile for the outermost command of the command context.
+   */
+  public void startCommand(String commandName) {
+    if (this.commandName == null) {
+      this.commandName = commandName;
+      frames.push(new Frame(CommandProfileStatistics.OPERATION_COMMAND, null, null, System.nanoTime()));
+    }
+  }
+
+  public boolean isStarted() {
+    return commandName != null;
+  }
+
+  /**
+   * Enters an operation which belongs to the same process definition and activity
+   * as the operation it is performed in.
+   */
+  public void enter(String operationType) {
+    Frame parent = frames.peek();
+    if (parent != null) {
+      enter(operationType, parent.processDefinitionId, parent.activityId);
+    }
+  }
+
+  public void enter(String operationType, String processDefinitionId, String activityId) {
+    Frame parent = frames.peek();
+    if (parent != null) {
+      long now = System.nanoTime();
+      parent.pause(now);
+      frames.push(new Frame(operationType, processDefinitionId, activityId, now));
+    }
+  }
+
+  public void exit() {
+    Frame frame = frames.poll();
+    if (frame != null) {
+      long now = System.nanoTime();
+      frame.pause(now);
+      profiler.record(commandName, frame.processDefinitionId, frame.activityId, frame.operationType, frame.nanos);
+
+      Frame parent = frames.peek();
+      if (parent != null) {
+        parent.resume(now);
+      }
+    }
+  }
+
+  /**
+   * Exits all operations, including the command itself.
+   */
+  public void complete() {
+    while (!frames.isEmpty()) {
+      exit();
+    }
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  protected static class Frame {
+
+    protected final String operationType;
+    protected final String processDefinitionId;
+    protected final String activityId;
+
+    protected long nanos;
+    protected long resumedAt;
+
+    public Frame(String operationType, String processDefinitionId, String activityId, long resumedAt) {
+      this.operationType = operationType;
+      this.processDefinitionId = processDefinitionId;
+      this.activityId = activityId;
+      this.resumedAt = resumedAt;
+    }
+
+    public void pause(long now) {
+      nanos += now - resumedAt;
+    }
+
+    public void resume(long now) {
+      resumedAt = now;
+    }
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.profiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
+
+/**
+ * Samples command executions and aggregates the time of their operations into
+ * {@link OperationHistogram}s per command, process definition, activity and operation type.
+ *
+ * <p>A {@link CommandProfile} is created for a sampled command context and filled by the
+ * {@link org.camunda.bpm.engine.impl.interceptor.CommandProfilerInterceptor} and the
+ * engine code which performs atomic operations, invokes delegates and expressions,
+ * selects from the database and flushes. These places read the profiler from the
+ * process engine configuration and only look up the profile of the current command
+ * context if it is set, so an engine without profiler only pays for a field read.</p>
+ */
+public class CommandProfiler {
+
+  public static final int DEFAULT_MAX_HISTOGRAMS = 10000;
+
+  protected volatile double samplingRate;
+
+  /**
+   * When this number of histograms is reached, operations of process definitions and
+   * activities without a histogram are recorded in the histogram of their command and
+   * operation type, so that redeployments do not grow the histograms without bounds.
+   */
+  protected int maxHistograms;
+
+  protected ConcurrentMap<ProfileKey, OperationHistogram> histograms = new ConcurrentHashMap<ProfileKey, OperationHistogram>();
+
+  public CommandProfiler(double samplingRate) {
+    this(samplingRate, DEFAULT_MAX_HISTOGRAMS);
+  }
+
+  public CommandProfiler(double samplingRate, int maxHistograms) {
+    this.samplingRate = samplingRate;
+    this.maxHistograms = maxHistograms;
+  }
+
+  /**
+   * @return a profile for a new command context if it is sampled, <code>null</code> otherwise
+   */
+  public CommandProfile sample() {
+    double rate = samplingRate;
+    if (rate <= 0) {
+      return null;
+    }
+    if (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate) {
+      return new CommandProfile(this);
+    }
+    return null;
+  }
+
+  public void record(String commandName, String processDefinitionId, String activityId, String operationType, long nanos) {
+    ProfileKey key = new ProfileKey(commandName, processDefinitionId, activityId, operationType);
+
+    OperationHistogram histogram = histograms.get(key);
+    if (histogram == null && histograms.size() >= maxHistograms && (processDefinitionId != null || activityId != null)) {
+      key = new ProfileKey(commandName, null, null, operationType);
+      histogram = histograms.get(key);
+    }
+
+    if (histogram == null) {
+      histogram = new OperationHistogram();
+      OperationHistogram existingHistogram = histograms.putIfAbsent(key, histogram);
+      if (existingHistogram != null) {
+        histogram = existingHistogram;
+      }
+    }
+
+    histogram.record(nanos);
+  }
+
+  public List<CommandProfileStatistics> getStatistics() {
+    List<CommandProfileStatistics> statistics = new ArrayList<CommandProfileStatistics>();
+
+    for (Entry<ProfileKey, OperationHistogram> entry : histograms.entrySet()) {
+      ProfileKey key = entry.getKey();
+
+      CommandProfileStatistics operationStatistics = new CommandProfileStatistics();
+      operationStatistics.setCommandName(key.commandName);
+      operationStatistics.setProcessDefinitionId(key.processDefinitionId);
+      operationStatistics.setActivityId(key.activityId);
+      operationStatistics.setOperationType(key.operationType);
+      entry.getValue().writeTo(operationStatistics);
+
+      statistics.add(operationStatistics);
+    }
+
+    return statistics;
+  }
+
+  public void reset() {
+    histograms.clear();
+  }
+
+  public double getSamplingRate() {
+    return samplingRate;
+  }
+
+  public void setSamplingRate(double samplingRate) {
+    this.samplingRate = samplingRate;
+  }
+
+  public int getMaxHistograms() {
+    return maxHistograms;
+  }
+
+  public void setMaxHistograms(int maxHistograms) {
+    this.maxHistograms = maxHistograms;
+  }
+
+  protected static class ProfileKey {
+
+    protected final String commandName;
+    protected final String processDefinitionId;
+    protected final String activityId;
+    protected final String operationType;
+
+    public ProfileKey(String commandName, String processDefinitionId, String activityId, String operationType) {
+      this.commandName = commandName;
+      this.processDefinitionId = processDefinitionId;
+      this.activityId = activityId;
+      this.operationType = operationType;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = 31 + (commandName == null ? 0 : commandName.hashCode());
+      result = 31 * result + (processDefinitionId == null ? 0 : processDefinitionId.hashCode());
+      result = 31 * result + (activityId == null ? 0 : activityId.hashCode());
+      result = 31 * result + operationType.hashCode();
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ProfileKey)) {
+        return false;
+      }
+      ProfileKey other = (ProfileKey) obj;
+      return equals(commandName, other.commandName)
+          && equals(processDefinitionId, other.processDefinitionId)
+          && equals(activityId, other.activityId)
+          && operationType.equals(other.operationType);
+    }
+
+    protected static boolean equals(String value, String otherValue) {
+      return value == null ? otherValue == null : value.equals(otherValue);
+    }
+  }
+
+}
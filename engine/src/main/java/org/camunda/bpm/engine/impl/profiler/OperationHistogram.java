@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.profiler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
+
+/**
+ * Thread-safe histogram of operation durations with power-of-two buckets
+ * in microseconds.
+ */
+public class OperationHistogram {
+
+  public static final int BUCKETS = 32;
+
+  protected final AtomicLong count = new AtomicLong();
+  protected final AtomicLong totalNanos = new AtomicLong();
+  protected final AtomicLong maxNanos = new AtomicLong();
+  protected final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  public void record(long nanos) {
+    count.incrementAndGet();
+    totalNanos.addAndGet(nanos);
+    buckets.incrementAndGet(getBucket(nanos));
+
+    long max = maxNanos.get();
+    while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+      max = maxNanos.get();
+    }
+  }
+
+  protected int getBucket(long nanos) {
+    long micros = nanos / 1000;
+    if (micros < 2) {
+      return 0;
+    }
+    int bucket = 63 - Long.numberOfLeadingZeros(micros);
+    return Math.min(bucket, BUCKETS - 1);
+  }
+
+  public void writeTo(CommandProfileStatistics statistics) {
+    long[] histogram = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      histogram[i] = buckets.get(i);
+    }
+
+    statistics.setCount(count.get());
+    statistics.setTotalTime(totalNanos.get() / 1000);
+    statistics.setMaxTime(maxNanos.get() / 1000);
+    statistics.setHistogram(histogram);
+  }
+
+}
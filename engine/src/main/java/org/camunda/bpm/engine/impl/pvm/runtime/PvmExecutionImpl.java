@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.cmmn.execution.CmmnExecution;
 import org.camunda.bpm.engine.impl.cmmn.model.CmmnCaseDefinition;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
+import org.camunda.bpm.engine.impl.core.model.ExecutionPlan;
 import org.camunda.bpm.engine.impl.core.variable.event.VariableEvent;
 import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
@@ -220,8 +221,11 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
     if (currentScope != currentScope.getProcessDefinition()) {
       ActivityImpl currentActivity = (ActivityImpl) currentScope;
 
-      if (currentActivity != null && currentActivity.getIoMapping() != null && !skipIoMapping) {
-        currentActivity.getIoMapping().executeInputParameters(this);
+      if (currentActivity != null && !skipIoMapping) {
+        ExecutionPlan executionPlan = currentActivity.getExecutionPlan();
+        if (executionPlan.hasInputParameters()) {
+          executionPlan.executeInputParameters(this);
+        }
       }
     }
 
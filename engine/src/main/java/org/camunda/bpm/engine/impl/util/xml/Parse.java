@@ -140,15 +140,21 @@ public class Parse extends DefaultHandler {
       InputStream inputStream = streamSource.getInputStream();
 
       SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-      saxParserFactory.setFeature(XXE_PROCESSING, enableXxeProcessing);
-      saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      SAXParser saxParser;
 
-      if (schemaResource == null) { // must be done before parser is created
-        saxParserFactory.setNamespaceAware(false);
-        saxParserFactory.setValidating(false);
+      // the factory is shared by all parses of the parser; configuring it and creating
+      // the SAX parser must not interleave with parses running on other threads
+      synchronized (saxParserFactory) {
+        saxParserFactory.setFeature(XXE_PROCESSING, enableXxeProcessing);
+        saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+
+        // must be done before parser is created
+        saxParserFactory.setNamespaceAware(schemaResource != null);
+        saxParserFactory.setValidating(schemaResource != null);
+
+        saxParser = parser.getSaxParser();
       }
 
-      SAXParser saxParser = parser.getSaxParser();
       try {
         saxParser.setProperty(JAXP_ACCESS_EXTERNAL_SCHEMA, resolveAccessExternalSchemaProperty());
       } catch (Exception e) {
@@ -256,13 +262,15 @@ public class Parse extends DefaultHandler {
 
   public void setSchemaResource(String schemaResource) {
     SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-    saxParserFactory.setNamespaceAware(true);
-    saxParserFactory.setValidating(true);
-    try {
-      saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
-    }
-    catch (Exception e) {
-      LOG.unableToSetSchemaResource(e);
+    synchronized (saxParserFactory) {
+      saxParserFactory.setNamespaceAware(true);
+      saxParserFactory.setValidating(true);
+      try {
+        saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+      }
+      catch (Exception e) {
+        LOG.unableToSetSchemaResource(e);
+      }
     }
     this.schemaResource = schemaResource;
   }
@@ -0,0 +1,52 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * Extracts fields from the values of variables when the variables are written, e.g. properties
+ * of JSON documents. The extracted fields are stored next to the variable in ACT_RU_VAR_FIELD and
+ * can be used to filter variable instance and process instance queries
+ * (see {@link org.camunda.bpm.engine.runtime.VariableInstanceQuery#variableFieldEquals(String, String)}).
+ *
+ * <p>Implementations are invoked in the transaction that writes the variable and should
+ * therefore be cheap and must not fail for values they cannot handle.</p>
+ *
+ * @see org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setVariableFieldExtractors(java.util.List)
+ */
+public interface VariableFieldExtractor {
+
+  /**
+   * @return true if fields are extracted from variables with the given name. Variables for which
+   * no extractor returns true are not affected by field extraction at all.
+   */
+  boolean isExtracting(String variableName);
+
+  /**
+   * @param variableName the name of the variable
+   * @param value the value of the variable; object values are not necessarily deserialized
+   *
+   * @return the extracted fields as path to value, must not be null. Values which are longer
+   * than {@link org.camunda.bpm.engine.impl.persistence.entity.VariableFieldEntity#MAX_TEXT_LENGTH}
+   * are not stored.
+   */
+  Map<String, String> extractFields(String variableName, TypedValue value);
+
+}
@@ -17,6 +17,8 @@
 package org.camunda.bpm.engine.impl.variable.serializer;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
 import org.camunda.bpm.engine.impl.util.StringUtil;
 import org.camunda.bpm.engine.variable.impl.value.UntypedValueImpl;
@@ -65,7 +67,7 @@ public abstract class AbstractSerializableValueSerializer<T extends Serializable
     }
 
     // write value and type to fields.
-    writeToValueFields(value, valueFields, serializedByteValue);
+    writeToValueFields(value, valueFields, compress(serializedByteValue));
 
     // update the ObjectValue to keep it consistent with value fields.
     updateTypedValue(value, serializedStringValue);
@@ -73,7 +75,7 @@ public abstract class AbstractSerializableValueSerializer<T extends Serializable
 
   public T readValue(ValueFields valueFields, boolean deserializeObjectValue) {
 
-    byte[] serializedByteValue = readSerializedValueFromFields(valueFields);
+    byte[] serializedByteValue = SerializedValueCompression.decompress(readSerializedValueFromFields(valueFields));
     String serializedStringValue = getSerializedStringValue(serializedByteValue);
 
     if(deserializeObjectValue) {
@@ -105,6 +107,16 @@ public abstract class AbstractSerializableValueSerializer<T extends Serializable
     return valueFields.getByteArrayValue();
   }
 
+  protected byte[] compress(byte[] serializedByteValue) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.getSerializedValueCompression() != null) {
+      return processEngineConfiguration.getSerializedValueCompression().compress(serializedByteValue);
+    }
+    else {
+      return serializedByteValue;
+    }
+  }
+
   protected String getSerializedStringValue(byte[] serializedByteValue) {
     if(serializedByteValue != null) {
       if(!isSerializationTextBased()) {
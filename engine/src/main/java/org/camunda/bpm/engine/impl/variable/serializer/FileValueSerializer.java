@@ -18,6 +18,9 @@ package org.camunda.bpm.engine.impl.variable.serializer;
 
 import java.util.Arrays;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.impl.value.FileValueImpl;
 import org.camunda.bpm.engine.variable.impl.value.UntypedValueImpl;
@@ -74,9 +77,17 @@ public class FileValueSerializer extends AbstractTypedValueSerializer<FileValue>
       // ensure file name is not null
       fileName = "";
     }
-    FileValueBuilder builder = Variables.fileValue(fileName);
-    if (valueFields.getByteArrayValue() != null) {
-      builder.file(valueFields.getByteArrayValue());
+    FileValueImpl fileValue;
+    if (isLazyLoadingEnabled()) {
+      CommandExecutor commandExecutor = Context.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+      fileValue = new LazyFileValueImpl(fileName, valueFields, commandExecutor);
+    } else {
+      FileValueBuilder builder = Variables.fileValue(fileName);
+      byte[] bytes = valueFields.getByteArrayValue();
+      if (bytes != null) {
+        builder.file(bytes);
+      }
+      fileValue = (FileValueImpl) builder.create();
     }
     // to ensure the same array size all the time
     if (valueFields.getTextValue2() != null) {
@@ -85,10 +96,15 @@ public class FileValueSerializer extends AbstractTypedValueSerializer<FileValue>
       String mimeType = returnNullIfEmptyString(split[0]);
       String encoding = returnNullIfEmptyString(split[1]);
 
-      builder.mimeType(mimeType);
-      builder.encoding(encoding);
+      fileValue.setMimeType(mimeType);
+      fileValue.setEncoding(encoding);
     }
-    return builder.create();
+    return fileValue;
+  }
+
+  protected boolean isLazyLoadingEnabled() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration != null && processEngineConfiguration.isFileValueLazyLoadingEnabled();
   }
 
   protected String returnNullIfEmptyString(String s) {
@@ -0,0 +1,98 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import java.io.InputStream;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.variable.impl.value.FileValueImpl;
+import org.camunda.bpm.engine.variable.type.ValueType;
+
+/**
+ * A file value whose content is only loaded from the variable's byte array when it is
+ * accessed for the first time, in a command of its own if the value has left the command
+ * it was read in. Reading file variables for their metadata only (e.g. to list the
+ * variables of a process instance) therefore does not load their content into memory.
+ *
+ * <p>Note that the content is no longer available if the variable has been removed before
+ * it is accessed for the first time.</p>
+ *
+ * @see FileValueSerializer
+ */
+public class LazyFileValueImpl extends FileValueImpl {
+
+  private static final long serialVersionUID = 1L;
+
+  protected transient ValueFields valueFields;
+  protected transient CommandExecutor commandExecutor;
+  protected boolean isLoaded = false;
+
+  public LazyFileValueImpl(String filename, ValueFields valueFields, CommandExecutor commandExecutor) {
+    super(ValueType.FILE, filename);
+    this.valueFields = valueFields;
+    this.commandExecutor = commandExecutor;
+  }
+
+  @Override
+  public InputStream getValue() {
+    ensureLoaded();
+    return super.getValue();
+  }
+
+  @Override
+  public byte[] getByteArray() {
+    ensureLoaded();
+    return super.getByteArray();
+  }
+
+  @Override
+  public void setValue(byte[] bytes) {
+    super.setValue(bytes);
+    isLoaded = true;
+  }
+
+  public boolean isLoaded() {
+    return isLoaded;
+  }
+
+  protected void ensureLoaded() {
+    if (!isLoaded) {
+      value = commandExecutor.execute(new Command<byte[]>() {
+        public byte[] execute(CommandContext commandContext) {
+          return valueFields.getByteArrayValue();
+        }
+      });
+
+      isLoaded = true;
+      valueFields = null;
+      commandExecutor = null;
+    }
+  }
+
+  /**
+   * Serializes the value as a plain {@link FileValueImpl} since it
+   * cannot be loaded after deserialization.
+   */
+  protected Object writeReplace() {
+    FileValueImpl fileValue = new FileValueImpl(getByteArray(), type, filename, mimeType, encoding);
+    fileValue.setTransient(isTransient);
+    return fileValue;
+  }
+
+}
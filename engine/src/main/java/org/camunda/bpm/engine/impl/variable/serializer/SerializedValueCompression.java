@@ -0,0 +1,157 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+
+/**
+ * Compresses the serialized values of object variables before they are stored in
+ * ACT_GE_BYTEARRAY. Compressed values are prefixed with a header that names the codec,
+ * so that they are decompressed transparently when they are read, independent of the
+ * current configuration. The header cannot be confused with a serialized value since
+ * neither Java serialization nor text based formats start with its first byte.
+ *
+ * @see AbstractSerializableValueSerializer
+ */
+public class SerializedValueCompression {
+
+  public static final String CODEC_GZIP = "gzip";
+  public static final String CODEC_DEFLATE = "deflate";
+
+  protected static final byte HEADER_MAGIC_0 = 0x1f;
+  protected static final byte HEADER_MAGIC_1 = 'C';
+  protected static final byte HEADER_MAGIC_2 = 'Z';
+  protected static final int HEADER_LENGTH = 4;
+
+  protected static final byte CODEC_ID_GZIP = 1;
+  protected static final byte CODEC_ID_DEFLATE = 2;
+
+  protected String codec;
+  protected byte codecId;
+  protected int threshold;
+
+  /**
+   * @param codec the codec used for compression, {@link #CODEC_GZIP} or {@link #CODEC_DEFLATE}
+   * @param threshold the minimum size in bytes of values which are compressed
+   */
+  public SerializedValueCompression(String codec, int threshold) {
+    this.codec = codec;
+    this.codecId = getCodecId(codec);
+    this.threshold = threshold;
+  }
+
+  /**
+   * @return the compressed value, or the value itself if it is smaller than the
+   * threshold or does not become smaller by compression
+   */
+  public byte[] compress(byte[] value) {
+    if (value == null || value.length < threshold) {
+      return value;
+    }
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(value.length / 4 + HEADER_LENGTH);
+    outputStream.write(HEADER_MAGIC_0);
+    outputStream.write(HEADER_MAGIC_1);
+    outputStream.write(HEADER_MAGIC_2);
+    outputStream.write(codecId);
+
+    try {
+      OutputStream compressingStream = codecId == CODEC_ID_GZIP
+          ? new GZIPOutputStream(outputStream)
+          : new DeflaterOutputStream(outputStream);
+      compressingStream.write(value);
+      compressingStream.close();
+    } catch (IOException e) {
+      throw new ProcessEngineException("Cannot compress serialized value: " + e.getMessage(), e);
+    }
+
+    byte[] compressedValue = outputStream.toByteArray();
+    return compressedValue.length < value.length ? compressedValue : value;
+  }
+
+  public static boolean isCompressed(byte[] value) {
+    return value != null
+        && value.length >= HEADER_LENGTH
+        && value[0] == HEADER_MAGIC_0
+        && value[1] == HEADER_MAGIC_1
+        && value[2] == HEADER_MAGIC_2;
+  }
+
+  /**
+   * @return the decompressed value, or the value itself if it is not compressed
+   */
+  public static byte[] decompress(byte[] value) {
+    if (!isCompressed(value)) {
+      return value;
+    }
+
+    InputStream compressedStream = new ByteArrayInputStream(value, HEADER_LENGTH, value.length - HEADER_LENGTH);
+    try {
+      byte codecId = value[3];
+      if (codecId == CODEC_ID_GZIP) {
+        compressedStream = new GZIPInputStream(compressedStream);
+      }
+      else if (codecId == CODEC_ID_DEFLATE) {
+        compressedStream = new InflaterInputStream(compressedStream);
+      }
+      else {
+        throw new ProcessEngineException("Cannot decompress serialized value: unknown codec id " + codecId);
+      }
+
+      return IoUtil.readInputStream(compressedStream, "compressed serialized value");
+
+    } catch (IOException e) {
+      throw new ProcessEngineException("Cannot decompress serialized value: " + e.getMessage(), e);
+
+    } finally {
+      IoUtil.closeSilently(compressedStream);
+    }
+  }
+
+  protected static byte getCodecId(String codec) {
+    if (CODEC_GZIP.equals(codec)) {
+      return CODEC_ID_GZIP;
+    }
+    else if (CODEC_DEFLATE.equals(codec)) {
+      return CODEC_ID_DEFLATE;
+    }
+    else {
+      throw new ProcessEngineException("Unknown compression codec '" + codec + "' for serialized values, supported are '"
+          + CODEC_GZIP + "' and '" + CODEC_DEFLATE + "'");
+    }
+  }
+
+  public String getCodec() {
+    return codec;
+  }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+}
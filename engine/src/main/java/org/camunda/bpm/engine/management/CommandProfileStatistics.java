@@ -0,0 +1,147 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * Time spent in one type of operation, recorded by the command profiler for
+ * the sampled executions of a command. Atomic operations and the delegate code,
+ * expressions and database selects they trigger are recorded per process definition
+ * and activity; the remaining time of a command and its flush are recorded without them.
+ *
+ * <p>Times are exclusive: the time spent in a delegate is not included in the time of
+ * the atomic operation which invoked it. All times are in microseconds.</p>
+ *
+ * @see org.camunda.bpm.engine.ManagementService#getCommandProfileStatistics()
+ */
+public class CommandProfileStatistics {
+
+  /** time of a command which is not spent in any of the other operations */
+  public static final String OPERATION_COMMAND = "command";
+  public static final String OPERATION_ATOMIC_OPERATION = "atomic-operation";
+  /** delegate code, listeners and scripts */
+  public static final String OPERATION_DELEGATE = "delegate";
+  public static final String OPERATION_EXPRESSION = "expression";
+  public static final String OPERATION_DB_SELECT = "db-select";
+  public static final String OPERATION_FLUSH = "flush";
+
+  protected String commandName;
+  protected String processDefinitionId;
+  protected String activityId;
+  protected String operationType;
+  protected long count;
+  protected long totalTime;
+  protected long maxTime;
+  protected long[] histogram;
+
+  /**
+   * @return the simple class name of the command
+   */
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public void setCommandName(String commandName) {
+    this.commandName = commandName;
+  }
+
+  /**
+   * @return the process definition of the execution the operation was performed on or <code>null</code>
+   */
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public void setProcessDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  /**
+   * @return the activity of the execution the operation was performed on or <code>null</code>
+   */
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  /**
+   * @return one of the <code>OPERATION_*</code> constants
+   */
+  public String getOperationType() {
+    return operationType;
+  }
+
+  public void setOperationType(String operationType) {
+    this.operationType = operationType;
+  }
+
+  /**
+   * @return the number of recorded operations
+   */
+  public long getCount() {
+    return count;
+  }
+
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+  public long getTotalTime() {
+    return totalTime;
+  }
+
+  public void setTotalTime(long totalTime) {
+    this.totalTime = totalTime;
+  }
+
+  public long getMaxTime() {
+    return maxTime;
+  }
+
+  public void setMaxTime(long maxTime) {
+    this.maxTime = maxTime;
+  }
+
+  /**
+   * @return the number of operations per duration, where the bucket <code>i</code> counts
+   * the operations which took less than <code>2^(i+1)</code> microseconds (and at least
+   * <code>2^i</code> microseconds for <code>i &gt; 0</code>)
+   */
+  public long[] getHistogram() {
+    return histogram;
+  }
+
+  public void setHistogram(long[] histogram) {
+    this.histogram = histogram;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName()
+        + "[commandName=" + commandName
+        + ", processDefinitionId=" + processDefinitionId
+        + ", activityId=" + activityId
+        + ", operationType=" + operationType
+        + ", count=" + count
+        + ", totalTime=" + totalTime
+        + ", maxTime=" + maxTime
+        + "]";
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * Statistics of one of the caches of the deployment cache, e.g. the process
+ * definition cache or the BPMN model instance cache.
+ *
+ * <p>Weights and counters are only recorded by caches which support it, such as the
+ * caches created by the {@code WeightedCacheFactory}. For other caches, these
+ * values are <code>-1</code>.</p>
+ *
+ * @see org.camunda.bpm.engine.ManagementService#getDeploymentCacheStatistics()
+ */
+public class DeploymentCacheStatistics {
+
+  protected String cacheName;
+  protected int size;
+  protected long weight = -1;
+  protected long maxWeight = -1;
+  protected long hitCount = -1;
+  protected long missCount = -1;
+  protected long evictionCount = -1;
+
+  /**
+   * @return the name of the cache, as used in the cache purge report
+   */
+  public String getCacheName() {
+    return cacheName;
+  }
+
+  public void setCacheName(String cacheName) {
+    this.cacheName = cacheName;
+  }
+
+  /**
+   * @return the number of entries in the cache
+   */
+  public int getSize() {
+    return size;
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  /**
+   * @return the summed up weight of all entries in the cache
+   */
+  public long getWeight() {
+    return weight;
+  }
+
+  public void setWeight(long weight) {
+    this.weight = weight;
+  }
+
+  /**
+   * @return the weight up to which the cache is filled before entries are evicted
+   */
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public void setMaxWeight(long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public void setHitCount(long hitCount) {
+    this.hitCount = hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public void setMissCount(long missCount) {
+    this.missCount = missCount;
+  }
+
+  /**
+   * @return the number of entries that were evicted or not admitted to the cache
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public void setEvictionCount(long evictionCount) {
+    this.evictionCount = evictionCount;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+      + "[cacheName=" + cacheName
+      + ", size=" + size
+      + ", weight=" + weight
+      + ", maxWeight=" + maxWeight
+      + ", hitCount=" + hitCount
+      + ", missCount=" + missCount
+      + ", evictionCount=" + evictionCount
+      + "]";
+  }
+
+}
@@ -189,6 +189,18 @@ public interface ProcessInstanceQuery extends Query<ProcessInstanceQuery, Proces
    */
   ProcessInstanceQuery variableValueLike(String name, String value);
 
+  /**
+   * Only select process instances which have a global variable with the given name
+   * and an extracted field with the given path and value. Fields are only available for
+   * variables which are handled by one of the configured
+   * {@link org.camunda.bpm.engine.impl.variable.VariableFieldExtractor variable field extractors}.
+   * Field values which are longer than 255 characters are not stored, so they never match.
+   * @param variableName variable name, cannot be null.
+   * @param path the path of the field, cannot be null.
+   * @param value the value of the field, cannot be null.
+   */
+  ProcessInstanceQuery variableFieldEquals(String variableName, String path, String value);
+
   /**
    * Only selects process instances which are suspended, either because the
    * process instance itself is suspended or because the corresponding process
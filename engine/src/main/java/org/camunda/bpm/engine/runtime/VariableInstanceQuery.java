@@ -184,6 +184,16 @@ public interface VariableInstanceQuery extends Query<VariableInstanceQuery, Vari
    */
   VariableInstanceQuery variableValueLike(String name, String value);
 
+  /**
+   * Only select variable instances which have an extracted field with the given path and value.
+   * Fields are only available for variables which are handled by one of the configured
+   * {@link org.camunda.bpm.engine.impl.variable.VariableFieldExtractor variable field extractors}.
+   * Field values which are longer than 255 characters are not stored, so they never match.
+   * @param path the path of the field, cannot be null.
+   * @param value the value of the field, cannot be null.
+   */
+  VariableInstanceQuery variableFieldEquals(String path, String value);
+
   /** Only select variable instances with one of the given tenant ids. */
   VariableInstanceQuery tenantIdIn(String... tenantIds);
 
@@ -63,7 +63,7 @@ create table ACT_GE_SCHEMA_LOG (
 );
 
 insert into ACT_GE_SCHEMA_LOG
-values ('0', CURRENT_TIMESTAMP, '7.12.0');
+values ('0', CURRENT_TIMESTAMP, '7.13.0');
 
 create table ACT_RE_DEPLOYMENT (
     ID_ varchar(64) not null,
@@ -124,6 +124,7 @@ create table ACT_RU_JOB (
     SEQUENCE_COUNTER_ bigint,
     TENANT_ID_ varchar(64),
     CREATE_TIME_ timestamp,
+    PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -197,6 +198,25 @@ create table ACT_RU_IDENTITYLINK (
     primary key (ID_)
 );
 
+create table ACT_RU_TASK_VISIBILITY (
+    ID_ varchar(64) not null,
+    TASK_ID_ varchar(64) not null,
+    GROUP_ID_ varchar(255),
+    USER_ID_ varchar(255),
+    CREATE_TIME_ timestamp,
+    TENANT_ID_ varchar(64),
+    primary key (ID_)
+);
+
+create table ACT_RU_VAR_FIELD (
+    ID_ varchar(64) not null,
+    VAR_ID_ varchar(64) not null,
+    VAR_REV_ integer,
+    PATH_ varchar(255) not null,
+    TEXT_ varchar(255),
+    primary key (ID_)
+);
+
 create table ACT_RU_VARIABLE (
     ID_ varchar(64) not null,
     REV_ integer,
@@ -305,6 +325,7 @@ create table ACT_RU_EXT_TASK (
   ACT_INST_ID_ varchar(64),
   TENANT_ID_ varchar(64),
   PRIORITY_ bigint not null default 0,
+  SHARD_ integer,
   primary key (ID_)
 );
 
@@ -334,6 +355,10 @@ create index ACT_IDX_TASK_ASSIGNEE on ACT_RU_TASK(ASSIGNEE_);
 create index ACT_IDX_TASK_TENANT_ID on ACT_RU_TASK(TENANT_ID_);
 create index ACT_IDX_IDENT_LNK_USER on ACT_RU_IDENTITYLINK(USER_ID_);
 create index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK(GROUP_ID_);
+create index ACT_IDX_TASK_VIS_GROUP on ACT_RU_TASK_VISIBILITY(GROUP_ID_, CREATE_TIME_, TASK_ID_);
+create index ACT_IDX_TASK_VIS_USER on ACT_RU_TASK_VISIBILITY(USER_ID_, CREATE_TIME_, TASK_ID_);
+create index ACT_IDX_VAR_FIELD_TEXT on ACT_RU_VAR_FIELD(TEXT_, PATH_);
+create index ACT_IDX_VAR_FIELD_VAR on ACT_RU_VAR_FIELD(VAR_ID_);
 create index ACT_IDX_EVENT_SUBSCR_CONFIG_ on ACT_RU_EVENT_SUBSCR(CONFIGURATION_);
 create index ACT_IDX_EVENT_SUBSCR_TENANT_ID on ACT_RU_EVENT_SUBSCR(TENANT_ID_);
 create index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE(TASK_ID_);
@@ -345,6 +370,7 @@ create index ACT_IDX_INC_TENANT_ID on ACT_RU_INCIDENT(TENANT_ID_);
 create index ACT_IDX_JOB_EXECUTION_ID on ACT_RU_JOB(EXECUTION_ID_);
 create index ACT_IDX_JOB_PROCINST on ACT_RU_JOB(PROCESS_INSTANCE_ID_);
 create index ACT_IDX_JOB_TENANT_ID on ACT_RU_JOB(TENANT_ID_);
+create index ACT_IDX_JOB_PARTITION on ACT_RU_JOB(PARTITION_);
 create index ACT_IDX_JOBDEF_TENANT_ID on ACT_RU_JOBDEF(TENANT_ID_);
 
 -- new metric milliseconds column
@@ -359,6 +385,7 @@ CREATE INDEX ACT_IDX_METER_LOG ON ACT_RU_METER_LOG(NAME_, TIMESTAMP_);
 create index ACT_IDX_EXT_TASK_TOPIC ON ACT_RU_EXT_TASK(TOPIC_NAME_);
 create index ACT_IDX_EXT_TASK_TENANT_ID ON ACT_RU_EXT_TASK(TENANT_ID_);
 create index ACT_IDX_EXT_TASK_PRIORITY ON ACT_RU_EXT_TASK(PRIORITY_);
+create index ACT_IDX_EXT_TASK_SHARD ON ACT_RU_EXT_TASK(SHARD_);
 create index ACT_IDX_EXT_TASK_ERR_DETAILS ON ACT_RU_EXT_TASK(ERROR_DETAILS_ID_);
 create index ACT_IDX_AUTH_GROUP_ID ON ACT_RU_AUTHORIZATION(GROUP_ID_);
 create index ACT_IDX_JOB_JOB_DEF_ID on ACT_RU_JOB(JOB_DEF_ID_);
@@ -156,10 +156,12 @@ drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
 drop index ACT_IDX_EXT_TASK_TENANT_ID;
 drop index ACT_IDX_EXT_TASK_PRIORITY;
+drop index ACT_IDX_EXT_TASK_SHARD;
 drop index ACT_IDX_EXT_TASK_ERR_DETAILS;
 drop index ACT_IDX_INC_TENANT_ID;
 drop index ACT_IDX_JOBDEF_TENANT_ID;
 drop index ACT_IDX_JOB_TENANT_ID;
+drop index ACT_IDX_JOB_PARTITION;
 drop index ACT_IDX_EVENT_SUBSCR_TENANT_ID;
 drop index ACT_IDX_VARIABLE_TENANT_ID;
 drop index ACT_IDX_TASK_TENANT_ID;
@@ -182,6 +184,8 @@ drop table ACT_RE_DEPLOYMENT;
 drop table ACT_RE_PROCDEF;
 drop table ACT_RU_VARIABLE;
 drop table ACT_RU_IDENTITYLINK;
+drop table ACT_RU_TASK_VISIBILITY;
+drop table ACT_RU_VAR_FIELD;
 drop table ACT_RU_TASK;
 drop table ACT_RU_EXECUTION;
 drop table ACT_RU_JOB;
@@ -148,10 +148,12 @@ drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
 drop index ACT_IDX_EXT_TASK_TENANT_ID;
 drop index ACT_IDX_EXT_TASK_PRIORITY;
+drop index ACT_IDX_EXT_TASK_SHARD;
 drop index ACT_IDX_EXT_TASK_ERR_DETAILS;
 drop index ACT_IDX_INC_TENANT_ID;
 drop index ACT_IDX_JOBDEF_TENANT_ID;
 drop index ACT_IDX_JOB_TENANT_ID;
+drop index ACT_IDX_JOB_PARTITION;
 drop index ACT_IDX_EVENT_SUBSCR_TENANT_ID;
 drop index ACT_IDX_VARIABLE_TENANT_ID;
 drop index ACT_IDX_TASK_TENANT_ID;
@@ -178,6 +180,8 @@ drop table ACT_RU_JOBDEF if exists;
 drop table ACT_RE_PROCDEF if exists;
 drop table ACT_RU_TASK if exists;
 drop table ACT_RU_IDENTITYLINK if exists;
+drop table ACT_RU_TASK_VISIBILITY if exists;
+drop table ACT_RU_VAR_FIELD if exists;
 drop table ACT_RU_VARIABLE if exists;
 drop table ACT_RU_EVENT_SUBSCR if exists;
 drop table ACT_RU_INCIDENT if exists;
@@ -140,10 +140,12 @@ drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF;
 
 drop index ACT_IDX_EXT_TASK_TENANT_ID on ACT_RU_EXT_TASK;
 drop index ACT_IDX_EXT_TASK_PRIORITY on ACT_RU_EXT_TASK;
+drop index ACT_IDX_EXT_TASK_SHARD on ACT_RU_EXT_TASK;
 drop index ACT_IDX_EXT_TASK_ERR_DETAILS on ACT_RU_EXT_TASK;
 drop index ACT_IDX_INC_TENANT_ID on ACT_RU_INCIDENT;
 drop index ACT_IDX_JOBDEF_TENANT_ID ON ACT_RU_JOBDEF;
 drop index ACT_IDX_JOB_TENANT_ID ON ACT_RU_JOB;
+drop index ACT_IDX_JOB_PARTITION ON ACT_RU_JOB;
 drop index ACT_IDX_EVENT_SUBSCR_TENANT_ID on ACT_RU_EVENT_SUBSCR;
 drop index ACT_IDX_VARIABLE_TENANT_ID ON ACT_RU_VARIABLE;
 drop index ACT_IDX_TASK_TENANT_ID ON ACT_RU_TASK;
@@ -166,6 +168,8 @@ drop table if exists ACT_RU_VARIABLE;
 drop table if exists ACT_GE_BYTEARRAY;
 drop table if exists ACT_RE_DEPLOYMENT;
 drop table if exists ACT_RU_IDENTITYLINK;
+drop table if exists ACT_RU_TASK_VISIBILITY;
+drop table if exists ACT_RU_VAR_FIELD;
 drop table if exists ACT_RU_TASK;
 drop table if exists ACT_RE_PROCDEF;
 drop table if exists ACT_RU_EXECUTION;
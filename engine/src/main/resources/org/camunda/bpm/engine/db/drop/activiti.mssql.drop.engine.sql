@@ -77,10 +77,12 @@ drop index ACT_RE_PROCDEF.ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_TENANT_ID;
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_PRIORITY;
+drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_SHARD;
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_ERR_DETAILS;
 drop index ACT_RU_INCIDENT.ACT_IDX_INC_TENANT_ID;
 drop index ACT_RU_JOBDEF.ACT_IDX_JOBDEF_TENANT_ID;
 drop index ACT_RU_JOB.ACT_IDX_JOB_TENANT_ID;
+drop index ACT_RU_JOB.ACT_IDX_JOB_PARTITION;
 drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_TENANT_ID;
 drop index ACT_RU_VARIABLE.ACT_IDX_VARIABLE_TENANT_ID;
 drop index ACT_RU_TASK.ACT_IDX_TASK_TENANT_ID;
@@ -182,6 +184,8 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RE_PROCDEF') drop table ACT_RE_PROCDEF;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RE_DEPLOYMENT') drop table ACT_RE_DEPLOYMENT;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_IDENTITYLINK') drop table ACT_RU_IDENTITYLINK;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_TASK_VISIBILITY') drop table ACT_RU_TASK_VISIBILITY;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_VAR_FIELD') drop table ACT_RU_VAR_FIELD;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_TASK') drop table ACT_RU_TASK;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_VARIABLE') drop table ACT_RU_VARIABLE;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EXECUTION') drop table ACT_RU_EXECUTION;
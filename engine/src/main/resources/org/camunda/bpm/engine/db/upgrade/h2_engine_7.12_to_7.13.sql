@@ -0,0 +1,64 @@
+--
+-- Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+-- under one or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information regarding copyright
+-- ownership. Camunda licenses this file to you under the Apache License,
+-- Version 2.0; you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+insert into ACT_GE_SCHEMA_LOG
+values ('200', CURRENT_TIMESTAMP, '7.13.0');
+
+-- partitioned job acquisition
+ALTER TABLE ACT_RU_JOB
+  ADD PARTITION_ integer;
+
+create index ACT_IDX_JOB_PARTITION on ACT_RU_JOB(PARTITION_);
+
+-- sharded external task fetching
+ALTER TABLE ACT_RU_EXT_TASK
+  ADD SHARD_ integer;
+
+create index ACT_IDX_EXT_TASK_SHARD on ACT_RU_EXT_TASK(SHARD_);
+
+-- task visibility for candidate queries
+create table ACT_RU_TASK_VISIBILITY (
+    ID_ varchar(64) not null,
+    TASK_ID_ varchar(64) not null,
+    GROUP_ID_ varchar(255),
+    USER_ID_ varchar(255),
+    CREATE_TIME_ timestamp,
+    TENANT_ID_ varchar(64),
+    primary key (ID_)
+);
+
+create index ACT_IDX_TASK_VIS_GROUP on ACT_RU_TASK_VISIBILITY(GROUP_ID_, CREATE_TIME_, TASK_ID_);
+create index ACT_IDX_TASK_VIS_USER on ACT_RU_TASK_VISIBILITY(USER_ID_, CREATE_TIME_, TASK_ID_);
+
+insert into ACT_RU_TASK_VISIBILITY (ID_, TASK_ID_, GROUP_ID_, USER_ID_, CREATE_TIME_, TENANT_ID_)
+select I.ID_, I.TASK_ID_, I.GROUP_ID_, I.USER_ID_, T.CREATE_TIME_, I.TENANT_ID_
+from ACT_RU_IDENTITYLINK I
+inner join ACT_RU_TASK T on I.TASK_ID_ = T.ID_
+where I.TYPE_ = 'candidate';
+
+-- extracted variable fields
+create table ACT_RU_VAR_FIELD (
+    ID_ varchar(64) not null,
+    VAR_ID_ varchar(64) not null,
+    VAR_REV_ integer,
+    PATH_ varchar(255) not null,
+    TEXT_ varchar(255),
+    primary key (ID_)
+);
+
+create index ACT_IDX_VAR_FIELD_TEXT on ACT_RU_VAR_FIELD(TEXT_, PATH_);
+create index ACT_IDX_VAR_FIELD_VAR on ACT_RU_VAR_FIELD(VAR_ID_);
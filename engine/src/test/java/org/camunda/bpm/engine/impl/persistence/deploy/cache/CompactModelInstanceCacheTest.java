@@ -0,0 +1,114 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.commons.utils.cache.Cache;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompactModelInstanceCacheTest {
+
+  protected CountingBpmnModelInstanceCache modelInstanceCache;
+  protected Cache<String, BpmnModelInstance> cache;
+
+  @Before
+  public void setUp() {
+    modelInstanceCache = new CountingBpmnModelInstanceCache();
+    cache = modelInstanceCache.getCache();
+  }
+
+  @Test
+  public void shouldNotParseRecentlyUsedInstances() {
+    // given
+    BpmnModelInstance modelInstance = createProcess("process");
+    cache.put("process:1", modelInstance);
+
+    // when
+    BpmnModelInstance firstInstance = cache.get("process:1");
+    BpmnModelInstance secondInstance = cache.get("process:1");
+
+    // then
+    assertThat(firstInstance).isSameAs(modelInstance);
+    assertThat(secondInstance).isSameAs(modelInstance);
+    assertThat(modelInstanceCache.getParseCount()).isZero();
+  }
+
+  @Test
+  public void shouldParseEvictedInstanceOnce() {
+    // given
+    cache.put("process:1", createProcess("process"));
+    for (int i = 0; i < ModelInstanceCache.COMPACT_PARSED_INSTANCES; i++) {
+      cache.put("other:" + i, createProcess("other" + i));
+    }
+
+    // when
+    BpmnModelInstance firstInstance = cache.get("process:1");
+    BpmnModelInstance secondInstance = cache.get("process:1");
+
+    // then
+    assertThat(firstInstance.getModelElementById("process")).isNotNull();
+    assertThat(secondInstance).isSameAs(firstInstance);
+    assertThat(modelInstanceCache.getParseCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveParsedInstance() {
+    // given
+    cache.put("process:1", createProcess("process"));
+
+    // when
+    cache.remove("process:1");
+
+    // then
+    assertThat(cache.get("process:1")).isNull();
+    assertThat(cache.isEmpty()).isTrue();
+  }
+
+  protected BpmnModelInstance createProcess(String key) {
+    return Bpmn.createExecutableProcess(key)
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+  }
+
+  protected static class CountingBpmnModelInstanceCache extends BpmnModelInstanceCache {
+
+    protected int parseCount;
+
+    public CountingBpmnModelInstanceCache() {
+      super(new DefaultCacheFactory(), 100, null, RETENTION_COMPACT);
+    }
+
+    @Override
+    protected BpmnModelInstance readModelFromStream(InputStream bpmnResourceInputStream) {
+      parseCount++;
+      return super.readModelFromStream(bpmnResourceInputStream);
+    }
+
+    public int getParseCount() {
+      return parseCount;
+    }
+  }
+
+}
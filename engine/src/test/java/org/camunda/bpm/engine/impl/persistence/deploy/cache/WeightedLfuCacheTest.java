@@ -0,0 +1,165 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class WeightedLfuCacheTest {
+
+  protected WeightedLfuCache<String, String> cache;
+
+  @Before
+  public void setUp() {
+    // weighs a value by its length
+    cache = new WeightedLfuCache<String, String>(10, new CacheEntryWeigher() {
+      public int weigh(Object value) {
+        return ((String) value).length();
+      }
+    });
+  }
+
+  @Test
+  public void shouldGetPutValue() {
+    // when
+    cache.put("a", "aa");
+
+    // then
+    assertThat(cache.get("a")).isEqualTo("aa");
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getWeight()).isEqualTo(2);
+    assertThat(cache.keySet()).containsExactly("a");
+  }
+
+  @Test
+  public void shouldReplaceValue() {
+    // given
+    cache.put("a", "aa");
+
+    // when
+    cache.put("a", "aaaa");
+
+    // then
+    assertThat(cache.get("a")).isEqualTo("aaaa");
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getWeight()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldNotExceedMaxWeight() {
+    // when
+    for (int i = 0; i < 20; i++) {
+      cache.put("key" + i, "vvv");
+    }
+
+    // then
+    assertThat(cache.getWeight()).isLessThanOrEqualTo(10);
+    assertThat(cache.size()).isLessThanOrEqualTo(3);
+    assertThat(cache.getEvictionCount()).isEqualTo(20 - cache.size());
+  }
+
+  @Test
+  public void shouldNotCacheValueHeavierThanMaxWeight() {
+    // when
+    cache.put("a", "aaaaaaaaaaa");
+
+    // then
+    assertThat(cache.get("a")).isNull();
+    assertThat(cache.isEmpty()).isTrue();
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepFrequentlyUsedValue() {
+    // given
+    cache.put("frequent", "fffff");
+    for (int i = 0; i < 5; i++) {
+      cache.get("frequent");
+    }
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      cache.put("rare" + i, "rrrr");
+    }
+
+    // then
+    assertThat(cache.get("frequent")).isEqualTo("fffff");
+  }
+
+  @Test
+  public void shouldNotEvictColdEntryWhenCandidateIsRejectedByHotEntry() {
+    // given
+    cache.put("cold", "cccc");
+    cache.put("hot", "hhhhh");
+    for (int i = 0; i < 5; i++) {
+      cache.get("hot");
+    }
+
+    // accessed more frequently than "cold", but less than "hot"
+    cache.get("candidate");
+    cache.get("candidate");
+
+    // when
+    cache.put("candidate", "nnnnn");
+
+    // then
+    assertThat(cache.keySet()).containsOnly("cold", "hot");
+    assertThat(cache.get("cold")).isEqualTo("cccc");
+    assertThat(cache.getWeight()).isEqualTo(9);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    // given
+    cache.put("a", "a");
+
+    // when
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+
+    // then
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveAndClear() {
+    // given
+    cache.put("a", "a");
+    cache.put("b", "bb");
+    cache.put("c", "ccc");
+
+    // when
+    cache.remove("a");
+
+    // then
+    assertThat(cache.keySet()).containsOnly("b", "c");
+    assertThat(cache.getWeight()).isEqualTo(5);
+
+    // when
+    cache.clear();
+
+    // then
+    assertThat(cache.isEmpty()).isTrue();
+    assertThat(cache.getWeight()).isZero();
+  }
+
+}
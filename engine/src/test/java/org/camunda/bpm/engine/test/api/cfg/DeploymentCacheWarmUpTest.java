@@ -0,0 +1,192 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class DeploymentCacheWarmUpTest {
+
+  protected static final String DECISION_RESOURCE = "org/camunda/bpm/engine/test/api/dmn/Example.dmn";
+  protected static final String CASE_RESOURCE = "org/camunda/bpm/engine/test/api/cmmn/emptyStageCase.cmmn";
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setDeploymentCacheWarmUpParallelism(4);
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected DeploymentCache deploymentCache;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    deploymentCache = processEngineConfiguration.getDeploymentCache();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration
+      .setDeploymentCacheWarmUpMode(DeploymentCacheWarmUp.MODE_LATEST_VERSIONS)
+      .setDeploymentCacheWarmUpMaxDefinitions(1000)
+      .setDeploymentCacheWarmUpKeys(null);
+  }
+
+  @Test
+  public void shouldLoadLatestVersions() {
+    // given
+    ProcessDefinition oldVersion = testRule.deployAndGetDefinition(createProcess("process"));
+    ProcessDefinition latestVersion = testRule.deployAndGetDefinition(createProcess("process"));
+    ProcessDefinition otherProcess = testRule.deployAndGetDefinition(createProcess("otherProcess"));
+    discardCaches();
+
+    // when
+    int loadedDefinitions = new DeploymentCacheWarmUp(processEngineConfiguration).warmUp();
+
+    // then
+    assertThat(loadedDefinitions).isEqualTo(2);
+    assertThat(deploymentCache.findProcessDefinitionFromCache(latestVersion.getId())).isNotNull();
+    assertThat(deploymentCache.findProcessDefinitionFromCache(otherProcess.getId())).isNotNull();
+    assertThat(deploymentCache.findProcessDefinitionFromCache(oldVersion.getId())).isNull();
+  }
+
+  @Test
+  public void shouldLoadDecisionAndCaseDefinitions() {
+    // given
+    testRule.deploy(DECISION_RESOURCE, CASE_RESOURCE);
+    String decisionDefinitionId = repositoryService.createDecisionDefinitionQuery().singleResult().getId();
+    String caseDefinitionId = repositoryService.createCaseDefinitionQuery().singleResult().getId();
+    discardCaches();
+
+    // when
+    int loadedDefinitions = new DeploymentCacheWarmUp(processEngineConfiguration).warmUp();
+
+    // then
+    assertThat(loadedDefinitions).isEqualTo(2);
+    assertThat(deploymentCache.findDecisionDefinitionFromCache(decisionDefinitionId)).isNotNull();
+    assertThat(deploymentCache.findCaseDefinitionFromCache(caseDefinitionId)).isNotNull();
+  }
+
+  @Test
+  public void shouldRestrictToKeys() {
+    // given
+    ProcessDefinition process = testRule.deployAndGetDefinition(createProcess("process"));
+    ProcessDefinition otherProcess = testRule.deployAndGetDefinition(createProcess("otherProcess"));
+    discardCaches();
+
+    processEngineConfiguration.setDeploymentCacheWarmUpKeys(Collections.singletonList("process"));
+
+    // when
+    int loadedDefinitions = new DeploymentCacheWarmUp(processEngineConfiguration).warmUp();
+
+    // then
+    assertThat(loadedDefinitions).isEqualTo(1);
+    assertThat(deploymentCache.findProcessDefinitionFromCache(process.getId())).isNotNull();
+    assertThat(deploymentCache.findProcessDefinitionFromCache(otherProcess.getId())).isNull();
+  }
+
+  @Test
+  public void shouldFailForUnknownMode() {
+    // given
+    processEngineConfiguration.setDeploymentCacheWarmUpMode("most-used");
+
+    try {
+      // when
+      new DeploymentCacheWarmUp(processEngineConfiguration);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("Invalid deployment cache warm up mode 'most-used'");
+    }
+  }
+
+  @Test
+  public void shouldLoadMostUsedProcessDefinitions() {
+    // given
+    ProcessDefinition rarelyUsed = testRule.deployAndGetDefinition(createProcess("rarelyUsed"));
+    ProcessDefinition oftenUsed = testRule.deployAndGetDefinition(createProcess("oftenUsed"));
+    ProcessDefinition unused = testRule.deployAndGetDefinition(createProcess("unused"));
+
+    runtimeService.startProcessInstanceById(rarelyUsed.getId());
+    runtimeService.startProcessInstanceById(oftenUsed.getId());
+    runtimeService.startProcessInstanceById(oftenUsed.getId());
+    discardCaches();
+
+    processEngineConfiguration
+      .setDeploymentCacheWarmUpMode(DeploymentCacheWarmUp.MODE_MOST_USED)
+      .setDeploymentCacheWarmUpMaxDefinitions(1);
+
+    // when
+    int loadedDefinitions = new DeploymentCacheWarmUp(processEngineConfiguration).warmUp();
+
+    // then
+    assertThat(loadedDefinitions).isEqualTo(1);
+    assertThat(deploymentCache.findProcessDefinitionFromCache(oftenUsed.getId())).isNotNull();
+    assertThat(deploymentCache.findProcessDefinitionFromCache(rarelyUsed.getId())).isNull();
+    assertThat(deploymentCache.findProcessDefinitionFromCache(unused.getId())).isNull();
+  }
+
+  protected void discardCaches() {
+    deploymentCache.discardProcessDefinitionCache();
+    deploymentCache.discardDecisionDefinitionCache();
+    deploymentCache.discardCaseDefinitionCache();
+  }
+
+  protected BpmnModelInstance createProcess(String key) {
+    return Bpmn.createExecutableProcess(key)
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+  }
+
+}
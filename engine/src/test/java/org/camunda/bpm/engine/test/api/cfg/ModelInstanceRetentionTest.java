@@ -0,0 +1,144 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.ModelInstanceCache;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.UserTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ModelInstanceRetentionTest {
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected DeploymentCache originalDeploymentCache;
+  protected ProcessDefinition processDefinition;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    originalDeploymentCache = processEngineConfiguration.getDeploymentCache();
+
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+      .endEvent()
+      .done();
+    processDefinition = testRule.deployAndGetDefinition(process);
+  }
+
+  @After
+  public void resetDeploymentCache() {
+    processEngineConfiguration.setDeploymentCache(originalDeploymentCache);
+  }
+
+  @Test
+  public void shouldRetainModelInstanceStrongly() {
+    // given
+    DeploymentCache deploymentCache = useDeploymentCache(ModelInstanceCache.RETENTION_STRONG);
+
+    // when
+    BpmnModelInstance modelInstance = repositoryService.getBpmnModelInstance(processDefinition.getId());
+
+    // then
+    assertThat(repositoryService.getBpmnModelInstance(processDefinition.getId())).isSameAs(modelInstance);
+    assertThat(deploymentCache.getBpmnModelInstanceCache().get(processDefinition.getId())).isSameAs(modelInstance);
+  }
+
+  @Test
+  public void shouldRetainModelInstanceSoftly() {
+    // given
+    DeploymentCache deploymentCache = useDeploymentCache(ModelInstanceCache.RETENTION_SOFT);
+
+    // when
+    BpmnModelInstance modelInstance = repositoryService.getBpmnModelInstance(processDefinition.getId());
+
+    // then
+    assertThat(deploymentCache.getBpmnModelInstanceCache().get(processDefinition.getId())).isSameAs(modelInstance);
+  }
+
+  @Test
+  public void shouldRetainCompactModelResource() {
+    // given
+    DeploymentCache deploymentCache = useDeploymentCache(ModelInstanceCache.RETENTION_COMPACT);
+
+    // when
+    BpmnModelInstance modelInstance = repositoryService.getBpmnModelInstance(processDefinition.getId());
+
+    // then the compressed resource is cached and the recently used instance is kept parsed
+    assertThat(deploymentCache.getBpmnModelInstanceCache().keySet()).containsExactly(processDefinition.getId());
+    assertThat(repositoryService.getBpmnModelInstance(processDefinition.getId())).isSameAs(modelInstance);
+    assertThat(modelInstance.<UserTask>getModelElementById("task")).isNotNull();
+  }
+
+  @Test
+  public void shouldDropModelInstance() {
+    // given
+    DeploymentCache deploymentCache = useDeploymentCache(ModelInstanceCache.RETENTION_DROP);
+
+    // when
+    BpmnModelInstance modelInstance = repositoryService.getBpmnModelInstance(processDefinition.getId());
+
+    // then
+    assertThat(modelInstance.getModelElementById("task")).isNotNull();
+    assertThat(deploymentCache.getBpmnModelInstanceCache().isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldFailOnInvalidRetentionPolicy() {
+    try {
+      // when
+      new DeploymentCache(new DefaultCacheFactory(), 10, 10, "weak");
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("weak");
+    }
+  }
+
+  protected DeploymentCache useDeploymentCache(String retentionPolicy) {
+    DeploymentCache deploymentCache = new DeploymentCache(new DefaultCacheFactory(), 10, 10, retentionPolicy);
+    deploymentCache.setDeployers(processEngineConfiguration.getDeployers());
+    processEngineConfiguration.setDeploymentCache(deploymentCache);
+    return deploymentCache;
+  }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CachePurgeReport;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheEntryWeigher;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedLfuCache;
+import org.camunda.bpm.engine.management.DeploymentCacheStatistics;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class WeightedDeploymentCacheTest {
+
+  protected static final int MAX_WEIGHT = 200;
+  protected static final int MODEL_INSTANCE_MAX_WEIGHT = 500;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setCacheFactory(new WeightedCacheFactory());
+      configuration.setDeploymentCacheMaxWeight(MAX_WEIGHT);
+      configuration.setModelInstanceCacheMaxWeight(MODEL_INSTANCE_MAX_WEIGHT);
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+  protected DeploymentCache deploymentCache;
+
+  @Before
+  public void setUp() {
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+    deploymentCache = engineRule.getProcessEngineConfiguration().getDeploymentCache();
+  }
+
+  @Test
+  public void shouldUseWeightedCachesWithSeparateCapacities() {
+    // then
+    assertThat(deploymentCache.getProcessDefinitionCache()).isInstanceOf(WeightedLfuCache.class);
+    assertThat(((WeightedLfuCache<?, ?>) deploymentCache.getProcessDefinitionCache()).getMaxWeight()).isEqualTo(MAX_WEIGHT);
+    assertThat(((WeightedLfuCache<?, ?>) deploymentCache.getBpmnModelInstanceCache()).getMaxWeight()).isEqualTo(MODEL_INSTANCE_MAX_WEIGHT);
+  }
+
+  @Test
+  public void shouldWeighProcessDefinitionsByTheirActivities() {
+    // given
+    ProcessDefinition smallProcess = testRule.deployAndGetDefinition(createProcess("small", 1));
+    ProcessDefinition largeProcess = testRule.deployAndGetDefinition(createProcess("large", 10));
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    repositoryService.getProcessDefinition(smallProcess.getId());
+    long smallWeight = getStatistics(CachePurgeReport.PROCESS_DEF_CACHE).getWeight();
+
+    repositoryService.getProcessDefinition(largeProcess.getId());
+    long largeWeight = getStatistics(CachePurgeReport.PROCESS_DEF_CACHE).getWeight() - smallWeight;
+
+    // then
+    assertThat(largeWeight).isGreaterThan(smallWeight);
+  }
+
+  @Test
+  public void shouldReportCacheStatistics() {
+    // given
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(createProcess("process", 1));
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    repositoryService.getProcessDefinition(processDefinition.getId());
+    repositoryService.getProcessDefinition(processDefinition.getId());
+    repositoryService.getBpmnModelInstance(processDefinition.getId());
+
+    // then
+    List<DeploymentCacheStatistics> statistics = managementService.getDeploymentCacheStatistics();
+    assertThat(statistics).hasSize(7);
+
+    DeploymentCacheStatistics processDefinitionStatistics = getStatistics(CachePurgeReport.PROCESS_DEF_CACHE);
+    assertThat(processDefinitionStatistics.getSize()).isEqualTo(1);
+    assertThat(processDefinitionStatistics.getHitCount()).isGreaterThan(0);
+    assertThat(processDefinitionStatistics.getMissCount()).isGreaterThan(0);
+    assertThat(processDefinitionStatistics.getMaxWeight()).isEqualTo(MAX_WEIGHT);
+
+    DeploymentCacheStatistics modelInstanceStatistics = getStatistics(CachePurgeReport.BPMN_MODEL_INST_CACHE);
+    assertThat(modelInstanceStatistics.getSize()).isEqualTo(1);
+    assertThat(modelInstanceStatistics.getWeight()).isGreaterThan(1);
+  }
+
+  @Test
+  public void shouldExecuteProcessHeavierThanTheCache() {
+    // given a process whose definition and model instance exceed the budgets of the caches
+    int numberOfTasks = MAX_WEIGHT / DeploymentCacheEntryWeigher.ACTIVITY_WEIGHT;
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(createProcess("heavy", numberOfTasks));
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("heavy");
+    for (int i = 0; i < numberOfTasks; i++) {
+      Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+      taskService.complete(task.getId());
+    }
+
+    // then
+    testRule.assertProcessEnded(processInstance.getId());
+    assertThat(repositoryService.getBpmnModelInstance(processDefinition.getId())).isNotNull();
+    assertThat(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId())).isNull();
+    assertThat(getStatistics(CachePurgeReport.PROCESS_DEF_CACHE).getEvictionCount()).isGreaterThan(0);
+  }
+
+  protected DeploymentCacheStatistics getStatistics(String cacheName) {
+    for (DeploymentCacheStatistics statistics : managementService.getDeploymentCacheStatistics()) {
+      if (cacheName.equals(statistics.getCacheName())) {
+        return statistics;
+      }
+    }
+    return null;
+  }
+
+  protected BpmnModelInstance createProcess(String key, int numberOfTasks) {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess(key).startEvent();
+    for (int i = 0; i < numberOfTasks; i++) {
+      builder = builder.userTask();
+    }
+    return builder.endEvent().done();
+  }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletion;
+import org.camunda.bpm.engine.externaltask.ExternalTaskFailure;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+public class ExternalTaskBulkOperationsTest {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+  protected static final long LOCK_TIME = 10000L;
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+    ClockUtil.setCurrentTime(new Date());
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldCompleteAll() {
+    // given
+    List<String> externalTaskIds = startAndLockExternalTasks(3, WORKER_ID, LOCK_TIME);
+
+    List<ExternalTaskCompletion> completions = new ArrayList<ExternalTaskCompletion>();
+    for (String externalTaskId : externalTaskIds) {
+      completions.add(new ExternalTaskCompletion(externalTaskId, Collections.<String, Object>singletonMap("result", externalTaskId)));
+    }
+
+    // when
+    List<ExternalTaskOperationResult> results = externalTaskService.completeAll(WORKER_ID, completions);
+
+    // then
+    assertThat(results).hasSize(3);
+    for (int i = 0; i < results.size(); i++) {
+      assertThat(results.get(i).getExternalTaskId()).isEqualTo(externalTaskIds.get(i));
+      assertThat(results.get(i).isSuccessful()).isTrue();
+      assertThat(results.get(i).getException()).isNull();
+    }
+
+    assertThat(externalTaskService.createExternalTaskQuery().count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldReportMissingTasksAndWrongWorker() {
+    // given
+    String lockedByWorker = startAndLockExternalTasks(1, WORKER_ID, LOCK_TIME).get(0);
+    String lockedByOtherWorker = startAndLockExternalTasks(1, "otherWorker", LOCK_TIME).get(0);
+
+    // when
+    List<ExternalTaskOperationResult> results = externalTaskService.completeAll(WORKER_ID, Arrays.asList(
+        new ExternalTaskCompletion(lockedByWorker),
+        new ExternalTaskCompletion("unknownId"),
+        new ExternalTaskCompletion(lockedByOtherWorker),
+        new ExternalTaskCompletion(lockedByWorker)));
+
+    // then
+    assertThat(results.get(0).isSuccessful()).isTrue();
+    assertThat(results.get(1).getException()).isInstanceOf(NotFoundException.class);
+    assertThat(results.get(2).getException()).isInstanceOf(BadUserRequestException.class);
+    assertThat(results.get(3).getException()).isInstanceOf(NotFoundException.class);
+
+    ExternalTask remainingTask = externalTaskService.createExternalTaskQuery().singleResult();
+    assertThat(remainingTask.getId()).isEqualTo(lockedByOtherWorker);
+  }
+
+  @Test
+  public void shouldExtendLockAll() {
+    // given
+    List<String> externalTaskIds = startAndLockExternalTasks(2, WORKER_ID, LOCK_TIME);
+
+    // when
+    List<ExternalTaskOperationResult> results = externalTaskService.extendLockAll(WORKER_ID, externalTaskIds, 5 * LOCK_TIME);
+
+    // then
+    assertThat(results).extracting("successful").containsExactly(true, true);
+
+    Date expectedLockExpirationTime = new Date(ClockUtil.getCurrentTime().getTime() + 5 * LOCK_TIME);
+    for (ExternalTask externalTask : externalTaskService.createExternalTaskQuery().list()) {
+      assertThat(externalTask.getLockExpirationTime()).isEqualToIgnoringMillis(expectedLockExpirationTime);
+    }
+  }
+
+  @Test
+  public void shouldHandleFailureAll() {
+    // given
+    List<String> externalTaskIds = startAndLockExternalTasks(2, WORKER_ID, LOCK_TIME);
+
+    // when
+    List<ExternalTaskOperationResult> results = externalTaskService.handleFailureAll(WORKER_ID, Arrays.asList(
+        new ExternalTaskFailure(externalTaskIds.get(0), "first failure", "details", 2, 0),
+        new ExternalTaskFailure(externalTaskIds.get(1), "second failure", null, 0, 0)));
+
+    // then
+    assertThat(results).extracting("successful").containsExactly(true, true);
+
+    ExternalTask firstTask = externalTaskService.createExternalTaskQuery().externalTaskId(externalTaskIds.get(0)).singleResult();
+    assertThat(firstTask.getRetries()).isEqualTo(2);
+    assertThat(firstTask.getErrorMessage()).isEqualTo("first failure");
+    assertThat(externalTaskService.getExternalTaskErrorDetails(firstTask.getId())).isEqualTo("details");
+
+    ExternalTask secondTask = externalTaskService.createExternalTaskQuery().externalTaskId(externalTaskIds.get(1)).singleResult();
+    assertThat(secondTask.getRetries()).isZero();
+    assertThat(runtimeService.createIncidentQuery().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldIsolateFailingTaskWhenTransactionFails() {
+    // given
+    String expiringTask = startAndLockExternalTasks(1, WORKER_ID, 1000L).get(0);
+    String lockedTask = startAndLockExternalTasks(1, WORKER_ID, LOCK_TIME).get(0);
+
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + 2000L));
+
+    // when the lock of the first task cannot be extended
+    List<ExternalTaskOperationResult> results = externalTaskService.extendLockAll(WORKER_ID, Arrays.asList(expiringTask, lockedTask), LOCK_TIME);
+
+    // then the lock of the second task is extended nevertheless
+    assertThat(results.get(0).isSuccessful()).isFalse();
+    assertThat(results.get(0).getException()).isInstanceOf(BadUserRequestException.class);
+    assertThat(results.get(1).isSuccessful()).isTrue();
+
+    ExternalTask externalTask = externalTaskService.createExternalTaskQuery().externalTaskId(lockedTask).singleResult();
+    Date expectedLockExpirationTime = new Date(ClockUtil.getCurrentTime().getTime() + LOCK_TIME);
+    assertThat(externalTask.getLockExpirationTime()).isEqualToIgnoringMillis(expectedLockExpirationTime);
+  }
+
+  @Test
+  public void shouldReportOnlyTheFailingOperation() {
+    // given a process which fails after its external task is completed with "fail" set
+    testRule.deploy(Bpmn.createExecutableProcess("failingProcess")
+      .startEvent()
+      .serviceTask()
+        .camundaExternalTask(TOPIC_NAME)
+      .serviceTask()
+        .camundaClass(FailingDelegate.class.getName())
+      .endEvent()
+      .done());
+
+    List<String> externalTaskIds = startAndLockExternalTasks("failingProcess", 3, WORKER_ID, LOCK_TIME);
+
+    // when
+    List<ExternalTaskOperationResult> results = externalTaskService.completeAll(WORKER_ID, Arrays.asList(
+        new ExternalTaskCompletion(externalTaskIds.get(0)),
+        new ExternalTaskCompletion(externalTaskIds.get(1), Collections.<String, Object>singletonMap("fail", true)),
+        new ExternalTaskCompletion(externalTaskIds.get(2))));
+
+    // then
+    assertThat(results).extracting("externalTaskId").containsExactlyElementsOf(externalTaskIds);
+    assertThat(results).extracting("successful").containsExactly(true, false, true);
+    assertThat(results.get(1).getException()).hasMessage("expected exception");
+
+    ExternalTask remainingTask = externalTaskService.createExternalTaskQuery().singleResult();
+    assertThat(remainingTask.getId()).isEqualTo(externalTaskIds.get(1));
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(1);
+  }
+
+  protected List<String> startAndLockExternalTasks(int count, String workerId, long lockTime) {
+    return startAndLockExternalTasks("oneExternalTaskProcess", count, workerId, lockTime);
+  }
+
+  protected List<String> startAndLockExternalTasks(String processDefinitionKey, int count, String workerId, long lockTime) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey(processDefinitionKey);
+    }
+
+    List<String> externalTaskIds = new ArrayList<String>();
+    for (LockedExternalTask lockedTask : externalTaskService.fetchAndLock(count, workerId).topic(TOPIC_NAME, lockTime).execute()) {
+      externalTaskIds.add(lockedTask.getId());
+    }
+    return externalTaskIds;
+  }
+
+  public static class FailingDelegate implements JavaDelegate {
+
+    public void execute(DelegateExecution execution) throws Exception {
+      if (Boolean.TRUE.equals(execution.getVariable("fail"))) {
+        throw new RuntimeException("expected exception");
+      }
+    }
+  }
+
+}
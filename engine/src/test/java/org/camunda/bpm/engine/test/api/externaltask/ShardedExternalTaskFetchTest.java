@@ -0,0 +1,218 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskSharding;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+public class ShardedExternalTaskFetchTest {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+  protected static final long LOCK_TIME = 10000L;
+  protected static final int SHARD_GROUPS = 2;
+  protected static final int NUMBER_OF_TASKS = 40;
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+
+    processEngineConfiguration
+      .setExternalTaskFetchSharded(true)
+      .setExternalTaskFetchShardGroups(SHARD_GROUPS);
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration
+      .setExternalTaskFetchSharded(false)
+      .setExternalTaskFetchShardGroups(16);
+  }
+
+  @Test
+  public void shouldAssignShardOnCreation() {
+    // when
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+
+    // then
+    Integer shard = getShards().values().iterator().next();
+    assertThat(shard).isBetween(0, ExternalTaskSharding.NUMBER_OF_SHARDS - 1);
+  }
+
+  @Test
+  public void shouldFetchFromHomeShardGroupFirst() {
+    // given
+    startProcessInstances(NUMBER_OF_TASKS);
+    List<String> homeGroupTasks = getTasksOfHomeShardGroup(WORKER_ID);
+
+    // when
+    List<LockedExternalTask> lockedTasks = externalTaskService
+      .fetchAndLock(homeGroupTasks.size(), WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(getIds(lockedTasks)).containsOnlyElementsOf(homeGroupTasks);
+  }
+
+  @Test
+  public void shouldFetchFromOtherShardGroups() {
+    // given
+    startProcessInstances(NUMBER_OF_TASKS);
+
+    // when
+    List<LockedExternalTask> lockedTasks = externalTaskService
+      .fetchAndLock(NUMBER_OF_TASKS, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(lockedTasks).hasSize(NUMBER_OF_TASKS);
+  }
+
+  @Test
+  public void shouldFetchDisjointTasksForWorkersWithDifferentHomeGroups() {
+    // given
+    startProcessInstances(NUMBER_OF_TASKS);
+
+    String otherWorkerId = getWorkerOfOtherShardGroup(WORKER_ID);
+    List<String> homeGroupTasks = getTasksOfHomeShardGroup(WORKER_ID);
+    List<String> otherGroupTasks = getTasksOfHomeShardGroup(otherWorkerId);
+
+    // when
+    List<LockedExternalTask> lockedTasks = externalTaskService
+      .fetchAndLock(homeGroupTasks.size(), WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+    List<LockedExternalTask> otherLockedTasks = externalTaskService
+      .fetchAndLock(otherGroupTasks.size(), otherWorkerId)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(getIds(lockedTasks)).containsOnlyElementsOf(homeGroupTasks);
+    assertThat(getIds(otherLockedTasks)).containsOnlyElementsOf(otherGroupTasks);
+  }
+
+  @Test
+  public void shouldFetchTasksOfOtherShardGroupsWithHigherPriority() {
+    // given
+    startProcessInstances(NUMBER_OF_TASKS);
+
+    String otherWorkerId = getWorkerOfOtherShardGroup(WORKER_ID);
+    List<String> homeGroupTasks = getTasksOfHomeShardGroup(WORKER_ID);
+    String highPriorityTask = getTasksOfHomeShardGroup(otherWorkerId).get(0);
+    externalTaskService.setPriority(highPriorityTask, 100);
+
+    // when
+    List<LockedExternalTask> lockedTasks = externalTaskService
+      .fetchAndLock(homeGroupTasks.size(), WORKER_ID, true)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(lockedTasks).hasSize(homeGroupTasks.size());
+    assertThat(lockedTasks.get(0).getId()).isEqualTo(highPriorityTask);
+    assertThat(getIds(lockedTasks).subList(1, lockedTasks.size())).isSubsetOf(homeGroupTasks);
+  }
+
+  protected void startProcessInstances(int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    }
+  }
+
+  protected List<String> getTasksOfHomeShardGroup(String workerId) {
+    int shardGroup = ExternalTaskSharding.getShardGroup(workerId, SHARD_GROUPS);
+    int lowerBound = ExternalTaskSharding.getLowerBound(shardGroup, SHARD_GROUPS);
+    int upperBound = ExternalTaskSharding.getUpperBound(shardGroup, SHARD_GROUPS);
+
+    List<String> taskIds = new ArrayList<String>();
+    for (Map.Entry<String, Integer> shard : getShards().entrySet()) {
+      if (shard.getValue() >= lowerBound && shard.getValue() < upperBound) {
+        taskIds.add(shard.getKey());
+      }
+    }
+
+    // with random shards, each group contains a task with overwhelming probability
+    assertThat(taskIds).isNotEmpty();
+    return taskIds;
+  }
+
+  protected String getWorkerOfOtherShardGroup(String workerId) {
+    int shardGroup = ExternalTaskSharding.getShardGroup(workerId, SHARD_GROUPS);
+
+    int i = 0;
+    String otherWorkerId;
+    do {
+      otherWorkerId = "worker" + i++;
+    } while (ExternalTaskSharding.getShardGroup(otherWorkerId, SHARD_GROUPS) == shardGroup);
+
+    return otherWorkerId;
+  }
+
+  protected Map<String, Integer> getShards() {
+    Map<String, Integer> shards = new HashMap<String, Integer>();
+    for (ExternalTask externalTask : externalTaskService.createExternalTaskQuery().list()) {
+      shards.put(externalTask.getId(), ((ExternalTaskEntity) externalTask).getShard());
+    }
+    return shards;
+  }
+
+  protected List<String> getIds(List<LockedExternalTask> lockedTasks) {
+    List<String> ids = new ArrayList<String>();
+    for (LockedExternalTask lockedTask : lockedTasks) {
+      ids.add(lockedTask.getId());
+    }
+    return ids;
+  }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.FilterService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class FilterCountTest {
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected FilterService filterService;
+  protected TaskService taskService;
+  protected IdentityService identityService;
+
+  protected Filter filter;
+  protected List<String> taskIds = new ArrayList<String>();
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    filterService = engineRule.getFilterService();
+    taskService = engineRule.getTaskService();
+    identityService = engineRule.getIdentityService();
+
+    filter = filterService.newTaskFilter("filter")
+      .setQuery(taskService.createTaskQuery().taskNameLike("task%"));
+    filterService.saveFilter(filter);
+
+    for (int i = 0; i < 5; i++) {
+      createTask("task" + i);
+    }
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setFilterCountCache(null);
+    identityService.clearAuthentication();
+
+    filterService.deleteFilter(filter.getId());
+    for (String taskId : taskIds) {
+      taskService.deleteTask(taskId, true);
+    }
+  }
+
+  @Test
+  public void shouldCountAtMostMaxCountPlusOne() {
+    assertThat(filterService.count(filter.getId(), 3)).isEqualTo(4);
+    assertThat(filterService.count(filter.getId(), 5)).isEqualTo(5);
+    assertThat(filterService.count(filter.getId(), 10)).isEqualTo(5);
+    assertThat(filterService.count(filter.getId(), 0)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCountExtendedQueryAtMostMaxCountPlusOne() {
+    // given
+    taskService.setAssignee(taskIds.get(0), "kermit");
+    taskService.setAssignee(taskIds.get(1), "kermit");
+
+    // then
+    assertThat(filterService.count(filter.getId(), taskService.createTaskQuery().taskAssignee("kermit"), 1)).isEqualTo(2);
+    assertThat(filterService.count(filter.getId(), taskService.createTaskQuery().taskAssignee("kermit"), 2)).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReturnCachedCount() {
+    // given
+    processEngineConfiguration.setFilterCountCache(new FilterCountCache(60000, 100));
+    assertThat(filterService.count(filter.getId())).isEqualTo(5);
+
+    // when
+    createTask("task5");
+
+    // then the count is stale until the cache is cleared
+    assertThat(filterService.count(filter.getId())).isEqualTo(5);
+    assertThat(filterService.count(filter.getId(), 10)).isEqualTo(6);
+
+    processEngineConfiguration.getFilterCountCache().clear();
+    assertThat(filterService.count(filter.getId())).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldNotCacheExtendedQueryCount() {
+    // given
+    processEngineConfiguration.setFilterCountCache(new FilterCountCache(60000, 100));
+    assertThat(filterService.count(filter.getId(), taskService.createTaskQuery())).isEqualTo(5);
+
+    // when
+    createTask("task5");
+
+    // then
+    assertThat(filterService.count(filter.getId(), taskService.createTaskQuery())).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldExpireCachedCount() {
+    // given
+    processEngineConfiguration.setFilterCountCache(new FilterCountCache(0, 100));
+    assertThat(filterService.count(filter.getId())).isEqualTo(5);
+
+    // when
+    createTask("task5");
+
+    // then
+    assertThat(filterService.count(filter.getId())).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldCacheCountPerAuthentication() {
+    // given
+    processEngineConfiguration.setFilterCountCache(new FilterCountCache(60000, 100));
+    identityService.setAuthenticatedUserId("kermit");
+    assertThat(filterService.count(filter.getId())).isEqualTo(5);
+
+    // when
+    createTask("task5");
+
+    // then
+    assertThat(filterService.count(filter.getId())).isEqualTo(5);
+
+    identityService.setAuthenticatedUserId("gonzo");
+    assertThat(filterService.count(filter.getId())).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldInvalidateCachedCountOnFilterUpdate() {
+    // given
+    processEngineConfiguration.setFilterCountCache(new FilterCountCache(60000, 100));
+    assertThat(filterService.count(filter.getId())).isEqualTo(5);
+
+    // when
+    filter.setQuery(taskService.createTaskQuery().taskName("task0"));
+    filterService.saveFilter(filter);
+
+    // then
+    assertThat(filterService.count(filter.getId())).isEqualTo(1);
+  }
+
+  protected void createTask(String name) {
+    Task task = taskService.newTask();
+    task.setName(name);
+    taskService.saveTask(task);
+    taskIds.add(task.getId());
+  }
+
+}
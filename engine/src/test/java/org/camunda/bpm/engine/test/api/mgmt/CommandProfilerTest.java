@@ -0,0 +1,224 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.management.CommandProfileStatistics.OPERATION_ATOMIC_OPERATION;
+import static org.camunda.bpm.engine.management.CommandProfileStatistics.OPERATION_COMMAND;
+import static org.camunda.bpm.engine.management.CommandProfileStatistics.OPERATION_DB_SELECT;
+import static org.camunda.bpm.engine.management.CommandProfileStatistics.OPERATION_DELEGATE;
+import static org.camunda.bpm.engine.management.CommandProfileStatistics.OPERATION_EXPRESSION;
+import static org.camunda.bpm.engine.management.CommandProfileStatistics.OPERATION_FLUSH;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.profiler.CommandProfiler;
+import org.camunda.bpm.engine.management.CommandProfileStatistics;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class CommandProfilerTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setCommandProfilerSamplingRate(1);
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ManagementService managementService;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    managementService = engineRule.getManagementService();
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @Test
+  public void shouldRecordOperationsPerActivity() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+        .camundaExpression("${execution.setVariable('foo', 'bar')}")
+        .camundaExecutionListenerClass(ExecutionListener.EVENTNAME_START, NoopListener.class.getName())
+      .userTask("wait")
+      .endEvent()
+      .done();
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    managementService.resetCommandProfileStatistics();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    List<CommandProfileStatistics> statistics = getStatistics("StartProcessInstanceCmd");
+
+    assertThat(find(statistics, null, OPERATION_COMMAND)).hasSize(1);
+    assertThat(find(statistics, null, OPERATION_FLUSH)).hasSize(1);
+    assertThat(find(statistics, null, OPERATION_DB_SELECT)).isNotEmpty();
+
+    List<CommandProfileStatistics> taskStatistics = find(statistics, "task", OPERATION_ATOMIC_OPERATION);
+    assertThat(taskStatistics).hasSize(1);
+    assertThat(taskStatistics.get(0).getProcessDefinitionId()).isEqualTo(processDefinition.getId());
+    assertThat(taskStatistics.get(0).getCount()).isGreaterThan(1);
+
+    assertThat(find(statistics, "task", OPERATION_EXPRESSION)).hasSize(1);
+    assertThat(find(statistics, "task", OPERATION_DELEGATE)).hasSize(1);
+    assertThat(find(statistics, "wait", OPERATION_ATOMIC_OPERATION)).hasSize(1);
+  }
+
+  @Test
+  public void shouldRecordHistogram() {
+    // given
+    managementService.resetCommandProfileStatistics();
+
+    // when
+    runtimeService.createProcessInstanceQuery().list();
+    runtimeService.createProcessInstanceQuery().list();
+
+    // then
+    List<CommandProfileStatistics> statistics = getStatistics("ProcessInstanceQueryImpl");
+    List<CommandProfileStatistics> commandStatistics = find(statistics, null, OPERATION_COMMAND);
+    assertThat(commandStatistics).hasSize(1);
+
+    CommandProfileStatistics commandStatistic = commandStatistics.get(0);
+    assertThat(commandStatistic.getCount()).isEqualTo(2);
+    assertThat(commandStatistic.getMaxTime()).isLessThanOrEqualTo(commandStatistic.getTotalTime());
+
+    long histogramCount = 0;
+    for (long count : commandStatistic.getHistogram()) {
+      histogramCount += count;
+    }
+    assertThat(histogramCount).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldRecordNestedCommandsInOutermostCommand() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+        .camundaClass(NestedCommandDelegate.class.getName())
+      .endEvent()
+      .done();
+    testRule.deploy(process);
+    managementService.resetCommandProfileStatistics();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    assertThat(getStatistics("GetExecutionVariableCmd")).isEmpty();
+    assertThat(find(getStatistics("StartProcessInstanceCmd"), "task", OPERATION_DELEGATE)).hasSize(1);
+  }
+
+  @Test
+  public void shouldRecordNewActivitiesPerCommandWhenMaxHistogramsIsReached() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process").startEvent().userTask("wait").endEvent().done());
+    managementService.resetCommandProfileStatistics();
+
+    CommandProfiler commandProfiler = engineRule.getProcessEngineConfiguration().getCommandProfiler();
+    commandProfiler.setMaxHistograms(1);
+
+    try {
+      // when
+      runtimeService.startProcessInstanceByKey("process");
+    } finally {
+      commandProfiler.setMaxHistograms(CommandProfiler.DEFAULT_MAX_HISTOGRAMS);
+    }
+
+    // then
+    List<CommandProfileStatistics> statistics = getStatistics("StartProcessInstanceCmd");
+    assertThat(find(statistics, "wait", OPERATION_ATOMIC_OPERATION)).isEmpty();
+    assertThat(find(statistics, null, OPERATION_ATOMIC_OPERATION)).hasSize(1);
+    assertThat(find(statistics, null, OPERATION_COMMAND)).hasSize(1);
+  }
+
+  @Test
+  public void shouldReset() {
+    // given
+    runtimeService.createProcessInstanceQuery().list();
+
+    // when
+    managementService.resetCommandProfileStatistics();
+
+    // then
+    assertThat(getStatistics("ProcessInstanceQueryImpl")).isEmpty();
+  }
+
+  protected List<CommandProfileStatistics> getStatistics(String commandName) {
+    List<CommandProfileStatistics> statistics = new ArrayList<CommandProfileStatistics>();
+    for (CommandProfileStatistics commandProfileStatistics : managementService.getCommandProfileStatistics()) {
+      if (commandName.equals(commandProfileStatistics.getCommandName())) {
+        statistics.add(commandProfileStatistics);
+      }
+    }
+    return statistics;
+  }
+
+  protected List<CommandProfileStatistics> find(List<CommandProfileStatistics> statistics, String activityId, String operationType) {
+    List<CommandProfileStatistics> result = new ArrayList<CommandProfileStatistics>();
+    for (CommandProfileStatistics commandProfileStatistics : statistics) {
+      if (operationType.equals(commandProfileStatistics.getOperationType())
+          && (activityId == null ? commandProfileStatistics.getActivityId() == null : activityId.equals(commandProfileStatistics.getActivityId()))) {
+        result.add(commandProfileStatistics);
+      }
+    }
+    return result;
+  }
+
+  public static class NoopListener implements ExecutionListener {
+    public void notify(DelegateExecution execution) throws Exception {
+    }
+  }
+
+  public static class NestedCommandDelegate implements JavaDelegate {
+    public void execute(DelegateExecution execution) throws Exception {
+      execution.getProcessEngineServices()
+        .getRuntimeService()
+        .getVariable(execution.getId(), "foo");
+    }
+  }
+
+}
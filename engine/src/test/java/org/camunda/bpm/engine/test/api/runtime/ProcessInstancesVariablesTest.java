@@ -0,0 +1,256 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ProcessInstancesVariablesTest {
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected BatchSetVariablesHelper helper = new BatchSetVariablesHelper(engineRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  protected ProcessInstance processInstance1;
+  protected ProcessInstance processInstance2;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done());
+    processInstance1 = runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+        .putValue("status", "new")
+        .putValue("customer", "c1"));
+    processInstance2 = runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+        .putValue("customer", "c2"));
+  }
+
+  @After
+  public void removeBatches() {
+    helper.removeAllRunningAndHistoricBatches();
+  }
+
+  @Test
+  public void shouldSetVariablesForProcessInstanceIds() {
+    // when
+    runtimeService.setVariablesForProcessInstances(Arrays.asList(processInstance1.getId(), processInstance2.getId()), null,
+        Variables.createVariables().putValue("status", "approved"));
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance1.getId(), "status")).isEqualTo("approved");
+    assertThat(runtimeService.getVariable(processInstance2.getId(), "status")).isEqualTo("approved");
+    assertThat(runtimeService.createVariableInstanceQuery().variableName("status").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldSetVariablesForProcessInstanceQuery() {
+    // when
+    runtimeService.setVariablesForProcessInstances(null, runtimeService.createProcessInstanceQuery().variableValueEquals("customer", "c2"),
+        Variables.createVariables().putValue("status", "approved"));
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance1.getId(), "status")).isEqualTo("new");
+    assertThat(runtimeService.getVariable(processInstance2.getId(), "status")).isEqualTo("approved");
+  }
+
+  @Test
+  public void shouldNotSetVariablesIfProcessInstanceDoesNotExist() {
+    try {
+      // when
+      runtimeService.setVariablesForProcessInstances(Arrays.asList(processInstance1.getId(), "unknown"), null,
+          Variables.createVariables().putValue("status", "approved"));
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("process instance unknown doesn't exist");
+    }
+
+    assertThat(runtimeService.getVariable(processInstance1.getId(), "status")).isEqualTo("new");
+  }
+
+  @Test
+  public void shouldFailToSetVariablesWithoutProcessInstances() {
+    try {
+      // when
+      runtimeService.setVariablesForProcessInstances(Collections.<String>emptyList(), null,
+          Variables.createVariables().putValue("status", "approved"));
+      fail("exception expected");
+    } catch (BadUserRequestException e) {
+      // then
+      assertThat(e.getMessage()).contains("processInstanceIds is empty");
+    }
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldWriteHistoryForEachProcessInstance() {
+    // when
+    runtimeService.setVariablesForProcessInstances(Arrays.asList(processInstance1.getId(), processInstance2.getId()), null,
+        Variables.createVariables().putValue("status", "approved"));
+
+    // then
+    assertThat(historyService.createHistoricVariableInstanceQuery().variableValueEquals("status", "approved").count()).isEqualTo(2);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldUpdateHistoricVariableInstances() {
+    // when
+    runtimeService.setVariablesForProcessInstances(Arrays.asList(processInstance1.getId(), processInstance2.getId()), null,
+        Variables.createVariables().putValue("status", "approved").putValue("customer", "c3"));
+
+    // then
+    HistoricVariableInstance historicStatus = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceIdIn(processInstance1.getId()).variableName("status").singleResult();
+    assertThat(historicStatus.getValue()).isEqualTo("approved");
+    assertThat(historyService.createHistoricVariableInstanceQuery().variableValueEquals("customer", "c3").count()).isEqualTo(2);
+    assertThat(historyService.createHistoricVariableInstanceQuery().variableName("customer").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldKeepVariablesWhichAreNotSet() {
+    // when
+    runtimeService.setVariablesForProcessInstances(Arrays.asList(processInstance1.getId()), null,
+        Variables.createVariables().putValue("status", "approved"));
+
+    // then
+    assertThat(runtimeService.getVariables(processInstance1.getId()))
+        .containsOnly(entry("status", "approved"), entry("customer", "c1"));
+  }
+
+  @Test
+  public void shouldSetVariablesAsync() {
+    // given
+    Date date = new Date(1000L);
+
+    // when
+    Batch batch = runtimeService.setVariablesForProcessInstancesAsync(null, runtimeService.createProcessInstanceQuery(),
+        Variables.createVariables()
+          .putValue("status", "approved")
+          .putValue("amount", 10)
+          .putValue("rate", 0.5)
+          .putValue("date", date)
+          .putValue("bytes", "abc".getBytes())
+          .putValue("empty", null));
+
+    helper.completeSeedJobs(batch);
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(batch.getType()).isEqualTo(Batch.TYPE_SET_VARIABLES);
+    assertThat(batch.getTotalJobs()).isEqualTo(2);
+    for (ProcessInstance processInstance : Arrays.asList(processInstance1, processInstance2)) {
+      VariableMap variables = runtimeService.getVariablesTyped(processInstance.getId());
+      assertThat(variables.get("status")).isEqualTo("approved");
+      assertThat(variables.get("amount")).isEqualTo(10);
+      assertThat(variables.get("rate")).isEqualTo(0.5);
+      assertThat(variables.get("date")).isEqualTo(date);
+      assertThat((byte[]) variables.get("bytes")).isEqualTo("abc".getBytes());
+      assertThat(variables).containsKey("empty");
+      assertThat(variables.get("empty")).isNull();
+    }
+  }
+
+  @Test
+  public void shouldSkipDeletedProcessInstancesAsync() {
+    // given
+    Batch batch = runtimeService.setVariablesForProcessInstancesAsync(Arrays.asList(processInstance1.getId(), processInstance2.getId()), null,
+        Variables.createVariables().putValue("status", "approved"));
+    helper.completeSeedJobs(batch);
+
+    runtimeService.deleteProcessInstance(processInstance1.getId(), null);
+
+    // when
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(helper.getExecutionJobs(batch)).isEmpty();
+    assertThat(runtimeService.getVariable(processInstance2.getId(), "status")).isEqualTo("approved");
+  }
+
+  @Test
+  public void shouldFailToSetVariablesAsyncWithoutVariables() {
+    try {
+      // when
+      runtimeService.setVariablesForProcessInstancesAsync(Arrays.asList(processInstance1.getId()), null, null);
+      fail("exception expected");
+    } catch (BadUserRequestException e) {
+      // then
+      assertThat(e.getMessage()).contains("variables is null");
+    }
+  }
+
+  @Test
+  public void shouldGetVariablesForProcessInstances() {
+    // when
+    Map<String, VariableMap> variables = runtimeService.getVariablesForProcessInstances(
+        Arrays.asList(processInstance2.getId(), processInstance1.getId()), Arrays.asList("status"), true);
+
+    // then
+    assertThat(variables.keySet()).containsExactly(processInstance2.getId(), processInstance1.getId());
+    assertThat(variables.get(processInstance1.getId())).containsOnly(entry("status", "new"));
+    assertThat(variables.get(processInstance2.getId())).isEmpty();
+  }
+
+  @Test
+  public void shouldGetAllVariablesForProcessInstances() {
+    // when
+    Map<String, VariableMap> variables = runtimeService.getVariablesForProcessInstances(
+        Arrays.asList(processInstance1.getId(), processInstance2.getId()), null, true);
+
+    // then
+    assertThat(variables.get(processInstance1.getId())).containsOnly(entry("status", "new"), entry("customer", "c1"));
+    assertThat(variables.get(processInstance2.getId())).containsOnly(entry("customer", "c2"));
+  }
+
+}
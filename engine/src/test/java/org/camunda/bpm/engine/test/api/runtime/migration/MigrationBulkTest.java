@@ -0,0 +1,328 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.migration.BulkProcessInstanceMigration;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.migration.MigrationPlan;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MigrationBulkTest {
+
+  protected ProcessEngineRule rule = new ProvidedProcessEngineRule();
+  protected MigrationTestRule testHelper = new MigrationTestRule(rule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(rule).around(testHelper);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = rule.getProcessEngineConfiguration();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setBulkMigrationEnabled(true);
+  }
+
+  @Test
+  public void shouldApplyToStructurallyUnchangedProcess() {
+    // given
+    ProcessDefinition sourceDefinition = testHelper.deployAndGetDefinition(createTimerProcess("task"));
+    ProcessDefinition targetDefinition = testHelper.deployAndGetDefinition(createTimerProcess("renamed task"));
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+      .mapEqualActivities()
+      .build();
+
+    // when
+    boolean applicable = isApplicable(migrationPlan);
+
+    // then
+    assertThat(applicable).isTrue();
+  }
+
+  @Test
+  public void shouldNotApplyIfDisabled() {
+    // given
+    ProcessDefinition sourceDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    ProcessDefinition targetDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+      .mapEqualActivities()
+      .build();
+
+    processEngineConfiguration.setBulkMigrationEnabled(false);
+
+    // when
+    boolean applicable = isApplicable(migrationPlan);
+
+    // then
+    assertThat(applicable).isFalse();
+  }
+
+  @Test
+  public void shouldNotApplyToChangedActivityId() {
+    // given
+    ProcessDefinition sourceDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    ProcessDefinition targetDefinition = testHelper.deployAndGetDefinition(
+        ModifiableBpmnModelInstance.modify(ProcessModels.ONE_TASK_PROCESS).changeElementId("userTask", "userTask2"));
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+      .mapActivities("userTask", "userTask2")
+      .build();
+
+    // when
+    boolean applicable = isApplicable(migrationPlan);
+
+    // then
+    assertThat(applicable).isFalse();
+  }
+
+  @Test
+  public void shouldNotApplyToAddedActivity() {
+    // given
+    ProcessDefinition sourceDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    ProcessDefinition targetDefinition = testHelper.deployAndGetDefinition(createTimerProcess("task"));
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+      .mapEqualActivities()
+      .build();
+
+    // when
+    boolean applicable = isApplicable(migrationPlan);
+
+    // then
+    assertThat(applicable).isFalse();
+  }
+
+  @Test
+  public void shouldNotApplyToUnmappedBoundaryEvent() {
+    // given
+    ProcessDefinition sourceDefinition = testHelper.deployAndGetDefinition(createTimerProcess("task"));
+    ProcessDefinition targetDefinition = testHelper.deployAndGetDefinition(createTimerProcess("task"));
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+      .mapActivities("userTask", "userTask")
+      .build();
+
+    // when
+    boolean applicable = isApplicable(migrationPlan);
+
+    // then
+    assertThat(applicable).isFalse();
+  }
+
+  @Test
+  public void shouldNotApplyIfEventTriggerIsUpdated() {
+    // given
+    ProcessDefinition sourceDefinition = testHelper.deployAndGetDefinition(createTimerProcess("task"));
+    ProcessDefinition targetDefinition = testHelper.deployAndGetDefinition(createTimerProcess("task"));
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+      .mapActivities("userTask", "userTask")
+      .mapActivities("timer", "timer").updateEventTrigger()
+      .build();
+
+    // when
+    boolean applicable = isApplicable(migrationPlan);
+
+    // then
+    assertThat(applicable).isFalse();
+  }
+
+  @Test
+  public void shouldMigrateRuntimeData() {
+    // given
+    ProcessDefinition sourceDefinition = testHelper.deployAndGetDefinition(createTimerProcess("task"));
+    ProcessDefinition targetDefinition = testHelper.deployAndGetDefinition(createTimerProcess("task"));
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+      .mapEqualActivities()
+      .build();
+
+    ProcessInstance firstInstance = rule.getRuntimeService().startProcessInstanceById(sourceDefinition.getId());
+    ProcessInstance secondInstance = rule.getRuntimeService().startProcessInstanceById(sourceDefinition.getId());
+    Job jobBefore = rule.getManagementService().createJobQuery().processInstanceId(firstInstance.getId()).singleResult();
+
+    // when
+    rule.getRuntimeService().newMigration(migrationPlan)
+      .processInstanceIds(firstInstance.getId(), secondInstance.getId())
+      .execute();
+
+    // then
+    assertThat(rule.getRuntimeService().createProcessInstanceQuery().processDefinitionId(targetDefinition.getId()).count())
+      .isEqualTo(2);
+    assertThat(rule.getRuntimeService().createExecutionQuery().processDefinitionId(sourceDefinition.getId()).count())
+      .isEqualTo(0);
+
+    for (Task task : rule.getTaskService().createTaskQuery().list()) {
+      assertThat(task.getProcessDefinitionId()).isEqualTo(targetDefinition.getId());
+    }
+
+    JobDefinition targetJobDefinition = rule.getManagementService().createJobDefinitionQuery()
+      .processDefinitionId(targetDefinition.getId())
+      .singleResult();
+
+    for (Job job : rule.getManagementService().createJobQuery().list()) {
+      assertThat(job.getProcessDefinitionId()).isEqualTo(targetDefinition.getId());
+      assertThat(job.getJobDefinitionId()).isEqualTo(targetJobDefinition.getId());
+      assertThat(job.getDeploymentId()).isEqualTo(targetDefinition.getDeploymentId());
+    }
+
+    // the existing timer job is kept
+    Job jobAfter = rule.getManagementService().createJobQuery().processInstanceId(firstInstance.getId()).singleResult();
+    assertThat(jobAfter.getId()).isEqualTo(jobBefore.getId());
+    assertThat(jobAfter.getDuedate()).isEqualTo(jobBefore.getDuedate());
+
+    // and the process instances can be completed
+    testHelper.completeAnyTask("userTask");
+    testHelper.completeAnyTask("userTask");
+    testHelper.assertProcessEnded(firstInstance.getId());
+    testHelper.assertProcessEnded(secondInstance.getId());
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldMigrateHistoricData() {
+    // given
+    ProcessDefinition sourceDefinition = testHelper.deployAndGetDefinition(createTimerProcess("task"));
+    ProcessDefinition targetDefinition = testHelper.deployAndGetDefinition(createTimerProcess("renamed task"));
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+      .mapEqualActivities()
+      .build();
+
+    ProcessInstance processInstance = rule.getRuntimeService().startProcessInstanceById(sourceDefinition.getId());
+
+    // when
+    rule.getRuntimeService().newMigration(migrationPlan)
+      .processInstanceIds(Arrays.asList(processInstance.getId()))
+      .execute();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = rule.getHistoryService().createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getProcessDefinitionId()).isEqualTo(targetDefinition.getId());
+
+    // finished activity instances still belong to the source process definition
+    HistoricActivityInstance startEventInstance = rule.getHistoryService().createHistoricActivityInstanceQuery()
+      .activityId("start")
+      .singleResult();
+    assertThat(startEventInstance.getProcessDefinitionId()).isEqualTo(sourceDefinition.getId());
+
+    HistoricActivityInstance userTaskInstance = rule.getHistoryService().createHistoricActivityInstanceQuery()
+      .activityId("userTask")
+      .singleResult();
+    assertThat(userTaskInstance.getProcessDefinitionId()).isEqualTo(targetDefinition.getId());
+    assertThat(userTaskInstance.getActivityName()).isEqualTo("renamed task");
+  }
+
+  @Test
+  public void shouldFailForNonExistingProcessInstance() {
+    // given
+    ProcessDefinition sourceDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    ProcessDefinition targetDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceDefinition.getId(), targetDefinition.getId())
+      .mapEqualActivities()
+      .build();
+
+    ProcessInstance processInstance = rule.getRuntimeService().startProcessInstanceById(sourceDefinition.getId());
+
+    // when
+    try {
+      rule.getRuntimeService().newMigration(migrationPlan)
+        .processInstanceIds(processInstance.getId(), "nonExisting")
+        .execute();
+      fail("exception expected");
+
+    } catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("Process instance 'nonExisting' cannot be migrated");
+    }
+
+    // and the other process instance is not migrated
+    assertThat(rule.getRuntimeService().createProcessInstanceQuery().processDefinitionId(sourceDefinition.getId()).count())
+      .isEqualTo(1);
+  }
+
+  protected boolean isApplicable(final MigrationPlan migrationPlan) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        ProcessDefinitionEntity sourceDefinition = commandContext.getProcessEngineConfiguration().getDeploymentCache()
+          .findDeployedProcessDefinitionById(migrationPlan.getSourceProcessDefinitionId());
+        ProcessDefinitionEntity targetDefinition = commandContext.getProcessEngineConfiguration().getDeploymentCache()
+          .findDeployedProcessDefinitionById(migrationPlan.getTargetProcessDefinitionId());
+
+        return new BulkProcessInstanceMigration(migrationPlan, sourceDefinition, targetDefinition).isApplicable(commandContext);
+      }
+    });
+  }
+
+  protected BpmnModelInstance createTimerProcess(String taskName) {
+    return Bpmn.createExecutableProcess("Process")
+      .startEvent("start")
+      .sequenceFlowId("flow1")
+      .userTask("userTask").name(taskName)
+        .boundaryEvent("timer").timerWithDuration("P5D")
+        .sequenceFlowId("flow2")
+        .endEvent("timerEnd")
+      .moveToActivity("userTask")
+      .sequenceFlowId("flow3")
+      .endEvent("end")
+      .done();
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.identity.Group;
+import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskQuery;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class TaskVisibilityQueryTest {
+
+  protected static final String TABLE_NAME = "ACT_RU_TASK_VISIBILITY";
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected TaskService taskService;
+  protected IdentityService identityService;
+  protected ManagementService managementService;
+
+  protected List<String> taskIds = new ArrayList<String>();
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    taskService = engineRule.getTaskService();
+    identityService = engineRule.getIdentityService();
+    managementService = engineRule.getManagementService();
+
+    User user = identityService.newUser("kermit");
+    identityService.saveUser(user);
+    Group group = identityService.newGroup("management");
+    identityService.saveGroup(group);
+    identityService.createMembership("kermit", "management");
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setTaskVisibilityQueryEnabled(false);
+
+    for (String taskId : taskIds) {
+      taskService.deleteTask(taskId, true);
+    }
+    identityService.deleteGroup("management");
+    identityService.deleteUser("kermit");
+  }
+
+  @Test
+  public void shouldMaintainVisibilityWithCandidateIdentityLinks() {
+    // given
+    Task task = createTask("task");
+
+    // when
+    taskService.addCandidateGroup(task.getId(), "management");
+    taskService.addCandidateUser(task.getId(), "kermit");
+    taskService.addUserIdentityLink(task.getId(), "fozzie", "participant");
+
+    // then only the candidates are visible
+    assertThat(getVisibilityCount()).isEqualTo(2);
+
+    // when
+    taskService.deleteCandidateGroup(task.getId(), "management");
+
+    // then
+    assertThat(getVisibilityCount()).isEqualTo(1);
+
+    // when
+    taskService.deleteTask(task.getId(), true);
+    taskIds.remove(task.getId());
+
+    // then
+    assertThat(getVisibilityCount()).isZero();
+  }
+
+  @Test
+  public void shouldReturnSameResultsAsIdentityLinkJoin() {
+    // given
+    Task groupTask = createTask("groupTask");
+    taskService.addCandidateGroup(groupTask.getId(), "management");
+    taskService.addCandidateGroup(groupTask.getId(), "accountancy");
+
+    Task userTask = createTask("userTask");
+    taskService.addCandidateUser(userTask.getId(), "kermit");
+
+    Task assignedTask = createTask("assignedTask");
+    taskService.addCandidateGroup(assignedTask.getId(), "management");
+    taskService.setAssignee(assignedTask.getId(), "gonzo");
+
+    Task otherTask = createTask("otherTask");
+    taskService.addCandidateGroup(otherTask.getId(), "sales");
+
+    List<TaskQuery> queries = new ArrayList<TaskQuery>();
+    queries.add(taskService.createTaskQuery().taskCandidateGroup("management"));
+    queries.add(taskService.createTaskQuery().taskCandidateGroup("management").includeAssignedTasks());
+    queries.add(taskService.createTaskQuery().taskCandidateUser("kermit"));
+    queries.add(taskService.createTaskQuery().taskCandidateUser("kermit").includeAssignedTasks());
+    queries.add(taskService.createTaskQuery().taskCandidateGroupIn(Arrays.asList("management", "accountancy")));
+    queries.add(taskService.createTaskQuery().taskCandidateGroup("sales").taskName("groupTask"));
+
+    for (TaskQuery query : queries) {
+      // when
+      processEngineConfiguration.setTaskVisibilityQueryEnabled(false);
+      List<String> expectedNames = getNames(query.orderByTaskName().asc().list());
+      long expectedCount = query.count();
+
+      processEngineConfiguration.setTaskVisibilityQueryEnabled(true);
+      List<String> actualNames = getNames(query.list());
+      long actualCount = query.count();
+
+      // then
+      assertThat(actualNames).isEqualTo(expectedNames);
+      assertThat(actualCount).isEqualTo(expectedCount);
+    }
+  }
+
+  @Test
+  public void shouldQueryByCandidateUserAndGroups() {
+    // given
+    Task groupTask = createTask("groupTask");
+    taskService.addCandidateGroup(groupTask.getId(), "management");
+
+    Task userTask = createTask("userTask");
+    taskService.addCandidateUser(userTask.getId(), "kermit");
+
+    createTask("otherTask");
+
+    processEngineConfiguration.setTaskVisibilityQueryEnabled(true);
+
+    // when
+    List<Task> tasks = taskService.createTaskQuery().taskCandidateUser("kermit").orderByTaskName().asc().list();
+
+    // then
+    assertThat(getNames(tasks)).containsExactly("groupTask", "userTask");
+  }
+
+  protected Task createTask(String name) {
+    Task task = taskService.newTask();
+    task.setName(name);
+    taskService.saveTask(task);
+    taskIds.add(task.getId());
+    return task;
+  }
+
+  protected long getVisibilityCount() {
+    return managementService.getTableCount().get(processEngineConfiguration.getDatabaseTablePrefix() + TABLE_NAME);
+  }
+
+  protected List<String> getNames(List<Task> tasks) {
+    List<String> names = new ArrayList<String>();
+    for (Task task : tasks) {
+      names.add(task.getName());
+    }
+    return names;
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.variable.serializer.LazyFileValueImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.impl.value.FileValueImpl;
+import org.camunda.bpm.engine.variable.value.FileValue;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class FileValueLazyLoadingTest {
+
+  protected static final byte[] CONTENT = "ABC".getBytes();
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  protected ProcessInstance processInstance;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done());
+    processInstance = runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+        .putValue("file", Variables.fileValue("test.txt").file(CONTENT).mimeType("text/plain").encoding("UTF-8").create()));
+
+    processEngineConfiguration.setFileValueLazyLoadingEnabled(true);
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setFileValueLazyLoadingEnabled(false);
+  }
+
+  @Test
+  public void shouldLoadContentOnFirstAccess() {
+    // when
+    FileValue fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+
+    // then
+    assertThat(fileValue).isInstanceOf(LazyFileValueImpl.class);
+    assertThat(fileValue.getFilename()).isEqualTo("test.txt");
+    assertThat(fileValue.getMimeType()).isEqualTo("text/plain");
+    assertThat(fileValue.getEncoding()).isEqualTo("UTF-8");
+    assertThat(((LazyFileValueImpl) fileValue).isLoaded()).isFalse();
+
+    assertThat(IoUtil.readInputStream(fileValue.getValue(), "file")).isEqualTo(CONTENT);
+    assertThat(((LazyFileValueImpl) fileValue).isLoaded()).isTrue();
+  }
+
+  @Test
+  public void shouldNotLoadContentOfQueriedVariables() {
+    // when
+    VariableInstance variableInstance = runtimeService.createVariableInstanceQuery()
+        .processInstanceIdIn(processInstance.getId())
+        .singleResult();
+
+    // then
+    LazyFileValueImpl fileValue = (LazyFileValueImpl) variableInstance.getTypedValue();
+    assertThat(fileValue.isLoaded()).isFalse();
+    assertThat(fileValue.getByteArray()).isEqualTo(CONTENT);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldLoadContentOfHistoricVariableOnFirstAccess() {
+    // when
+    HistoricVariableInstance variableInstance = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+
+    // then
+    LazyFileValueImpl fileValue = (LazyFileValueImpl) variableInstance.getTypedValue();
+    assertThat(fileValue.isLoaded()).isFalse();
+    assertThat(fileValue.getByteArray()).isEqualTo(CONTENT);
+  }
+
+  @Test
+  public void shouldSerializeLoadedContent() throws Exception {
+    // given
+    FileValue fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+
+    // when
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ObjectOutputStream(out).writeObject(fileValue);
+    Object deserialized = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray())).readObject();
+
+    // then
+    assertThat(deserialized).isExactlyInstanceOf(FileValueImpl.class);
+    assertThat(((FileValueImpl) deserialized).getByteArray()).isEqualTo(CONTENT);
+    assertThat(((FileValueImpl) deserialized).getFilename()).isEqualTo("test.txt");
+  }
+
+  @Test
+  public void shouldLoadContentEagerlyByDefault() {
+    // given
+    processEngineConfiguration.setFileValueLazyLoadingEnabled(false);
+
+    // when
+    FileValue fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+
+    // then
+    assertThat(fileValue).isExactlyInstanceOf(FileValueImpl.class);
+    assertThat(((FileValueImpl) fileValue).getByteArray()).isEqualTo(CONTENT);
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.history.UpdateValueDelegate;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.type.ValueType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ImplicitVariableUpdateDetectionTest {
+
+  protected static final String PROCESS = "org/camunda/bpm/engine/test/api/variables/ImplicitVariableUpdateTest.sequence.bpmn20.xml";
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration
+      .setDefaultImplicitUpdateDetection(ProcessEngineConfigurationImpl.IMPLICIT_UPDATE_DETECTION_COMPARE)
+      .setImplicitUpdateDetectionByValueType(null);
+  }
+
+  @Test
+  @Deployment(resources = PROCESS)
+  public void shouldNotSaveImplicitUpdateWithoutDetection() {
+    // given
+    processEngineConfiguration.setDefaultImplicitUpdateDetection(ProcessEngineConfigurationImpl.IMPLICIT_UPDATE_DETECTION_NONE);
+
+    // when
+    ProcessInstance processInstance = startProcessWithImplicitUpdate();
+
+    // then
+    List<String> list = getListVariable(processInstance);
+    assertThat(list).isEmpty();
+  }
+
+  @Test
+  @Deployment(resources = PROCESS)
+  public void shouldNotSaveImplicitUpdateWithoutDetectionForValueType() {
+    // given
+    processEngineConfiguration.setImplicitUpdateDetectionByValueType(
+        Collections.singletonMap(ValueType.OBJECT.getName(), ProcessEngineConfigurationImpl.IMPLICIT_UPDATE_DETECTION_NONE));
+
+    // when
+    ProcessInstance processInstance = startProcessWithImplicitUpdate();
+
+    // then
+    List<String> list = getListVariable(processInstance);
+    assertThat(list).isEmpty();
+  }
+
+  @Test
+  @Deployment(resources = PROCESS)
+  public void shouldSaveImplicitUpdateWithDetectionForValueType() {
+    // given
+    processEngineConfiguration
+      .setDefaultImplicitUpdateDetection(ProcessEngineConfigurationImpl.IMPLICIT_UPDATE_DETECTION_NONE)
+      .setImplicitUpdateDetectionByValueType(
+          Collections.singletonMap(ValueType.OBJECT.getName(), ProcessEngineConfigurationImpl.IMPLICIT_UPDATE_DETECTION_COMPARE));
+
+    // when
+    ProcessInstance processInstance = startProcessWithImplicitUpdate();
+
+    // then
+    List<String> list = getListVariable(processInstance);
+    assertThat(list).containsExactly(UpdateValueDelegate.NEW_ELEMENT);
+  }
+
+  protected ProcessInstance startProcessWithImplicitUpdate() {
+    return runtimeService.startProcessInstanceByKey("serviceTaskProcess",
+        Variables.createVariables()
+          .putValue("listVar", new ArrayList<String>())
+          .putValue("delegate", new UpdateValueDelegate()));
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<String> getListVariable(ProcessInstance processInstance) {
+    return (List<String>) runtimeService.getVariable(processInstance.getId(), "listVar");
+  }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.variable.Variables.objectValue;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.variable.serializer.SerializedValueCompression;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SerializedValueCompressionTest {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
+
+  protected static final String JAVA_DATA_FORMAT = Variables.SerializationDataFormats.JAVA.getName();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setJavaSerializationFormatEnabled(true);
+      configuration.setSerializedValueCompressionCodec(SerializedValueCompression.CODEC_GZIP);
+      configuration.setSerializedValueCompressionThreshold(512);
+      return configuration;
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  protected SerializedValueCompression serializedValueCompression;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+    serializedValueCompression = processEngineConfiguration.getSerializedValueCompression();
+  }
+
+  @After
+  public void resetCompression() {
+    processEngineConfiguration.setSerializedValueCompression(serializedValueCompression);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldCompressLargeValue() {
+    // given
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    JavaSerializable javaSerializable = new JavaSerializable(repeat("foo", 1000));
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(javaSerializable).serializationDataFormat(JAVA_DATA_FORMAT).create());
+
+    // then the value is stored compressed
+    byte[] storedBytes = getStoredBytes(instance.getId());
+    assertThat(SerializedValueCompression.isCompressed(storedBytes)).isTrue();
+    assertThat(storedBytes.length).isLessThan(1000);
+
+    // and read transparently
+    ObjectValue value = runtimeService.getVariableTyped(instance.getId(), "bean");
+    assertThat(value.getValue()).isEqualTo(javaSerializable);
+
+    ObjectValue serializedValue = runtimeService.getVariableTyped(instance.getId(), "bean", false);
+    assertThat(SerializedValueCompression.isCompressed(serializedValue.getValueSerialized().getBytes())).isFalse();
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldNotCompressSmallValue() {
+    // given
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    JavaSerializable javaSerializable = new JavaSerializable("foo");
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(javaSerializable).serializationDataFormat(JAVA_DATA_FORMAT).create());
+
+    // then
+    assertThat(SerializedValueCompression.isCompressed(getStoredBytes(instance.getId()))).isFalse();
+    assertThat(runtimeService.getVariable(instance.getId(), "bean")).isEqualTo(javaSerializable);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldReadCompressedValueWhenCompressionIsDisabled() {
+    // given
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    JavaSerializable javaSerializable = new JavaSerializable(repeat("foo", 1000));
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(javaSerializable).serializationDataFormat(JAVA_DATA_FORMAT).create());
+
+    // when
+    processEngineConfiguration.setSerializedValueCompression(null);
+
+    // then
+    assertThat(runtimeService.getVariable(instance.getId(), "bean")).isEqualTo(javaSerializable);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldReadCompressedHistoricValue() {
+    // given
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    JavaSerializable javaSerializable = new JavaSerializable(repeat("foo", 1000));
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(javaSerializable).serializationDataFormat(JAVA_DATA_FORMAT).create());
+
+    // then
+    HistoricVariableInstance historicVariable = historyService.createHistoricVariableInstanceQuery().singleResult();
+    assertThat(historicVariable.getValue()).isEqualTo(javaSerializable);
+  }
+
+  @Test
+  public void shouldCompressWithDeflate() {
+    // given
+    SerializedValueCompression compression = new SerializedValueCompression(SerializedValueCompression.CODEC_DEFLATE, 10);
+    byte[] value = repeat("bar", 100).getBytes();
+
+    // when
+    byte[] compressedValue = compression.compress(value);
+
+    // then
+    assertThat(SerializedValueCompression.isCompressed(compressedValue)).isTrue();
+    assertThat(SerializedValueCompression.decompress(compressedValue)).isEqualTo(value);
+  }
+
+  protected byte[] getStoredBytes(String processInstanceId) {
+    VariableInstanceEntity variable = (VariableInstanceEntity) runtimeService.createVariableInstanceQuery()
+        .processInstanceIdIn(processInstanceId)
+        .singleResult();
+    final String byteArrayId = variable.getByteArrayValueId();
+
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<byte[]>() {
+      public byte[] execute(CommandContext commandContext) {
+        return commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, byteArrayId).getBytes();
+      }
+    });
+  }
+
+  protected String repeat(String value, int times) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      builder.append(value);
+    }
+    return builder.toString();
+  }
+
+}
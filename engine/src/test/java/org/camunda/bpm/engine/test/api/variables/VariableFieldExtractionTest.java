@@ -0,0 +1,224 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableFieldEntity;
+import org.camunda.bpm.engine.impl.variable.VariableFieldExtractor;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.StringValue;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VariableFieldExtractionTest {
+
+  protected static final String VAR_FIELD_TABLE = "ACT_RU_VAR_FIELD";
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+
+  protected VariableFieldExtractor extractor = new KeyValueFieldExtractor("order");
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+
+    processEngineConfiguration.getVariableFieldExtractors().add(extractor);
+
+    testRule.deploy(Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done());
+  }
+
+  @After
+  public void tearDown() {
+    // fields are only deleted while they are extracted
+    for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery().list()) {
+      runtimeService.deleteProcessInstance(processInstance.getId(), null);
+    }
+    processEngineConfiguration.getVariableFieldExtractors().remove(extractor);
+  }
+
+  @Test
+  public void shouldQueryVariableInstancesByField() {
+    // given
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("order", "status=open;customer=c1"));
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("order", "status=closed;customer=c1"));
+
+    // when
+    VariableInstance variable = runtimeService.createVariableInstanceQuery()
+      .variableFieldEquals("status", "open")
+      .singleResult();
+
+    // then
+    assertThat(variable.getValue()).isEqualTo("status=open;customer=c1");
+    assertThat(runtimeService.createVariableInstanceQuery().variableFieldEquals("customer", "c1").count()).isEqualTo(2);
+    assertThat(runtimeService.createVariableInstanceQuery()
+      .variableFieldEquals("customer", "c1")
+      .variableFieldEquals("status", "closed")
+      .count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldQueryProcessInstancesByField() {
+    // given
+    ProcessInstance openOrder = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("order", "status=open"));
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("order", "status=closed"));
+
+    // when
+    ProcessInstance processInstance = runtimeService.createProcessInstanceQuery()
+      .variableFieldEquals("order", "status", "open")
+      .singleResult();
+
+    // then
+    assertThat(processInstance.getId()).isEqualTo(openOrder.getId());
+    assertThat(runtimeService.createProcessInstanceQuery().variableFieldEquals("otherVariable", "status", "open").count()).isZero();
+  }
+
+  @Test
+  public void shouldUpdateFieldsWhenVariableIsSet() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("order", "status=open;customer=c1"));
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "order", "status=closed;customer=c1");
+
+    // then
+    assertThat(runtimeService.createVariableInstanceQuery().variableFieldEquals("status", "open").count()).isZero();
+    assertThat(runtimeService.createVariableInstanceQuery().variableFieldEquals("status", "closed").count()).isEqualTo(1);
+    assertThat(runtimeService.createVariableInstanceQuery().variableFieldEquals("customer", "c1").count()).isEqualTo(1);
+    assertThat(managementService.getTableCount().get(VAR_FIELD_TABLE)).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldUpdateFieldsWhenVariableIsSetTwiceInOneCommand() {
+    // given
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstance.getId());
+        execution.setVariable("order", "status=open");
+        execution.setVariable("order", "status=closed");
+        execution.removeVariable("order");
+        execution.setVariable("order", "status=shipped");
+        return null;
+      }
+    });
+
+    // then
+    assertThat(runtimeService.createVariableInstanceQuery().variableFieldEquals("status", "shipped").count()).isEqualTo(1);
+    assertThat(managementService.getTableCount().get(VAR_FIELD_TABLE)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldDeleteFieldsWithVariable() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("order", "status=open").putValue("otherVariable", "status=open"));
+
+    // when
+    runtimeService.removeVariable(processInstance.getId(), "order");
+
+    // then
+    assertThat(managementService.getTableCount().get(VAR_FIELD_TABLE)).isZero();
+  }
+
+  @Test
+  public void shouldNotStoreFieldsLongerThanMaxLength() {
+    // given
+    String longCustomer = repeat("c", VariableFieldEntity.MAX_TEXT_LENGTH + 1);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("order", "status=open;customer=" + longCustomer));
+
+    // then
+    assertThat(runtimeService.createVariableInstanceQuery().variableFieldEquals("customer", longCustomer).count()).isZero();
+    assertThat(runtimeService.createVariableInstanceQuery().variableFieldEquals("status", "open").count()).isEqualTo(1);
+    assertThat(managementService.getTableCount().get(VAR_FIELD_TABLE)).isEqualTo(1);
+  }
+
+  protected String repeat(String value, int times) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      builder.append(value);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Extracts the fields of string values formatted as <code>key1=value1;key2=value2</code>.
+   */
+  public static class KeyValueFieldExtractor implements VariableFieldExtractor {
+
+    protected String variableName;
+
+    public KeyValueFieldExtractor(String variableName) {
+      this.variableName = variableName;
+    }
+
+    public boolean isExtracting(String variableName) {
+      return this.variableName.equals(variableName);
+    }
+
+    public Map<String, String> extractFields(String variableName, TypedValue value) {
+      if (!(value instanceof StringValue) || ((StringValue) value).getValue() == null) {
+        return Collections.emptyMap();
+      }
+
+      Map<String, String> fields = new HashMap<String, String>();
+      for (String field : ((StringValue) value).getValue().split(";")) {
+        String[] keyValue = field.split("=");
+        fields.put(keyValue[0], keyValue[1]);
+      }
+      return fields;
+    }
+  }
+
+}
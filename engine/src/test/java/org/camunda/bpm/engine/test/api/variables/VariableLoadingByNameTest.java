@@ -0,0 +1,156 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VariableLoadingByNameTest {
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected ProcessInstance processInstance;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done());
+    processInstance = runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+        .putValue("a", "aValue")
+        .putValue("b", "bValue")
+        .putValue("c", "cValue"));
+
+    processEngineConfiguration.setVariableLoadingByNameEnabled(true);
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setVariableLoadingByNameEnabled(false);
+  }
+
+  @Test
+  public void shouldLoadOnlyAccessedVariable() {
+    // when
+    int loadedVariables = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstance.getId());
+        assertThat(execution.getVariable("a")).isEqualTo("aValue");
+        assertThat(execution.hasVariable("d")).isFalse();
+
+        return commandContext.getDbEntityManager().getCachedEntitiesByType(VariableInstanceEntity.class).size();
+      }
+    });
+
+    // then
+    assertThat(loadedVariables).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldLoadVariableOfParentScopeByName() {
+    // given
+    final String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.setVariableLocal(taskId, "taskVariable", "value");
+
+    // when
+    int loadedVariables = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        TaskEntity task = commandContext.getTaskManager().findTaskById(taskId);
+        assertThat(task.getVariable("b")).isEqualTo("bValue");
+
+        return commandContext.getDbEntityManager().getCachedEntitiesByType(VariableInstanceEntity.class).size();
+      }
+    });
+
+    // then
+    assertThat(loadedVariables).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldMergeVariablesChangedByNameOnFullLoad() {
+    // when
+    Map<String, Object> variables = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Map<String, Object>>() {
+      public Map<String, Object> execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstance.getId());
+        execution.setVariable("a", "newValue");
+        execution.setVariable("d", "dValue");
+        execution.removeVariable("b");
+
+        return execution.getVariables();
+      }
+    });
+
+    // then
+    assertThat(variables)
+      .hasSize(3)
+      .containsEntry("a", "newValue")
+      .containsEntry("c", "cValue")
+      .containsEntry("d", "dValue");
+    assertThat(runtimeService.getVariables(processInstance.getId())).isEqualTo(variables);
+  }
+
+  @Test
+  public void shouldLoadAllVariablesByDefault() {
+    // given
+    processEngineConfiguration.setVariableLoadingByNameEnabled(false);
+
+    // when
+    int loadedVariables = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstance.getId());
+        execution.getVariable("a");
+
+        return commandContext.getDbEntityManager().getCachedEntitiesByType(VariableInstanceEntity.class).size();
+      }
+    });
+
+    // then
+    assertThat(loadedVariables).isEqualTo(3);
+  }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.deployment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.DeploymentWithDefinitions;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ParallelBpmnDeploymentTest {
+
+  protected static final int NUMBER_OF_RESOURCES = 20;
+
+  protected static RecordingParseListener parseListener = new RecordingParseListener();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setDeploymentParseParallelism(4);
+      List<BpmnParseListener> parseListeners = new ArrayList<BpmnParseListener>();
+      parseListeners.add(parseListener);
+      configuration.setCustomPostBPMNParseListeners(parseListeners);
+      return configuration;
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+
+  @Before
+  public void setUp() {
+    repositoryService = engineRule.getRepositoryService();
+    parseListener.reset();
+  }
+
+  @Test
+  public void shouldDeployAllResources() {
+    // when
+    DeploymentWithDefinitions deployment = testRule.deploy(createProcesses(NUMBER_OF_RESOURCES));
+
+    // then
+    assertThat(deployment.getDeployedProcessDefinitions()).hasSize(NUMBER_OF_RESOURCES);
+    assertThat(repositoryService.createProcessDefinitionQuery().count()).isEqualTo(NUMBER_OF_RESOURCES);
+    assertThat(repositoryService.createProcessDefinitionQuery().processDefinitionKey("process7").singleResult())
+      .isNotNull();
+  }
+
+  @Test
+  public void shouldInvokeParseListenersInDeployingThread() {
+    // when
+    testRule.deploy(createProcesses(NUMBER_OF_RESOURCES));
+
+    // then
+    assertThat(parseListener.getProcessKeys()).hasSize(NUMBER_OF_RESOURCES);
+    assertThat(parseListener.getThreads()).containsOnly(Thread.currentThread());
+  }
+
+  @Test
+  public void shouldFailDeploymentOnInvalidResource() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    BpmnModelInstance[] processes = createProcesses(NUMBER_OF_RESOURCES);
+    for (int i = 0; i < processes.length; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", processes[i]);
+    }
+    deploymentBuilder.addString("invalid.bpmn", "<definitions>");
+
+    // when
+    try {
+      deploymentBuilder.deploy();
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("invalid.bpmn");
+    }
+
+    assertThat(repositoryService.createDeploymentQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldReadResourcesOnEngineOwnedExecutor() {
+    // given
+    ThreadPoolExecutor executor = (ThreadPoolExecutor) engineRule.getProcessEngineConfiguration().getDeploymentParseExecutor();
+    long completedTasks = executor.getCompletedTaskCount();
+
+    // when
+    testRule.deploy(createProcesses(NUMBER_OF_RESOURCES));
+    testRule.deploy(createProcesses(NUMBER_OF_RESOURCES));
+
+    // then
+    assertThat(engineRule.getProcessEngineConfiguration().getDeploymentParseExecutor()).isSameAs(executor);
+    assertThat(executor.isShutdown()).isFalse();
+    assertThat(executor.getCompletedTaskCount() - completedTasks).isEqualTo(2 * NUMBER_OF_RESOURCES);
+  }
+
+  @Test
+  public void shouldShutDownExecutorWhenEngineIsClosed() {
+    // given
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:camunda" + getClass().getSimpleName());
+    configuration
+      .setDeploymentParseParallelism(2)
+      .setProcessEngineName("parseExecutorEngine");
+
+    ProcessEngine processEngine = configuration.buildProcessEngine();
+    ExecutorService executor = configuration.getDeploymentParseExecutor();
+    assertThat(executor).isNotNull();
+
+    // when
+    processEngine.close();
+
+    // then
+    assertThat(executor.isShutdown()).isTrue();
+  }
+
+  @Test
+  public void shouldNotShutDownCustomExecutor() {
+    // given
+    ExecutorService customExecutor = Executors.newSingleThreadExecutor();
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:camunda" + getClass().getSimpleName());
+    configuration
+      .setDeploymentParseExecutor(customExecutor)
+      .setProcessEngineName("customParseExecutorEngine");
+
+    ProcessEngine processEngine = configuration.buildProcessEngine();
+
+    try {
+      // when
+      processEngine.close();
+
+      // then
+      assertThat(customExecutor.isShutdown()).isFalse();
+
+    } finally {
+      customExecutor.shutdownNow();
+    }
+  }
+
+  protected BpmnModelInstance[] createProcesses(int count) {
+    BpmnModelInstance[] processes = new BpmnModelInstance[count];
+    for (int i = 0; i < count; i++) {
+      processes[i] = Bpmn.createExecutableProcess("process" + i)
+        .startEvent()
+        .userTask()
+        .endEvent()
+        .done();
+    }
+    return processes;
+  }
+
+  public static class RecordingParseListener extends AbstractBpmnParseListener {
+
+    protected List<String> processKeys = Collections.synchronizedList(new ArrayList<String>());
+    protected List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+
+    @Override
+    public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+      processKeys.add(processDefinition.getKey());
+      threads.add(Thread.currentThread());
+    }
+
+    public List<String> getProcessKeys() {
+      return processKeys;
+    }
+
+    public List<Thread> getThreads() {
+      return threads;
+    }
+
+    public void reset() {
+      processKeys.clear();
+      threads.clear();
+    }
+  }
+
+}
@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.test.jobexecutor;
 
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -58,6 +59,7 @@ public class AcquireJobCmdUnitTest {
     acquireJobsCmd = new AcquireJobsCmd(jobExecutor);
 
     commandContext = mock(CommandContext.class);
+    when(commandContext.getProcessEngineConfiguration()).thenReturn(mock(ProcessEngineConfigurationImpl.class));
 
     DbEntityManager dbEntityManager = mock(DbEntityManager.class);
     when(commandContext.getDbEntityManager()).thenReturn(dbEntityManager);
@@ -0,0 +1,250 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.AdaptiveJobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.BackoffJobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveJobAcquisitionStrategyTest {
+
+  protected static final String ENGINE_NAME = "engine";
+
+  protected static final int POOL_SIZE = 10;
+  protected static final int QUEUE_CAPACITY = 3;
+  protected static final int BASE_IDLE_WAIT_TIME = 50;
+  protected static final long MAX_IDLE_TIME = 500;
+
+  protected JobExecutor jobExecutor;
+  protected int activeCount;
+  protected int queueSize;
+
+  @Before
+  public void setUp() {
+    jobExecutor = new DefaultJobExecutor();
+    jobExecutor.setWaitTimeInMillis(BASE_IDLE_WAIT_TIME);
+    jobExecutor.setWaitIncreaseFactor(2);
+    jobExecutor.setMaxWait(MAX_IDLE_TIME);
+    jobExecutor.setTargetUtilization(0.8f);
+
+    activeCount = 0;
+    queueSize = 0;
+  }
+
+  @Test
+  public void shouldFillIdlePoolUpToTargetAndQueue() {
+    // given an idle thread pool
+    JobAcquisitionStrategy strategy = createStrategy();
+
+    // when jobs are due
+    strategy.reconfigure(buildContext(3, 3));
+
+    // then the threads are filled up to the target utilization and the queue is filled
+    assertThat(strategy.getWaitTime()).isEqualTo(0L);
+    assertThat(strategy.getNumJobsToAcquire(ENGINE_NAME)).isEqualTo(8 + QUEUE_CAPACITY);
+  }
+
+  @Test
+  public void shouldWaitUntilExcessLoadIsWorkedOff() {
+    // given a saturated thread pool and an average execution time of 100ms
+    JobAcquisitionStrategy strategy = createStrategy();
+    activeCount = POOL_SIZE;
+    queueSize = QUEUE_CAPACITY;
+    jobExecutor.getJobExecutionTimes().record(100);
+
+    // when jobs are due
+    strategy.reconfigure(buildContext(3, 3));
+
+    // then the strategy waits until the load has decreased to the target
+    // (13 - 8) * 100ms / 10 threads = 50ms
+    assertThat(strategy.getWaitTime()).isEqualTo(50L);
+    // and looks at the pool again before acquiring jobs
+    assertThat(strategy.getNumJobsToAcquire(ENGINE_NAME)).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldWaitOnSaturationWithoutExecutionTimes() {
+    // given a saturated thread pool and no job executed yet
+    JobAcquisitionStrategy strategy = createStrategy();
+    activeCount = POOL_SIZE;
+    queueSize = QUEUE_CAPACITY;
+
+    // when jobs are due
+    strategy.reconfigure(buildContext(3, 3));
+
+    // then no jobs are acquired until resources are available
+    assertThat(strategy.getWaitTime()).isEqualTo(BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME);
+    assertThat(strategy.getNumJobsToAcquire(ENGINE_NAME)).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotAcquireMoreJobsThanResubmitted() {
+    // given a thread pool that is half busy
+    JobAcquisitionStrategy strategy = createStrategy();
+    activeCount = 5;
+
+    // when two jobs were rejected and are resubmitted in the next cycle
+    JobAcquisitionContext context = buildContext(3, 3);
+    context.submitRejectedBatch(ENGINE_NAME, Arrays.asList("1"));
+    context.submitRejectedBatch(ENGINE_NAME, Arrays.asList("2"));
+    strategy.reconfigure(context);
+
+    // then fewer jobs are acquired
+    assertThat(strategy.getNumJobsToAcquire(ENGINE_NAME)).isEqualTo(8 + QUEUE_CAPACITY - 5 - 2);
+  }
+
+  @Test
+  public void shouldCountJobsOfResubmittedBatches() {
+    // given a thread pool that is half busy
+    JobAcquisitionStrategy strategy = createStrategy();
+    activeCount = 5;
+
+    // when a batch of three exclusive jobs was rejected and is resubmitted in the next cycle
+    JobAcquisitionContext context = buildContext(3, 3);
+    context.submitRejectedBatch(ENGINE_NAME, Arrays.asList("1", "2", "3"));
+    strategy.reconfigure(context);
+
+    // then each of its jobs counts
+    assertThat(strategy.getNumJobsToAcquire(ENGINE_NAME)).isEqualTo(8 + QUEUE_CAPACITY - 5 - 3);
+  }
+
+  @Test
+  public void shouldIncreaseIdleTimeWhenNoJobsAreDue() {
+    // given
+    JobAcquisitionStrategy strategy = createStrategy();
+
+    // when the acquisitions acquire fewer jobs than requested
+    strategy.reconfigure(buildContext(3, 1));
+    long firstWaitTime = strategy.getWaitTime();
+    strategy.reconfigure(buildContext(3, 0));
+    long secondWaitTime = strategy.getWaitTime();
+    for (int i = 0; i < 10; i++) {
+      strategy.reconfigure(buildContext(3, 0));
+    }
+
+    // then the idle time increases up to the maximum
+    assertThat(firstWaitTime).isEqualTo(BASE_IDLE_WAIT_TIME);
+    assertThat(secondWaitTime).isEqualTo(2 * BASE_IDLE_WAIT_TIME);
+    assertThat(strategy.getWaitTime()).isEqualTo(MAX_IDLE_TIME);
+
+    // and is reset when a job is added
+    JobAcquisitionContext context = buildContext(3, 0);
+    context.setJobAdded(true);
+    strategy.reconfigure(context);
+    assertThat(strategy.getWaitTime()).isEqualTo(0L);
+  }
+
+  @Test
+  public void shouldCreateConfiguredStrategy() {
+    assertThat(jobExecutor.createAcquisitionStrategy()).isInstanceOf(BackoffJobAcquisitionStrategy.class);
+
+    jobExecutor.setAcquisitionStrategy(JobExecutor.ACQUISITION_STRATEGY_ADAPTIVE);
+    assertThat(jobExecutor.createAcquisitionStrategy()).isInstanceOf(AdaptiveJobAcquisitionStrategy.class);
+  }
+
+  @Test(expected = ProcessEngineException.class)
+  public void shouldRejectUnknownStrategy() {
+    jobExecutor.setAcquisitionStrategy("unknown");
+  }
+
+  @Test
+  public void shouldKeepThreadsBusyWithoutRejections() {
+    // given the default job executor configuration
+    // and an unlimited number of due jobs taking 50ms each
+    jobExecutor = new DefaultJobExecutor();
+    JobAcquisitionSimulation simulation = new JobAcquisitionSimulation()
+      .poolSize(POOL_SIZE)
+      .queueCapacity(QUEUE_CAPACITY)
+      .jobExecutionTime(50)
+      .acquisitionTime(10);
+
+    // when simulating one minute of job execution
+    simulation.run(jobExecutor, simulation.createAdaptiveStrategy(jobExecutor), 60 * 1000);
+
+    // then the threads are kept busy most of the time
+    assertThat(simulation.getUtilization()).isGreaterThan(0.8);
+    // and no acquired jobs are rejected
+    assertThat(simulation.getNumRejectedJobs()).isZero();
+  }
+
+  @Test
+  public void shouldOutperformBackoffStrategy() {
+    // given
+    JobExecutor backoffJobExecutor = new DefaultJobExecutor();
+    JobAcquisitionSimulation backoffSimulation = new JobAcquisitionSimulation()
+      .jobExecutionTime(50)
+      .acquisitionTime(10);
+
+    JobExecutor adaptiveJobExecutor = new DefaultJobExecutor();
+    JobAcquisitionSimulation adaptiveSimulation = new JobAcquisitionSimulation()
+      .jobExecutionTime(50)
+      .acquisitionTime(10);
+
+    // when
+    backoffSimulation.run(backoffJobExecutor, new BackoffJobAcquisitionStrategy(backoffJobExecutor), 60 * 1000);
+    adaptiveSimulation.run(adaptiveJobExecutor, adaptiveSimulation.createAdaptiveStrategy(adaptiveJobExecutor), 60 * 1000);
+
+    // then
+    assertThat(adaptiveSimulation.getUtilization()).isGreaterThan(backoffSimulation.getUtilization());
+    assertThat(adaptiveSimulation.getNumExecutedJobs()).isGreaterThan(backoffSimulation.getNumExecutedJobs());
+    assertThat(adaptiveSimulation.getNumRejectedJobs()).isLessThan(backoffSimulation.getNumRejectedJobs());
+  }
+
+  protected JobAcquisitionStrategy createStrategy() {
+    return new AdaptiveJobAcquisitionStrategy(jobExecutor) {
+
+      protected int getPoolSize() {
+        return POOL_SIZE;
+      }
+
+      protected int getActiveCount() {
+        return activeCount;
+      }
+
+      protected int getQueueSize() {
+        return queueSize;
+      }
+
+      protected long getQueueCapacity() {
+        return QUEUE_CAPACITY;
+      }
+    };
+  }
+
+  protected JobAcquisitionContext buildContext(int numJobsToAcquire, int numJobsAcquired) {
+    AcquiredJobs acquiredJobs = new AcquiredJobs(numJobsToAcquire);
+    for (int i = 0; i < numJobsAcquired; i++) {
+      acquiredJobs.addJobIdBatch(Integer.toString(i));
+    }
+
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, acquiredJobs);
+    return context;
+  }
+
+}
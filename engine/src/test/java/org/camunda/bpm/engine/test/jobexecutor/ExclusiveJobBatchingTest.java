@@ -0,0 +1,204 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExclusiveJobBatchingTest {
+
+  protected static final int NUMBER_OF_JOBS = 5;
+
+  protected static final BpmnModelInstance MULTI_INSTANCE_PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+    .serviceTask("task")
+      .camundaClass(RecordingDelegate.class.getName())
+      .multiInstance()
+        .cardinality(String.valueOf(NUMBER_OF_JOBS))
+        .camundaAsyncBefore()
+      .multiInstanceDone()
+    .endEvent()
+    .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setJobExecutorExclusiveJobBatchSize(10);
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected JobExecutor jobExecutor;
+  protected int defaultMaxJobsPerAcquisition;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+
+    // acquire all jobs of the process instance at once
+    jobExecutor = engineRule.getProcessEngineConfiguration().getJobExecutor();
+    defaultMaxJobsPerAcquisition = jobExecutor.getMaxJobsPerAcquisition();
+    jobExecutor.setMaxJobsPerAcquisition(NUMBER_OF_JOBS);
+
+    RecordingDelegate.reset();
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.setMaxJobsPerAcquisition(defaultMaxJobsPerAcquisition);
+    RecordingDelegate.reset();
+  }
+
+  @Test
+  public void shouldExecuteExclusiveJobsInOneTransaction() {
+    // given
+    testRule.deploy(MULTI_INSTANCE_PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(RecordingDelegate.loopCounters).containsOnly(0, 1, 2, 3, 4);
+    assertThat(RecordingDelegate.loopCounters).hasSize(NUMBER_OF_JOBS);
+    assertThat(RecordingDelegate.commandContexts).hasSize(1);
+  }
+
+  @Test
+  public void shouldIsolateFailingJob() {
+    // given
+    testRule.deploy(MULTI_INSTANCE_PROCESS);
+    runtimeService.startProcessInstanceByKey("process", Collections.<String, Object>singletonMap("failingLoopCounter", 2));
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then only the job of the failing instance remains
+    Job job = managementService.createJobQuery().singleResult();
+    assertThat(job.getRetries()).isZero();
+    assertThat(job.getExceptionMessage()).isEqualTo("expected exception");
+
+    // and the other jobs have been executed
+    assertThat(RecordingDelegate.successfulLoopCounters).containsOnly(0, 1, 3, 4);
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepBatchingJobsOfFailingJobInstance() {
+    // given
+    testRule.deploy(MULTI_INSTANCE_PROCESS);
+    runtimeService.startProcessInstanceByKey("process", Collections.<String, Object>singletonMap("failingLoopCounter", 2));
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then the jobs before and after the failing job are still executed in one transaction each
+    Set<Object> successfulCommandContexts = new HashSet<Object>(RecordingDelegate.successfulCommandContexts.values());
+    assertThat(RecordingDelegate.successfulCommandContexts).hasSize(NUMBER_OF_JOBS - 1);
+    assertThat(successfulCommandContexts.size()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  public void shouldExecuteJobsOfDifferentProcessInstancesInSeparateTransactions() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaClass(RecordingDelegate.class.getName())
+      .endEvent()
+      .done());
+
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(RecordingDelegate.commandContexts).hasSize(2);
+  }
+
+  public static class RecordingDelegate implements JavaDelegate {
+
+    protected static List<Integer> loopCounters = Collections.synchronizedList(new ArrayList<Integer>());
+    protected static List<Integer> successfulLoopCounters = Collections.synchronizedList(new ArrayList<Integer>());
+    protected static Set<Object> commandContexts = Collections.synchronizedSet(new HashSet<Object>());
+    protected static Map<Integer, Object> successfulCommandContexts = Collections.synchronizedMap(new HashMap<Integer, Object>());
+
+    public void execute(DelegateExecution execution) throws Exception {
+      Integer loopCounter = (Integer) execution.getVariable("loopCounter");
+      commandContexts.add(Context.getCommandContext());
+
+      if (loopCounter != null) {
+        loopCounters.add(loopCounter);
+        if (loopCounter.equals(execution.getVariable("failingLoopCounter"))) {
+          throw new RuntimeException("expected exception");
+        }
+        successfulLoopCounters.add(loopCounter);
+        successfulCommandContexts.put(loopCounter, Context.getCommandContext());
+      }
+    }
+
+    public static void reset() {
+      loopCounters.clear();
+      successfulLoopCounters.clear();
+      commandContexts.clear();
+      successfulCommandContexts.clear();
+    }
+  }
+
+}
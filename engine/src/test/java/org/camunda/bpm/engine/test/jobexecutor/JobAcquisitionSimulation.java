@@ -0,0 +1,228 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.AdaptiveJobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+
+/**
+ * Simulates the job acquisition thread and a job execution thread pool in virtual time
+ * (one step per millisecond), so that acquisition strategies can be compared
+ * deterministically in terms of thread utilization and rejected jobs.
+ */
+public class JobAcquisitionSimulation {
+
+  protected static final String ENGINE_NAME = "engine";
+
+  // pool configuration
+  protected int poolSize = 10;
+  protected int queueCapacity = 3;
+
+  // workload
+  protected int numDueJobs = Integer.MAX_VALUE;
+  protected long jobExecutionTime = 50;
+  protected long acquisitionTime = 10;
+
+  // pool state
+  protected long[] remainingExecutionTimes;
+  protected int queuedJobs;
+
+  // results
+  protected long busyThreadTime;
+  protected long simulatedTime;
+  protected int numExecutedJobs;
+  protected int numRejectedJobs;
+  protected int numAcquisitionCycles;
+
+  public JobAcquisitionSimulation poolSize(int poolSize) {
+    this.poolSize = poolSize;
+    return this;
+  }
+
+  public JobAcquisitionSimulation queueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+    return this;
+  }
+
+  public JobAcquisitionSimulation numDueJobs(int numDueJobs) {
+    this.numDueJobs = numDueJobs;
+    return this;
+  }
+
+  public JobAcquisitionSimulation jobExecutionTime(long jobExecutionTime) {
+    this.jobExecutionTime = jobExecutionTime;
+    return this;
+  }
+
+  public JobAcquisitionSimulation acquisitionTime(long acquisitionTime) {
+    this.acquisitionTime = acquisitionTime;
+    return this;
+  }
+
+  /**
+   * @return an adaptive strategy which observes the simulated thread pool
+   */
+  public JobAcquisitionStrategy createAdaptiveStrategy(JobExecutor jobExecutor) {
+    return new AdaptiveJobAcquisitionStrategy(jobExecutor) {
+
+      protected int getPoolSize() {
+        return poolSize;
+      }
+
+      protected int getActiveCount() {
+        return countBusyThreads();
+      }
+
+      protected int getQueueSize() {
+        return queuedJobs;
+      }
+
+      protected long getQueueCapacity() {
+        return queueCapacity;
+      }
+    };
+  }
+
+  /**
+   * Runs the simulation for the given duration in milliseconds. The execution times of the
+   * simulated jobs are recorded in the job executor's {@link JobExecutor#getJobExecutionTimes()}.
+   */
+  public JobAcquisitionSimulation run(JobExecutor jobExecutor, JobAcquisitionStrategy strategy, long duration) {
+    remainingExecutionTimes = new long[poolSize];
+    queuedJobs = 0;
+    busyThreadTime = 0;
+    numExecutedJobs = 0;
+    numRejectedJobs = 0;
+    numAcquisitionCycles = 0;
+
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    long nextAcquisition = 0;
+    long acquisitionFinished = -1;
+    int numJobsToSubmit = 0;
+
+    for (simulatedTime = 0; simulatedTime < duration; simulatedTime++) {
+      executeJobs(jobExecutor);
+
+      if (simulatedTime == nextAcquisition) {
+        // the jobs are locked in the database, the acquisition takes some time
+        context.reset();
+        int numJobsToAcquire = strategy.getNumJobsToAcquire(ENGINE_NAME);
+        numJobsToSubmit = Math.min(numJobsToAcquire, numDueJobs);
+        numDueJobs -= numJobsToSubmit;
+
+        AcquiredJobs acquiredJobs = new AcquiredJobs(numJobsToAcquire);
+        for (int i = 0; i < numJobsToSubmit; i++) {
+          acquiredJobs.addJobIdBatch(Integer.toString(i));
+        }
+        context.submitAcquiredJobs(ENGINE_NAME, acquiredJobs);
+
+        acquisitionFinished = simulatedTime + (numJobsToAcquire > 0 ? acquisitionTime : 0);
+      }
+
+      if (simulatedTime == acquisitionFinished) {
+        List<List<String>> additionalJobs = context.getAdditionalJobsByEngine().get(ENGINE_NAME);
+        if (additionalJobs != null) {
+          for (List<String> jobBatch : additionalJobs) {
+            submitJob(context, jobBatch);
+          }
+        }
+        for (List<String> jobBatch : context.getAcquiredJobsByEngine().get(ENGINE_NAME).getJobIdBatches()) {
+          submitJob(context, jobBatch);
+        }
+
+        strategy.reconfigure(context);
+        numAcquisitionCycles++;
+        nextAcquisition = simulatedTime + Math.max(1, strategy.getWaitTime());
+      }
+    }
+
+    return this;
+  }
+
+  protected void executeJobs(JobExecutor jobExecutor) {
+    for (int i = 0; i < remainingExecutionTimes.length; i++) {
+      if (remainingExecutionTimes[i] > 0) {
+        busyThreadTime++;
+        remainingExecutionTimes[i]--;
+
+        if (remainingExecutionTimes[i] == 0) {
+          numExecutedJobs++;
+          jobExecutor.getJobExecutionTimes().record(jobExecutionTime);
+
+          if (queuedJobs > 0) {
+            queuedJobs--;
+            remainingExecutionTimes[i] = jobExecutionTime;
+          }
+        }
+      }
+    }
+  }
+
+  protected void submitJob(JobAcquisitionContext context, List<String> jobBatch) {
+    for (int i = 0; i < remainingExecutionTimes.length; i++) {
+      if (remainingExecutionTimes[i] == 0) {
+        remainingExecutionTimes[i] = jobExecutionTime;
+        return;
+      }
+    }
+
+    if (queuedJobs < queueCapacity) {
+      queuedJobs++;
+    }
+    else {
+      numRejectedJobs++;
+      context.submitRejectedBatch(ENGINE_NAME, new ArrayList<String>(Collections.singletonList(jobBatch.get(0))));
+    }
+  }
+
+  protected int countBusyThreads() {
+    int busyThreads = 0;
+    for (long remainingExecutionTime : remainingExecutionTimes) {
+      if (remainingExecutionTime > 0) {
+        busyThreads++;
+      }
+    }
+    return busyThreads;
+  }
+
+  /**
+   * @return the share of the simulated time the threads were busy
+   */
+  public double getUtilization() {
+    return (double) busyThreadTime / (poolSize * simulatedTime);
+  }
+
+  public int getNumExecutedJobs() {
+    return numExecutedJobs;
+  }
+
+  public int getNumRejectedJobs() {
+    return numRejectedJobs;
+  }
+
+  public int getNumAcquisitionCycles() {
+    return numAcquisitionCycles;
+  }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.camunda.bpm.engine.impl.jobexecutor.OverflowQueueRejectedJobsHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class OverflowQueueRejectedJobsHandlerTest {
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+
+  protected ControllableJobExecutor jobExecutor;
+  protected ProcessEngineImpl processEngine;
+
+  /** the unlocks handed off by the handler, run by the test */
+  protected List<Runnable> unlocks;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+
+    processEngine = (ProcessEngineImpl) engineRule.getProcessEngine();
+    jobExecutor = new ControllableJobExecutor(processEngine);
+    unlocks = new ArrayList<Runnable>();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+        .camundaAsyncBefore()
+      .endEvent()
+      .done());
+  }
+
+  @Test
+  public void shouldQueueRejectedJobsWithinCapacity() {
+    // given
+    OverflowQueueRejectedJobsHandler handler = createHandler(2, 10000);
+    List<List<String>> jobBatches = acquireJobs(2);
+
+    // when
+    for (List<String> jobBatch : jobBatches) {
+      handler.jobsRejected(jobBatch, processEngine, jobExecutor);
+    }
+
+    // then the jobs are submitted again in the next acquisition cycle
+    JobAcquisitionContext context = jobExecutor.getAcquireJobsRunnable().getAcquisitionContext();
+    assertThat(context.getRejectedJobsByEngine().get(processEngine.getName())).hasSize(2);
+    assertThat(handler.getNumQueuedJobs()).isEqualTo(2);
+
+    // and stay locked
+    assertThat(getLockedJobIds()).hasSize(2);
+  }
+
+  @Test
+  public void shouldUnlockJobsExceedingCapacity() {
+    // given
+    OverflowQueueRejectedJobsHandler handler = createHandler(1, 10000);
+    List<List<String>> jobBatches = acquireJobs(3);
+
+    // when
+    for (List<String> jobBatch : jobBatches) {
+      handler.jobsRejected(jobBatch, processEngine, jobExecutor);
+    }
+
+    // then only the first job is queued
+    JobAcquisitionContext context = jobExecutor.getAcquireJobsRunnable().getAcquisitionContext();
+    assertThat(context.getRejectedJobsByEngine().get(processEngine.getName())).containsExactly(jobBatches.get(0));
+
+    // and the other jobs are unlocked by the unlock executor
+    assertThat(unlocks).hasSize(2);
+    runUnlocks();
+    assertThat(getLockedJobIds()).containsExactlyElementsOf(jobBatches.get(0));
+    assertThat(handler.getNumUnlockedJobs()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldUnlockJobsWaitingTooLong() {
+    // given a job that was queued before
+    OverflowQueueRejectedJobsHandler handler = createHandler(10, 0);
+    List<String> jobBatch = acquireJobs(1).get(0);
+    List<String> queuedJobBatch = new OverflowQueueRejectedJobsHandler.QueuedJobBatch(jobBatch, System.currentTimeMillis() - 1000);
+
+    // when it is rejected again
+    handler.jobsRejected(queuedJobBatch, processEngine, jobExecutor);
+
+    // then it is unlocked
+    runUnlocks();
+    assertThat(getLockedJobIds()).isEmpty();
+    JobAcquisitionContext context = jobExecutor.getAcquireJobsRunnable().getAcquisitionContext();
+    assertThat(context.getRejectedJobsByEngine()).isEmpty();
+  }
+
+  @Test
+  public void shouldNotUnlockJobsOnAcquisitionThread() {
+    // given
+    OverflowQueueRejectedJobsHandler handler = createHandler(0, 10000);
+    List<String> jobBatch = acquireJobs(1).get(0);
+
+    // when
+    handler.jobsRejected(jobBatch, processEngine, jobExecutor);
+
+    // then the job is still locked until the unlock executor runs
+    assertThat(getLockedJobIds()).containsExactlyElementsOf(jobBatch);
+    assertThat(handler.getNumUnlockedJobs()).isZero();
+
+    runUnlocks();
+    assertThat(getLockedJobIds()).isEmpty();
+    assertThat(handler.getNumUnlockedJobs()).isEqualTo(1);
+  }
+
+  protected OverflowQueueRejectedJobsHandler createHandler(int queueCapacity, long maxQueueTime) {
+    OverflowQueueRejectedJobsHandler handler = new OverflowQueueRejectedJobsHandler(queueCapacity, maxQueueTime);
+    handler.setUnlockExecutor(new Executor() {
+      public void execute(Runnable command) {
+        unlocks.add(command);
+      }
+    });
+    return handler;
+  }
+
+  protected void runUnlocks() {
+    for (Runnable unlock : unlocks) {
+      unlock.run();
+    }
+    unlocks.clear();
+  }
+
+  protected List<List<String>> acquireJobs(int numJobs) {
+    for (int i = 0; i < numJobs; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    AcquiredJobs acquiredJobs = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new AcquireJobsCmd(jobExecutor, numJobs));
+    assertThat(acquiredJobs.size()).isEqualTo(numJobs);
+
+    return acquiredJobs.getJobIdBatches();
+  }
+
+  protected List<String> getLockedJobIds() {
+    List<String> lockedJobIds = new ArrayList<String>();
+    for (Job job : managementService.createJobQuery().list()) {
+      if (((JobEntity) job).getLockOwner() != null) {
+        lockedJobIds.add(job.getId());
+      }
+    }
+    return lockedJobIds;
+  }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.RenewJobPartitionLeasesCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionLeases;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionRange;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitioning;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class PartitionedJobAcquisitionTest {
+
+  protected static final int NUMBER_OF_RANGES = 4;
+  protected static final long LEASE_TIME = 30000;
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+      .camundaAsyncBefore()
+    .endEvent()
+    .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration
+        .setJobExecutorAcquireByPartition(true)
+        .setJobExecutorPartitionRanges(NUMBER_OF_RANGES)
+        .setJobExecutorPartitionLeaseTime(LEASE_TIME);
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected CommandExecutor commandExecutor;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+
+    processEngineConfiguration.setJobPartitionLeases(new JobPartitionLeases(NUMBER_OF_RANGES, LEASE_TIME));
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+    for (int range = 0; range < NUMBER_OF_RANGES; range++) {
+      managementService.deleteProperty(RenewJobPartitionLeasesCmd.LEASE_PROPERTY_PREFIX + range);
+    }
+  }
+
+  @Test
+  public void shouldPartitionJobsByProcessInstance() {
+    // given
+    testRule.deploy(ASYNC_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    JobEntity job = (JobEntity) managementService.createJobQuery().singleResult();
+    int expectedPartition = (processInstance.getId().hashCode() & Integer.MAX_VALUE) % JobPartitioning.NUMBER_OF_PARTITIONS;
+    assertThat(job.getPartition()).isEqualTo(expectedPartition);
+  }
+
+  @Test
+  public void shouldLeaseAllRangesToSingleJobExecutor() {
+    // when
+    List<Integer> ranges = renewLeases("nodeA");
+
+    // then
+    assertThat(ranges).containsExactly(0, 1, 2, 3);
+  }
+
+  @Test
+  public void shouldRebalanceRangesWhenJobExecutorJoins() {
+    // given
+    renewLeases("nodeA");
+
+    // when
+    List<Integer> joiningNodeRanges = renewLeases("nodeB");
+
+    // then the joining node takes over one range at once
+    assertThat(joiningNodeRanges).containsExactly(3);
+
+    // when
+    List<Integer> firstNodeRanges = renewLeases("nodeA");
+    joiningNodeRanges = renewLeases("nodeB");
+
+    // then
+    assertThat(firstNodeRanges).containsExactly(0, 1);
+    assertThat(joiningNodeRanges).containsExactly(2, 3);
+  }
+
+  @Test
+  public void shouldTakeOverExpiredLeases() {
+    // given
+    renewLeases("nodeA");
+    renewLeases("nodeB");
+
+    // when nodeA does not renew its leases
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + LEASE_TIME + 1));
+    List<Integer> ranges = renewLeases("nodeB");
+
+    // then
+    assertThat(ranges).containsExactly(0, 1, 2, 3);
+  }
+
+  @Test
+  public void shouldRenewLeasesWhenLeasesAreCreatedConcurrently() {
+    // given another job executor creates the lease properties while this one renews
+    final CommandExecutor requiresNewExecutor = processEngineConfiguration.getCommandExecutorTxRequiresNew();
+    CommandExecutor racingExecutor = new CommandExecutor() {
+      boolean raced = false;
+
+      public <T> T execute(final Command<T> command) {
+        if (raced) {
+          return commandExecutor.execute(command);
+        }
+        raced = true;
+        return commandExecutor.execute(new Command<T>() {
+          public T execute(CommandContext commandContext) {
+            T result = command.execute(commandContext);
+            requiresNewExecutor.execute(new RenewJobPartitionLeasesCmd("nodeB", NUMBER_OF_RANGES, LEASE_TIME));
+            return result;
+          }
+        });
+      }
+    };
+
+    // when
+    List<JobPartitionRange> ranges = new JobPartitionLeases(NUMBER_OF_RANGES, LEASE_TIME)
+        .getOwnedPartitionRanges(racingExecutor, "nodeA");
+
+    // then the renewal is retried with the created leases instead of failing
+    assertThat(ranges).hasSize(1);
+    assertThat(ranges.get(0).getLowerBound()).isEqualTo(JobPartitioning.getRange(3, NUMBER_OF_RANGES).getLowerBound());
+  }
+
+  @Test
+  public void shouldOnlyAcquireJobsOfLeasedPartitions() {
+    // given
+    testRule.deploy(ASYNC_PROCESS);
+    for (int i = 0; i < 40; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    renewLeases("otherNode");
+    JobPartitionRange leasedRange = JobPartitioning.getRange(3, NUMBER_OF_RANGES);
+
+    // when the job executor of this engine takes over a single range
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor, 100));
+
+    // then
+    List<String> expectedJobIds = new ArrayList<String>();
+    for (Job job : managementService.createJobQuery().list()) {
+      if (leasedRange.contains(((JobEntity) job).getPartition())) {
+        expectedJobIds.add(job.getId());
+      }
+    }
+
+    List<String> acquiredJobIds = new ArrayList<String>();
+    for (List<String> batch : acquiredJobs.getJobIdBatches()) {
+      acquiredJobIds.addAll(batch);
+    }
+
+    assertThat(acquiredJobIds).containsOnlyElementsOf(expectedJobIds);
+    assertThat(acquiredJobIds).hasSameSizeAs(expectedJobIds);
+  }
+
+  protected List<Integer> renewLeases(String lockOwner) {
+    return commandExecutor.execute(new RenewJobPartitionLeasesCmd(lockOwner, NUMBER_OF_RANGES, LEASE_TIME));
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VirtualThreadJobExecutorTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setJobExecutor(new VirtualThreadJobExecutor());
+      configuration.setJdbcMaxActiveConnections(5);
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected VirtualThreadJobExecutor jobExecutor;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    jobExecutor = (VirtualThreadJobExecutor) engineRule.getProcessEngineConfiguration().getJobExecutor();
+    RecordingDelegate.reset();
+  }
+
+  @Test
+  public void shouldExecuteJobs() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaClass(RecordingDelegate.class.getName())
+      .endEvent()
+      .done());
+
+    for (int i = 0; i < 10; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(RecordingDelegate.contextClassLoaders).hasSize(10);
+
+    // the jobs are executed with the engine's class loader and the thread-local command context
+    assertThat(RecordingDelegate.contextClassLoaders).containsOnly(ProcessEngine.class.getClassLoader());
+    assertThat(RecordingDelegate.hasCommandContext).containsOnly(true);
+  }
+
+  @Test
+  public void shouldLimitConcurrentJobsToDatabaseConnections() {
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then
+    assertThat(jobExecutor.getNumPermits()).isEqualTo(5);
+  }
+
+  public static class RecordingDelegate implements JavaDelegate {
+
+    static List<ClassLoader> contextClassLoaders = Collections.synchronizedList(new ArrayList<ClassLoader>());
+    static List<Boolean> hasCommandContext = Collections.synchronizedList(new ArrayList<Boolean>());
+
+    public void execute(DelegateExecution execution) throws Exception {
+      contextClassLoaders.add(Thread.currentThread().getContextClassLoader());
+      hasCommandContext.add(Context.getCommandContext() != null);
+    }
+
+    static void reset() {
+      contextClassLoaders.clear();
+      hasCommandContext.clear();
+    }
+  }
+
+}
@@ -19,7 +19,10 @@ package org.camunda.bpm.engine.test.standalone.db.entitymanager;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -217,6 +220,88 @@ public class DbOperationsOrderingTest {
     assertHappensBefore(execution1, execution2, deleteOperations);
   }
 
+  @Test
+  public void testInsertReferenceOrderingLargeTree() {
+    // given a tree in which every parent has a greater id than its children
+    List<ExecutionEntity> executions = createExecutionTree(20000, true);
+    for (ExecutionEntity execution : executions) {
+      entityManager.insert(execution);
+    }
+
+    // when
+    entityManager.flushEntityCache();
+    List<DbOperation> insertOperations = entityManager.getDbOperationManager().calculateFlush();
+
+    // then every parent is inserted before its children
+    assertEquals(executions.size(), insertOperations.size());
+    Map<DbEntity, Integer> indexes = indexesOfEntities(insertOperations);
+    for (ExecutionEntity execution : executions) {
+      if (execution.getParent() != null) {
+        assertTrue(indexes.get(execution) > indexes.get(execution.getParent()));
+      }
+    }
+  }
+
+  @Test
+  public void testDeleteReferenceOrderingLargeTree() {
+    // given a tree in which every parent has a smaller id than its children
+    List<ExecutionEntity> executions = createExecutionTree(20000, false);
+
+    for (ExecutionEntity execution : executions) {
+      entityManager.getDbEntityCache().putPersistent(execution);
+    }
+
+    // when
+    for (ExecutionEntity execution : executions) {
+      entityManager.delete(execution);
+    }
+    entityManager.flushEntityCache();
+    List<DbOperation> deleteOperations = entityManager.getDbOperationManager().calculateFlush();
+
+    // then every child is deleted before its parent
+    assertEquals(executions.size(), deleteOperations.size());
+    Map<DbEntity, Integer> indexes = indexesOfEntities(deleteOperations);
+    for (ExecutionEntity execution : executions) {
+      if (execution.getParent() != null) {
+        assertTrue(indexes.get(execution) < indexes.get(execution.getParent()));
+      }
+    }
+  }
+
+  /**
+   * Creates a tree that consists of a deep chain followed by a binary tree. The
+   * ids of the executions are ascending or descending from the root to the leaves.
+   */
+  protected List<ExecutionEntity> createExecutionTree(int size, boolean descendingIds) {
+    List<ExecutionEntity> executions = new ArrayList<ExecutionEntity>();
+    int chainLength = size / 2;
+
+    for (int i = 0; i < size; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId(String.format("%06d", descendingIds ? size - i : i));
+
+      if (i > 0 && i <= chainLength) {
+        execution.setParentExecution(executions.get(i - 1));
+      }
+      else if (i > chainLength) {
+        int parentIndex = chainLength + (i - chainLength - 1) / 2;
+        execution.setParentExecution(executions.get(parentIndex));
+      }
+
+      executions.add(execution);
+    }
+
+    return executions;
+  }
+
+  protected Map<DbEntity, Integer> indexesOfEntities(List<DbOperation> operations) {
+    Map<DbEntity, Integer> indexes = new IdentityHashMap<DbEntity, Integer>();
+    for (int i = 0; i < operations.size(); i++) {
+      indexes.put(((DbEntityOperation) operations.get(i)).getEntity(), i);
+    }
+    return indexes;
+  }
+
   protected void assertHappensAfter(DbEntity entity1, DbEntity entity2, List<DbOperation> operations) {
     int idx1 = indexOfEntity(entity1, operations);
     int idx2 = indexOfEntity(entity2, operations);
@@ -16,11 +16,19 @@
  */
 package org.camunda.bpm.engine.test.standalone.interceptor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.runtime.AtomicOperation;
+import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.model.bpmn.Bpmn;
 
 public class CommandInvocationContextTest extends PluggableProcessEngineTestCase {
 
@@ -34,6 +42,86 @@ public class CommandInvocationContextTest extends PluggableProcessEngineTestCase
     processEngineConfiguration.getCommandExecutorTxRequired().execute(outerCommand);
   }
 
+  /**
+   * Async capable operations performed by an operation are queued and executed after it
+   * in reverse order, i.e. the last performed operation is executed first.
+   */
+  public void testNestedOperationsAreExecutedLastInFirstOut() {
+    List<String> log = new ArrayList<String>();
+    RecordingOperation operation = new RecordingOperation("A", true, log,
+        new RecordingOperation("B", true, log, new RecordingOperation("D", true, log)),
+        new RecordingOperation("C", true, log));
+
+    performOperation(operation);
+
+    assertEquals(Arrays.asList("start A", "end A", "start C", "end C", "start B", "end B", "start D", "end D"), log);
+  }
+
+  /**
+   * An operation which is not async capable is executed right away, within the operation
+   * that performs it, while the queued operations wait.
+   */
+  public void testReentrantOperationsAreExecutedImmediately() {
+    List<String> log = new ArrayList<String>();
+    RecordingOperation operation = new RecordingOperation("A", true, log,
+        new RecordingOperation("B", true, log),
+        new RecordingOperation("N", false, log, new RecordingOperation("M", false, log)),
+        new RecordingOperation("C", true, log));
+
+    performOperation(operation);
+
+    assertEquals(Arrays.asList("start A", "start N", "start M", "end M", "end N", "end A",
+        "start C", "end C", "start B", "end B"), log);
+  }
+
+  protected void performOperation(final AtomicOperation operation) {
+    deployment(Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done());
+    final String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+        Context.getCommandInvocationContext().performOperation(operation, execution);
+        return null;
+      }
+    });
+  }
+
+  protected static class RecordingOperation implements AtomicOperation {
+
+    protected String name;
+    protected boolean asyncCapable;
+    protected List<String> log;
+    protected List<AtomicOperation> nestedOperations;
+
+    public RecordingOperation(String name, boolean asyncCapable, List<String> log, AtomicOperation... nestedOperations) {
+      this.name = name;
+      this.asyncCapable = asyncCapable;
+      this.log = log;
+      this.nestedOperations = Arrays.asList(nestedOperations);
+    }
+
+    public void execute(PvmExecutionImpl execution) {
+      log.add("start " + name);
+      for (AtomicOperation nestedOperation : nestedOperations) {
+        Context.getCommandInvocationContext().performOperation(nestedOperation, (ExecutionEntity) execution);
+      }
+      log.add("end " + name);
+    }
+
+    public boolean isAsync(PvmExecutionImpl execution) {
+      return false;
+    }
+
+    public String getCanonicalName() {
+      return name;
+    }
+
+    public boolean isAsyncCapable() {
+      return asyncCapable;
+    }
+  }
+
   protected class SelfAssertingCommand implements Command<Void> {
 
     protected Command<Void> innerCommand;
@@ -0,0 +1,105 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.pvm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.core.model.ExecutionPlan;
+import org.camunda.bpm.engine.impl.pvm.ProcessDefinitionBuilder;
+import org.camunda.bpm.engine.impl.pvm.PvmEvent;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+import org.camunda.bpm.engine.impl.test.PvmTestCase;
+import org.camunda.bpm.engine.test.standalone.pvm.activities.Automatic;
+import org.camunda.bpm.engine.test.standalone.pvm.activities.End;
+
+public class PvmExecutionPlanTest extends PvmTestCase {
+
+  /**
+   * +-------+   +-----+
+   * | start |-->| end |
+   * +-------+   +-----+
+   */
+  public void testRecompilePlanWhenListenerIsAdded() {
+    EventCollector eventCollector = new EventCollector();
+
+    ProcessDefinitionImpl processDefinition = (ProcessDefinitionImpl) new ProcessDefinitionBuilder("events")
+      .createActivity("start")
+        .initial()
+        .behavior(new Automatic())
+        .executionListener(PvmEvent.EVENTNAME_START, eventCollector)
+        .transition("end")
+      .endActivity()
+      .createActivity("end")
+        .behavior(new End())
+      .endActivity()
+    .buildProcessDefinition();
+
+    ActivityImpl startActivity = processDefinition.findActivity("start");
+    ExecutionPlan executionPlan = startActivity.getExecutionPlan();
+
+    processDefinition.createProcessInstance().start();
+
+    // when
+    startActivity.addExecutionListener(PvmEvent.EVENTNAME_END, eventCollector);
+    processDefinition.createProcessInstance().start();
+
+    // then
+    assertNotSame(executionPlan, startActivity.getExecutionPlan());
+
+    List<String> expectedEvents = new ArrayList<String>();
+    expectedEvents.add("start on Activity(start)");
+    expectedEvents.add("start on Activity(start)");
+    expectedEvents.add("end on Activity(start)");
+
+    assertEquals(expectedEvents, eventCollector.events);
+  }
+
+  public void testKeepListenerOrder() {
+    EventCollector first = new EventCollector();
+    EventCollector second = new EventCollector();
+    EventCollector third = new EventCollector();
+
+    ProcessDefinitionImpl processDefinition = (ProcessDefinitionImpl) new ProcessDefinitionBuilder("events")
+      .createActivity("start")
+        .initial()
+        .behavior(new End())
+        .executionListener(PvmEvent.EVENTNAME_START, first)
+        .executionListener(PvmEvent.EVENTNAME_START, third)
+      .endActivity()
+    .buildProcessDefinition();
+
+    ActivityImpl startActivity = processDefinition.findActivity("start");
+
+    // when
+    startActivity.addExecutionListener(PvmEvent.EVENTNAME_START, second, 1);
+
+    // then
+    ExecutionPlan executionPlan = startActivity.getExecutionPlan();
+    assertEquals(3, executionPlan.getListeners(PvmEvent.EVENTNAME_START).size());
+    assertSame(first, executionPlan.getListeners(PvmEvent.EVENTNAME_START).get(0));
+    assertSame(second, executionPlan.getListeners(PvmEvent.EVENTNAME_START).get(1));
+    assertSame(third, executionPlan.getListeners(PvmEvent.EVENTNAME_START).get(2));
+
+    // an event name which is equal but not identical is found as well
+    assertEquals(3, executionPlan.getListeners(new String(PvmEvent.EVENTNAME_START)).size());
+    assertTrue(executionPlan.getListeners(PvmEvent.EVENTNAME_END).isEmpty());
+    assertTrue(executionPlan.getBuiltInListeners(PvmEvent.EVENTNAME_START).isEmpty());
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.model.bpmn.builder.ServiceTaskBuilder;
+import org.camunda.bpm.qa.performance.engine.bpmn.delegate.NoopDelegate;
+import org.camunda.bpm.qa.performance.engine.bpmn.delegate.NoopExecutionListener;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.Test;
+
+/**
+ * Measures the per-token overhead of activities which use many input/output
+ * mappings and execution listeners.
+ */
+public class DecoratedActivityPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  @Test
+  public void threeServiceTasksWith10MappingsAnd10Listeners() {
+    deploy(createProcess(3, 10, 10));
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+    .run();
+  }
+
+  @Test
+  public void tenServiceTasksWith10MappingsAnd10Listeners() {
+    deploy(createProcess(10, 10, 10));
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+    .run();
+  }
+
+  @Test
+  public void tenServiceTasksWith10Listeners() {
+    deploy(createProcess(10, 0, 10));
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+    .run();
+  }
+
+  protected void deploy(BpmnModelInstance process) {
+    repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", process)
+      .deploy();
+  }
+
+  protected BpmnModelInstance createProcess(int tasks, int mappings, int listeners) {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process").startEvent();
+
+    for (int i = 0; i < tasks; i++) {
+      ServiceTaskBuilder serviceTask = builder.serviceTask("task" + i)
+        .camundaClass(NoopDelegate.class.getName());
+
+      for (int j = 0; j < mappings; j++) {
+        serviceTask
+          .camundaInputParameter("in" + j, "${input}")
+          .camundaOutputParameter("out" + j, "${in" + j + "}");
+      }
+
+      for (int j = 0; j < listeners; j++) {
+        serviceTask
+          .camundaExecutionListenerClass(ExecutionListener.EVENTNAME_START, NoopExecutionListener.class.getName())
+          .camundaExecutionListenerClass(ExecutionListener.EVENTNAME_END, NoopExecutionListener.class.getName());
+      }
+
+      builder = serviceTask;
+    }
+
+    return builder.endEvent().done();
+  }
+
+  protected Map<String, Object> createVariables() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("input", "someValue");
+    return variables;
+  }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.externaltask;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.sqlstatementlog.StatementLogProcessEnginePlugin;
+import org.camunda.bpm.qa.performance.engine.sqlstatementlog.StatementLogSqlSession;
+import org.camunda.bpm.qa.performance.engine.sqlstatementlog.StatementLogSqlSession.SqlStatementLog;
+import org.camunda.bpm.qa.performance.engine.sqlstatementlog.StatementLogSqlSession.SqlStatementType;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Asserts that the number of select statements issued by fetchAndLock does
+ * not depend on the number of fetched external tasks.
+ */
+public class FetchAndLockStatementCountTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int NUMBER_OF_TASKS = 100;
+
+  /**
+   * one select for the external tasks, one for the executions and one for the variables
+   * of their process instances; leaves some room for unrelated statements
+   */
+  protected static final int MAX_SELECT_STATEMENTS = 5;
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+    .startEvent()
+    .subProcess()
+      .embeddedSubProcess()
+      .startEvent()
+      .serviceTask("externalTask")
+        .camundaExternalTask("topic")
+      .endEvent()
+    .subProcessDone()
+    .endEvent()
+    .done();
+
+  @Before
+  public void startProcessInstances() {
+    Assume.assumeTrue("requires the sql statement log", isStatementLogEnabled());
+
+    Deployment deployment = repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", PROCESS)
+      .deploy();
+    processEngineRule.manageDeployment(deployment);
+
+    for (int i = 0; i < NUMBER_OF_TASKS; i++) {
+      VariableMap variables = Variables.createVariables()
+        .putValue("var1", "value" + i)
+        .putValue("var2", i)
+        .putValue("var3", "not fetched");
+      runtimeService.startProcessInstanceByKey("process", variables);
+    }
+  }
+
+  @Test
+  public void fetchAndLockWithVariables() {
+    // when
+    StatementLogSqlSession.startLogging();
+
+    List<LockedExternalTask> tasks = engine.getExternalTaskService()
+      .fetchAndLock(NUMBER_OF_TASKS, "worker")
+      .topic("topic", 10000L)
+      .variables("var1", "var2")
+      .execute();
+
+    List<SqlStatementLog> statements = StatementLogSqlSession.stopLogging();
+
+    // then
+    assertEquals(NUMBER_OF_TASKS, tasks.size());
+    for (LockedExternalTask task : tasks) {
+      assertEquals(2, task.getVariables().size());
+    }
+
+    int selectStatements = countSelectStatements(statements);
+    assertTrue("expected at most " + MAX_SELECT_STATEMENTS + " select statements but was " + selectStatements,
+        selectStatements <= MAX_SELECT_STATEMENTS);
+  }
+
+  @Test
+  public void fetchAndLockWithAllVariables() {
+    // when
+    StatementLogSqlSession.startLogging();
+
+    List<LockedExternalTask> tasks = engine.getExternalTaskService()
+      .fetchAndLock(NUMBER_OF_TASKS, "worker")
+      .topic("topic", 10000L)
+      .execute();
+
+    List<SqlStatementLog> statements = StatementLogSqlSession.stopLogging();
+
+    // then
+    assertEquals(NUMBER_OF_TASKS, tasks.size());
+    for (LockedExternalTask task : tasks) {
+      assertEquals(3, task.getVariables().size());
+    }
+
+    int selectStatements = countSelectStatements(statements);
+    assertTrue("expected at most " + MAX_SELECT_STATEMENTS + " select statements but was " + selectStatements,
+        selectStatements <= MAX_SELECT_STATEMENTS);
+  }
+
+  protected int countSelectStatements(List<SqlStatementLog> statements) {
+    int count = 0;
+    for (SqlStatementLog statement : statements) {
+      SqlStatementType type = statement.getStatementType();
+      if (type != SqlStatementType.INSERT && type != SqlStatementType.UPDATE && type != SqlStatementType.DELETE) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  protected boolean isStatementLogEnabled() {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration();
+    List<ProcessEnginePlugin> plugins = configuration.getProcessEnginePlugins();
+    if (plugins != null) {
+      for (ProcessEnginePlugin plugin : plugins) {
+        if (plugin instanceof StatementLogProcessEnginePlugin) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}